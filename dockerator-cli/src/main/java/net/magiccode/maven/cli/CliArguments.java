@@ -0,0 +1,245 @@
+/**
+ * Command line arguments of the launcher
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.cli;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.Data;
+import net.magiccode.maven.Jvm;
+import net.magiccode.maven.Network;
+import net.magiccode.maven.Volume;
+import net.magiccode.maven.docker.DatabaseMode;
+
+/**
+ * The options of the command line launcher, parsed from the arguments. Options taking a value
+ * accept it as the next argument or after '=' (<code>--profile=postgres</code>); options marked as
+ * repeatable may be given several times. The only positional argument is the root directory of
+ * the project.
+ */
+@Data
+public class CliArguments {
+
+	/** the usage text printed for --help or wrong arguments */
+	public static final String USAGE = """
+			Usage: dockerator [options] [project directory]
+
+			Generates Docker Compose files for the Spring Boot project in the given directory
+			(default: the current directory). Maven (pom.xml) and Gradle (settings.gradle) builds
+			are supported.
+
+			Options:
+			  -o, --output <dir>             output directory (default: <project>/docker)
+			  -p, --profile <name>           profile whose properties/yml files are read (repeatable)
+			  -a, --active-profile <id>      build profile a compose file is generated for (repeatable)
+			      --properties-dir <dir>     directory of the properties/yml files, relative to each
+			                                 module (repeatable, default: src/main/resources)
+			      --image-prefix <prefix>    prefix of the image names, e.g. the registry
+			      --jdbc-prefix <prefix>     prefix of the JDBC properties (default: spring.datasource.)
+			      --include <pattern>        modules to process (repeatable)
+			      --exclude <pattern>        modules not to process (repeatable)
+			      --skip <module>            name of a module not to process (repeatable)
+			      --include-key <pattern>    property keys to include without a DockerInclude comment,
+			                                 e.g. spring.datasource.* or app.feature.** (repeatable)
+			      --exclude-key <pattern>    property keys never to include (repeatable)
+			      --volume <ext>:<int>       volume added to every service (repeatable)
+			      --network <name>[:<drv>]   network joined by every service, optionally with its
+			                                 driver (repeatable)
+			      --name <name>              project name (default: from pom.xml or settings.gradle)
+			      --project-version <ver>    image version (default: from pom.xml or gradle.properties)
+			      --no-env                   write the values into the compose files instead of .env
+			      --ephemeral-db             run the database containers in memory without durable
+			                                 writes, for integration test stacks
+			      --connection-budget <n>    maximum connections of each database, split among the
+			                                 connection pools of the services using it
+			      --max-ram-percentage <n>   percentage of the container memory used for the heap
+			      --gc <name>                garbage collector: Serial, Parallel, G1, Z or Shenandoah
+			      --active-processors <n>    number of processors the JVM sizes its thread pools for
+			      --cpus <n>                 maximum CPUs of every service container, e.g. 1.5
+			      --memory <size>            maximum memory of every service container, e.g. 768m
+			      --app-cds                  keep a CDS archive per service in a volume and add training
+			                                 runs creating it (compose profile cds-training, JDK 19+)
+			      --dockerfiles              write a layered Dockerfile per service and build the
+			                                 images with compose
+			      --base-image <image>       base image of the Dockerfiles (default: eclipse-temurin:21-jre)
+			      --cache[=<file>]           reuse the model while the inputs do not change
+			      --only-changed             only write compose files of changed modules
+			      --changed-since <ref>      only write compose files of modules changed since a git ref
+			      --check                    verify the files on disk instead of writing, exit code 1 if stale
+			  -h, --help                     print this help
+			""";
+
+	private File projectDir = new File(".");
+	private String outputDir;
+	private List<String> profiles = new ArrayList<>();
+	private List<String> activeProfiles = new ArrayList<>();
+	private List<String> propertiesDirs = new ArrayList<>();
+	private String imagePrefix = "";
+	private String jdbcPrefix = "spring.datasource.";
+	private List<String> includeModules = new ArrayList<>();
+	private List<String> excludeModules = new ArrayList<>();
+	private List<String> skipModules = new ArrayList<>();
+	private List<String> includes = new ArrayList<>();
+	private List<String> excludes = new ArrayList<>();
+	private List<Volume> volumes = new ArrayList<>();
+	private List<Network> networks = new ArrayList<>();
+	private String name;
+	private String version;
+	private boolean createEnv = true;
+	private DatabaseMode databaseMode = DatabaseMode.DURABLE;
+	private Integer connectionBudget;
+	private Jvm jvm = new Jvm();
+	private boolean appCds;
+	private boolean dockerfiles;
+	private String baseImage;
+	private boolean useModelCache;
+	private File modelCacheFile;
+	private boolean onlyChanged;
+	private String changedSince;
+	private boolean check;
+	private boolean help;
+
+	/**
+	 * parses the given command line arguments.
+	 *
+	 * @param args the arguments as passed to main
+	 * @return the parsed arguments
+	 * @throws IllegalArgumentException if an option is unknown or its value is missing or invalid
+	 */
+	public static CliArguments parse(String... args) {
+		CliArguments arguments = new CliArguments();
+		boolean projectDirSet = false;
+		Iterator<String> iterator = List.of(args).iterator();
+		while (iterator.hasNext()) {
+			String arg = iterator.next();
+			String option = arg;
+			String inlineValue = null;
+			if (arg.startsWith("--") && arg.contains("=")) {
+				option = arg.substring(0, arg.indexOf('='));
+				inlineValue = arg.substring(arg.indexOf('=') + 1);
+			}
+			switch (option) {
+				case "-o", "--output" -> arguments.outputDir = value(option, inlineValue, iterator);
+				case "-p", "--profile" -> arguments.profiles.add(value(option, inlineValue, iterator));
+				case "-a", "--active-profile" -> arguments.activeProfiles.add(value(option, inlineValue, iterator));
+				case "--properties-dir" -> arguments.propertiesDirs.add(value(option, inlineValue, iterator));
+				case "--image-prefix" -> arguments.imagePrefix = value(option, inlineValue, iterator);
+				case "--jdbc-prefix" -> arguments.jdbcPrefix = value(option, inlineValue, iterator);
+				case "--include" -> arguments.includeModules.add(value(option, inlineValue, iterator));
+				case "--exclude" -> arguments.excludeModules.add(value(option, inlineValue, iterator));
+				case "--skip" -> arguments.skipModules.add(value(option, inlineValue, iterator));
+				case "--include-key" -> arguments.includes.add(value(option, inlineValue, iterator));
+				case "--exclude-key" -> arguments.excludes.add(value(option, inlineValue, iterator));
+				case "--volume" -> arguments.volumes.add(volume(value(option, inlineValue, iterator)));
+				case "--network" -> arguments.networks.add(network(value(option, inlineValue, iterator)));
+				case "--name" -> arguments.name = value(option, inlineValue, iterator);
+				case "--project-version" -> arguments.version = value(option, inlineValue, iterator);
+				case "--no-env" -> arguments.createEnv = false;
+				case "--ephemeral-db" -> arguments.databaseMode = DatabaseMode.EPHEMERAL;
+				case "--connection-budget" -> arguments.connectionBudget = number(option, value(option, inlineValue, iterator));
+				case "--max-ram-percentage" -> arguments.jvm.setMaxRamPercentage(number(option, value(option, inlineValue, iterator)));
+				case "--gc" -> arguments.jvm.setGc(value(option, inlineValue, iterator));
+				case "--active-processors" -> arguments.jvm.setActiveProcessorCount(number(option, value(option, inlineValue, iterator)));
+				case "--cpus" -> arguments.jvm.setCpus(value(option, inlineValue, iterator));
+				case "--memory" -> arguments.jvm.setMemory(value(option, inlineValue, iterator));
+				case "--app-cds" -> arguments.appCds = true;
+				case "--dockerfiles" -> arguments.dockerfiles = true;
+				case "--base-image" -> arguments.baseImage = value(option, inlineValue, iterator);
+				case "--cache" -> {
+					arguments.useModelCache = true;
+					if (inlineValue != null) {
+						arguments.modelCacheFile = new File(inlineValue);
+					}
+				}
+				case "--only-changed" -> arguments.onlyChanged = true;
+				case "--changed-since" -> arguments.changedSince = value(option, inlineValue, iterator);
+				case "--check" -> arguments.check = true;
+				case "-h", "--help" -> arguments.help = true;
+				default -> {
+					if (arg.startsWith("-")) {
+						throw new IllegalArgumentException("Unknown option: " + arg);
+					}
+					if (projectDirSet) {
+						throw new IllegalArgumentException("Only one project directory may be given: " + arg);
+					}
+					arguments.projectDir = new File(arg);
+					projectDirSet = true;
+				}
+			}
+		}
+		return arguments;
+	}
+
+	/**
+	 * returns the value of an option, given inline or as the next argument.
+	 */
+	private static String value(String option, String inlineValue, Iterator<String> iterator) {
+		if (inlineValue != null) {
+			return inlineValue;
+		}
+		if (!iterator.hasNext()) {
+			throw new IllegalArgumentException("Missing value for option " + option);
+		}
+		return iterator.next();
+	}
+
+	/**
+	 * parses the positive number given as value of an option.
+	 */
+	private static int number(String option, String value) {
+		try {
+			int number = Integer.parseInt(value.trim());
+			if (number > 0) {
+				return number;
+			}
+		} catch (NumberFormatException e) {
+			// reported below
+		}
+		throw new IllegalArgumentException("Option " + option + " expects a positive number: " + value);
+	}
+
+	/**
+	 * parses a volume given as external:internal. The internal path is a container path and never
+	 * contains a ':', so the last one separates both.
+	 */
+	private static Volume volume(String value) {
+		int separator = value.lastIndexOf(':');
+		if (separator <= 0 || separator == value.length() - 1) {
+			throw new IllegalArgumentException("Volume must be given as <external>:<internal>: " + value);
+		}
+		Volume volume = new Volume();
+		volume.setExternal(value.substring(0, separator));
+		volume.setInternal(value.substring(separator + 1));
+		return volume;
+	}
+
+	/**
+	 * parses a network given as name or name:driver.
+	 */
+	private static Network network(String value) {
+		String name = StringUtils.substringBefore(value, ":").trim();
+		String driver = value.contains(":") ? StringUtils.substringAfter(value, ":").trim() : null;
+		if (name.isEmpty() || "".equals(driver)) {
+			throw new IllegalArgumentException("Network must be given as <name> or <name>:<driver>: " + value);
+		}
+		Network network = new Network();
+		network.setName(name);
+		network.setDriver(driver);
+		return network;
+	}
+
+	/**
+	 * @return the output directory, <code>docker</code> below the project directory by default
+	 */
+	public String outputDirectory() {
+		return StringUtils.isNotBlank(outputDir) ? outputDir : new File(projectDir, "docker").getPath();
+	}
+}
@@ -0,0 +1,146 @@
+/**
+ * Command line launcher of the engine
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import net.magiccode.maven.docker.ComparingOutput;
+import net.magiccode.maven.docker.OutdatedFileException;
+import net.magiccode.maven.engine.DockeratorEngine;
+import net.magiccode.maven.engine.EngineSettings;
+
+/**
+ * Runs the {@link DockeratorEngine} from the command line, so the compose files can be generated
+ * for projects not built with Maven or from scripts without starting a Maven build:
+ * <pre>
+ * java -jar dockerator-cli.jar --profile postgres path/to/project
+ * </pre>
+ * The options correspond to the configuration of the Maven plugin, see {@link CliArguments#USAGE}.
+ * <p>
+ * Exit codes: 0 on success, 1 if the generation failed or <code>--check</code> found a stale file,
+ * 2 for wrong arguments.
+ * </p>
+ */
+public class DockeratorCli {
+
+	static final int EXIT_OK = 0;
+	static final int EXIT_FAILURE = 1;
+	static final int EXIT_USAGE = 2;
+
+	private DockeratorCli() {
+	}
+
+	/**
+	 * entry point of the launcher.
+	 *
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) {
+		System.exit(run(args, System.out, System.err));
+	}
+
+	/**
+	 * parses the arguments and runs the engine.
+	 *
+	 * @param args the command line arguments
+	 * @param out stream for progress messages
+	 * @param err stream for errors and the usage text
+	 * @return the exit code
+	 */
+	public static int run(String[] args, PrintStream out, PrintStream err) {
+		CliArguments arguments;
+		try {
+			arguments = CliArguments.parse(args);
+		} catch (IllegalArgumentException e) {
+			err.println(e.getMessage());
+			err.print(CliArguments.USAGE);
+			return EXIT_USAGE;
+		}
+		if (arguments.isHelp()) {
+			out.print(CliArguments.USAGE);
+			return EXIT_OK;
+		}
+		if (!arguments.getProjectDir().isDirectory()) {
+			err.println("Project directory not found: " + arguments.getProjectDir());
+			return EXIT_USAGE;
+		}
+
+		try {
+			DockeratorEngine engine = new DockeratorEngine(settings(arguments));
+			if (arguments.isCheck()) {
+				ComparingOutput output = new ComparingOutput();
+				engine.verify(output);
+				out.println(output.checkedFiles().size() + " docker compose file(s) are up to date");
+			} else {
+				engine.generate();
+				out.println("Docker compose files written to " + engine.getSettings().getOutputDir());
+			}
+			return EXIT_OK;
+		} catch (OutdatedFileException e) {
+			err.println(e.getMessage());
+			err.println("Run dockerator without --check to update the docker compose files");
+			return EXIT_FAILURE;
+		} catch (IllegalArgumentException e) {
+			err.println(e.getMessage());
+			return EXIT_USAGE;
+		} catch (IOException e) {
+			err.println("Error processing property files: " + e.getMessage());
+			return EXIT_FAILURE;
+		}
+	}
+
+	/**
+	 * translates the arguments into the settings of the engine. Name and version are read from the
+	 * build files unless given.
+	 */
+	static EngineSettings settings(CliArguments arguments) throws IOException {
+		File projectDir = arguments.getProjectDir().getAbsoluteFile();
+		ProjectInfo projectInfo = ProjectInfo.of(projectDir.toPath());
+		File modelCacheFile = arguments.getModelCacheFile();
+		if (modelCacheFile == null) {
+			// next to the other build output, which is target for Maven and build for Gradle
+			String buildDir = Files.isRegularFile(projectDir.toPath().resolve("pom.xml")) ? "target" : "build";
+			modelCacheFile = new File(projectDir, buildDir + "/dockerator/model.bin");
+		}
+		List<String> propertiesDirs = arguments.getPropertiesDirs().isEmpty()
+				? List.of("src/main/resources")
+				: arguments.getPropertiesDirs();
+		return EngineSettings.builder()
+							 .basedir(projectDir)
+							 .outputDir(arguments.outputDirectory())
+							 .projectName(arguments.getName() != null ? arguments.getName() : projectInfo.name())
+							 .version(arguments.getVersion() != null ? arguments.getVersion() : projectInfo.version())
+							 .imagePrefix(arguments.getImagePrefix())
+							 .jdbcPrefix(arguments.getJdbcPrefix())
+							 .propertiesDirs(propertiesDirs)
+							 .profiles(arguments.getProfiles())
+							 .activeProfiles(arguments.getActiveProfiles())
+							 .skipModules(arguments.getSkipModules())
+							 .includeModules(arguments.getIncludeModules())
+							 .excludeModules(arguments.getExcludeModules())
+							 .includes(arguments.getIncludes())
+							 .excludes(arguments.getExcludes())
+							 .onlyChanged(arguments.isOnlyChanged())
+							 .changedSince(arguments.getChangedSince())
+							 .volumes(arguments.getVolumes())
+							 .networks(arguments.getNetworks())
+							 .createEnv(arguments.isCreateEnv())
+							 .databaseMode(arguments.getDatabaseMode())
+							 .connectionBudget(arguments.getConnectionBudget())
+							 .jvm(arguments.getJvm())
+							 .appCds(arguments.isAppCds())
+							 .dockerfiles(arguments.isDockerfiles())
+							 .baseImage(arguments.getBaseImage())
+							 .useModelCache(arguments.isUseModelCache())
+							 .modelCacheFile(modelCacheFile)
+							 .build();
+	}
+}
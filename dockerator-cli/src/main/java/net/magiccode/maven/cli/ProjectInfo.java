@@ -0,0 +1,138 @@
+/**
+ * Name and version of the project processed by the launcher
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+
+import net.magiccode.maven.util.GradleModuleReader;
+
+/**
+ * Determines the name and version of a project the way the Maven plugin gets them from the reactor.
+ * For Maven builds the pom.xml is read: <code>name</code>, else <code>artifactId</code>, and
+ * <code>version</code>, else the version of the parent. For Gradle builds
+ * <code>rootProject.name</code> of the settings script and the <code>version</code> in
+ * <code>gradle.properties</code> are used. Placeholders are not resolved. The directory name and
+ * <code>latest</code> are the fallbacks.
+ *
+ * @param name the name of the project
+ * @param version the version of the project
+ */
+public record ProjectInfo(String name, String version) {
+
+	private static final String DEFAULT_VERSION = "latest";
+
+	private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+	/**
+	 * reads the name and version of the project in the given directory.
+	 *
+	 * @param projectDir the root directory of the project
+	 * @return the name and version, never null
+	 * @throws IOException if a build file cannot be read or is not well-formed
+	 */
+	public static ProjectInfo of(Path projectDir) throws IOException {
+		Path absoluteDir = projectDir.toAbsolutePath().normalize();
+		String directoryName = absoluteDir.getFileName() != null ? absoluteDir.getFileName().toString() : "project";
+
+		Path pomFile = absoluteDir.resolve("pom.xml");
+		if (Files.isRegularFile(pomFile)) {
+			ProjectInfo pom = fromPom(pomFile);
+			return new ProjectInfo(StringUtils.defaultIfBlank(pom.name(), directoryName),
+								   StringUtils.defaultIfBlank(pom.version(), DEFAULT_VERSION));
+		}
+
+		String name = null;
+		Path settingsFile = GradleModuleReader.settingsFile(absoluteDir);
+		if (settingsFile != null) {
+			name = GradleModuleReader.rootProjectName(settingsFile);
+		}
+		String version = null;
+		Path gradleProperties = absoluteDir.resolve("gradle.properties");
+		if (Files.isRegularFile(gradleProperties)) {
+			Properties properties = new Properties();
+			try (Reader reader = Files.newBufferedReader(gradleProperties)) {
+				properties.load(reader);
+			}
+			version = properties.getProperty("version");
+		}
+		return new ProjectInfo(StringUtils.defaultIfBlank(name, directoryName),
+							   StringUtils.defaultIfBlank(version, DEFAULT_VERSION));
+	}
+
+	/**
+	 * streams the top-level name, artifactId and version of a pom.xml, falling back to the
+	 * version of the parent.
+	 */
+	private static ProjectInfo fromPom(Path pomFile) throws IOException {
+		String name = null;
+		String artifactId = null;
+		String version = null;
+		String parentVersion = null;
+		try (InputStream in = Files.newInputStream(pomFile)) {
+			XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+			try {
+				Deque<String> path = new ArrayDeque<>();
+				while (reader.hasNext()) {
+					int event = reader.next();
+					if (event == XMLStreamConstants.START_ELEMENT) {
+						path.addLast(reader.getLocalName());
+						switch (String.join("/", path)) {
+							case "project/name" -> name = elementText(reader, path);
+							case "project/artifactId" -> artifactId = elementText(reader, path);
+							case "project/version" -> version = elementText(reader, path);
+							case "project/parent/version" -> parentVersion = elementText(reader, path);
+							default -> {
+								// not needed
+							}
+						}
+					} else if (event == XMLStreamConstants.END_ELEMENT) {
+						path.removeLast();
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException("Failed to parse " + pomFile + ": " + e.getMessage(), e);
+		}
+		return new ProjectInfo(StringUtils.defaultIfBlank(name, artifactId),
+							   StringUtils.defaultIfBlank(version, parentVersion));
+	}
+
+	/**
+	 * reads the text of the current element, which also consumes its end element.
+	 */
+	private static String elementText(XMLStreamReader reader, Deque<String> path) throws XMLStreamException {
+		path.removeLast();
+		return reader.getElementText().trim();
+	}
+
+	/**
+	 * creates a factory which neither resolves external entities nor reads a DTD.
+	 */
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		return factory;
+	}
+}
@@ -0,0 +1,86 @@
+package net.magiccode.maven.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.File;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import net.magiccode.maven.Jvm;
+import net.magiccode.maven.Network;
+import net.magiccode.maven.Volume;
+import net.magiccode.maven.docker.DatabaseMode;
+
+/**
+ * Unit tests for {@link CliArguments}
+ */
+public class CliArgumentsTest {
+
+    @Test
+    @DisplayName("parse: defaults without arguments")
+    void defaults() {
+        CliArguments arguments = CliArguments.parse();
+
+        assertThat(arguments.getProjectDir()).isEqualTo(new File("."));
+        assertThat(arguments.outputDirectory()).isEqualTo(new File(".", "docker").getPath());
+        assertThat(arguments.getJdbcPrefix()).isEqualTo("spring.datasource.");
+        assertThat(arguments.isCreateEnv()).isTrue();
+        assertThat(arguments.getDatabaseMode()).isEqualTo(DatabaseMode.DURABLE);
+        assertThat(arguments.isCheck()).isFalse();
+    }
+
+    @Test
+    @DisplayName("parse: repeatable options, inline values and the project directory")
+    void options() {
+        CliArguments arguments = CliArguments.parse("-p", "postgres", "--profile=local", "-a", "prod",
+                "--exclude", "tools/*", "--include-key", "app.feature.**", "--exclude-key=app.secret",
+                "--volume", "C:/data/ssl:/opt/ssl", "--network", "backend", "--network=data:bridge", "--no-env", "--cache",
+                "--ephemeral-db", "--connection-budget=60", "--max-ram-percentage", "75", "--gc=G1", "--cpus", "1.5",
+                "--memory=768m", "--app-cds", "--dockerfiles", "--base-image=eclipse-temurin:17-jre", "-o", "out", "my-project");
+
+        assertThat(arguments.getProfiles()).containsExactly("postgres", "local");
+        assertThat(arguments.getActiveProfiles()).containsExactly("prod");
+        assertThat(arguments.getExcludeModules()).containsExactly("tools/*");
+        assertThat(arguments.getIncludes()).containsExactly("app.feature.**");
+        assertThat(arguments.getExcludes()).containsExactly("app.secret");
+        assertThat(arguments.getVolumes()).extracting(Volume::getExternal, Volume::getInternal)
+                .containsExactly(tuple("C:/data/ssl", "/opt/ssl"));
+        assertThat(arguments.getNetworks()).extracting(Network::getName, Network::getDriver)
+                .containsExactly(tuple("backend", null), tuple("data", "bridge"));
+        assertThat(arguments.isCreateEnv()).isFalse();
+        assertThat(arguments.getDatabaseMode()).isEqualTo(DatabaseMode.EPHEMERAL);
+        assertThat(arguments.getConnectionBudget()).isEqualTo(60);
+        assertThat(arguments.getJvm()).extracting(Jvm::getMaxRamPercentage, Jvm::getGc, Jvm::getCpus, Jvm::getMemory)
+                .containsExactly(75, "G1", "1.5", "768m");
+        assertThat(arguments.isAppCds()).isTrue();
+        assertThat(arguments.isDockerfiles()).isTrue();
+        assertThat(arguments.getBaseImage()).isEqualTo("eclipse-temurin:17-jre");
+        assertThat(arguments.isUseModelCache()).isTrue();
+        assertThat(arguments.getModelCacheFile()).isNull();
+        assertThat(arguments.outputDirectory()).isEqualTo("out");
+        assertThat(arguments.getProjectDir()).isEqualTo(new File("my-project"));
+    }
+
+    @Test
+    @DisplayName("parse: unknown options, missing values and bad volumes are rejected")
+    void invalid() {
+        assertThatThrownBy(() -> CliArguments.parse("--frobnicate"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown option");
+        assertThatThrownBy(() -> CliArguments.parse("--profile"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Missing value");
+        assertThatThrownBy(() -> CliArguments.parse("--volume", "/opt/ssl"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("<external>:<internal>");
+        assertThatThrownBy(() -> CliArguments.parse("--connection-budget", "many"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("positive number");
+        assertThatThrownBy(() -> CliArguments.parse("a", "b"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Only one project directory");
+    }
+}
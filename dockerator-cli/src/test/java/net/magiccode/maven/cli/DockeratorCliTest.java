@@ -0,0 +1,91 @@
+package net.magiccode.maven.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link DockeratorCli}, running against a Gradle build
+ */
+public class DockeratorCliTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private void createGradleProject() throws IOException {
+        Files.writeString(tempDir.resolve("settings.gradle"), """
+                rootProject.name = 'shop'
+                include 'app', 'lib'
+                """);
+        Files.writeString(tempDir.resolve("gradle.properties"), "version=2.1.0\n");
+        Path app = Files.createDirectories(tempDir.resolve("app/src/main/java/demo"));
+        Files.writeString(app.resolve("App.java"), """
+                package demo;
+
+                @SpringBootApplication
+                public class App {
+                    public static void main(String[] args) {
+                    }
+                }
+                """);
+        Path resources = Files.createDirectories(tempDir.resolve("app/src/main/resources"));
+        Files.writeString(resources.resolve("application.properties"), """
+                # DockerInclude
+                server.port=8081
+                """);
+        Files.createDirectories(tempDir.resolve("lib/src/main/java"));
+    }
+
+    private int run(String... args) {
+        return DockeratorCli.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("generates the compose files of a Gradle build, --check accepts them afterwards")
+    void generateAndCheck() throws IOException {
+        createGradleProject();
+
+        assertThat(run(tempDir.toString())).isEqualTo(DockeratorCli.EXIT_OK);
+
+        assertThat(Files.readString(tempDir.resolve("docker/docker-compose.yml")))
+                .contains("image: app:2.1.0")
+                .doesNotContain("lib:");
+
+        assertThat(run("--check", tempDir.toString())).isEqualTo(DockeratorCli.EXIT_OK);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("up to date");
+    }
+
+    @Test
+    @DisplayName("--check fails with exit code 1 for a stale file")
+    void checkStale() throws IOException {
+        createGradleProject();
+        assertThat(run(tempDir.toString())).isEqualTo(DockeratorCli.EXIT_OK);
+        Files.writeString(tempDir.resolve("app/src/main/resources/application.properties"), """
+                # DockerInclude
+                server.port=9090
+                """);
+
+        assertThat(run("--check", tempDir.toString())).isEqualTo(DockeratorCli.EXIT_FAILURE);
+        assertThat(err.toString(StandardCharsets.UTF_8)).contains("without --check");
+    }
+
+    @Test
+    @DisplayName("wrong arguments print the usage with exit code 2")
+    void usage() {
+        assertThat(run("--frobnicate")).isEqualTo(DockeratorCli.EXIT_USAGE);
+        assertThat(err.toString(StandardCharsets.UTF_8)).contains("Unknown option").contains("Usage: dockerator");
+    }
+}
@@ -0,0 +1,46 @@
+package net.magiccode.maven.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ProjectInfo}
+ */
+public class ProjectInfoTest {
+
+    @Test
+    @DisplayName("of: artifactId and parent version of a pom.xml without name and version")
+    void fromPom(@TempDir Path tempDir) throws Exception {
+        Files.writeString(tempDir.resolve("pom.xml"), """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <parent>
+                        <artifactId>parent</artifactId>
+                        <version>3.0.1</version>
+                    </parent>
+                    <artifactId>shop</artifactId>
+                    <dependencies>
+                        <dependency>
+                            <artifactId>other</artifactId>
+                            <version>9.9</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """);
+
+        assertThat(ProjectInfo.of(tempDir)).isEqualTo(new ProjectInfo("shop", "3.0.1"));
+    }
+
+    @Test
+    @DisplayName("of: directory name and latest without build files")
+    void fallback(@TempDir Path tempDir) throws Exception {
+        Path projectDir = Files.createDirectories(tempDir.resolve("my-service"));
+
+        assertThat(ProjectInfo.of(projectDir)).isEqualTo(new ProjectInfo("my-service", "latest"));
+    }
+}
@@ -0,0 +1,49 @@
+package net.magiccode.maven;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configuration class for the tuning of the JVM and the resources of every service in Maven plugin
+ * configuration. The JVM settings are passed as <code>JAVA_TOOL_OPTIONS</code>, the resources as
+ * <code>deploy.resources.limits</code>:
+ * <pre>
+ * &lt;jvm&gt;
+ *   &lt;maxRamPercentage&gt;75&lt;/maxRamPercentage&gt;
+ *   &lt;gc&gt;G1&lt;/gc&gt;
+ *   &lt;activeProcessorCount&gt;2&lt;/activeProcessorCount&gt;
+ *   &lt;cpus&gt;1.5&lt;/cpus&gt;
+ *   &lt;memory&gt;768m&lt;/memory&gt;
+ * &lt;/jvm&gt;
+ * </pre>
+ * Settings left out keep the defaults of the JVM and of docker.
+ */
+@Data
+@NoArgsConstructor
+public class Jvm {
+
+    /**
+     * The percentage of the memory of the container used for the heap (-XX:MaxRAMPercentage).
+     */
+    private Integer maxRamPercentage;
+
+    /**
+     * The garbage collector: Serial, Parallel, G1, Z or Shenandoah (-XX:+Use&lt;gc&gt;GC).
+     */
+    private String gc;
+
+    /**
+     * The number of processors the JVM sizes its thread pools for (-XX:ActiveProcessorCount).
+     */
+    private Integer activeProcessorCount;
+
+    /**
+     * The maximum number of CPUs of the container (e.g. 1.5).
+     */
+    private String cpus;
+
+    /**
+     * The maximum memory of the container (e.g. 768m or 1g).
+     */
+    private String memory;
+}
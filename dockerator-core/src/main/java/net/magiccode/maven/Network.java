@@ -0,0 +1,47 @@
+package net.magiccode.maven;
+
+import java.util.Map;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configuration class for network definitions in Maven plugin configuration.
+ * Every service joins the configured networks:
+ * <pre>
+ * &lt;networks&gt;
+ *   &lt;network&gt;
+ *     &lt;name&gt;backend&lt;/name&gt;
+ *     &lt;driver&gt;bridge&lt;/driver&gt;
+ *     &lt;mtu&gt;1400&lt;/mtu&gt;
+ *     &lt;driverOpts&gt;
+ *       &lt;com.docker.network.bridge.name&gt;br-backend&lt;/com.docker.network.bridge.name&gt;
+ *     &lt;/driverOpts&gt;
+ *   &lt;/network&gt;
+ * &lt;/networks&gt;
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+public class Network {
+
+    /**
+     * The name of the network (e.g. backend).
+     */
+    private String name;
+
+    /**
+     * The network driver (e.g. bridge or overlay), the default driver of docker compose if not set.
+     */
+    private String driver;
+
+    /**
+     * The MTU of the network, written as the <code>com.docker.network.driver.mtu</code> driver option.
+     */
+    private Integer mtu;
+
+    /**
+     * Further driver specific options.
+     */
+    private Map<String, String> driverOpts;
+}
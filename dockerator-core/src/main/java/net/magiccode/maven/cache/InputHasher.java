@@ -0,0 +1,119 @@
+/**
+ * Helper class computing cache keys
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes a SHA-256 hash over all inputs of a build, i.e. the mojo parameters and the files
+ * the model is built from. Every value is added together with a separator, so different
+ * sequences of values cannot result in the same byte stream.
+ */
+public class InputHasher {
+
+	private final MessageDigest digest;
+
+	/**
+	 * creates a new hasher.
+	 */
+	public InputHasher() {
+		try {
+			this.digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * adds a value, e.g. a mojo parameter, to the hash.
+	 *
+	 * @param value the value to add, may be null
+	 * @return this hasher
+	 */
+	public InputHasher add(Object value) {
+		digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		return this;
+	}
+
+	/**
+	 * adds the path and the content of a file to the hash. Missing files are added as such, so that
+	 * creating the file later changes the hash.
+	 *
+	 * @param file the file to add
+	 * @return this hasher
+	 * @throws IOException if the file cannot be read
+	 */
+	public InputHasher addContent(Path file) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return addMissing(file);
+		}
+		add(file);
+		byte[] buffer = new byte[8192];
+		try (InputStream input = Files.newInputStream(file)) {
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		digest.update((byte) 0);
+		return this;
+	}
+
+	/**
+	 * adds the path, size and modification time of a file to the hash, without reading it.
+	 * Used for files which are numerous but only scanned, like Java sources.
+	 *
+	 * @param file the file to add
+	 * @return this hasher
+	 * @throws IOException if the file attributes cannot be read
+	 */
+	public InputHasher addStamp(Path file) throws IOException {
+		if (!Files.exists(file)) {
+			return addMissing(file);
+		}
+		return addStamp(file, Files.readAttributes(file, BasicFileAttributes.class));
+	}
+
+	/**
+	 * adds the path, size and modification time of a file to the hash, using attributes which
+	 * have already been read, e.g. while walking a directory.
+	 *
+	 * @param file the file to add
+	 * @param attributes the attributes of the file
+	 * @return this hasher
+	 */
+	public InputHasher addStamp(Path file, BasicFileAttributes attributes) {
+		return add(file).add(attributes.size()).add(attributes.lastModifiedTime().toMillis());
+	}
+
+	/**
+	 * adds a file which does not exist, so that creating the file later changes the hash.
+	 *
+	 * @param file the missing file
+	 * @return this hasher
+	 */
+	public InputHasher addMissing(Path file) {
+		return add(file).add("<missing>");
+	}
+
+	/**
+	 * @return the hex encoded hash of all values added so far
+	 */
+	public String hash() {
+		return HexFormat.of().formatHex(digest.digest());
+	}
+}
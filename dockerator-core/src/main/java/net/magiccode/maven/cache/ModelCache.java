@@ -0,0 +1,120 @@
+/**
+ * Cache for the resolved build model
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import lombok.Builder;
+import lombok.Data;
+import net.magiccode.maven.docker.BuildModel;
+
+/**
+ * Stores the fully resolved {@link BuildModel} in a binary file (by default
+ * <code>target/dockerator/model.bin</code>), keyed by a hash of all inputs (see {@link InputHasher}).
+ * Goals running later in the same build, and the next build with unchanged inputs, load the model
+ * from here instead of scanning and parsing the sources again.
+ * <p>
+ * The file starts with a format marker and the key, so a stale or foreign file is detected before
+ * anything is deserialized. Deserialization is restricted to the model classes and the JDK
+ * collections they use.
+ * </p>
+ */
+@Builder
+@Data
+public class ModelCache {
+
+	/** marker written at the start of the file, changed whenever the model classes change incompatibly */
+	private static final String FORMAT = "dockerator-model/9";
+
+	/** only the model classes and the JDK types they are made of may be deserialized */
+	private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+			"net.magiccode.maven.docker.*;java.util.*;java.lang.*;!*");
+
+	private Path cacheFile;
+
+	/**
+	 * loads the model, if the cache file exists and has been written for the given key.
+	 *
+	 * @param key the hash of the current inputs
+	 * @return the cached model or an empty optional if there is no model for the given key
+	 * @throws IOException if the cache file exists but cannot be read
+	 */
+	public Optional<BuildModel> load(String key) throws IOException {
+		return read(key);
+	}
+
+	/**
+	 * loads the model stored last, whatever inputs it has been built from. Used for incremental
+	 * generation, which takes the services of unchanged modules from the previous model.
+	 *
+	 * @return the cached model or an empty optional if there is none
+	 * @throws IOException if the cache file exists but cannot be read
+	 */
+	public Optional<BuildModel> loadLatest() throws IOException {
+		return read(null);
+	}
+
+	/**
+	 * reads the model if the file has the current format and, unless key is null, the given key.
+	 */
+	private Optional<BuildModel> read(String key) throws IOException {
+		if (!Files.isRegularFile(cacheFile)) {
+			return Optional.empty();
+		}
+		try (InputStream input = new BufferedInputStream(Files.newInputStream(cacheFile))) {
+			DataInputStream header = new DataInputStream(input);
+			if (!FORMAT.equals(header.readUTF())) {
+				return Optional.empty();
+			}
+			String storedKey = header.readUTF();
+			if (key != null && !key.equals(storedKey)) {
+				return Optional.empty();
+			}
+			ObjectInputStream objects = new ObjectInputStream(input);
+			objects.setObjectInputFilter(FILTER);
+			return Optional.of((BuildModel) objects.readObject());
+		} catch (ClassNotFoundException | ClassCastException e) {
+			throw new IOException("Invalid model cache " + cacheFile, e);
+		}
+	}
+
+	/**
+	 * stores the model for the given key. The file is written to a temporary file first and then moved,
+	 * so an interrupted build never leaves a truncated cache behind.
+	 *
+	 * @param key the hash of the inputs the model has been built from
+	 * @param model the model to store
+	 * @throws IOException if the cache file cannot be written
+	 */
+	public void store(String key, BuildModel model) throws IOException {
+		Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+		Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+		try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+			DataOutputStream header = new DataOutputStream(output);
+			header.writeUTF(FORMAT);
+			header.writeUTF(key);
+			header.flush();
+			ObjectOutputStream objects = new ObjectOutputStream(output);
+			objects.writeObject(model);
+			objects.flush();
+		}
+		Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ * Record of the module inputs of the last generation
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.cache;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Keeps the input hash of every module as of the last generation in a small properties file
+ * (by default <code>target/dockerator/modules.properties</code>). Comparing the current hashes
+ * against it tells which modules changed since then.
+ */
+@Builder
+@Data
+public class ModuleStamps {
+
+	private Path stampFile;
+
+	/**
+	 * returns the modules whose hash differs from the recorded one, including modules not recorded at all.
+	 *
+	 * @param moduleHashes the current hash per module name
+	 * @return the names of the changed modules, all modules if nothing has been recorded yet
+	 * @throws IOException if the stamp file exists but cannot be read
+	 */
+	public Set<String> changedModules(Map<String, String> moduleHashes) throws IOException {
+		Properties recorded = load();
+		Set<String> changed = new TreeSet<>();
+		moduleHashes.forEach((module, hash) -> {
+			if (!hash.equals(recorded.getProperty(module))) {
+				changed.add(module);
+			}
+		});
+		return changed;
+	}
+
+	/**
+	 * records the given hashes, replacing all previously recorded ones.
+	 *
+	 * @param moduleHashes the hash per module name
+	 * @throws IOException if the stamp file cannot be written
+	 */
+	public void store(Map<String, String> moduleHashes) throws IOException {
+		Properties stamps = new Properties();
+		stamps.putAll(moduleHashes);
+		Files.createDirectories(stampFile.toAbsolutePath().getParent());
+		Path tempFile = stampFile.resolveSibling(stampFile.getFileName() + ".tmp");
+		try (Writer writer = Files.newBufferedWriter(tempFile)) {
+			stamps.store(writer, "input hashes of the modules as of the last generation");
+		}
+		Files.move(tempFile, stampFile, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * reads the recorded hashes, empty if there are none.
+	 */
+	private Properties load() throws IOException {
+		Properties recorded = new Properties();
+		if (Files.isRegularFile(stampFile)) {
+			try (Reader reader = Files.newBufferedReader(stampFile)) {
+				recorded.load(reader);
+			}
+		}
+		return recorded;
+	}
+}
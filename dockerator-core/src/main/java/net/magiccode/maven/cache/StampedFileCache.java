@@ -0,0 +1,134 @@
+/**
+ * In-memory cache for values derived from files
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache for values derived from a file, e.g. its parsed content. An entry is
+ * only used while the size and the modification time of the file are unchanged, so an unchanged
+ * file costs a single stat call instead of being read and parsed again.
+ * <p>
+ * Instances are meant to be held in static fields: when Maven runs in the Maven daemon (mvnd), the
+ * plugin class loader, and with it the cache, survives between builds. The cache is thread-safe;
+ * cached values must be immutable.
+ * </p>
+ *
+ * @param <V> the type of the cached values
+ */
+public class StampedFileCache<V> {
+
+	/**
+	 * Loads the value for a file which is not cached or has changed.
+	 *
+	 * @param <V> the type of the value
+	 */
+	@FunctionalInterface
+	public interface FileLoader<V> {
+		/**
+		 * @param file the file to load the value from
+		 * @return the value derived from the file
+		 * @throws IOException if the file cannot be read
+		 */
+		V load(Path file) throws IOException;
+	}
+
+	private record Stamped<V>(long size, long lastModified, V value) {
+	}
+
+	private final Map<Path, Stamped<V>> entries = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Path, Stamped<V>> eldest) {
+			return size() > maxEntries;
+		}
+	};
+
+	private int maxEntries;
+
+	/**
+	 * creates a cache holding at most the given number of entries.
+	 *
+	 * @param maxEntries the maximum number of entries
+	 */
+	public StampedFileCache(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * returns the value for the given file. The value is taken from the cache if the file's size and
+	 * modification time match those of the cached entry, otherwise it is loaded and cached.
+	 *
+	 * @param file the file to get the value for
+	 * @param loader the loader used if there is no valid entry
+	 * @return the value derived from the file
+	 * @throws IOException if the file's attributes cannot be read or loading fails
+	 */
+	public V get(Path file, FileLoader<V> loader) throws IOException {
+		return get(file, Files.readAttributes(file, BasicFileAttributes.class), loader);
+	}
+
+	/**
+	 * returns the value for the given file using attributes which have already been read, e.g.
+	 * while walking a directory. No further file system access is needed for a valid entry.
+	 *
+	 * @param file the file to get the value for
+	 * @param attributes the current attributes of the file
+	 * @param loader the loader used if there is no valid entry
+	 * @return the value derived from the file
+	 * @throws IOException if loading fails
+	 */
+	public V get(Path file, BasicFileAttributes attributes, FileLoader<V> loader) throws IOException {
+		Path key = file.toAbsolutePath().normalize();
+		long size = attributes.size();
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		synchronized (this) {
+			Stamped<V> entry = entries.get(key);
+			if (entry != null && entry.size() == size && entry.lastModified() == lastModified) {
+				return entry.value();
+			}
+		}
+		// load outside the lock, concurrent loads of the same file just yield the same value
+		V value = loader.load(key);
+		synchronized (this) {
+			entries.put(key, new Stamped<>(size, lastModified, value));
+		}
+		return value;
+	}
+
+	/**
+	 * changes the maximum number of entries, dropping the least recently used ones if necessary.
+	 *
+	 * @param maxEntries the new maximum number of entries
+	 */
+	public synchronized void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+		while (entries.size() > maxEntries) {
+			entries.remove(entries.keySet().iterator().next());
+		}
+	}
+
+	/**
+	 * @return the number of cached entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * removes all entries.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+}
@@ -0,0 +1,336 @@
+/**
+ * Helper class for reading .dockerator files
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.descriptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import net.magiccode.maven.Network;
+import net.magiccode.maven.Volume;
+import net.magiccode.maven.cache.InputHasher;
+import net.magiccode.maven.docker.JvmModel;
+
+/**
+ * Reads the <code>.dockerator</code> file of a project or module, a YAML file describing settings
+ * of the generated services which have no place in the properties/yml files:
+ * <pre>
+ * volumes:
+ *   - ../ssl:/opt/ssl
+ *   - external: ./data
+ *     internal: /var/data
+ * environment:
+ *   JAVA_TOOL_OPTIONS: -XX:MaxRAMPercentage=75
+ * networks:
+ *   - backend
+ *   - name: data
+ *     driver: bridge
+ *     mtu: 1400
+ *     driver_opts:
+ *       com.docker.network.bridge.name: br-data
+ * jvm:
+ *   max_ram_percentage: 75
+ *   gc: G1
+ *   active_processor_count: 2
+ *   cpus: 1.5
+ *   memory: 768m
+ * </pre>
+ * The file is validated against a fixed schema: only the keys above are allowed, a volume is
+ * either <code>external:internal</code> or a mapping of exactly these two keys, environment
+ * variables are valid variable names with scalar values, and a network is a name or a mapping
+ * with a name and optionally driver, a positive MTU and driver options, and the JVM settings are
+ * valid for {@link JvmModel}. All violations are reported together.
+ * <p>
+ * Parsed descriptors are cached for the lifetime of the JVM, keyed by the hash of the file
+ * content, so the modules of a build sharing a file, or an unchanged file in the next build of the
+ * Maven daemon, are parsed and validated only once.
+ * </p>
+ */
+public class DescriptorReader {
+
+	/** name of the descriptor file in the project or module directory */
+	public static final String FILE_NAME = ".dockerator";
+
+	/** the keys allowed at the top level of the file */
+	static final List<String> KEYS = List.of("volumes", "environment", "networks", "jvm");
+
+	/** the keys allowed in the mapping of a network */
+	static final List<String> NETWORK_KEYS = List.of("name", "driver", "mtu", "driver_opts");
+
+	/** the keys allowed in the mapping of the JVM settings */
+	static final List<String> JVM_KEYS = List.of("max_ram_percentage", "gc", "active_processor_count", "cpus", "memory");
+
+	private static final Pattern VARIABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+	/** maximum number of distinct file contents kept in the cache */
+	private static final int MAX_ENTRIES = 1000;
+
+	private static final Map<String, DockeratorDescriptor> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, DockeratorDescriptor> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private DescriptorReader() {
+	}
+
+	/**
+	 * reads the descriptor in the given directory.
+	 *
+	 * @param directory the directory of the project or module
+	 * @return the descriptor or null if the directory has no <code>.dockerator</code> file
+	 * @throws IOException if the file cannot be read, is not valid YAML or violates the schema
+	 */
+	public static DockeratorDescriptor read(Path directory) throws IOException {
+		Path file = directory.resolve(FILE_NAME);
+		String content;
+		try {
+			content = Files.readString(file, StandardCharsets.UTF_8);
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+		String hash = new InputHasher().add(content).hash();
+		synchronized (CACHE) {
+			DockeratorDescriptor cached = CACHE.get(hash);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		DockeratorDescriptor descriptor = parse(file, content);
+		synchronized (CACHE) {
+			CACHE.put(hash, descriptor);
+		}
+		return descriptor;
+	}
+
+	/**
+	 * parses and validates the content of a descriptor.
+	 *
+	 * @param file the file the content was read from, used in error messages
+	 * @param content the content of the file
+	 * @return the descriptor, {@link DockeratorDescriptor#EMPTY} if the file is empty
+	 * @throws IOException if the content is not valid YAML or violates the schema
+	 */
+	static DockeratorDescriptor parse(Path file, String content) throws IOException {
+		Object document;
+		try {
+			document = new Yaml().load(content);
+		} catch (YAMLException e) {
+			throw new IOException("Failed to parse " + file + ": " + e.getMessage(), e);
+		}
+		if (document == null) {
+			return DockeratorDescriptor.EMPTY;
+		}
+
+		List<String> problems = new ArrayList<>();
+		List<Volume> volumes = new ArrayList<>();
+		Map<String, String> environment = new LinkedHashMap<>();
+		List<Network> networks = new ArrayList<>();
+		JvmModel jvm = JvmModel.EMPTY;
+		if (document instanceof Map<?, ?> root) {
+			for (Map.Entry<?, ?> entry : root.entrySet()) {
+				String key = String.valueOf(entry.getKey());
+				switch (key) {
+					case "volumes" -> readVolumes(entry.getValue(), volumes, problems);
+					case "environment" -> readEnvironment(entry.getValue(), environment, problems);
+					case "networks" -> readNetworks(entry.getValue(), networks, problems);
+					case "jvm" -> jvm = readJvm(entry.getValue(), problems);
+					default -> problems.add("unknown key '" + key + "', expected one of " + String.join(", ", KEYS));
+				}
+			}
+		} else {
+			problems.add("expected a mapping with the keys " + String.join(", ", KEYS));
+		}
+		if (!problems.isEmpty()) {
+			throw new IOException("Invalid " + file + ": " + String.join("; ", problems));
+		}
+		return new DockeratorDescriptor(volumes, environment, networks, jvm);
+	}
+
+	/**
+	 * reads the volumes, given as <code>external:internal</code> or as mapping.
+	 */
+	private static void readVolumes(Object value, List<Volume> volumes, List<String> problems) {
+		if (!(value instanceof List<?> list)) {
+			problems.add("volumes: expected a list");
+			return;
+		}
+		for (int i = 0; i < list.size(); i++) {
+			String path = "volumes[" + i + "]";
+			Object item = list.get(i);
+			String external = null;
+			String internal = null;
+			if (item instanceof String text) {
+				// the internal path is a container path and never contains a ':'
+				int separator = text.lastIndexOf(':');
+				if (separator > 0 && separator < text.length() - 1) {
+					external = text.substring(0, separator);
+					internal = text.substring(separator + 1);
+				}
+			} else if (item instanceof Map<?, ?> map && map.size() == 2
+					&& map.get("external") instanceof String && map.get("internal") instanceof String) {
+				external = (String) map.get("external");
+				internal = (String) map.get("internal");
+			}
+			if (StringUtils.isBlank(external) || StringUtils.isBlank(internal)) {
+				problems.add(path + ": expected <external>:<internal> or a mapping of external and internal");
+				continue;
+			}
+			Volume volume = new Volume();
+			volume.setExternal(external.trim());
+			volume.setInternal(internal.trim());
+			volumes.add(volume);
+		}
+	}
+
+	/**
+	 * reads the environment variables, whose values have to be scalars.
+	 */
+	private static void readEnvironment(Object value, Map<String, String> environment, List<String> problems) {
+		if (!(value instanceof Map<?, ?> map)) {
+			problems.add("environment: expected a mapping");
+			return;
+		}
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			String name = String.valueOf(entry.getKey());
+			Object variable = entry.getValue();
+			if (!VARIABLE_NAME.matcher(name).matches()) {
+				problems.add("environment: invalid variable name '" + name + "'");
+			} else if (variable instanceof Map || variable instanceof List) {
+				problems.add("environment." + name + ": expected a scalar value");
+			} else {
+				environment.put(name, variable == null ? "" : String.valueOf(variable));
+			}
+		}
+	}
+
+	/**
+	 * reads the networks, given by name or as mapping.
+	 */
+	private static void readNetworks(Object value, List<Network> networks, List<String> problems) {
+		if (!(value instanceof List<?> list)) {
+			problems.add("networks: expected a list");
+			return;
+		}
+		for (int i = 0; i < list.size(); i++) {
+			String path = "networks[" + i + "]";
+			Object item = list.get(i);
+			Network network = new Network();
+			if (item instanceof String name && StringUtils.isNotBlank(name)) {
+				network.setName(name.trim());
+				networks.add(network);
+				continue;
+			}
+			if (!(item instanceof Map<?, ?> map)) {
+				problems.add(path + ": expected a name or a mapping");
+				continue;
+			}
+			int problemCount = problems.size();
+			for (Object key : map.keySet()) {
+				if (!NETWORK_KEYS.contains(String.valueOf(key))) {
+					problems.add(path + ": unknown key '" + key + "', expected one of " + String.join(", ", NETWORK_KEYS));
+				}
+			}
+			if (map.get("name") instanceof String name && StringUtils.isNotBlank(name)) {
+				network.setName(name.trim());
+			} else {
+				problems.add(path + ".name: expected a name");
+			}
+			Object driver = map.get("driver");
+			if (driver instanceof String text) {
+				network.setDriver(text);
+			} else if (driver != null) {
+				problems.add(path + ".driver: expected a string");
+			}
+			Object mtu = map.get("mtu");
+			if (mtu instanceof Integer number && number > 0) {
+				network.setMtu(number);
+			} else if (mtu != null) {
+				problems.add(path + ".mtu: expected a positive number");
+			}
+			Object options = map.get("driver_opts");
+			if (options instanceof Map<?, ?> optionMap) {
+				Map<String, String> driverOpts = new LinkedHashMap<>();
+				optionMap.forEach((key, option) -> {
+					if (option instanceof Map || option instanceof List || option == null) {
+						problems.add(path + ".driver_opts." + key + ": expected a scalar value");
+					} else {
+						driverOpts.put(String.valueOf(key), String.valueOf(option));
+					}
+				});
+				network.setDriverOpts(driverOpts);
+			} else if (options != null) {
+				problems.add(path + ".driver_opts: expected a mapping");
+			}
+			if (problems.size() == problemCount) {
+				networks.add(network);
+			}
+		}
+	}
+
+	/**
+	 * reads the JVM settings, a mapping of numbers and sizes.
+	 */
+	private static JvmModel readJvm(Object value, List<String> problems) {
+		if (!(value instanceof Map<?, ?> map)) {
+			problems.add("jvm: expected a mapping");
+			return JvmModel.EMPTY;
+		}
+		int problemCount = problems.size();
+		for (Object key : map.keySet()) {
+			if (!JVM_KEYS.contains(String.valueOf(key))) {
+				problems.add("jvm: unknown key '" + key + "', expected one of " + String.join(", ", JVM_KEYS));
+			}
+		}
+		Integer maxRamPercentage = readNumber(map, "max_ram_percentage", problems);
+		Integer activeProcessorCount = readNumber(map, "active_processor_count", problems);
+		String gc = readScalar(map, "gc", problems);
+		String cpus = readScalar(map, "cpus", problems);
+		String memory = readScalar(map, "memory", problems);
+		if (problems.size() > problemCount) {
+			return JvmModel.EMPTY;
+		}
+		try {
+			return new JvmModel(maxRamPercentage, gc, activeProcessorCount, cpus, memory);
+		} catch (IllegalArgumentException e) {
+			problems.add("jvm: " + e.getMessage());
+			return JvmModel.EMPTY;
+		}
+	}
+
+	private static Integer readNumber(Map<?, ?> map, String key, List<String> problems) {
+		Object value = map.get(key);
+		if (value == null || value instanceof Integer) {
+			return (Integer) value;
+		}
+		problems.add("jvm." + key + ": expected a number");
+		return null;
+	}
+
+	private static String readScalar(Map<?, ?> map, String key, List<String> problems) {
+		Object value = map.get(key);
+		if (value instanceof Map || value instanceof List) {
+			problems.add("jvm." + key + ": expected a scalar value");
+			return null;
+		}
+		return value == null ? null : String.valueOf(value);
+	}
+}
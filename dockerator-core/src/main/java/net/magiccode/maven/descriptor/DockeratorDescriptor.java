@@ -0,0 +1,74 @@
+/**
+ * Settings read from a .dockerator file
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.descriptor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.magiccode.maven.Network;
+import net.magiccode.maven.Volume;
+import net.magiccode.maven.docker.JvmModel;
+
+/**
+ * The settings of a <code>.dockerator</code> file, see {@link DescriptorReader}. The file in the
+ * root directory of the project applies to all modules, the file of a module adds to it.
+ *
+ * @param volumes volumes added to the service, in declaration order
+ * @param environment environment variables added to the service, overriding those taken from the
+ *        properties/yml files
+ * @param networks networks joined by the service
+ * @param jvm JVM settings and resource limits of the service
+ */
+public record DockeratorDescriptor(List<Volume> volumes, Map<String, String> environment, List<Network> networks,
+		JvmModel jvm) {
+
+	/** the settings of a missing file */
+	public static final DockeratorDescriptor EMPTY = new DockeratorDescriptor(List.of(), Map.of(), List.of(), JvmModel.EMPTY);
+
+	/**
+	 * Compact constructor making sure the collections are immutable.
+	 */
+	public DockeratorDescriptor {
+		volumes = volumes == null ? List.of() : List.copyOf(volumes);
+		environment = environment == null ? Map.of() : Map.copyOf(environment);
+		networks = networks == null ? List.of() : List.copyOf(networks);
+		jvm = jvm == null ? JvmModel.EMPTY : jvm;
+	}
+
+	/**
+	 * merges the descriptor of a module into this one, the descriptor of its parent. The volumes and
+	 * networks of the module follow those of the parent, its environment variables and JVM settings
+	 * override those of the parent.
+	 *
+	 * @param module the descriptor of the module
+	 * @return the merged descriptor
+	 */
+	public DockeratorDescriptor mergedWith(DockeratorDescriptor module) {
+		if (module == null || module.isEmpty()) {
+			return this;
+		}
+		if (isEmpty()) {
+			return module;
+		}
+		List<Volume> mergedVolumes = new ArrayList<>(volumes);
+		mergedVolumes.addAll(module.volumes());
+		Map<String, String> mergedEnvironment = new LinkedHashMap<>(environment);
+		mergedEnvironment.putAll(module.environment());
+		List<Network> mergedNetworks = new ArrayList<>(networks);
+		mergedNetworks.addAll(module.networks());
+		return new DockeratorDescriptor(mergedVolumes, mergedEnvironment, mergedNetworks, jvm.mergedWith(module.jvm()));
+	}
+
+	/**
+	 * @return true if the descriptor contains no settings
+	 */
+	public boolean isEmpty() {
+		return volumes.isEmpty() && environment.isEmpty() && networks.isEmpty() && jvm.isEmpty();
+	}
+}
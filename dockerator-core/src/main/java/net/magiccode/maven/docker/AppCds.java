@@ -0,0 +1,79 @@
+/**
+ * Settings of the CDS archives of the services.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.util.List;
+
+/**
+ * Application class data sharing (AppCDS): every JVM maps the classes of the application from an
+ * archive instead of loading and verifying them again, which shortens the startup considerably. The
+ * archive of a service is kept in a named volume of its own. With
+ * <code>-XX:+AutoCreateSharedArchive</code> (JDK 19 or later) the JVM writes the archive when it
+ * exits and uses it from the next start on, recreating it if it does not match the JVM or the
+ * application any more. The training run of a service, started with the compose profile
+ * {@value #TRAINING_PROFILE}, starts the application until its context is refreshed and exits, so
+ * the archive exists before the services are started for the first time.
+ */
+public final class AppCds {
+
+	/** directory of the archive inside the container, where the volume is mounted */
+	public static final String ARCHIVE_DIRECTORY = "/cds";
+
+	/** the archive inside the container, the same for all services as each has a volume of its own */
+	public static final String ARCHIVE_FILE = ARCHIVE_DIRECTORY + "/app.jsa";
+
+	/** the compose profile of the training runs */
+	public static final String TRAINING_PROFILE = "cds-training";
+
+	/** options of <code>JAVA_TOOL_OPTIONS</code> creating and using the archive */
+	public static final List<String> TOOL_OPTIONS = List.of("-XX:SharedArchiveFile=" + ARCHIVE_FILE,
+			"-XX:+AutoCreateSharedArchive");
+
+	/** option making a Spring application exit once its context is refreshed (Spring Framework 6.1) */
+	public static final String TRAINING_OPTION = "-Dspring.context.exit=onRefresh";
+
+	private AppCds() {
+	}
+
+	/**
+	 * @param service the name of the service
+	 * @return the name of the volume holding the archive of the service
+	 */
+	public static String volumeName(String service) {
+		return service + "-cds";
+	}
+
+	/**
+	 * @param service the name of the service
+	 * @return the volume mapping of the archive of the service
+	 */
+	public static VolumeMapping volume(String service) {
+		return VolumeMapping.builder()
+							.external(volumeName(service))
+							.internal(ARCHIVE_DIRECTORY)
+							.build();
+	}
+
+	/**
+	 * @param service the name of the service
+	 * @return the name of the training run of the service
+	 */
+	public static String trainingName(String service) {
+		return service + "-cds-training";
+	}
+
+	/**
+	 * returns the <code>JAVA_TOOL_OPTIONS</code> of a service using its archive.
+	 *
+	 * @param configured the options of the service, may be null
+	 * @return the options creating and using the archive, followed by the configured ones
+	 */
+	public static String toolOptions(String configured) {
+		String options = String.join(" ", TOOL_OPTIONS);
+		return configured == null || configured.isBlank() ? options : options + " " + configured.trim();
+	}
+}
@@ -0,0 +1,57 @@
+/**
+ * Immutable representation of everything generated by one build.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The fully resolved model of a build, one {@link ProfileModel} per active profile (the default
+ * profile uses an empty name). This is what is stored in the model cache, so other goals and later
+ * builds with unchanged inputs do not need to scan and parse the sources again. Incremental builds
+ * reuse the service of a module only if its inputs still have the hash it has been built from.
+ *
+ * @param profiles the models by profile name, in the order the profiles were processed
+ * @param moduleHashes the hashes of the inputs of the modules by module name, empty if unknown
+ */
+public record BuildModel(Map<String, ProfileModel> profiles, Map<String, String> moduleHashes) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Compact constructor making sure the maps are immutable while keeping the profile order.
+	 */
+	public BuildModel {
+		profiles = profiles == null
+				   ? Map.of()
+				   : Collections.unmodifiableMap(new LinkedHashMap<>(profiles));
+		moduleHashes = moduleHashes == null
+					   ? Map.of()
+					   : Collections.unmodifiableMap(new LinkedHashMap<>(moduleHashes));
+	}
+
+	/**
+	 * creates a model without module hashes, so none of its services is reused.
+	 *
+	 * @param profiles the models by profile name, in the order the profiles were processed
+	 */
+	public BuildModel(Map<String, ProfileModel> profiles) {
+		this(profiles, Map.of());
+	}
+
+	/**
+	 * returns the model for the given profile.
+	 *
+	 * @param profile the name of the profile, empty for the default profile
+	 * @return the model of the profile or null if the profile has not been processed
+	 */
+	public ProfileModel profile(String profile) {
+		return profiles.get(profile);
+	}
+}
@@ -0,0 +1,184 @@
+/**
+ * Optimizer moving shared settings of services into the common anchor.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Computes the environment variables, volumes, networks and resource limits shared by the services of a multi-module
+ * project and returns a {@link ComposeModel} in which these are referenced through the common anchor.
+ * The given service models are never modified; services losing entries to the common anchor are
+ * replaced by new instances.
+ */
+@Log4j2
+public class CommonsOptimizer {
+
+	private CommonsOptimizer() {
+	}
+
+	/**
+	 * Optimizes the given services by moving common environment variables, volumes and networks
+	 * into the common anchor.
+	 *
+	 * @param services the services of the multi-module project
+	 * @return the optimized compose model
+	 */
+	public static ComposeModel optimize(List<ServiceModel> services) {
+		SortedMap<String, String> commonEnvironment = compileCommonProperties(services);
+		List<VolumeMapping> commonVolumes = compileCommonVolumes(services);
+		List<String> commonNetworks = compileCommonNetworks(services);
+		ResourceLimits commonLimits = compileCommonLimits(services);
+		ComposeModel commons = new ComposeModel(List.of(), commonEnvironment, commonVolumes);
+
+		List<ServiceModel> optimized = new ArrayList<>(services.size());
+		for (ServiceModel service : services) {
+			ServiceModel reduced = service.withoutEnvironment(commons.commonEnvironment().keySet());
+			if (commons.containsCommonVolumes()) {
+				// services having only common volumes use the anchor, all others list every volume
+				boolean hasNonCommonVolumes = reduced.volumes().stream()
+															   .anyMatch(volume -> !commons.commonVolumes().contains(volume));
+				reduced = hasNonCommonVolumes
+						  ? commons.mergeCommonVolumes(reduced)
+						  : reduced.volumes().isEmpty() ? reduced : reduced.withVolumes(List.of());
+			}
+			if (!commonNetworks.isEmpty() && reduced.networkNames().equals(commonNetworks)) {
+				// lists are not merged with the anchor, so only services without further networks use it
+				reduced = reduced.withNetworks(List.of());
+			}
+			if (commonLimits != null && commonLimits.equals(reduced.limits())) {
+				reduced = reduced.withLimits(null);
+			}
+			optimized.add(reduced);
+		}
+		return new ComposeModel(optimized, commons.commonEnvironment(), commons.commonVolumes(),
+								NetworkModel.of(services), commonNetworks, commonLimits);
+	}
+
+	/**
+	 * Compiles a map of common properties for the list of given services. A property is considered
+	 * common if it occurs in at least 2 modules and matches both the key and value in all modules
+	 * where the key occurs.
+	 *
+	 * Values taken from the build-scoped string pool during extraction are mostly identical
+	 * instances, which <code>equals</code> recognizes without comparing their characters.
+	 *
+	 * @param services the list of services for the multi-module project
+	 * @return a map of common properties fulfilling the above conditions across all modules
+	 */
+	public static SortedMap<String, String> compileCommonProperties(List<ServiceModel> services) {
+		final SortedMap<String, String> commonEnv = new TreeMap<>();
+		if (services == null || services.size() < 2) {
+			return commonEnv;
+		}
+
+		// value seen first for every key, null once a different value occurred
+		Map<String, String> candidates = new HashMap<>();
+		Map<String, Integer> occurrences = new HashMap<>();
+		for (ServiceModel service : services) {
+			for (Map.Entry<String, String> entry : service.environment().entrySet()) {
+				String key = entry.getKey();
+				String value = entry.getValue();
+				if (!occurrences.containsKey(key)) {
+					candidates.put(key, value);
+				} else if (!Objects.equals(candidates.get(key), value)) {
+					candidates.put(key, null);
+				}
+				occurrences.merge(key, 1, Integer::sum);
+			}
+		}
+		candidates.forEach((key, value) -> {
+			if (value != null && occurrences.get(key) > 1) {
+				commonEnv.put(key, value);
+			}
+		});
+		return commonEnv;
+	}
+
+	/**
+	 * Compiles the names of the common networks for the given services. A network is considered
+	 * common if all services join it, so that no service joins a network through the common anchor
+	 * which it is not meant to be part of.
+	 *
+	 * @param services the list of services for the multi-module project
+	 * @return the sorted names of the common networks to be used in the x-common reference
+	 */
+	public static List<String> compileCommonNetworks(List<ServiceModel> services) {
+		if (services == null || services.size() < 2) {
+			return List.of();
+		}
+		Set<String> commonNetworks = new TreeSet<>(services.get(0).networkNames());
+		for (ServiceModel service : services) {
+			commonNetworks.retainAll(service.networkNames());
+		}
+		return List.copyOf(commonNetworks);
+	}
+
+	/**
+	 * Compiles the common resource limits for the given services: the limits most services share,
+	 * if at least 2 do. As the <code>deploy</code> entry of a service replaces the one of the common
+	 * anchor as a whole, services with other limits keep theirs; limits are only shared if every
+	 * service has some, so no service ends up limited which is not meant to be.
+	 *
+	 * @param services the list of services for the multi-module project
+	 * @return the limits to be used in the x-common reference, null if there are none
+	 */
+	public static ResourceLimits compileCommonLimits(List<ServiceModel> services) {
+		if (services == null || services.size() < 2 || services.stream().anyMatch(service -> service.limits() == null)) {
+			return null;
+		}
+		Map<ResourceLimits, Integer> limitCounts = new LinkedHashMap<>();
+		services.forEach(service -> limitCounts.merge(service.limits(), 1, Integer::sum));
+		return limitCounts.entrySet()
+						  .stream()
+						  .filter(entry -> entry.getValue() >= 2)
+						  .max(Map.Entry.comparingByValue())
+						  .map(Map.Entry::getKey)
+						  .orElse(null);
+	}
+
+	/**
+	 * Compiles a list of common volumes for the given services. A volume is considered common
+	 * if it occurs in at least 2 services.
+	 *
+	 * @param services the list of services for the multi-module project
+	 * @return a list of common volumes to be used in the x-common reference
+	 */
+	public static List<VolumeMapping> compileCommonVolumes(List<ServiceModel> services) {
+		final List<VolumeMapping> commonVolumes = new ArrayList<>();
+		if (services == null || services.size() < 2) {
+			return commonVolumes;
+		}
+
+		// Count occurrences of each volume mapping
+		Map<VolumeMapping, Integer> volumeCounts = new LinkedHashMap<>();
+		for (ServiceModel service : services) {
+			for (VolumeMapping volume : service.volumes()) {
+				volumeCounts.merge(volume, 1, Integer::sum);
+			}
+		}
+
+		// Find volumes that occur in at least 2 services
+		volumeCounts.forEach((volume, count) -> {
+			if (count >= 2) {
+				commonVolumes.add(volume);
+			}
+		});
+		log.debug("Identified " + commonVolumes.size() + " common volume(s) across " + services.size() + " service(s)");
+		return commonVolumes;
+	}
+}
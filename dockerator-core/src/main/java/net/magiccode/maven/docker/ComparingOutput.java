@@ -0,0 +1,151 @@
+/**
+ * Output comparing the generated files with those on disk
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Output which writes nothing but compares the emitted content line by line with the file on disk
+ * while it is generated. Neither side is held in memory completely: each completed line is compared
+ * with the next line read from the file. At the first difference an {@link OutdatedFileException}
+ * is thrown, which ends the generation.
+ * <p>
+ * As in {@link ComposeOutput#sameContent(String, String)}, the line holding the generation timestamp
+ * is ignored on both sides.
+ * </p>
+ */
+public class ComparingOutput implements ComposeOutput {
+
+	private final List<Path> checkedFiles = Collections.synchronizedList(new ArrayList<>());
+
+	@Override
+	public Writer open(Path file) throws IOException {
+		BufferedReader existing;
+		try {
+			existing = Files.newBufferedReader(file);
+		} catch (NoSuchFileException e) {
+			existing = null;
+		}
+		return new ComparingWriter(file, existing);
+	}
+
+	/**
+	 * @return the files found to be up to date, in the order they have been completed
+	 */
+	public List<Path> checkedFiles() {
+		synchronized (checkedFiles) {
+			return List.copyOf(checkedFiles);
+		}
+	}
+
+	/**
+	 * Compares every completed line with the next line of the file on disk.
+	 */
+	private final class ComparingWriter extends Writer {
+
+		private final Path file;
+		private final BufferedReader existing;
+		private final StringBuilder line = new StringBuilder();
+		private int lineNumber;
+		private boolean done;
+
+		private ComparingWriter(Path file, BufferedReader existing) {
+			this.file = file;
+			this.existing = existing;
+		}
+
+		@Override
+		public void write(char[] buffer, int offset, int length) throws IOException {
+			if (done) {
+				throw new IOException("Comparison of " + file + " already finished");
+			}
+			for (int i = offset; i < offset + length; i++) {
+				char c = buffer[i];
+				if (c == '\n') {
+					compare(stripCarriageReturn(line.toString()));
+					line.setLength(0);
+				} else {
+					line.append(c);
+				}
+			}
+		}
+
+		@Override
+		public void flush() {
+			// nothing is written
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (done) {
+				return;
+			}
+			try {
+				if (!line.isEmpty()) {
+					compare(stripCarriageReturn(line.toString()));
+				}
+				String remaining = nextExistingLine();
+				if (remaining != null) {
+					throw new OutdatedFileException(file, lineNumber, null, remaining);
+				}
+				checkedFiles.add(file);
+			} finally {
+				finish();
+			}
+		}
+
+		/**
+		 * compares a generated line with the next line on disk, skipping timestamps.
+		 */
+		private void compare(String generated) throws IOException {
+			if (generated.startsWith(GENERATED_ON)) {
+				return;
+			}
+			String onDisk = nextExistingLine();
+			if (!generated.equals(onDisk)) {
+				finish();
+				throw new OutdatedFileException(file, onDisk == null ? lineNumber + 1 : lineNumber, generated, onDisk);
+			}
+		}
+
+		/**
+		 * reads the next line of the file on disk which is not a timestamp, null at its end.
+		 */
+		private String nextExistingLine() throws IOException {
+			if (existing == null) {
+				return null;
+			}
+			String next;
+			do {
+				next = existing.readLine();
+				if (next != null) {
+					lineNumber++;
+				}
+			} while (next != null && next.startsWith(GENERATED_ON));
+			return next;
+		}
+
+		private void finish() throws IOException {
+			done = true;
+			if (existing != null) {
+				existing.close();
+			}
+		}
+
+		private static String stripCarriageReturn(String value) {
+			return value.endsWith("\r") ? value.substring(0, value.length() - 1) : value;
+		}
+	}
+}
@@ -24,14 +24,12 @@
  */
 package net.magiccode.maven.docker;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -95,6 +93,17 @@ public class ComposeFileGenerator {
 	 */
 	private List<VolumeMapping> commonVolumes;
 	
+	/**
+	 * The resolved, immutable model to write. If not set, it is built once from
+	 * <code>services</code>, <code>commonEnvironment</code> and <code>commonVolumes</code>.
+	 */
+	private ComposeModel model;
+	
+	/**
+	 * What happens with the generated content, written unconditionally if not set.
+	 */
+	private ComposeOutput output;
+	
 	/**
 	 * Creates a docker-compose file for the project or module.
 	 *
@@ -105,19 +114,23 @@ public class ComposeFileGenerator {
 		Path dockerComposeFile = StringUtils.isBlank(activeProfile)  
 						? Paths.get(outputDir, "docker-compose.yml")
 						: Paths.get(outputDir, "docker-compose-"+activeProfile+".yml");
+		ComposeModel composeModel = resolveModel();
 						
-	 	try (BufferedWriter writer = Files.newBufferedWriter(dockerComposeFile)) {	 		
+	 	try (Writer writer = output().open(dockerComposeFile)) {	 		
 	 		writer.write(generateCommentSection(activeProfile, moduleName)); 		
 	 		writer.write("name: " + moduleName+ "\n");
 	 		
-	 		boolean containsCommonEnvironment = (commonEnvironment!=null && ! commonEnvironment.isEmpty());
-	 		boolean containsCommonVolumes = (commonVolumes != null && !commonVolumes.isEmpty());
+	 		boolean containsCommonEnvironment = composeModel.containsCommonEnvironment();
+	 		boolean containsCommonVolumes = composeModel.containsCommonVolumes();
+	 		boolean containsCommonNetworks = composeModel.containsCommonNetworks();
+	 		boolean containsCommonLimits = composeModel.containsCommonLimits();
 	 		
 	 		String commonEnvironmentName = null, commonName=null;
-	 		if (containsCommonEnvironment || containsCommonVolumes) {
+	 		if (containsCommonEnvironment || containsCommonVolumes || containsCommonNetworks || containsCommonLimits) {
 	 			commonName = moduleName+"-common";
-	 			commonEnvironmentName = moduleName+"-env";
-	 			StringBuffer commonBuffer = new StringBuffer();
+	 			// services only merge the environment anchor if there is one
+	 			commonEnvironmentName = containsCommonEnvironment ? moduleName+"-env" : null;
+	 			StringBuilder commonBuffer = new StringBuilder();
 	 			commonBuffer.append("x-").append(moduleName).append("-common").append(":\n");
 	 			commonBuffer.append(StringUtils.repeat(" ", 4))
 	 						.append("&").append(moduleName).append("-common\n");
@@ -127,15 +140,13 @@ public class ComposeFileGenerator {
 		 			commonBuffer.append(StringUtils.repeat(" ", 6)).append("&")
 		 														   .append(commonEnvironmentName)
 		 														   .append("\n");
-		 														   	 			
-		 			commonEnvironment.entrySet()	    			
-							    		 .stream()
-								 		 .sorted(Map.Entry.comparingByKey())
-							    		 .forEach(entry -> commonBuffer.append(StringUtils.repeat(" ", 6))
-							    							  		   .append(entry.getKey())
-							    									   .append(": ")
-							    									   .append(EnvironmentHelper.generateValueEntry(createEnvironmentFile, entry.getKey(), entry.getValue()))
-							    									   .append("\n"));
+		 			// the model keeps the common environment sorted by key
+		 			composeModel.commonEnvironment()
+		 						.forEach((key, value) -> commonBuffer.append(StringUtils.repeat(" ", 6))
+		 															 .append(key)
+		 															 .append(": ")
+		 															 .append(EnvironmentHelper.generateValueEntry(createEnvironmentFile, key, value))
+		 															 .append("\n"));
 	 			}
 	 			
 	 			if (containsCommonVolumes) {
@@ -143,46 +154,45 @@ public class ComposeFileGenerator {
 		 			commonBuffer.append(StringUtils.repeat(" ", 6)).append("&")
 		 														   .append(moduleName).append("-volumes")
 		 														   .append("\n");
-		 			commonVolumes.stream()
-		 						.sorted((v1, v2) -> v1.getExternal().compareTo(v2.getExternal()))
+		 			// the model keeps the common volumes sorted by their external path
+		 			composeModel.commonVolumes()
 		 						.forEach(volume -> commonBuffer.append(StringUtils.repeat(" ", 6))
 		 													   .append("- ")
 		 													   .append(volume.getExternal()).append(":")
 		 													   .append(volume.getInternal()).append("\n"));
 	 			}
 	 			
+	 			if (containsCommonNetworks) {
+		 			commonBuffer.append(StringUtils.repeat(" ", 4)).append("networks:\n");
+		 			commonBuffer.append(StringUtils.repeat(" ", 6)).append("&")
+		 														   .append(moduleName).append("-networks")
+		 														   .append("\n");
+		 			composeModel.commonNetworks()
+		 						.forEach(network -> commonBuffer.append(StringUtils.repeat(" ", 6))
+		 														.append("- ")
+		 														.append(network).append("\n"));
+	 			}
+	 			
+	 			if (containsCommonLimits) {
+	 				commonBuffer.append(composeModel.commonLimits().generateDeployEntry(4));
+	 			}
+	 			
 	 			writer.write(commonBuffer.toString());
 	 		}
 
 			writer.write("services:\n");
-			for (DockerService service : services) {
-				// If this service has specific volumes and there are common volumes,
-				// merge them according to the requirement: services with additional volumes
-				// should list ALL volumes directly
-				if (containsCommonVolumes && !service.getSpecificVolumes().isEmpty()) {
-					// Create a new list with common volumes first, then specific volumes
-					List<VolumeMapping> originalSpecific = new ArrayList<>(service.getSpecificVolumes());
-					
-					// Ensure we can modify the service's specificVolumes list
-					if (!(service.getSpecificVolumes() instanceof ArrayList)) {
-						service.setSpecificVolumes(new ArrayList<>(service.getSpecificVolumes()));
-					}
-					
-					service.getSpecificVolumes().clear();
-					
-					// Add common volumes first
-					service.getSpecificVolumes().addAll(commonVolumes);
-					
-					// Add specific volumes that are not already in common
-					for (VolumeMapping specificVol : originalSpecific) {
-						if (!commonVolumes.contains(specificVol)) {
-							service.getSpecificVolumes().add(specificVol);
-						}
-					}
+			for (ServiceModel service : composeModel.services()) {
+				writer.write(service.generateServiceEntry(commonName, commonEnvironmentName));
+				if (service.appCds()) {
+					String toolOptions = service.environment().containsKey(JvmModel.TOOL_OPTIONS_VARIABLE)
+										 ? service.environment().get(JvmModel.TOOL_OPTIONS_VARIABLE)
+										 : composeModel.commonEnvironment().get(JvmModel.TOOL_OPTIONS_VARIABLE);
+					writer.write(service.generateTrainingEntry(commonName, commonEnvironmentName, toolOptions));
 				}
-				
-				writer.write(service.generateServiceEntry(commonName, commonEnvironmentName, containsCommonVolumes, moduleName));
+				log.info("Generated service entry for " + service.name());
 			}
+			writer.write(generateNetworksSection(composeModel.networks()));
+			writer.write(generateVolumesSection(composeModel.services()));
 		}
 		log.info("Generated Docker Compose file: " + dockerComposeFile.toString());
 	}
@@ -199,23 +209,84 @@ public class ComposeFileGenerator {
 				? Paths.get(outputDir, "docker-compose-" + moduleName + ".yml")
 				: Paths.get(outputDir, "docker-compose-" + moduleName + "-" + activeProfile + ".yml");
 		
-	    try (BufferedWriter writer = Files.newBufferedWriter(moduleComposeFile)) {
+	    // Find the service that matches this module name
+	    ServiceModel moduleService = resolveModel().service(moduleName);
+	    if (moduleService == null) {
+	    	throw new IOException("No service found for module: " + moduleName);
+	    }
+		
+	    try (Writer writer = output().open(moduleComposeFile)) {
 	    	writer.write(generateCommentSection(activeProfile, moduleName));
 	    	writer.write("name: " + moduleName+ "\n");
 	        writer.write("services:\n");
 	        
-	        // Find the service that matches this module name
-	        DockerService moduleService = services.stream()
-	        	.filter(service -> service.getName().equals(moduleName))
-	        	.findFirst()
-	        	.orElseThrow(() -> new IOException("No service found for module: " + moduleName));
-	        
 	        // Generate service entry without common references (single module = no commons)
-	        writer.write(moduleService.generateServiceEntry());
+	        writer.write(moduleService.generateServiceEntry(null, null));
+	        if (moduleService.appCds()) {
+	        	writer.write(moduleService.generateTrainingEntry(null, null,
+	        			moduleService.environment().get(JvmModel.TOOL_OPTIONS_VARIABLE)));
+	        }
+	        writer.write(generateNetworksSection(moduleService.networks()));
+	        writer.write(generateVolumesSection(List.of(moduleService)));
 	    }
 	    log.info("Generated module-specific Docker Compose file: " + moduleComposeFile.toString());
 	}
 	
+	/**
+	 * Generates the top-level networks section defining the networks joined by the services.
+	 *
+	 * @param networks the networks, sorted by name
+	 * @return the section, empty if there are no networks
+	 */
+	private String generateNetworksSection(List<NetworkModel> networks) {
+		if (networks.isEmpty()) {
+			return "";
+		}
+		StringBuilder section = new StringBuilder("networks:\n");
+		networks.forEach(network -> section.append(network.generateNetworkEntry()));
+		return section.toString();
+	}
+	
+	/**
+	 * Generates the top-level volumes section defining the named volumes holding the CDS archives
+	 * of the services, see {@link AppCds}.
+	 *
+	 * @param services the services
+	 * @return the section, empty if no service uses a CDS archive
+	 */
+	private String generateVolumesSection(List<ServiceModel> services) {
+		List<ServiceModel> appCdsServices = services.stream().filter(ServiceModel::appCds).toList();
+		if (appCdsServices.isEmpty()) {
+			return "";
+		}
+		StringBuilder section = new StringBuilder("volumes:\n");
+		appCdsServices.forEach(service -> section.append(StringUtils.repeat(" ", 2))
+												 .append(AppCds.volumeName(service.name())).append(":\n"));
+		return section.toString();
+	}
+	
+	/**
+	 * returns the output the content is emitted to.
+	 *
+	 * @return the configured output or {@link ComposeOutput#OVERWRITE}
+	 */
+	private ComposeOutput output() {
+		return output == null ? ComposeOutput.OVERWRITE : output;
+	}
+	
+	/**
+	 * returns the model to be written. If none has been given, it is built once from the
+	 * services and the common settings.
+	 *
+	 * @return the compose model to write
+	 */
+	private ComposeModel resolveModel() {
+		if (model == null) {
+			model = ComposeModel.of(services == null ? List.of() : services, commonEnvironment, commonVolumes);
+		}
+		return model;
+	}
+	
 	
 	/**
 	 * Generates a comment section for the docker compose file.
@@ -235,7 +306,7 @@ public class ComposeFileGenerator {
 							 							 : "")
 							 					 .append("\n")
 							 		.append("# ").append("\n")
-							 		.append("# ").append("generated on ")
+							 		.append(ComposeOutput.GENERATED_ON)
 							 					 .append(formatter.format(LocalDateTime.now()))
 							 					 .append(" using spring-dockerator-plugin.").append("\n")
 							 		.append("# ").append("\n")
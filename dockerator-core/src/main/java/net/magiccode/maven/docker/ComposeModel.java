@@ -0,0 +1,150 @@
+/**
+ * Immutable representation of a docker compose file.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The resolved content of one docker compose file: the services plus the environment variables,
+ * volumes, networks and resource limits shared through the common anchor, and the networks of the top-level
+ * <code>networks</code> section. Built once per module and profile and never
+ * modified afterwards, so it can be handed to several emitters (or threads) at the same time.
+ *
+ * @param services the services in the order they are written
+ * @param commonEnvironment the environment variables of the common anchor, sorted by key
+ * @param commonVolumes the volumes of the common anchor, sorted by their external path
+ * @param networks the networks joined by the services, sorted by name
+ * @param commonNetworks the names of the networks of the common anchor, sorted
+ * @param commonLimits the resource limits of the common anchor, null if there are none
+ */
+public record ComposeModel(List<ServiceModel> services,
+						   SortedMap<String, String> commonEnvironment,
+						   List<VolumeMapping> commonVolumes,
+						   List<NetworkModel> networks,
+						   List<String> commonNetworks,
+						   ResourceLimits commonLimits) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Compact constructor making sure all collections are immutable and sorted.
+	 */
+	public ComposeModel {
+		services = services == null ? List.of() : List.copyOf(services);
+		commonEnvironment = ServiceModel.freeze(commonEnvironment);
+		commonVolumes = commonVolumes == null
+						? List.of()
+						: commonVolumes.stream()
+									   .sorted(Comparator.comparing(VolumeMapping::getExternal))
+									   .toList();
+		networks = networks == null ? List.of() : List.copyOf(networks);
+		commonNetworks = commonNetworks == null ? List.of() : commonNetworks.stream().sorted().toList();
+	}
+
+	/**
+	 * creates a model without common networks, whose top-level networks are those joined by the
+	 * given services.
+	 *
+	 * @param services the services in the order they are written
+	 * @param commonEnvironment the environment variables of the common anchor, may be null
+	 * @param commonVolumes the volumes of the common anchor, may be null
+	 */
+	public ComposeModel(List<ServiceModel> services,
+						SortedMap<String, String> commonEnvironment,
+						List<VolumeMapping> commonVolumes) {
+		this(services, commonEnvironment, commonVolumes, services == null ? null : NetworkModel.of(services), null, null);
+	}
+
+	/**
+	 * creates a model from already optimized (mutable) services. Services listing volumes beyond the
+	 * common ones get all volumes (common first, then specific), since docker compose does not merge
+	 * lists from an anchor with the service's own list.
+	 *
+	 * @param services the services to take the snapshot from
+	 * @param commonEnvironment the environment variables shared by the services, may be null
+	 * @param commonVolumes the volumes shared by the services, may be null
+	 * @return the immutable model
+	 */
+	public static ComposeModel of(List<DockerService> services,
+								  Map<String, String> commonEnvironment,
+								  List<VolumeMapping> commonVolumes) {
+		ComposeModel model = new ComposeModel(List.of(),
+											commonEnvironment == null ? null : new TreeMap<>(commonEnvironment),
+											ServiceModel.copyVolumes(commonVolumes));
+		List<ServiceModel> serviceModels = new ArrayList<>();
+		for (DockerService service : services) {
+			serviceModels.add(model.mergeCommonVolumes(ServiceModel.of(service)));
+		}
+		return new ComposeModel(serviceModels, model.commonEnvironment(), model.commonVolumes());
+	}
+
+	/**
+	 * @return true if there are environment variables shared through the common anchor
+	 */
+	public boolean containsCommonEnvironment() {
+		return !commonEnvironment.isEmpty();
+	}
+
+	/**
+	 * @return true if there are volumes shared through the common anchor
+	 */
+	public boolean containsCommonVolumes() {
+		return !commonVolumes.isEmpty();
+	}
+
+	/**
+	 * @return true if there are networks shared through the common anchor
+	 */
+	public boolean containsCommonNetworks() {
+		return !commonNetworks.isEmpty();
+	}
+
+	/**
+	 * @return true if there are resource limits shared through the common anchor
+	 */
+	public boolean containsCommonLimits() {
+		return commonLimits != null;
+	}
+
+	/**
+	 * returns the service with the given name.
+	 *
+	 * @param name the name of the service
+	 * @return the service or null if there is none with the given name
+	 */
+	public ServiceModel service(String name) {
+		return services.stream()
+					   .filter(service -> service.name().equals(name))
+					   .findFirst()
+					   .orElse(null);
+	}
+
+	/**
+	 * If the given service lists volumes which are not common, all volumes (common first, then
+	 * the specific ones) are listed in the service directly. Services without additional volumes
+	 * are returned unchanged.
+	 *
+	 * @param service the service to merge the common volumes into
+	 * @return the service listing its volumes in the way docker compose expects
+	 */
+	ServiceModel mergeCommonVolumes(ServiceModel service) {
+		if (commonVolumes.isEmpty() || service.volumes().isEmpty()) {
+			return service;
+		}
+		List<VolumeMapping> allVolumes = new ArrayList<>(commonVolumes);
+		service.volumes().stream()
+						 .filter(volume -> !commonVolumes.contains(volume))
+						 .forEach(allVolumes::add);
+		return allVolumes.equals(service.volumes()) ? service : service.withVolumes(allVolumes);
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Destination of the generated files
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decides what happens with the content emitted for a generated file. By default
+ * ({@link #OVERWRITE}) every file is written. {@link #writeIfChanged()} only writes files whose
+ * content differs from the file on disk, so file watchers (e.g. <code>docker compose watch</code>)
+ * are not triggered needlessly.
+ * <p>
+ * When comparing, the line holding the generation timestamp is ignored, see {@link #GENERATED_ON}.
+ * </p>
+ */
+@FunctionalInterface
+public interface ComposeOutput {
+
+	/** start of the comment line holding the generation timestamp */
+	String GENERATED_ON = "# generated on ";
+
+	/** writes every file */
+	ComposeOutput OVERWRITE = Files::newBufferedWriter;
+
+	/**
+	 * opens a writer for the content of the given file.
+	 *
+	 * @param file the file the content is generated for
+	 * @return the writer to emit the content to, closing it completes the file
+	 * @throws IOException if the file cannot be opened
+	 */
+	Writer open(Path file) throws IOException;
+
+	/**
+	 * @return an output writing only files whose content changed
+	 */
+	static ChangedFilesOutput writeIfChanged() {
+		return new ChangedFilesOutput();
+	}
+
+	/**
+	 * returns whether the two contents are equal, ignoring the generation timestamp.
+	 *
+	 * @param generated the generated content
+	 * @param existing the content on disk
+	 * @return true if both are equal apart from the timestamp
+	 */
+	static boolean sameContent(String generated, String existing) {
+		List<String> generatedLines = generated.lines().filter(line -> !line.startsWith(GENERATED_ON)).toList();
+		List<String> existingLines = existing.lines().filter(line -> !line.startsWith(GENERATED_ON)).toList();
+		return generatedLines.equals(existingLines);
+	}
+
+	/**
+	 * Output which collects the content in memory and writes it on close, only if it differs from
+	 * the file on disk. The files written are recorded.
+	 */
+	final class ChangedFilesOutput implements ComposeOutput {
+
+		private final List<Path> writtenFiles = Collections.synchronizedList(new ArrayList<>());
+
+		private ChangedFilesOutput() {
+		}
+
+		@Override
+		public Writer open(Path file) {
+			return new StringWriter() {
+				private boolean closed;
+
+				@Override
+				public void close() throws IOException {
+					if (closed) {
+						return;
+					}
+					closed = true;
+					String content = toString();
+					if (Files.isRegularFile(file) && sameContent(content, Files.readString(file))) {
+						return;
+					}
+					Files.writeString(file, content);
+					writtenFiles.add(file);
+				}
+			};
+		}
+
+		/**
+		 * @return the files written, in the order they have been completed
+		 */
+		public List<Path> writtenFiles() {
+			synchronized (writtenFiles) {
+				return List.copyOf(writtenFiles);
+			}
+		}
+	}
+}
@@ -0,0 +1,23 @@
+/**
+ * How the database containers are run.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+/**
+ * The mode of the containers in the database compose file.
+ */
+public enum DatabaseMode {
+
+	/** default settings of the image, data survives a restart of the server */
+	DURABLE,
+
+	/**
+	 * data directory in memory (tmpfs) and durable writes turned off, e.g. <code>fsync=off</code> for
+	 * PostgreSQL or <code>innodb_flush_log_at_trx_commit=0</code> for MySQL. Much faster to start and
+	 * run, meant for integration test stacks whose data is thrown away anyway.
+	 */
+	EPHEMERAL
+}
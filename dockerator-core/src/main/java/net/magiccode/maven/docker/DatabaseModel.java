@@ -0,0 +1,292 @@
+/**
+ * Immutable representation of a database container.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * A database container of the database compose file, started for one distinct datasource of the
+ * services. Datasources are distinct by host (including the port) and database; services using the
+ * same datasource share its container.
+ * <p>
+ * With a connection budget, the container is limited to that many connections, and the budget
+ * (less {@value #RESERVED_CONNECTIONS} connections reserved for administration) is split evenly
+ * among the connection pools of the services not configuring the size of their pool themselves.
+ * </p>
+ *
+ * @param name the name of the container, <code>&lt;vendor&gt;-&lt;database&gt;</code>
+ * @param url the parsed JDBC URL of the datasource
+ * @param username the user of the datasource, null if not configured
+ * @param password the password of the datasource, null if not configured
+ * @param hostPort the port published on the host, the port of the URL unless already taken
+ * @param maxConnections the maximum number of connections of the server, 0 for the default of the image
+ * @param services the names of the services using the datasource, in order of discovery
+ * @param poolSizes the maximum pool size per service, for the services whose pools are sized from
+ *        the connection budget
+ */
+@Log4j2
+public record DatabaseModel(String name,
+							JdbcUrl url,
+							String username,
+							String password,
+							int hostPort,
+							int maxConnections,
+							List<String> services,
+							Map<String, Integer> poolSizes) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** connections of the budget not given to the pools, left for administration and monitoring */
+	public static final int RESERVED_CONNECTIONS = 3;
+
+	/** property of the maximum pool size below the JDBC prefix, in docker format */
+	private static final String POOL_SIZE_PROPERTY = "HIKARI_MAXIMUM_POOL_SIZE";
+
+	/**
+	 * Compact constructor making sure the collections are immutable.
+	 */
+	public DatabaseModel {
+		services = services == null ? List.of() : List.copyOf(services);
+		poolSizes = poolSizes == null ? Map.of() : Map.copyOf(poolSizes);
+	}
+
+	/**
+	 * collects the distinct datasources of the given services.
+	 *
+	 * @param services the services, whose JDBC configurations are read
+	 * @param jdbcPrefix the prefix of the JDBC properties (e.g. <code>spring.datasource.</code>)
+	 * @param connectionBudget the maximum number of connections of each datasource, null for the
+	 *        defaults of server and pools
+	 * @return one database per distinct datasource, in order of discovery
+	 */
+	public static List<DatabaseModel> collect(Collection<ServiceModel> services, String jdbcPrefix,
+			Integer connectionBudget) {
+		Map<String, DatabaseModel> databases = new LinkedHashMap<>();
+		// pool sizes configured by the services, per datasource
+		Map<String, Map<String, String>> configuredPoolSizes = new LinkedHashMap<>();
+		for (ServiceModel service : services) {
+			Map<String, String> config = normalize(service.jdbcConfigs(), jdbcPrefix);
+			String rawUrl = config.get("URL");
+			if (rawUrl == null) {
+				continue;
+			}
+			JdbcUrl url = JdbcUrl.parse(rawUrl);
+			if (url == null) {
+				log.info("Datasource '" + rawUrl + "' of service '" + service.name() + "' is not a supported database server, skipping");
+				continue;
+			}
+			String username = config.get("USERNAME");
+			String password = config.get("PASSWORD");
+			String key = url.address() + "/" + url.database();
+			if (config.containsKey(POOL_SIZE_PROPERTY)) {
+				configuredPoolSizes.computeIfAbsent(key, k -> new LinkedHashMap<>())
+								   .put(service.name(), config.get(POOL_SIZE_PROPERTY));
+			}
+			DatabaseModel known = databases.get(key);
+			if (known == null) {
+				databases.put(key, new DatabaseModel(null, url, username, password, url.port(), 0,
+						List.of(service.name()), null));
+				continue;
+			}
+			if (!Objects.equals(known.username(), username) || !Objects.equals(known.password(), password)) {
+				log.warn("Service '" + service.name() + "' uses datasource " + key + " with other credentials than '"
+						+ known.services().get(0) + "', using those of '" + known.services().get(0) + "'");
+			}
+			databases.put(key, known.withService(service.name()));
+		}
+		if (connectionBudget != null) {
+			databases.replaceAll((key, database) -> 
+					database.withConnectionBudget(connectionBudget, configuredPoolSizes.getOrDefault(key, Map.of())));
+		}
+		return assignNamesAndPorts(databases.values());
+	}
+
+	/**
+	 * sets the maximum pool size of the services whose pools are sized from the connection budget.
+	 *
+	 * @param services the services
+	 * @param databases the databases of the services, as returned by {@link #collect(Collection, String, Integer)}
+	 * @param jdbcPrefix the prefix of the JDBC properties
+	 * @return the services, with the pool size as environment variable where sized from the budget
+	 */
+	public static List<ServiceModel> withPoolSizes(List<ServiceModel> services, List<DatabaseModel> databases,
+			String jdbcPrefix) {
+		Map<String, Integer> poolSizes = new HashMap<>();
+		databases.forEach(database -> poolSizes.putAll(database.poolSizes()));
+		if (poolSizes.isEmpty()) {
+			return services;
+		}
+		String variable = poolSizeVariable(jdbcPrefix);
+		return services.stream()
+					   .map(service -> poolSizes.containsKey(service.name())
+							   ? service.withEnvironment(Map.of(variable, String.valueOf(poolSizes.get(service.name()))))
+							   : service)
+					   .toList();
+	}
+
+	/**
+	 * returns the name of the environment variable holding the maximum pool size.
+	 *
+	 * @param jdbcPrefix the prefix of the JDBC properties
+	 * @return the variable, <code>SPRING_DATASOURCE_HIKARI_MAXIMUM_POOL_SIZE</code> for the default prefix
+	 */
+	public static String poolSizeVariable(String jdbcPrefix) {
+		String prefix = dockerFormat(StringUtils.defaultString(jdbcPrefix));
+		return (prefix.isEmpty() || prefix.endsWith("_") ? prefix : prefix + "_") + POOL_SIZE_PROPERTY;
+	}
+
+	/**
+	 * returns a copy of this model limited to the given number of connections, split among the pools
+	 * of the services not configuring their pool size.
+	 *
+	 * @param budget the maximum number of connections of the server
+	 * @param configuredPoolSizes the pool sizes configured by services, by service name
+	 * @return a model with maximum connections and pool sizes
+	 */
+	DatabaseModel withConnectionBudget(int budget, Map<String, String> configuredPoolSizes) {
+		int available = budget - RESERVED_CONNECTIONS;
+		for (Map.Entry<String, String> configured : configuredPoolSizes.entrySet()) {
+			try {
+				available -= Integer.parseInt(configured.getValue().trim());
+			} catch (NumberFormatException e) {
+				log.warn("Pool size '" + configured.getValue() + "' of service '" + configured.getKey() 
+						+ "' is not a number and not counted against the connection budget");
+			}
+		}
+		List<String> sized = services.stream().filter(service -> !configuredPoolSizes.containsKey(service)).toList();
+		Map<String, Integer> newPoolSizes = new LinkedHashMap<>();
+		if (!sized.isEmpty()) {
+			int poolSize = Math.max(1, available / sized.size());
+			if (poolSize * sized.size() > available) {
+				log.warn("Connection budget of " + budget + " is exceeded by the " + services.size() 
+						+ " service(s) using " + url.address() + "/" + url.database());
+			}
+			sized.forEach(service -> newPoolSizes.put(service, poolSize));
+		} else if (available < 0) {
+			log.warn("Connection budget of " + budget + " is exceeded by the configured pool sizes of the services using " 
+					+ url.address() + "/" + url.database());
+		}
+		return new DatabaseModel(name, url, username, password, hostPort, budget, services, newPoolSizes);
+	}
+
+	/**
+	 * returns a copy of this model used by the given service as well.
+	 *
+	 * @param service the name of the service
+	 * @return a model listing the service
+	 */
+	public DatabaseModel withService(String service) {
+		List<String> newServices = new ArrayList<>(services);
+		newServices.add(service);
+		return new DatabaseModel(name, url, username, password, hostPort, maxConnections, newServices, poolSizes);
+	}
+
+	/**
+	 * @return the environment variables of the container
+	 */
+	public Map<String, String> environment() {
+		return url.vendor().environment(databaseName(), username, password);
+	}
+
+	/**
+	 * creates the entry of this container in the <code>services</code> section of the database compose
+	 * file.
+	 *
+	 * @param mode the mode the container is run in
+	 * @return the yaml formatted entry
+	 */
+	public String generateServiceEntry(DatabaseMode mode) {
+		DatabaseVendor vendor = url.vendor();
+		boolean ephemeral = mode == DatabaseMode.EPHEMERAL;
+		StringBuilder entry = new StringBuilder();
+		entry.append(StringUtils.repeat(" ", 2)).append(name).append(":\n");
+		entry.append(StringUtils.repeat(" ", 4)).append("image: ").append(vendor.image()).append("\n");
+		List<String> command = vendor.command(mode, maxConnections);
+		if (!command.isEmpty()) {
+			entry.append(StringUtils.repeat(" ", 4)).append("command:\n");
+			command.forEach(argument -> entry.append(StringUtils.repeat(" ", 6))
+											 .append("- \"").append(argument).append("\"\n"));
+		}
+		Map<String, String> environment = environment();
+		if (!environment.isEmpty()) {
+			entry.append(StringUtils.repeat(" ", 4)).append("environment:\n");
+			environment.forEach((key, value) -> entry.append(StringUtils.repeat(" ", 6))
+													 .append("- ").append(key).append("=").append(value).append("\n"));
+		}
+		if (ephemeral && vendor.dataDirectory() != null) {
+			entry.append(StringUtils.repeat(" ", 4)).append("tmpfs:\n");
+			entry.append(StringUtils.repeat(" ", 6)).append("- ").append(vendor.dataDirectory()).append("\n");
+		}
+		entry.append(StringUtils.repeat(" ", 4)).append("ports:\n");
+		entry.append(StringUtils.repeat(" ", 6))
+			 .append("- \"").append(hostPort).append(":").append(vendor.port()).append("\"\n");
+		return entry.toString();
+	}
+
+	/**
+	 * @return the name of the database without the path, for H2 the file name
+	 */
+	private String databaseName() {
+		return StringUtils.substringAfterLast("/" + url.database(), "/");
+	}
+
+	/**
+	 * names the containers after vendor and database and assigns distinct host ports.
+	 */
+	private static List<DatabaseModel> assignNamesAndPorts(Collection<DatabaseModel> databases) {
+		List<DatabaseModel> result = new ArrayList<>();
+		Set<String> names = new HashSet<>();
+		Set<Integer> ports = new HashSet<>();
+		for (DatabaseModel database : databases) {
+			String baseName = database.url().vendor().id() + "-"
+							  + database.databaseName().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_.-]", "-");
+			String uniqueName = baseName;
+			for (int i = 2; !names.add(uniqueName); i++) {
+				uniqueName = baseName + "-" + i;
+			}
+			int port = database.hostPort();
+			while (!ports.add(port)) {
+				port++;
+			}
+			if (port != database.hostPort()) {
+				log.warn("Port " + database.hostPort() + " of database '" + uniqueName + "' is already published, using " + port);
+			}
+			result.add(new DatabaseModel(uniqueName, database.url(), database.username(), database.password(), port,
+					database.maxConnections(), database.services(), database.poolSizes()));
+		}
+		return result;
+	}
+
+	/**
+	 * maps the JDBC configuration to keys without prefix in docker format (e.g. <code>URL</code>), so
+	 * configurations read from properties and yaml files look alike.
+	 */
+	private static Map<String, String> normalize(Map<String, String> jdbcConfigs, String jdbcPrefix) {
+		String prefix = dockerFormat(StringUtils.defaultString(jdbcPrefix));
+		Map<String, String> config = new LinkedHashMap<>();
+		jdbcConfigs.forEach((key, value) -> config.put(StringUtils.removeStart(dockerFormat(key), prefix), value));
+		return config;
+	}
+
+	private static String dockerFormat(String key) {
+		return key.toUpperCase(Locale.ROOT).replace(".", "_").replace("-", "_");
+	}
+}
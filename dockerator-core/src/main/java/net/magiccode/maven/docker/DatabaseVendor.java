@@ -0,0 +1,182 @@
+/**
+ * The database servers a container can be generated for.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A database server detected from a JDBC URL, with the image, the port and the native environment
+ * variables of its official container image. For ephemeral databases, see {@link DatabaseMode}, the
+ * data directory is kept in memory and the server is started without durable writes.
+ * PostgreSQL, MySQL and MariaDB accept a limit of connections on the command line.
+ */
+public enum DatabaseVendor {
+
+	POSTGRES("postgres", "postgres:16", 5432, 5432, "/var/lib/postgresql/data",
+			List.of("-c", "fsync=off", "-c", "synchronous_commit=off", "-c", "full_page_writes=off")),
+	MYSQL("mysql", "mysql:8.0", 3306, 3306, "/var/lib/mysql",
+			List.of("--innodb-flush-log-at-trx-commit=0", "--sync-binlog=0")),
+	MARIADB("mariadb", "mariadb:11", 3306, 3306, "/var/lib/mysql",
+			List.of("--innodb-flush-log-at-trx-commit=0", "--sync-binlog=0")),
+	// SQL Server needs direct I/O, which tmpfs does not support, and has no server wide switch for durability
+	MSSQL("mssql", "mcr.microsoft.com/mssql/server:2022-latest", 1433, 1433, null, List.of()),
+	H2("h2", "oscarfonts/h2:latest", 1521, 9092, "/opt/h2-data", List.of());
+
+	/** name of the superuser of mysql and mariadb, which must not be created as regular user */
+	private static final String ROOT_USER = "root";
+
+	private final String id;
+	private final String image;
+	private final int port;
+	private final int defaultPort;
+	private final String dataDirectory;
+	private final List<String> ephemeralOptions;
+
+	DatabaseVendor(String id, String image, int port, int defaultPort, String dataDirectory, List<String> ephemeralOptions) {
+		this.id = id;
+		this.image = image;
+		this.port = port;
+		this.defaultPort = defaultPort;
+		this.dataDirectory = dataDirectory;
+		this.ephemeralOptions = ephemeralOptions;
+	}
+
+	/**
+	 * @return the short name of the vendor, used in the names of the containers
+	 */
+	public String id() {
+		return id;
+	}
+
+	/**
+	 * @return the image of the container
+	 */
+	public String image() {
+		return image;
+	}
+
+	/**
+	 * @return the port the server listens on inside the container
+	 */
+	public int port() {
+		return port;
+	}
+
+	/**
+	 * @return the port of a JDBC URL without port
+	 */
+	public int defaultPort() {
+		return defaultPort;
+	}
+
+	/**
+	 * @return the data directory of the server inside the container, mounted as tmpfs for ephemeral
+	 *         databases; null if the server cannot run on tmpfs
+	 */
+	public String dataDirectory() {
+		return dataDirectory;
+	}
+
+	/**
+	 * returns the command of the container, passing the options of the given mode and the limit of
+	 * connections to the server.
+	 *
+	 * @param mode the mode the container is run in
+	 * @param maxConnections the maximum number of connections, 0 for the default of the server
+	 * @return the command, empty if the default command of the image is to be used
+	 */
+	public List<String> command(DatabaseMode mode, int maxConnections) {
+		List<String> command = new ArrayList<>();
+		if (mode == DatabaseMode.EPHEMERAL) {
+			command.addAll(ephemeralOptions);
+		}
+		if (maxConnections > 0) {
+			switch (this) {
+				case POSTGRES -> command.addAll(List.of("-c", "max_connections=" + maxConnections));
+				case MYSQL, MARIADB -> command.add("--max-connections=" + maxConnections);
+				default -> {
+					// no server option, see supportsMaxConnections
+				}
+			}
+		}
+		if (this == POSTGRES && !command.isEmpty()) {
+			// the entrypoint of the image only passes options to the server following its name
+			command.add(0, "postgres");
+		}
+		return command;
+	}
+
+	/**
+	 * @return true if an ephemeral database of this vendor differs from a durable one
+	 */
+	public boolean supportsEphemeral() {
+		return dataDirectory != null || !ephemeralOptions.isEmpty();
+	}
+
+	/**
+	 * @return true if the maximum number of connections can be set on the command line
+	 */
+	public boolean supportsMaxConnections() {
+		return this == POSTGRES || this == MYSQL || this == MARIADB;
+	}
+
+	/**
+	 * returns the environment variables making the container create the given database and user.
+	 *
+	 * @param database the name of the database
+	 * @param username the user, null if not configured
+	 * @param password the password, null if not configured
+	 * @return the environment variables of the container, in the order to be written
+	 */
+	public Map<String, String> environment(String database, String username, String password) {
+		Map<String, String> environment = new LinkedHashMap<>();
+		switch (this) {
+			case POSTGRES -> {
+				environment.put("POSTGRES_DB", database);
+				putIfNotBlank(environment, "POSTGRES_USER", username);
+				if (StringUtils.isEmpty(password)) {
+					// the image refuses to start without a password
+					environment.put("POSTGRES_HOST_AUTH_METHOD", "trust");
+				} else {
+					environment.put("POSTGRES_PASSWORD", password);
+				}
+			}
+			case MYSQL, MARIADB -> {
+				String prefix = this == MYSQL ? "MYSQL_" : "MARIADB_";
+				environment.put(prefix + "DATABASE", database);
+				if (StringUtils.isNotBlank(username) && !ROOT_USER.equalsIgnoreCase(username)) {
+					environment.put(prefix + "USER", username);
+					putIfNotBlank(environment, prefix + "PASSWORD", password);
+				}
+				// the image needs a root password, the one of the datasource does for local use
+				if (StringUtils.isNotEmpty(password)) {
+					environment.put(prefix + "ROOT_PASSWORD", password);
+				} else {
+					environment.put(this == MYSQL ? "MYSQL_ALLOW_EMPTY_PASSWORD" : "MARIADB_ALLOW_EMPTY_ROOT_PASSWORD", "yes");
+				}
+			}
+			case MSSQL -> {
+				// the image knows the sa user only, the database has to be created by the application
+				environment.put("ACCEPT_EULA", "Y");
+				putIfNotBlank(environment, "MSSQL_SA_PASSWORD", password);
+			}
+			case H2 -> environment.put("H2_OPTIONS", "-ifNotExists");
+		}
+		return environment;
+	}
+
+	private static void putIfNotBlank(Map<String, String> environment, String key, String value) {
+		if (StringUtils.isNotBlank(value)) {
+			environment.put(key, value);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * Helper class for docker compose file service entries.
+ * 
+ * @author Volker Karlmeier
+ * 
+ */
+package net.magiccode.maven.docker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Container for the services created for each module. 
+ */
+@Data
+@Builder
+@Log4j2
+public class DockerService {
+
+	private String name;
+	private String version;
+	private String imagePrefix;
+	
+	@Builder.Default
+	private Map<String, String> dockerEnvVars = new HashMap<>();
+	
+	@Builder.Default
+	private Map<String, String> jdbcConfigs = new HashMap<>();
+
+	@Builder.Default
+	private Map<String, String> backingConfigs = new HashMap<>();
+
+	@Builder.Default
+	private Map<String, String> volumes = new HashMap<>();
+
+	@Builder.Default
+	private List<String> ports = new ArrayList<>();
+	
+	@Builder.Default
+	private boolean createEnvironmentFile = false;
+	
+	@Builder.Default
+	private List<VolumeMapping> specificVolumes = new ArrayList<>();
+
+	@Builder.Default
+	private List<NetworkModel> networks = new ArrayList<>();
+
+	private ResourceLimits limits;
+
+	private boolean appCds;
+
+	private ImageBuild build;
+
+	/**
+	 * wrapper method calling <code>generateServiceEntry(String commonName, String commonEnvironmentName)</code> with
+	 * null values to indicate no common environment is provided and a service entry for a single module project is 
+	 * being created.
+	 * @return a String containing the yaml formatted service entry for the project.
+	 */
+	public String generateServiceEntry() {
+		return generateServiceEntry(null,null);
+	}
+	
+	/**
+	 * creates a string in yaml format for the docker-compose file to be generated. If commonName and commonEnvironmentName 
+	 * are specified (not empty nor null) a common property entry is generated, otherwise a single module entry.
+	 * (Single modules entries start with '- ' and use '=' for a delimiter, common property entries do not start with '- ' 
+	 * and delimit entries with ':'
+	 *  
+	 * @param commonName - a common name for all common settings in the docker compose file.
+	 * @param commonEnvironmentName - a common environment name used for the anchor of the environment settings
+	 * @return a string containing the entire service definition for the docker compose file.
+	 */
+	public String generateServiceEntry(String commonName, String commonEnvironmentName) {
+	    return generateServiceEntry(commonName, commonEnvironmentName, false, null);
+	}
+	
+	public String generateServiceEntry(String commonName, String commonEnvironmentName, boolean containsCommonVolumes, String moduleName) {
+	    String serviceEntry = toModel().generateServiceEntry(commonName, commonEnvironmentName);
+	    log.info("Generated service entry for " + name);
+	    return serviceEntry;
+	}
+
+	/**
+	 * creates an immutable, pre-sorted snapshot of this service, which is used by the optimizer and
+	 * for writing the docker compose files.
+	 *
+	 * @return the immutable model of this service
+	 */
+	public ServiceModel toModel() {
+		return ServiceModel.of(this);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+/**
+ * Immutable representation of the image build of a service.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.File;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The <code>build</code> section of a service and the multi-stage Dockerfile it points at. The
+ * first stage extracts the executable jar of the module with Spring Boot's
+ * <code>-Djarmode=tools extract --layers</code> (Spring Boot 3.3 or later), the second copies the
+ * layers one by one, dependencies first. Docker caches each layer on its own, so rebuilding after a
+ * change of the code only copies the classes of the application instead of the whole jar.
+ * <p>
+ * The Dockerfile is written to the output directory, the context of the build is the module
+ * directory, where the jar is taken from: <code>target/*.jar</code> in Maven modules,
+ * <code>build/libs/&lt;module&gt;-&lt;version&gt;.jar</code> in Gradle modules (the jar of the
+ * <code>bootJar</code> task). Another jar is chosen with the build argument <code>JAR_FILE</code>.
+ * </p>
+ *
+ * @param context the module directory, relative to the output directory
+ * @param dockerfile the Dockerfile, relative to the context
+ * @param jarFile the executable jar, relative to the context, may contain wildcards
+ * @param baseImage the image both stages are based on
+ */
+public record ImageBuild(String context, String dockerfile, String jarFile, String baseImage) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** the image both stages are based on, if none is configured */
+	public static final String DEFAULT_BASE_IMAGE = "eclipse-temurin:21-jre";
+
+	/** the layers of a Spring Boot jar, in the order they change least often */
+	public static final List<String> LAYERS = List.of("dependencies", "spring-boot-loader", "snapshot-dependencies",
+			"application");
+
+	/**
+	 * creates the build of a module.
+	 *
+	 * @param moduleDirectory the directory of the module
+	 * @param outputDir the directory the compose files and the Dockerfile are written to
+	 * @param service the name of the service
+	 * @param version the version of the module
+	 * @param baseImage the base image, null or blank for {@value #DEFAULT_BASE_IMAGE}
+	 * @return the build of the module
+	 */
+	public static ImageBuild of(File moduleDirectory, String outputDir, String service, String version, String baseImage) {
+		Path output = Paths.get(outputDir).toAbsolutePath().normalize();
+		Path module = moduleDirectory.toPath().toAbsolutePath().normalize();
+		String jarFile = new File(moduleDirectory, "pom.xml").isFile()
+						 ? "target/*.jar"
+						 : "build/libs/" + service + (StringUtils.isBlank(version) ? "" : "-" + version) + ".jar";
+		return new ImageBuild(relative(output, module),
+							  relative(module, output.resolve(fileName(service))),
+							  jarFile,
+							  StringUtils.defaultIfBlank(baseImage, DEFAULT_BASE_IMAGE));
+	}
+
+	/**
+	 * @param service the name of the service
+	 * @return the name of the Dockerfile of the service in the output directory
+	 */
+	public static String fileName(String service) {
+		return service + ".Dockerfile";
+	}
+
+	/**
+	 * creates the <code>build</code> entry of a service.
+	 *
+	 * @param indent the indentation of the <code>build</code> key
+	 * @return the yaml formatted entry
+	 */
+	public String generateBuildEntry(int indent) {
+		StringBuilder entry = new StringBuilder();
+		entry.append(StringUtils.repeat(" ", indent)).append("build:\n");
+		entry.append(StringUtils.repeat(" ", indent + 2)).append("context: ").append(context).append("\n");
+		entry.append(StringUtils.repeat(" ", indent + 2)).append("dockerfile: ").append(dockerfile).append("\n");
+		return entry.toString();
+	}
+
+	/**
+	 * creates the Dockerfile.
+	 *
+	 * @param ports the ports the service listens on, exposed by the image
+	 * @return the content of the Dockerfile
+	 */
+	public String generateDockerfile(List<String> ports) {
+		StringBuilder dockerfile = new StringBuilder();
+		dockerfile.append("# extract the layers of the executable jar\n");
+		dockerfile.append("FROM ").append(baseImage).append(" AS builder\n");
+		dockerfile.append("WORKDIR /builder\n");
+		dockerfile.append("ARG JAR_FILE=").append(jarFile).append("\n");
+		dockerfile.append("COPY ${JAR_FILE} application.jar\n");
+		dockerfile.append("RUN java -Djarmode=tools -jar application.jar extract --layers --destination extracted\n");
+		dockerfile.append("\n");
+		dockerfile.append("# copy the layers, those changing least often first\n");
+		dockerfile.append("FROM ").append(baseImage).append("\n");
+		dockerfile.append("WORKDIR /application\n");
+		LAYERS.forEach(layer -> dockerfile.append("COPY --from=builder /builder/extracted/")
+										  .append(layer).append("/ ./\n"));
+		if (!ports.isEmpty()) {
+			dockerfile.append("EXPOSE ").append(String.join(" ", ports)).append("\n");
+		}
+		dockerfile.append("ENTRYPOINT [\"java\", \"-jar\", \"application.jar\"]\n");
+		return dockerfile.toString();
+	}
+
+	/**
+	 * returns the path of the target relative to the base, with forward slashes as in compose files.
+	 */
+	private static String relative(Path base, Path target) {
+		String path = base.relativize(target).toString().replace(File.separatorChar, '/');
+		return path.isEmpty() ? "." : path;
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * Immutable representation of a backing service container.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A container of the infrastructure compose file, started for a backing service (e.g. Redis, Kafka
+ * or RabbitMQ) the services connect to. Services using the same server share the container; their
+ * host and port settings are rewritten to point at it.
+ *
+ * @param name the name of the container, also its host name in the compose network
+ * @param image the image of the container
+ * @param command the command of the container, empty for the default command of the image
+ * @param environment the environment variables of the container, sorted by key
+ * @param hostPort the port published on the host
+ * @param containerPort the port the server listens on inside the container
+ * @param services the names of the services using the container, in order of discovery
+ * @param networks the networks of the services using the container, sorted by name
+ */
+public record InfraModel(String name,
+						 String image,
+						 List<String> command,
+						 SortedMap<String, String> environment,
+						 int hostPort,
+						 int containerPort,
+						 List<String> services,
+						 List<NetworkModel> networks) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Compact constructor making sure all collections are immutable and sorted.
+	 */
+	public InfraModel {
+		command = command == null ? List.of() : List.copyOf(command);
+		environment = ServiceModel.freeze(environment);
+		services = services == null ? List.of() : List.copyOf(services);
+		networks = networks == null
+				   ? List.of()
+				   : networks.stream().sorted(Comparator.comparing(NetworkModel::name)).toList();
+	}
+
+	/**
+	 * creates a container without services, to be completed with {@link #usedBy(List, Collection)}.
+	 *
+	 * @param name the name of the container
+	 * @param image the image of the container
+	 * @param command the command, empty for the default command of the image
+	 * @param environment the environment variables of the container
+	 * @param hostPort the port published on the host
+	 * @param containerPort the port the server listens on inside the container
+	 * @return the container
+	 */
+	public static InfraModel of(String name, String image, List<String> command, Map<String, String> environment,
+			int hostPort, int containerPort) {
+		return new InfraModel(name, image, command, ServiceModel.freeze(environment), hostPort, containerPort, null, null);
+	}
+
+	/**
+	 * returns a copy of this model used by the given services.
+	 *
+	 * @param newServices the names of the services using the container
+	 * @param serviceNetworks the networks of these services
+	 * @return a model listing the services, joining all their networks
+	 */
+	public InfraModel usedBy(List<String> newServices, Collection<NetworkModel> serviceNetworks) {
+		return new InfraModel(name, image, command, environment, hostPort, containerPort, newServices,
+				NetworkModel.merge(serviceNetworks));
+	}
+
+	/**
+	 * creates the entry of this container in the <code>services</code> section of the infrastructure
+	 * compose file.
+	 *
+	 * @return the yaml formatted entry
+	 */
+	public String generateServiceEntry() {
+		StringBuilder entry = new StringBuilder();
+		entry.append(StringUtils.repeat(" ", 2)).append(name).append(":\n");
+		entry.append(StringUtils.repeat(" ", 4)).append("image: ").append(image).append("\n");
+		if (!command.isEmpty()) {
+			entry.append(StringUtils.repeat(" ", 4)).append("command:\n");
+			command.forEach(argument -> entry.append(StringUtils.repeat(" ", 6))
+											 .append("- \"").append(argument).append("\"\n"));
+		}
+		if (!environment.isEmpty()) {
+			entry.append(StringUtils.repeat(" ", 4)).append("environment:\n");
+			environment.forEach((key, value) -> entry.append(StringUtils.repeat(" ", 6))
+													 .append("- ").append(key).append("=").append(value).append("\n"));
+		}
+		entry.append(StringUtils.repeat(" ", 4)).append("ports:\n");
+		entry.append(StringUtils.repeat(" ", 6))
+			 .append("- \"").append(hostPort).append(":").append(containerPort).append("\"\n");
+		if (!networks.isEmpty()) {
+			entry.append(StringUtils.repeat(" ", 4)).append("networks:\n");
+			networks.forEach(network -> entry.append(StringUtils.repeat(" ", 6))
+											 .append("- ").append(network.name()).append("\n"));
+		}
+		return entry.toString();
+	}
+}
@@ -0,0 +1,146 @@
+/**
+ * Parser for the JDBC URLs of the supported database servers.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+import java.util.Locale;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The parts of a JDBC URL needed to start a matching database container:
+ * <pre>
+ * jdbc:postgresql://host[:port]/database[?options]
+ * jdbc:mysql[:loadbalance|:replication]://host[:port][,host2...]/database[?options]
+ * jdbc:mariadb://host[:port]/database[?options]
+ * jdbc:sqlserver://host[\instance][:port];databaseName=database[;options]
+ * jdbc:h2:tcp://host[:port]/path/database[;options]
+ * </pre>
+ * Of a list of hosts the first one is taken. URLs of embedded databases (e.g. <code>jdbc:h2:mem:</code>)
+ * and of other vendors are not recognized.
+ *
+ * @param vendor the database server
+ * @param host the host name, lower case
+ * @param port the port, the default port of the vendor if the URL has none
+ * @param database the name of the database, for H2 the path of the database
+ */
+public record JdbcUrl(DatabaseVendor vendor, String host, int port, String database) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final String JDBC_SCHEME = "jdbc:";
+
+	private static final String DEFAULT_HOST = "localhost";
+
+	/**
+	 * parses the given URL.
+	 *
+	 * @param url the JDBC URL
+	 * @return the parsed URL or null if the URL is not the URL of a supported database server
+	 */
+	public static JdbcUrl parse(String url) {
+		if (StringUtils.isBlank(url) || !StringUtils.startsWithIgnoreCase(url.trim(), JDBC_SCHEME)) {
+			return null;
+		}
+		String rest = url.trim().substring(JDBC_SCHEME.length());
+		String subprotocol = StringUtils.substringBefore(rest, ":").toLowerCase(Locale.ROOT);
+		rest = rest.substring(Math.min(rest.length(), subprotocol.length() + 1));
+		return switch (subprotocol) {
+			case "postgresql" -> rest.startsWith("//")
+								 ? parseHierarchical(DatabaseVendor.POSTGRES, rest, "?")
+								 : database(DatabaseVendor.POSTGRES, DEFAULT_HOST, DatabaseVendor.POSTGRES.defaultPort(),
+										 StringUtils.substringBefore(rest, "?"));
+			case "mysql" -> parseHierarchical(DatabaseVendor.MYSQL, withoutMode(rest), "?");
+			case "mariadb" -> parseHierarchical(DatabaseVendor.MARIADB, withoutMode(rest), "?");
+			case "sqlserver" -> parseSqlServer(rest);
+			case "h2" -> StringUtils.startsWithAny(rest.toLowerCase(Locale.ROOT), "tcp://", "ssl://")
+						 ? parseHierarchical(DatabaseVendor.H2, rest.substring(rest.indexOf("//")), ";")
+						 : null;
+			default -> null;
+		};
+	}
+
+	/**
+	 * @return the host and the port, identifying the server
+	 */
+	public String address() {
+		return host + ":" + port;
+	}
+
+	/**
+	 * removes the connection mode of MySQL and MariaDB URLs (e.g. <code>loadbalance:</code>).
+	 */
+	private static String withoutMode(String rest) {
+		return rest.startsWith("//") ? rest : StringUtils.substringAfter(rest, ":");
+	}
+
+	/**
+	 * parses <code>//host[:port][,host2...]/database</code>, followed by options starting with the
+	 * given delimiter.
+	 */
+	private static JdbcUrl parseHierarchical(DatabaseVendor vendor, String rest, String optionDelimiter) {
+		if (!rest.startsWith("//")) {
+			return null;
+		}
+		String authorityAndPath = StringUtils.substringBefore(rest.substring(2), optionDelimiter);
+		int slash = authorityAndPath.indexOf('/');
+		if (slash < 0) {
+			return null;
+		}
+		String authority = StringUtils.substringBefore(authorityAndPath.substring(0, slash), ",");
+		return server(vendor, authority, authorityAndPath.substring(slash + 1));
+	}
+
+	/**
+	 * parses <code>//host[\instance][:port];databaseName=database;...</code>.
+	 */
+	private static JdbcUrl parseSqlServer(String rest) {
+		if (!rest.startsWith("//")) {
+			return null;
+		}
+		String[] parts = rest.substring(2).split(";");
+		String database = null;
+		for (int i = 1; i < parts.length; i++) {
+			String key = StringUtils.substringBefore(parts[i], "=").trim();
+			if (key.equalsIgnoreCase("databaseName") || key.equalsIgnoreCase("database")) {
+				database = StringUtils.substringAfter(parts[i], "=").trim();
+			}
+		}
+		// a named instance is served on the default port inside the container
+		String authority = parts[0].replaceAll("\\\\[^:]*", "");
+		return server(DatabaseVendor.MSSQL, authority, database);
+	}
+
+	/**
+	 * creates the URL from the authority <code>host[:port]</code> and the database.
+	 */
+	private static JdbcUrl server(DatabaseVendor vendor, String authority, String database) {
+		String host = authority;
+		int port = vendor.defaultPort();
+		int colon = authority.lastIndexOf(':');
+		if (colon >= 0 && colon > authority.lastIndexOf(']')) {
+			host = authority.substring(0, colon);
+			try {
+				port = Integer.parseInt(authority.substring(colon + 1).trim());
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		if (host.contains("(") || host.contains("=")) {
+			// key-value address syntax of MySQL, not supported
+			return null;
+		}
+		return database(vendor, StringUtils.defaultIfBlank(host.trim(), DEFAULT_HOST), port, database);
+	}
+
+	private static JdbcUrl database(DatabaseVendor vendor, String host, int port, String database) {
+		if (StringUtils.isBlank(database)) {
+			return null;
+		}
+		return new JdbcUrl(vendor, host.toLowerCase(Locale.ROOT), port, database.trim());
+	}
+}
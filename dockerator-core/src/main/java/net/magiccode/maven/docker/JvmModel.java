@@ -0,0 +1,166 @@
+/**
+ * Immutable representation of the JVM tuning of a service.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import net.magiccode.maven.Jvm;
+
+/**
+ * The JVM settings and resource limits of a service, configured for all services in the plugin
+ * configuration or the <code>.dockerator</code> file of the project, and per module in the
+ * <code>.dockerator</code> file of the module. The JVM settings become
+ * <code>JAVA_TOOL_OPTIONS</code>, so they apply without changes to the image, the limits become
+ * <code>deploy.resources.limits</code>. Together they keep the heap of every container in
+ * proportion to the memory it may use.
+ *
+ * @param maxRamPercentage the percentage of the container memory used for the heap, null for the
+ *        default of the JVM
+ * @param gc the garbage collector, one of {@link #GARBAGE_COLLECTORS}, null for the default of the JVM
+ * @param activeProcessorCount the number of processors the JVM assumes, null to derive it from the container
+ * @param cpus the maximum number of CPUs of the container, null if not limited
+ * @param memory the maximum memory of the container, null if not limited
+ */
+public record JvmModel(Integer maxRamPercentage,
+					   String gc,
+					   Integer activeProcessorCount,
+					   String cpus,
+					   String memory) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** the settings of a service without JVM tuning */
+	public static final JvmModel EMPTY = new JvmModel(null, null, null, null, null);
+
+	/** the environment variable picked up by every JVM started in the container */
+	public static final String TOOL_OPTIONS_VARIABLE = "JAVA_TOOL_OPTIONS";
+
+	/** the garbage collectors which can be selected, named as in <code>-XX:+Use&lt;name&gt;GC</code> */
+	public static final List<String> GARBAGE_COLLECTORS = List.of("Serial", "Parallel", "G1", "Z", "Shenandoah");
+
+	private static final Pattern CPUS = Pattern.compile("\\d+(\\.\\d+)?");
+
+	private static final Pattern MEMORY = Pattern.compile("\\d+[bkmg]?", Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * Compact constructor validating the settings.
+	 *
+	 * @throws IllegalArgumentException if a setting is out of range or not understood
+	 */
+	public JvmModel {
+		if (maxRamPercentage != null && (maxRamPercentage < 1 || maxRamPercentage > 100)) {
+			throw new IllegalArgumentException("maxRamPercentage has to be between 1 and 100: " + maxRamPercentage);
+		}
+		if (activeProcessorCount != null && activeProcessorCount < 1) {
+			throw new IllegalArgumentException("activeProcessorCount has to be positive: " + activeProcessorCount);
+		}
+		gc = garbageCollector(gc);
+		cpus = StringUtils.trimToNull(cpus);
+		if (cpus != null && (!CPUS.matcher(cpus).matches() || Double.parseDouble(cpus) <= 0)) {
+			throw new IllegalArgumentException("cpus has to be a positive number: " + cpus);
+		}
+		memory = StringUtils.trimToNull(memory);
+		if (memory != null && !MEMORY.matcher(memory).matches()) {
+			throw new IllegalArgumentException("memory has to be a size like 512m or 1g: " + memory);
+		}
+		memory = memory == null ? null : memory.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * creates the model of the configured settings.
+	 *
+	 * @param jvm the configured settings, may be null
+	 * @return the model, {@link #EMPTY} if nothing is configured
+	 * @throws IllegalArgumentException if a setting is out of range or not understood
+	 */
+	public static JvmModel of(Jvm jvm) {
+		if (jvm == null) {
+			return EMPTY;
+		}
+		return new JvmModel(jvm.getMaxRamPercentage(), jvm.getGc(), jvm.getActiveProcessorCount(), jvm.getCpus(),
+				jvm.getMemory());
+	}
+
+	/**
+	 * merges the settings of a module into these, those of its parent. Settings of the module
+	 * replace those of the parent, settings it leaves out are taken from the parent.
+	 *
+	 * @param module the settings of the module, may be null
+	 * @return the merged settings
+	 */
+	public JvmModel mergedWith(JvmModel module) {
+		if (module == null || module.isEmpty()) {
+			return this;
+		}
+		return new JvmModel(module.maxRamPercentage() != null ? module.maxRamPercentage() : maxRamPercentage,
+							module.gc() != null ? module.gc() : gc,
+							module.activeProcessorCount() != null ? module.activeProcessorCount() : activeProcessorCount,
+							module.cpus() != null ? module.cpus() : cpus,
+							module.memory() != null ? module.memory() : memory);
+	}
+
+	/**
+	 * @return true if nothing is configured
+	 */
+	public boolean isEmpty() {
+		return equals(EMPTY);
+	}
+
+	/**
+	 * returns the <code>JAVA_TOOL_OPTIONS</code> of a service. Options the service configures itself
+	 * follow the generated ones, so they take precedence.
+	 *
+	 * @param configured the options configured by the service, may be null
+	 * @return the options, null if neither generated nor configured options exist
+	 */
+	public String toolOptions(String configured) {
+		List<String> options = new ArrayList<>();
+		if (maxRamPercentage != null) {
+			options.add("-XX:MaxRAMPercentage=" + maxRamPercentage);
+		}
+		if (gc != null) {
+			options.add("-XX:+Use" + gc + "GC");
+		}
+		if (activeProcessorCount != null) {
+			options.add("-XX:ActiveProcessorCount=" + activeProcessorCount);
+		}
+		if (StringUtils.isNotBlank(configured)) {
+			options.add(configured.trim());
+		}
+		return options.isEmpty() ? null : String.join(" ", options);
+	}
+
+	/**
+	 * @return the resource limits of the container, null if not limited
+	 */
+	public ResourceLimits limits() {
+		return cpus == null && memory == null ? null : new ResourceLimits(cpus, memory);
+	}
+
+	/**
+	 * returns the name of the given garbage collector as used in <code>-XX:+Use&lt;name&gt;GC</code>,
+	 * accepting any case and a trailing <code>GC</code> (e.g. <code>g1gc</code> or <code>ZGC</code>).
+	 */
+	private static String garbageCollector(String gc) {
+		String name = StringUtils.trimToNull(gc);
+		if (name == null) {
+			return null;
+		}
+		String withoutSuffix = name.length() > 2 ? StringUtils.removeEndIgnoreCase(name, "GC") : name;
+		return GARBAGE_COLLECTORS.stream()
+								 .filter(known -> known.equalsIgnoreCase(withoutSuffix))
+								 .findFirst()
+								 .orElseThrow(() -> new IllegalArgumentException("gc has to be one of " 
+										 + String.join(", ", GARBAGE_COLLECTORS) + ": " + gc));
+	}
+}
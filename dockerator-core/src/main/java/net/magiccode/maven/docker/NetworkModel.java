@@ -0,0 +1,135 @@
+/**
+ * Immutable representation of a docker compose network.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.extern.log4j.Log4j2;
+import net.magiccode.maven.Network;
+
+/**
+ * A network of the generated compose files, as listed in the top-level <code>networks</code>
+ * section. Services reference networks by name only; a network may be declared by its name alone
+ * on module level and be defined with driver and options on parent level.
+ *
+ * @param name the name of the network
+ * @param driver the network driver, null for the default driver
+ * @param driverOpts the driver options, sorted by key; includes the MTU if configured
+ */
+@Log4j2
+public record NetworkModel(String name, String driver, SortedMap<String, String> driverOpts) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** driver option setting the MTU of a network */
+	public static final String MTU_OPTION = "com.docker.network.driver.mtu";
+
+	/**
+	 * Compact constructor making sure the options are immutable and sorted.
+	 */
+	public NetworkModel {
+		driver = StringUtils.trimToNull(driver);
+		driverOpts = ServiceModel.freeze(driverOpts);
+	}
+
+	/**
+	 * creates the model of a configured network.
+	 *
+	 * @param network the configured network
+	 * @return the model, with the MTU as driver option
+	 * @throws IllegalArgumentException if the network has no name
+	 */
+	public static NetworkModel of(Network network) {
+		if (StringUtils.isBlank(network.getName())) {
+			throw new IllegalArgumentException("Network without name: " + network);
+		}
+		TreeMap<String, String> options = new TreeMap<>();
+		if (network.getDriverOpts() != null) {
+			options.putAll(network.getDriverOpts());
+		}
+		if (network.getMtu() != null) {
+			options.put(MTU_OPTION, String.valueOf(network.getMtu()));
+		}
+		return new NetworkModel(network.getName().trim(), network.getDriver(), options);
+	}
+
+	/**
+	 * @return true if driver or options are set, false for a reference by name
+	 */
+	public boolean isDefined() {
+		return driver != null || !driverOpts.isEmpty();
+	}
+
+	/**
+	 * merges the given networks by name. A definition replaces a reference by name; if a network is
+	 * defined differently more than once, the first definition is used.
+	 *
+	 * @param networks the networks, possibly containing several entries of the same name
+	 * @return one network per name, sorted by name
+	 */
+	public static List<NetworkModel> merge(Collection<NetworkModel> networks) {
+		SortedMap<String, NetworkModel> merged = new TreeMap<>();
+		for (NetworkModel network : networks) {
+			NetworkModel known = merged.get(network.name());
+			if (known == null || !known.isDefined()) {
+				merged.put(network.name(), network);
+			} else if (network.isDefined() && !known.equals(network)) {
+				log.warn("Network '" + network.name() + "' is defined differently more than once, using " + known);
+			}
+		}
+		return new ArrayList<>(merged.values());
+	}
+
+	/**
+	 * returns the networks joined by any of the given services.
+	 *
+	 * @param services the services of a compose file
+	 * @return the networks for the top-level section, sorted by name
+	 */
+	public static List<NetworkModel> of(Collection<ServiceModel> services) {
+		List<NetworkModel> networks = new ArrayList<>();
+		services.forEach(service -> networks.addAll(service.networks()));
+		return merge(networks);
+	}
+
+	/**
+	 * creates the entry of this network in the top-level <code>networks</code> section.
+	 *
+	 * @return the yaml formatted entry
+	 */
+	public String generateNetworkEntry() {
+		StringBuilder entry = new StringBuilder();
+		entry.append(StringUtils.repeat(" ", 2)).append(name).append(":");
+		if (!isDefined()) {
+			return entry.append(" {}\n").toString();
+		}
+		entry.append("\n");
+		if (driver != null) {
+			entry.append(StringUtils.repeat(" ", 4)).append("driver: ").append(driver).append("\n");
+		}
+		if (!driverOpts.isEmpty()) {
+			entry.append(StringUtils.repeat(" ", 4)).append("driver_opts:\n");
+			for (Map.Entry<String, String> option : driverOpts.entrySet()) {
+				// quoted, docker compose expects strings
+				entry.append(StringUtils.repeat(" ", 6))
+					 .append(option.getKey())
+					 .append(": \"")
+					 .append(option.getValue())
+					 .append("\"\n");
+			}
+		}
+		return entry.toString();
+	}
+}
@@ -0,0 +1,76 @@
+/**
+ * Signals a generated file differing from the file on disk
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Thrown by {@link ComparingOutput} at the first difference between the generated content and the
+ * file on disk. Carries the file, the line number in the file on disk and both lines; a missing
+ * line is <code>null</code>.
+ */
+public class OutdatedFileException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Path file;
+	private final int lineNumber;
+	private final String generatedLine;
+	private final String existingLine;
+
+	/**
+	 * @param file the file on disk
+	 * @param lineNumber the number of the first differing line, starting at 1
+	 * @param generatedLine the generated line, null if the generated content ended before
+	 * @param existingLine the line on disk, null if the file ended before or does not exist
+	 */
+	public OutdatedFileException(Path file, int lineNumber, String generatedLine, String existingLine) {
+		super(describe(file, lineNumber, generatedLine, existingLine));
+		this.file = file;
+		this.lineNumber = lineNumber;
+		this.generatedLine = generatedLine;
+		this.existingLine = existingLine;
+	}
+
+	/**
+	 * @return the file on disk which is out of date
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * @return the number of the first differing line, starting at 1
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * @return the generated line, null if the generated content ended before
+	 */
+	public String getGeneratedLine() {
+		return generatedLine;
+	}
+
+	/**
+	 * @return the line on disk, null if the file ended before or does not exist
+	 */
+	public String getExistingLine() {
+		return existingLine;
+	}
+
+	private static String describe(Path file, int lineNumber, String generatedLine, String existingLine) {
+		if (existingLine == null && lineNumber == 1 && generatedLine != null) {
+			return file + " is missing or empty";
+		}
+		return file + " is out of date at line " + lineNumber + ": expected "
+				+ (generatedLine == null ? "end of file" : "'" + generatedLine + "'") + " but found "
+				+ (existingLine == null ? "end of file" : "'" + existingLine + "'");
+	}
+}
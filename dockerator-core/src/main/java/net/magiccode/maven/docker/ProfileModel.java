@@ -0,0 +1,63 @@
+/**
+ * Immutable representation of everything generated for one profile.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The fully resolved model of one profile: the unoptimized service of every runnable module
+ * (used for the module specific compose files), the optimized model of the aggregate compose
+ * file, the distinct datasources for the database compose file and the containers of the backing
+ * services for the infrastructure compose file.
+ *
+ * @param moduleServices the services of all runnable modules, empty for single module projects
+ * @param composeModel the optimized model of the aggregate compose file
+ * @param databases the database containers of the database compose file, one per distinct datasource
+ * @param infrastructure the containers of the infrastructure compose file, one per distinct server
+ *        of a backing service
+ */
+public record ProfileModel(List<ServiceModel> moduleServices,
+						   ComposeModel composeModel,
+						   List<DatabaseModel> databases,
+						   List<InfraModel> infrastructure) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Compact constructor making sure all collections are immutable and sorted.
+	 */
+	public ProfileModel {
+		moduleServices = moduleServices == null ? List.of() : List.copyOf(moduleServices);
+		databases = databases == null ? List.of() : List.copyOf(databases);
+		infrastructure = infrastructure == null ? List.of() : List.copyOf(infrastructure);
+	}
+
+	/**
+	 * creates a model without infrastructure containers.
+	 *
+	 * @param moduleServices the services of all runnable modules
+	 * @param composeModel the optimized model of the aggregate compose file
+	 * @param databases the database containers of the database compose file
+	 */
+	public ProfileModel(List<ServiceModel> moduleServices, ComposeModel composeModel, List<DatabaseModel> databases) {
+		this(moduleServices, composeModel, databases, null);
+	}
+
+	/**
+	 * returns the (unoptimized) service of the given module.
+	 *
+	 * @param name the name of the module
+	 * @return the service or null if the module has no service in this profile
+	 */
+	public ServiceModel moduleService(String name) {
+		return moduleServices.stream()
+							 .filter(service -> service.name().equals(name))
+							 .findFirst()
+							 .orElse(null);
+	}
+}
@@ -0,0 +1,43 @@
+/**
+ * Immutable representation of the resource limits of a service.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The <code>deploy.resources.limits</code> of a service. Equal limits of all services are written
+ * once in the common anchor.
+ *
+ * @param cpus the maximum number of CPUs (e.g. 1.5), null if not limited
+ * @param memory the maximum memory (e.g. 768m), null if not limited
+ */
+public record ResourceLimits(String cpus, String memory) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * creates the <code>deploy</code> entry of a service or the common anchor.
+	 *
+	 * @param indent the indentation of the <code>deploy</code> key
+	 * @return the yaml formatted entry
+	 */
+	public String generateDeployEntry(int indent) {
+		StringBuilder entry = new StringBuilder();
+		entry.append(StringUtils.repeat(" ", indent)).append("deploy:\n");
+		entry.append(StringUtils.repeat(" ", indent + 2)).append("resources:\n");
+		entry.append(StringUtils.repeat(" ", indent + 4)).append("limits:\n");
+		if (cpus != null) {
+			entry.append(StringUtils.repeat(" ", indent + 6)).append("cpus: \"").append(cpus).append("\"\n");
+		}
+		if (memory != null) {
+			entry.append(StringUtils.repeat(" ", indent + 6)).append("memory: ").append(memory).append("\n");
+		}
+		return entry.toString();
+	}
+}
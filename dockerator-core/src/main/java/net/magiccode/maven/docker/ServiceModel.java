@@ -0,0 +1,334 @@
+/**
+ * Immutable representation of a docker compose service entry.
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.docker;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import net.magiccode.maven.util.EnvironmentHelper;
+
+/**
+ * Immutable, pre-sorted snapshot of a {@link DockerService}. It is built once per module and profile
+ * and handed to the optimizer and the emitters, which only read from it. Environment variables and
+ * JDBC configurations are kept in key order and ports in natural order, so nothing needs to be sorted
+ * again when the compose file is written. The order of the volumes is significant (common volumes first,
+ * then service specific ones) and therefore preserved as given.
+ * <p>
+ * Instances are safe to share across threads.
+ * </p>
+ *
+ * @param name the name of the service (the module name)
+ * @param version the image version
+ * @param imagePrefix the prefix put in front of the image name
+ * @param createEnvironmentFile whether values are referenced from an .env file
+ * @param environment the environment variables, sorted by key
+ * @param jdbcConfigs the JDBC configurations, sorted by key
+ * @param backingConfigs the properties configuring backing services such as Redis or Kafka, with
+ *        keys in docker format, sorted by key
+ * @param ports the exposed ports, sorted
+ * @param volumes the volumes listed directly in the service entry
+ * @param networks the networks listed directly in the service entry, sorted by name
+ * @param limits the resource limits written in the service entry, null if none or given by the common anchor
+ * @param appCds whether the service uses a CDS archive and gets a training run, see {@link AppCds}
+ * @param build the build of the image of the service, null if the image is not built by compose
+ */
+public record ServiceModel(String name,
+						   String version,
+						   String imagePrefix,
+						   boolean createEnvironmentFile,
+						   SortedMap<String, String> environment,
+						   SortedMap<String, String> jdbcConfigs,
+						   SortedMap<String, String> backingConfigs,
+						   List<String> ports,
+						   List<VolumeMapping> volumes,
+						   List<NetworkModel> networks,
+						   ResourceLimits limits,
+						   boolean appCds,
+						   ImageBuild build) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** class of the maps produced by {@link #freeze(Map)}, used to avoid copying them twice */
+	private static final Class<?> FROZEN_MAP_TYPE = Collections.unmodifiableSortedMap(new TreeMap<>()).getClass();
+
+	/**
+	 * Compact constructor making sure all collections are immutable and sorted.
+	 */
+	public ServiceModel {
+		environment = freeze(environment);
+		jdbcConfigs = freeze(jdbcConfigs);
+		backingConfigs = freeze(backingConfigs);
+		ports = ports == null ? List.of() : ports.stream().sorted().toList();
+		volumes = volumes == null ? List.of() : List.copyOf(volumes);
+		networks = networks == null 
+				   ? List.of() 
+				   : networks.stream().sorted(Comparator.comparing(NetworkModel::name)).toList();
+	}
+
+	/**
+	 * creates a model from the given (mutable) service. The volume mappings are copied, so later changes
+	 * to the service do not leak into the model.
+	 *
+	 * @param service the service to take the snapshot from
+	 * @return the immutable model of the service
+	 */
+	public static ServiceModel of(DockerService service) {
+		return new ServiceModel(service.getName(),
+								service.getVersion(),
+								service.getImagePrefix(),
+								service.isCreateEnvironmentFile(),
+								service.getDockerEnvVars() == null ? null : new TreeMap<>(service.getDockerEnvVars()),
+								service.getJdbcConfigs() == null ? null : new TreeMap<>(service.getJdbcConfigs()),
+								service.getBackingConfigs() == null ? null : new TreeMap<>(service.getBackingConfigs()),
+								service.getPorts(),
+								copyVolumes(service.getSpecificVolumes()),
+								service.getNetworks(),
+								service.getLimits(),
+								service.isAppCds(),
+								service.getBuild());
+	}
+
+	/**
+	 * returns a copy of this model without the given environment keys. If none of the keys is present,
+	 * this instance is returned.
+	 *
+	 * @param keys the environment keys to remove
+	 * @return a model without the given keys
+	 */
+	public ServiceModel withoutEnvironment(Collection<String> keys) {
+		if (keys.stream().noneMatch(environment::containsKey)) {
+			return this;
+		}
+		TreeMap<String, String> remaining = new TreeMap<>(environment);
+		remaining.keySet().removeAll(keys);
+		return new ServiceModel(name, version, imagePrefix, createEnvironmentFile, remaining, jdbcConfigs, backingConfigs, ports, volumes, networks, limits, appCds, build);
+	}
+
+	/**
+	 * returns a copy of this model with the given environment variables added, replacing variables of
+	 * the same name.
+	 *
+	 * @param variables the environment variables to add
+	 * @return a model with the given variables
+	 */
+	public ServiceModel withEnvironment(Map<String, String> variables) {
+		TreeMap<String, String> newEnvironment = new TreeMap<>(environment);
+		newEnvironment.putAll(variables);
+		return new ServiceModel(name, version, imagePrefix, createEnvironmentFile, newEnvironment, jdbcConfigs, backingConfigs, ports, volumes, networks, limits, appCds, build);
+	}
+
+	/**
+	 * returns a copy of this model using the given list of volumes.
+	 *
+	 * @param newVolumes the volumes to be listed in the service entry
+	 * @return a model with the given volumes
+	 */
+	public ServiceModel withVolumes(List<VolumeMapping> newVolumes) {
+		return new ServiceModel(name, version, imagePrefix, createEnvironmentFile, environment, jdbcConfigs, backingConfigs, ports, newVolumes, networks, limits, appCds, build);
+	}
+
+	/**
+	 * returns a copy of this model using the given list of networks.
+	 *
+	 * @param newNetworks the networks to be listed in the service entry
+	 * @return a model with the given networks
+	 */
+	public ServiceModel withNetworks(List<NetworkModel> newNetworks) {
+		return new ServiceModel(name, version, imagePrefix, createEnvironmentFile, environment, jdbcConfigs, backingConfigs, ports, volumes, newNetworks, limits, appCds, build);
+	}
+
+	/**
+	 * returns a copy of this model using the given resource limits.
+	 *
+	 * @param newLimits the limits to be written in the service entry, null for none
+	 * @return a model with the given limits
+	 */
+	public ServiceModel withLimits(ResourceLimits newLimits) {
+		return new ServiceModel(name, version, imagePrefix, createEnvironmentFile, environment, jdbcConfigs, backingConfigs, ports, volumes, networks, newLimits, appCds, build);
+	}
+
+	/**
+	 * @return the names of the networks listed in the service entry, sorted
+	 */
+	public List<String> networkNames() {
+		return networks.stream().map(NetworkModel::name).toList();
+	}
+
+	/**
+	 * creates a string in yaml format for the docker-compose file to be generated. If commonName and commonEnvironmentName
+	 * are specified (not empty nor null) a common property entry is generated, otherwise a single module entry.
+	 * (Single modules entries start with '- ' and use '=' for a delimiter, common property entries do not start with '- '
+	 * and delimit entries with ':'
+	 *
+	 * @param commonName - a common name for all common settings in the docker compose file.
+	 * @param commonEnvironmentName - a common environment name used for the anchor of the environment settings
+	 * @return a string containing the entire service definition for the docker compose file.
+	 */
+	public String generateServiceEntry(String commonName, String commonEnvironmentName) {
+	    return generateEntry(name, commonName, commonEnvironmentName, null);
+	}
+
+	/**
+	 * creates the entry of the training run of this service, which starts the application with the
+	 * compose profile {@value AppCds#TRAINING_PROFILE} until its context is refreshed, so the JVM
+	 * writes the CDS archive to the volume of the service. The run publishes no ports.
+	 *
+	 * @param commonName - a common name for all common settings in the docker compose file.
+	 * @param commonEnvironmentName - a common environment name used for the anchor of the environment settings
+	 * @param toolOptions - the <code>JAVA_TOOL_OPTIONS</code> of the service, taken from the common
+	 *        anchor if not set in the service entry itself
+	 * @return a string containing the entire training run definition for the docker compose file.
+	 */
+	public String generateTrainingEntry(String commonName, String commonEnvironmentName, String toolOptions) {
+	    String trainingOptions = StringUtils.isBlank(toolOptions)
+	    						 ? AppCds.TRAINING_OPTION
+	    						 : toolOptions + " " + AppCds.TRAINING_OPTION;
+	    return generateEntry(AppCds.trainingName(name), commonName, commonEnvironmentName, trainingOptions);
+	}
+
+	/**
+	 * creates the entry of the service or, if training options are given, of its training run.
+	 */
+	private String generateEntry(String entryName, String commonName, String commonEnvironmentName,
+			String trainingOptions) {
+	    boolean training = trainingOptions != null;
+	    StringBuilder serviceEntry = new StringBuilder();
+	    serviceEntry.append(StringUtils.repeat(" ", 2))
+	    			.append(entryName).append(":\n");
+	    if (StringUtils.isNotBlank(commonName)) {
+	    	serviceEntry.append(StringUtils.repeat(" ", 4))
+	    				.append("<<: *")
+	    				.append(commonName)
+	    				.append("\n");
+	    }
+	    serviceEntry.append(StringUtils.repeat(" ", 4))
+	    			.append("image: ")
+	    			.append(imagePrefix)
+	    			.append(name).append(":")
+	    			.append(version)
+	    			.append("\n");
+	    if (build != null) {
+	    	serviceEntry.append(build.generateBuildEntry(4));
+	    }
+	    if (training) {
+	    	serviceEntry.append(StringUtils.repeat(" ", 4))
+	    				.append("profiles:\n")
+	    				.append(StringUtils.repeat(" ", 6))
+	    				.append("- ").append(AppCds.TRAINING_PROFILE).append("\n");
+	    }
+	    // the training run replaces the tool options, wherever the service takes them from
+	    Map<String, String> entryEnvironment = environment;
+	    if (training) {
+	    	entryEnvironment = new TreeMap<>(environment);
+	    	entryEnvironment.remove(JvmModel.TOOL_OPTIONS_VARIABLE);
+	    }
+	    serviceEntry.append(StringUtils.repeat(" ", 4))
+	    			.append("environment:\n");
+
+	    if (StringUtils.isNotBlank(commonEnvironmentName)) {
+	    	serviceEntry.append(StringUtils.repeat(" ", 6))
+	    				.append("<<: *")
+	    				.append(commonEnvironmentName)
+	    				.append("\n");
+	    	entryEnvironment.forEach((key, value) -> serviceEntry.append(StringUtils.repeat(" ", 6))
+	    													.append(key)
+	    													.append(": ")
+	    													.append(EnvironmentHelper.generateValueEntry(createEnvironmentFile, key, value, name))
+	    													.append("\n"));
+	    	if (training) {
+	    		serviceEntry.append(StringUtils.repeat(" ", 6))
+	    					.append(JvmModel.TOOL_OPTIONS_VARIABLE).append(": ")
+	    					.append(EnvironmentHelper.generateValueEntry(false, JvmModel.TOOL_OPTIONS_VARIABLE, trainingOptions))
+	    					.append("\n");
+	    	}
+	    } else {
+	    	entryEnvironment.forEach((key, value) -> serviceEntry.append(StringUtils.repeat(" ", 6))
+	    													.append("- ")
+	    													.append(key)
+	    													.append("=")
+	    													.append(EnvironmentHelper.generateValueEntry(createEnvironmentFile, key, value, name))
+	    													.append("\n"));
+	    	if (training) {
+	    		serviceEntry.append(StringUtils.repeat(" ", 6))
+	    					.append("- ").append(JvmModel.TOOL_OPTIONS_VARIABLE).append("=")
+	    					.append(EnvironmentHelper.generateValueEntry(false, JvmModel.TOOL_OPTIONS_VARIABLE, trainingOptions))
+	    					.append("\n");
+	    	}
+	    }
+
+	    if (!ports.isEmpty() && !training) {
+	        serviceEntry.append(StringUtils.repeat(" ", 4))
+	        			.append("ports:\n");
+	        ports.forEach(port -> serviceEntry.append(StringUtils.repeat(" ", 6))
+	        								  .append("- \"")
+	        								  .append(port).append(":").append(port)
+	        								  .append("\"\n"));
+	    }
+
+	    if (!volumes.isEmpty()) {
+	        serviceEntry.append(StringUtils.repeat(" ", 4))
+	                    .append("volumes:\n");
+	        // volumes keep their order (common volumes first, then specific)
+	        volumes.forEach(volume -> serviceEntry.append(StringUtils.repeat(" ", 6))
+	                                              .append("- ")
+	                                              .append(volume.getExternal()).append(":")
+	                                              .append(volume.getInternal()).append("\n"));
+	    }
+
+	    if (!networks.isEmpty()) {
+	        serviceEntry.append(StringUtils.repeat(" ", 4))
+	                    .append("networks:\n");
+	        networks.forEach(network -> serviceEntry.append(StringUtils.repeat(" ", 6))
+	                                                .append("- ")
+	                                                .append(network.name()).append("\n"));
+	    }
+
+	    if (limits != null) {
+	        serviceEntry.append(limits.generateDeployEntry(4));
+	    }
+	    return serviceEntry.toString();
+	}
+
+	/**
+	 * returns an unmodifiable, sorted view of the given map. Maps already frozen are returned as they are.
+	 *
+	 * @param map the map to freeze, may be null
+	 * @return an unmodifiable sorted map
+	 */
+	static SortedMap<String, String> freeze(Map<String, String> map) {
+		if (map == null) {
+			return Collections.unmodifiableSortedMap(new TreeMap<>());
+		}
+		if (map.getClass() == FROZEN_MAP_TYPE) {
+			return (SortedMap<String, String>) map;
+		}
+		return Collections.unmodifiableSortedMap(new TreeMap<>(map));
+	}
+
+	/**
+	 * copies the given volume mappings, so the model does not share mutable instances with the caller.
+	 *
+	 * @param volumes the volumes to copy, may be null
+	 * @return a list of copied volume mappings
+	 */
+	static List<VolumeMapping> copyVolumes(List<VolumeMapping> volumes) {
+		List<VolumeMapping> copies = new ArrayList<>();
+		if (volumes != null) {
+			volumes.forEach(volume -> copies.add(new VolumeMapping(volume.getExternal(), volume.getInternal())));
+		}
+		return copies;
+	}
+}
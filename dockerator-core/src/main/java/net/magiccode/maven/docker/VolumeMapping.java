@@ -1,5 +1,7 @@
 package net.magiccode.maven.docker;
 
+import java.io.Serializable;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,7 +15,10 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class VolumeMapping {
+public class VolumeMapping implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     /**
      * The external host path (e.g. ../ssl or ./data)
      */
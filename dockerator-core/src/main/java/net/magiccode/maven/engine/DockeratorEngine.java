@@ -0,0 +1,1104 @@
+/**
+ * Engine generating the docker compose files of a project
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.engine;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.extern.log4j.Log4j2;
+import net.magiccode.maven.Network;
+import net.magiccode.maven.Volume;
+import net.magiccode.maven.cache.InputHasher;
+import net.magiccode.maven.cache.ModelCache;
+import net.magiccode.maven.cache.ModuleStamps;
+import net.magiccode.maven.descriptor.DescriptorReader;
+import net.magiccode.maven.descriptor.DockeratorDescriptor;
+import net.magiccode.maven.docker.AppCds;
+import net.magiccode.maven.docker.BuildModel;
+import net.magiccode.maven.docker.ComposeModel;
+import net.magiccode.maven.docker.ComposeOutput;
+import net.magiccode.maven.docker.ComposeOutput.ChangedFilesOutput;
+import net.magiccode.maven.docker.DatabaseMode;
+import net.magiccode.maven.docker.DatabaseModel;
+import net.magiccode.maven.docker.ImageBuild;
+import net.magiccode.maven.docker.JvmModel;
+import net.magiccode.maven.docker.DockerService;
+import net.magiccode.maven.docker.NetworkModel;
+import net.magiccode.maven.docker.ProfileModel;
+import net.magiccode.maven.docker.ServiceModel;
+import net.magiccode.maven.docker.VolumeMapping;
+import net.magiccode.maven.pipeline.BackingServiceResolver;
+import net.magiccode.maven.pipeline.BackingServiceResolver.Resolution;
+import net.magiccode.maven.pipeline.ComposeEmitter;
+import net.magiccode.maven.pipeline.EmitContext;
+import net.magiccode.maven.pipeline.ModuleContext;
+import net.magiccode.maven.pipeline.ModuleProperties;
+import net.magiccode.maven.pipeline.Pipeline;
+import net.magiccode.maven.pipeline.ProjectContext;
+import net.magiccode.maven.pipeline.PropertySource;
+import net.magiccode.maven.pipeline.PropertySourceLoader;
+import net.magiccode.maven.util.GitChangeDetector;
+import net.magiccode.maven.util.GradleModuleReader;
+import net.magiccode.maven.util.IoExecutors;
+import net.magiccode.maven.util.ModuleHelper;
+import net.magiccode.maven.util.ModuleIndex;
+import net.magiccode.maven.util.ModuleSelector;
+import net.magiccode.maven.util.ParallelIo;
+import net.magiccode.maven.util.PluginVolumeReader;
+import net.magiccode.maven.util.PropertyFileParser;
+import net.magiccode.maven.util.PropertyKeyFilter;
+import net.magiccode.maven.util.StringPool;
+
+/**
+ * Generates the docker compose files of a Spring Boot project: discovers the modules, finds the
+ * runnable ones, parses their properties/yml files, optimizes the common settings and emits the
+ * compose files. Each of these steps is a stage of the {@link Pipeline}, which may be extended. It
+ * depends on neither Maven nor any other build tool, everything it needs to know is passed in the
+ * {@link EngineSettings}.
+ * <p>
+ * {@link #generate()} runs a complete generation as the Maven goal does, including the model
+ * cache and incremental generation. {@link #buildModel()} and {@link #write(BuildModel)} give
+ * access to the single steps, e.g. for benchmarks.
+ * </p>
+ * An engine keeps the state of its last generation and must not be used by several threads at
+ * once; independent engines may run in parallel. Internally the modules are processed in parallel.
+ */
+@Log4j2
+public class DockeratorEngine {
+
+	private static final String DOCKER_INCLUDE_COMMENT = PropertyFileParser.DOCKER_INCLUDE_COMMENT;
+	private static final String MODULE_STAMPS_FILE = "modules.properties";
+
+	private final EngineSettings settings;
+	private final File basedir;
+	private final String outputDir;
+	private final String projectName;
+	private final String version;
+	private final String imagePrefix;
+	private final String jdbcPrefix;
+	private final List<String> propertiesDirs;
+	private final List<String> profiles;
+	private final List<String> activeProfiles;
+	private final List<String> skipModules;
+	private final List<String> includeModules;
+	private final List<String> excludeModules;
+	private final List<String> includes;
+	private final List<String> excludes;
+	private final boolean onlyChanged;
+	private final String changedSince;
+	private final List<Volume> volumes;
+	/** networks joined by every service */
+	private final List<NetworkModel> networks;
+	private final boolean createEnv;
+	private final DatabaseMode databaseMode;
+	/** maximum number of connections of each datasource, null for the defaults */
+	private final Integer connectionBudget;
+	/** JVM settings and resource limits of every service, overridden by the .dockerator files */
+	private final JvmModel jvm;
+	/** give every service a CDS archive and a training run creating it */
+	private final boolean appCds;
+	/** generate a Dockerfile per service and let compose build the images */
+	private final boolean dockerfiles;
+	/** base image of the generated Dockerfiles, null for the default */
+	private final String baseImage;
+	private final boolean useModelCache;
+	private final File modelCacheFile;
+	private boolean jvmCache;
+
+	/**
+	 * Pool sharing key and value instances between all services and profiles of this build.
+	 */
+	private final StringPool stringPool = new StringPool();
+
+	/** file index per module directory, built once per execution */
+	private final Map<Path, ModuleIndex> moduleIndexes = new ConcurrentHashMap<>();
+
+	/** selects the modules to process, compiled from skipModules and the include/exclude patterns */
+	private final ModuleSelector moduleSelector;
+
+	/** selects the properties becoming environment variables, compiled from the include/exclude key patterns */
+	private final PropertyKeyFilter keyFilter;
+
+	/** the stages of the generation */
+	private final Pipeline pipeline;
+
+	/**
+	 * Runs the blocking file work of the modules in parallel: virtual threads on Java 21 and later,
+	 * a bounded pool of daemon threads on Java 17, see {@link IoExecutors}.
+	 */
+	private final ExecutorService executor = IoExecutors.newExecutor("dockerator-io");
+
+	/** directories of all modules, not descended into when indexing another module */
+	private List<Path> moduleDirectories = List.of();
+
+	/** what happens with the generated content, see {@link #regenerate(Collection)} */
+	private ComposeOutput composeOutput = ComposeOutput.OVERWRITE;
+
+	/** nothing is written if set, see {@link #verify(ComposeOutput)} */
+	private boolean verifyOnly;
+
+	/** the supplied module volumes may be outdated, see {@link #regenerate(Collection)} */
+	private boolean moduleVolumesStale;
+
+	/** state of the last generation, kept for incremental regeneration */
+	private List<File> modules = List.of();
+	private BuildModel currentModel;
+
+	/**
+	 * Creates an engine for the given settings.
+	 * 
+	 * @param settings the settings of the project
+	 * @throws IllegalArgumentException if an include or exclude pattern is invalid or a network has no name
+	 */
+	public DockeratorEngine(EngineSettings settings) {
+		this.settings = settings;
+		this.basedir = settings.getBasedir();
+		this.outputDir = settings.getOutputDir();
+		this.projectName = settings.getProjectName();
+		this.version = settings.getVersion();
+		this.imagePrefix = settings.getImagePrefix();
+		this.jdbcPrefix = settings.getJdbcPrefix();
+		this.propertiesDirs = settings.getPropertiesDirs() == null ? List.of() : settings.getPropertiesDirs();
+		this.profiles = settings.getProfiles() == null ? List.of() : settings.getProfiles();
+		// without active profiles the default profile is generated
+		this.activeProfiles = settings.getActiveProfiles() == null || settings.getActiveProfiles().isEmpty() 
+							  ? List.of("") 
+							  : List.copyOf(settings.getActiveProfiles());
+		this.skipModules = settings.getSkipModules();
+		this.includeModules = settings.getIncludeModules();
+		this.excludeModules = settings.getExcludeModules();
+		this.includes = settings.getIncludes() == null ? List.of() : settings.getIncludes();
+		this.excludes = settings.getExcludes() == null ? List.of() : settings.getExcludes();
+		this.onlyChanged = settings.isOnlyChanged();
+		this.changedSince = settings.getChangedSince();
+		this.volumes = settings.getVolumes();
+		this.networks = settings.getNetworks() == null 
+						? List.of() 
+						: settings.getNetworks().stream().map(NetworkModel::of).toList();
+		this.createEnv = settings.isCreateEnv();
+		this.databaseMode = settings.getDatabaseMode() == null ? DatabaseMode.DURABLE : settings.getDatabaseMode();
+		this.connectionBudget = settings.getConnectionBudget();
+		if (connectionBudget != null && connectionBudget <= DatabaseModel.RESERVED_CONNECTIONS) {
+			throw new IllegalArgumentException("The connection budget has to exceed the " 
+					+ DatabaseModel.RESERVED_CONNECTIONS + " reserved connections: " + connectionBudget);
+		}
+		this.jvm = JvmModel.of(settings.getJvm());
+		this.appCds = settings.isAppCds();
+		this.dockerfiles = settings.isDockerfiles();
+		this.baseImage = settings.getBaseImage();
+		this.useModelCache = settings.isUseModelCache();
+		this.modelCacheFile = settings.getModelCacheFile();
+		this.jvmCache = settings.isJvmCache();
+
+		if (jvmCache) {
+			// keep parsed files and scan results in the class loader, e.g. when running in mvnd
+			PropertyFileParser.cache().setMaxEntries(settings.getJvmCacheSize());
+			PropertyFileParser.yamlPropertiesCache().setMaxEntries(settings.getJvmCacheSize());
+			ModuleHelper.cache().setMaxEntries(settings.getJvmCacheSize());
+			log.info("JVM cache enabled (" + PropertyFileParser.cache().size() + " parsed file(s), " 
+					+ ModuleHelper.cache().size() + " scanned source(s) retained)");
+		}
+		this.pipeline = settings.getPipeline() != null 
+						? settings.getPipeline() 
+						: Pipeline.load(DockeratorEngine.class.getClassLoader());
+		try {
+			this.moduleSelector = ModuleSelector.of(basedir, includeModules, excludeModules, skipModules);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid includeModules/excludeModules pattern: " + e.getMessage(), e);
+		}
+		try {
+			this.keyFilter = PropertyKeyFilter.of(includes, excludes);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid includes/excludes pattern: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @return the settings of this engine
+	 */
+	public EngineSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Generates the docker compose files of all active profiles and removes the DockerInclude
+	 * comments from the processed resources in the target directory. The cleanup is skipped if it
+	 * is disabled or, by default, if the properties are selected by include patterns.
+	 * 
+	 * @return the model the files have been generated from
+	 * @throws IOException if the project cannot be read or the files cannot be written
+	 */
+	public BuildModel generate() throws IOException {
+		BuildModel model = run();
+		if (isCleanupTarget()) {
+			log.info("Cleaning up target directory files");
+			cleanupTarget();
+		}
+		return model;
+	}
+
+	/**
+	 * @return true if the DockerInclude comments are removed from the target directory
+	 */
+	private boolean isCleanupTarget() {
+		// with include patterns the comments are not needed, so there is nothing to remove
+		return settings.getCleanupTarget() != null ? settings.getCleanupTarget() : !keyFilter.hasIncludes();
+	}
+
+	/**
+	 * Generates the content of all modules and emits it to the given output, but writes nothing,
+	 * neither the model cache, the module stamps nor the processed resources in the target directory.
+	 * 
+	 * @param output the output receiving the generated content
+	 * @return the model the content has been generated from
+	 * @throws IOException if the project cannot be read or the output fails
+	 */
+	public BuildModel verify(ComposeOutput output) throws IOException {
+		composeOutput = output;
+		verifyOnly = true;
+		try {
+			return run();
+		} finally {
+			composeOutput = ComposeOutput.OVERWRITE;
+			verifyOnly = false;
+		}
+	}
+
+	/**
+	 * Builds the model of all selected modules from scratch, neither using nor writing any cache
+	 * and without writing any file.
+	 * 
+	 * @return the resolved model of the build
+	 * @throws IOException if the project cannot be read
+	 */
+	public BuildModel buildModel() throws IOException {
+		List<File> modules = discoverModules();
+		moduleDirectories = modules.stream().map(File::toPath).toList();
+		return buildModel(modules, activeProfiles, null, null, Map.of());
+	}
+
+	/**
+	 * Writes all files of the given model.
+	 * 
+	 * @param model the model to write, see {@link #buildModel()}
+	 * @throws IOException if the files cannot be written
+	 */
+	public void write(BuildModel model) throws IOException {
+		Files.createDirectories(Paths.get(outputDir));
+		for (String profile : activeProfiles) {
+			writeProfile(profile, model.profile(profile), null);
+		}
+	}
+
+	/**
+	 * Runs a generation, taking the model from the cache or building it (incrementally if
+	 * configured), and writes the files.
+	 * 
+	 * @return the model of the build
+	 * @throws IOException if the project cannot be read or the files cannot be written
+	 */
+	private BuildModel run() throws IOException {
+		// if this is a multi-module project, we need to check for the modules
+		List<File> modules = discoverModules();
+		moduleDirectories = modules.stream().map(File::toPath).toList();
+
+		if (!verifyOnly) {
+			Files.createDirectories(Paths.get(outputDir));
+		}
+
+		// a verification has to cover the files of all modules
+		boolean fromGit = StringUtils.isNotBlank(changedSince) && !modules.isEmpty() && !verifyOnly;
+		boolean onlyChangedModules = (onlyChanged || fromGit) && !modules.isEmpty() && !verifyOnly;
+		Map<String, String> moduleHashes = useModelCache || onlyChangedModules 
+										   ? computeModuleHashes(modules, activeProfiles) 
+										   : Map.of();
+
+		// incremental generation: find the modules which changed
+		ModuleStamps moduleStamps = null;
+		Set<String> changedModules = null;
+		if (fromGit) {
+			changedModules = GitChangeDetector.builder().basedir(basedir).build().changedModules(changedSince, modules);
+			log.info(changedModules.size() + " of " + moduleHashes.size() + " module(s) changed since " + changedSince);
+		} else if (onlyChangedModules) {
+			moduleStamps = ModuleStamps.builder().stampFile(modelCacheFile.toPath().resolveSibling(MODULE_STAMPS_FILE)).build();
+			changedModules = moduleStamps.changedModules(moduleHashes);
+			log.info(changedModules.size() + " of " + moduleHashes.size() + " module(s) changed since the last generation");
+		}
+
+		BuildModel buildModel = null;
+		String cacheKey = null;
+		ModelCache modelCache = null;
+		if (useModelCache || onlyChangedModules) {
+			modelCache = ModelCache.builder().cacheFile(modelCacheFile.toPath()).build();
+			cacheKey = computeCacheKey(moduleHashes);
+		}
+		if (useModelCache) {
+			buildModel = loadCachedModel(modelCache, cacheKey);
+		}
+		if (buildModel == null) {
+			// unchanged modules are taken from the previous model, if there is one
+			BuildModel previousModel = onlyChangedModules ? loadPreviousModel(modelCache) : null;
+			if (changedModules != null) {
+				changedModules = withStaleModules(changedModules, previousModel, moduleHashes);
+			}
+			buildModel = buildModel(modules, activeProfiles, previousModel, changedModules, moduleHashes);
+			if (modelCache != null && !verifyOnly) {
+				storeCachedModel(modelCache, cacheKey, buildModel);
+			}
+		}
+
+		for (String profile : activeProfiles) {
+			writeProfile(profile, buildModel.profile(profile), changedModules);
+		}
+		if (moduleStamps != null) {
+			moduleStamps.store(moduleHashes);
+		}
+
+		this.modules = modules;
+		this.currentModel = buildModel;
+
+		if (log.isDebugEnabled()) {
+			log.debug("String pool holds " + stringPool.size() + " distinct key(s) and value(s)");
+		}
+		return currentModel;
+	}
+
+	/**
+	 * Returns the directories to be watched for changes after a generation: the project directory
+	 * (for its .dockerator file), the directory of every selected module (for its pom.xml and
+	 * .dockerator file) and its existing properties directories. In single module projects the
+	 * project directory and its properties directories.
+	 * 
+	 * @return the directories to watch
+	 */
+	public Set<Path> watchedDirectories() {
+		Set<Path> directories = new LinkedHashSet<>();
+		// for the .dockerator file of the project
+		directories.add(basedir.toPath().toAbsolutePath().normalize());
+		List<File> moduleDirectories = modules.isEmpty() 
+									   ? List.of(basedir) 
+									   : modules.stream().filter(moduleSelector::isSelected).toList();
+		for (File moduleDirectory : moduleDirectories) {
+			directories.add(moduleDirectory.toPath().toAbsolutePath().normalize());
+			for (String propertiesDirPath : propertiesDirs) {
+				Path modulePropertiesDir = moduleDirectory.toPath().resolve(propertiesDirPath).toAbsolutePath().normalize();
+				if (Files.isDirectory(modulePropertiesDir)) {
+					directories.add(modulePropertiesDir);
+				}
+			}
+		}
+		return directories;
+	}
+
+	/**
+	 * Regenerates the compose files after the given files changed. Only the services of the modules
+	 * containing the files are built again; with the JVM cache, of those only the changed files are
+	 * parsed again. The common environment and volumes are recomputed, and only files whose content
+	 * actually changed are written.
+	 * 
+	 * @param changedFiles the files which changed since the last generation
+	 * @return the files written
+	 * @throws IOException if the regeneration fails
+	 * @throws IllegalStateException if nothing has been generated yet
+	 */
+	public List<Path> regenerate(Collection<Path> changedFiles) throws IOException {
+		if (currentModel == null) {
+			throw new IllegalStateException("Nothing has been generated yet");
+		}
+		Set<String> changedModules = new TreeSet<>();
+		boolean projectDescriptorChanged = false;
+		for (Path changedFile : changedFiles) {
+			// the .dockerator file of the project applies to all modules
+			projectDescriptorChanged |= changedFile.toAbsolutePath()
+												   .normalize()
+												   .equals(basedir.toPath().resolve(DescriptorReader.FILE_NAME).toAbsolutePath().normalize());
+			File module = owningModule(changedFile);
+			changedModules.add(module.getName());
+			// files may have been added or removed
+			moduleIndexes.remove(module.toPath().toAbsolutePath().normalize());
+		}
+		log.info("Regenerating after changes in module(s): " + String.join(", ", changedModules));
+
+		// unchanged files are taken from the JVM cache, and models held in memory do not know about changed poms
+		jvmCache = true;
+		moduleVolumesStale = true;
+		ChangedFilesOutput output = ComposeOutput.writeIfChanged();
+		composeOutput = output;
+		try {
+			Set<String> rebuild = modules.isEmpty() || projectDescriptorChanged ? null : changedModules;
+			// the hashes of the previous inputs no longer apply to the regenerated model
+			currentModel = buildModel(modules, activeProfiles, currentModel, rebuild, Map.of());
+			for (String profile : activeProfiles) {
+				writeProfile(profile, currentModel.profile(profile), rebuild);
+			}
+		} finally {
+			composeOutput = ComposeOutput.OVERWRITE;
+		}
+		return output.writtenFiles();
+	}
+
+	/**
+	 * Returns the innermost module containing the given file, the project itself in single module projects.
+	 * 
+	 * @param file the file
+	 * @return the directory of the module
+	 */
+	private File owningModule(Path file) {
+		Path normalized = file.toAbsolutePath().normalize();
+		return modules.stream()
+					  .filter(module -> normalized.startsWith(module.toPath().toAbsolutePath().normalize()))
+					  .max(Comparator.comparingInt(module -> module.toPath().toAbsolutePath().normalize().getNameCount()))
+					  .orElse(basedir);
+	}
+
+	/**
+	 * Removes all DockerInclude annotations from properties/yml files in the target directory
+	 * before packaging to ensure clean deployment artifacts.
+	 */
+	private void cleanupTarget() {
+
+		Path modulePropertiesDir = Paths.get(basedir + "/" + ModuleIndex.OUTPUT_DIR);
+		try {
+			ModuleIndex index = moduleIndex(basedir);
+			if (!index.outputFiles().isEmpty()) {
+				Path applicationProperties = modulePropertiesDir.resolve("application.properties");
+				if (index.exists(applicationProperties)) {
+					cleanupPropertiesFile(applicationProperties.toFile());
+				}
+
+				Path applicationYaml = modulePropertiesDir.resolve("application.yml");
+				if (index.exists(applicationYaml)) {
+					cleanupPropertiesFile(applicationYaml.toFile());
+				}
+
+				// Process profile-specific files
+				for (String profile : profiles) {
+					Path propertiesFile = modulePropertiesDir.resolve("application-" + profile + ".properties");
+					if (index.exists(propertiesFile)) {
+						cleanupPropertiesFile(propertiesFile.toFile());
+					}
+
+					Path yamlFile = modulePropertiesDir.resolve("application-" + profile + ".yml");
+					if (index.exists(yamlFile)) {
+						cleanupPropertiesFile(yamlFile.toFile());
+					}
+				}
+			} else {
+				log.warn("Properties directory not found: " + modulePropertiesDir.toString());
+			}
+		} catch (IOException e) {
+			log.warn("Exceptiokn occured while cleaning up properties/yaml files in target.");
+		}
+	}
+
+	/**
+	 * Removes all DockerInclude annotations from property and yaml files before packaging
+	 * to ensure clean artifacts without build-time annotations.
+	 * 
+	 * @param inputFile the property or YAML file to clean up
+	 * @return true if the cleanup was successful, false otherwise
+	 * @throws IOException if an I/O error occurs during file processing
+	 */
+	private boolean cleanupPropertiesFile(File inputFile) throws IOException {
+
+		File tempFile = new File(inputFile.getName() + ".tmp");
+
+		BufferedReader reader = new BufferedReader(new FileReader(inputFile));
+		BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile));
+		String currentLine;
+		while ((currentLine = reader.readLine()) != null) {
+
+			String trimmedLine = currentLine.trim();
+			if (trimmedLine.startsWith("#") && trimmedLine.contains(DOCKER_INCLUDE_COMMENT))
+				continue;
+			writer.write(currentLine + System.getProperty("line.separator"));
+		}
+
+		writer.close();
+		reader.close();
+		return tempFile.renameTo(inputFile);
+	}
+
+	/**
+	 * Builds the model for all given profiles by scanning and parsing the modules.
+	 * 
+	 * @param modules list of module directories, empty for single module projects
+	 * @param activeProfiles the active Maven profiles, an empty name stands for the default profile
+	 * @param previousModel the model of the previous generation, null if there is none
+	 * @param changedModules the modules which changed since the previous model, null to build all modules
+	 * @param moduleHashes the hashes of the inputs of the modules, stored with the model
+	 * @return the resolved model of the build
+	 * @throws IOException if an I/O error occurs during file operations
+	 */
+	private BuildModel buildModel(List<File> modules, List<String> activeProfiles,
+			BuildModel previousModel, Set<String> changedModules, Map<String, String> moduleHashes) throws IOException {
+		Map<String, ProfileModel> profileModels = new LinkedHashMap<>();
+		for (String profile : activeProfiles) {
+			log.info("Processing profile: '" + (profile.isEmpty() ? "default" : profile) + "'");
+			// In multi-module projects, process the modules
+			if (!modules.isEmpty()) {
+				log.info("Multi-module project detected with " + modules.size() + " module(s)");
+				ProfileModel previousProfile = previousModel == null ? null : previousModel.profile(profile);
+				List<ServiceModel> moduleServices = processModules(modules, previousProfile, changedModules);
+				List<DatabaseModel> databases = DatabaseModel.collect(moduleServices, jdbcPrefix, connectionBudget);
+				moduleServices = DatabaseModel.withPoolSizes(moduleServices, databases, jdbcPrefix);
+				Resolution resolution = BackingServiceResolver.resolve(moduleServices, pipeline.getBackingServiceDetectors());
+				profileModels.put(profile, new ProfileModel(resolution.services(), 
+															pipeline.getComposeOptimizer().optimize(resolution.services(), stringPool), 
+															databases, 
+															resolution.containers()));
+			} else {
+				log.info("Single module project detected");
+				List<ServiceModel> services = List.of(generateService(moduleContext(basedir)).toModel());
+				List<DatabaseModel> databases = DatabaseModel.collect(services, jdbcPrefix, connectionBudget);
+				Resolution resolution = BackingServiceResolver.resolve(DatabaseModel.withPoolSizes(services, databases, jdbcPrefix), 
+																	   pipeline.getBackingServiceDetectors());
+				profileModels.put(profile, new ProfileModel(List.of(), 
+															new ComposeModel(resolution.services(), null, null), 
+															databases, 
+															resolution.containers()));
+			}
+		}
+		return new BuildModel(profileModels, moduleHashes);
+	}
+
+	/**
+	 * Writes all files of the given profile with the emitters of the pipeline.
+	 * 
+	 * @param profile the name of the profile, empty for the default profile
+	 * @param profileModel the resolved model of the profile
+	 * @param changedModules the modules whose compose files are to be written, null for all
+	 * @throws IOException if an I/O error occurs while writing the files
+	 */
+	private void writeProfile(String profile, ProfileModel profileModel, Set<String> changedModules) throws IOException {
+		EmitContext context = new EmitContext(outputDir, projectName, jdbcPrefix, createEnv, databaseMode, composeOutput, 
+				changedModules);
+		for (ComposeEmitter emitter : pipeline.getComposeEmitters()) {
+			emitter.emit(context, profile, profileModel);
+		}
+	}
+
+	/**
+	 * Computes the key of the model cache from the hashes of the modules.
+	 * 
+	 * @param moduleHashes the input hash per module, see {@link #computeModuleHashes(List, List)}
+	 * @return the hash of all inputs
+	 */
+	private String computeCacheKey(Map<String, String> moduleHashes) {
+		InputHasher hasher = new InputHasher();
+		moduleHashes.forEach((module, hash) -> hasher.add(module).add(hash));
+		return hasher.hash();
+	}
+
+	/**
+	 * Computes a hash per selected module (or of the project in single module projects) over all
+	 * mojo parameters influencing the model and over the files the module's service is built from:
+	 * the poms and the properties/yml files are hashed by content, the Java sources (only scanned for
+	 * runnable classes) by size and modification time.
+	 * 
+	 * @param modules list of module directories, empty for single module projects
+	 * @param activeProfiles the active Maven profiles
+	 * @return the hash per module name, in module order
+	 * @throws IOException if an input file cannot be read
+	 */
+	private Map<String, String> computeModuleHashes(List<File> modules, List<String> activeProfiles) throws IOException {
+		InputHasher settingsHasher = new InputHasher().add(projectName)
+													  .add(version)
+													  .add(imagePrefix)
+													  .add(jdbcPrefix)
+													  .add(propertiesDirs)
+													  .add(profiles)
+													  .add(activeProfiles)
+													  .add(skipModules)
+													  .add(includeModules)
+													  .add(excludeModules)
+													  .add(includes)
+													  .add(excludes)
+													  .add(createEnv)
+													  .add(connectionBudget)
+													  .add(jvm)
+													  .add(appCds)
+													  .add(dockerfiles)
+													  .add(baseImage)
+													  .add(outputDir)
+													  .add(pipeline.stageNames())
+													  .add(basedir.getAbsolutePath())
+													  .addContent(basedir.toPath().resolve("pom.xml"))
+													  .addContent(basedir.toPath().resolve(DescriptorReader.FILE_NAME));
+		// the modules of Gradle builds are declared in the settings script
+		for (String settingsFile : GradleModuleReader.SETTINGS_FILES) {
+			settingsHasher.addContent(basedir.toPath().resolve(settingsFile));
+		}
+		if (volumes != null) {
+			for (Volume volume : volumes) {
+				settingsHasher.add(volume.getExternal()).add(volume.getInternal());
+			}
+		}
+		for (NetworkModel network : networks) {
+			settingsHasher.add(network.name()).add(network.driver()).add(network.driverOpts());
+		}
+		String settingsHash = settingsHasher.hash();
+
+		List<File> moduleDirectories = modules.isEmpty() 
+									   ? List.of(basedir) 
+									   : modules.stream().filter(moduleSelector::isSelected).toList();
+		// walking and reading the modules is independent of each other
+		List<String> hashes = ParallelIo.map(executor, moduleDirectories, 
+											 moduleDirectory -> computeModuleHash(moduleDirectory, settingsHash));
+		Map<String, String> moduleHashes = new LinkedHashMap<>();
+		for (int i = 0; i < moduleDirectories.size(); i++) {
+			// modules sharing a name (e.g. two library modules named api) change together
+			moduleHashes.merge(moduleDirectories.get(i).getName(), hashes.get(i), String::concat);
+		}
+		return moduleHashes;
+	}
+
+	/**
+	 * Computes the hash of the inputs of a single module.
+	 * 
+	 * @param moduleDirectory the directory of the module
+	 * @param settingsHash the hash of the settings shared by all modules
+	 * @return the hash of the module
+	 * @throws IOException if an input file cannot be read
+	 */
+	private String computeModuleHash(File moduleDirectory, String settingsHash) throws IOException {
+		ModuleContext moduleContext = moduleContext(moduleDirectory);
+		ModuleIndex index = moduleContext.index();
+		InputHasher hasher = new InputHasher().add(settingsHash)
+											  .add(moduleDirectory.getName())
+											  .addContent(moduleDirectory.toPath().resolve("pom.xml"))
+											  .addContent(moduleDirectory.toPath().resolve(DescriptorReader.FILE_NAME));
+		for (PropertySourceLoader loader : pipeline.getPropertySourceLoaders()) {
+			for (Path file : loader.inputFiles(moduleContext)) {
+				addContent(hasher, index, file);
+			}
+		}
+		index.javaSources().forEach(hasher::addStamp);
+		return hasher.hash();
+	}
+
+	/**
+	 * Adds the content of the given file to the hash, checking the existence of files in the module
+	 * against the module index.
+	 * 
+	 * @param hasher the hasher to add the file to
+	 * @param index the index of the module the file belongs to
+	 * @param file the file to add
+	 * @throws IOException if the file cannot be read
+	 */
+	private void addContent(InputHasher hasher, ModuleIndex index, Path file) throws IOException {
+		if (!file.toAbsolutePath().normalize().startsWith(index.root())) {
+			// outside of the module, e.g. a file of a custom property source
+			hasher.addContent(file);
+		} else if (index.exists(file)) {
+			hasher.addContent(file);
+		} else {
+			hasher.addMissing(file);
+		}
+	}
+
+	/**
+	 * Discovers the modules of the project with the first stage of the pipeline.
+	 * 
+	 * @return the module directories, empty for single module projects
+	 * @throws IOException if the build files cannot be read
+	 */
+	private List<File> discoverModules() throws IOException {
+		ProjectContext project = new ProjectContext(basedir, 
+													activeProfiles.stream().filter(StringUtils::isNotEmpty).toList(), 
+													executor);
+		return pipeline.getModuleDiscovery().discoverModules(project);
+	}
+
+	/**
+	 * @return the path of the module relative to the project base directory, with '/' as separator
+	 */
+	private String relativePath(File module) {
+		return basedir.toPath().toAbsolutePath().normalize()
+					  .relativize(module.toPath().toAbsolutePath().normalize())
+					  .toString().replace(File.separatorChar, '/');
+	}
+
+	/**
+	 * Returns the context a module passes through the per-module stages of the pipeline with.
+	 * 
+	 * @param moduleDirectory the directory of the module
+	 * @return the context of the module
+	 * @throws IOException if the directory cannot be walked
+	 */
+	private ModuleContext moduleContext(File moduleDirectory) throws IOException {
+		return new ModuleContext(moduleDirectory, moduleIndex(moduleDirectory), propertiesDirs, profiles, jdbcPrefix,
+								 pipeline.backingPrefixes(), jvmCache, stringPool, keyFilter, descriptor(moduleDirectory));
+	}
+
+	/**
+	 * Returns the <code>.dockerator</code> settings of the given module: those of the project,
+	 * merged with those of the module itself.
+	 * 
+	 * @param moduleDirectory the directory of the module
+	 * @return the merged settings, empty if neither has a descriptor
+	 * @throws IOException if a descriptor cannot be read or is invalid
+	 */
+	private DockeratorDescriptor descriptor(File moduleDirectory) throws IOException {
+		DockeratorDescriptor project = DescriptorReader.read(basedir.toPath());
+		if (project == null) {
+			project = DockeratorDescriptor.EMPTY;
+		}
+		if (isProjectDirectory(moduleDirectory)) {
+			return project;
+		}
+		return project.mergedWith(DescriptorReader.read(moduleDirectory.toPath()));
+	}
+
+	/**
+	 * @return true if the given directory is the root directory of the project
+	 */
+	private boolean isProjectDirectory(File directory) {
+		return directory.toPath().toAbsolutePath().normalize().equals(basedir.toPath().toAbsolutePath().normalize());
+	}
+
+	/**
+	 * Returns the file index of the given module directory, walking the directory on first use.
+	 * Directories of other modules are not descended into.
+	 * 
+	 * @param moduleDirectory the directory of the module
+	 * @return the index of the module
+	 * @throws IOException if the directory cannot be walked
+	 */
+	private ModuleIndex moduleIndex(File moduleDirectory) throws IOException {
+		Path key = moduleDirectory.toPath().toAbsolutePath().normalize();
+		ModuleIndex index = moduleIndexes.get(key);
+		if (index == null) {
+			index = ModuleIndex.build(key, moduleDirectories);
+			moduleIndexes.put(key, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Loads the model from the cache. A cache which cannot be read is ignored, so the model is
+	 * simply built again.
+	 * 
+	 * @param modelCache the cache to load from
+	 * @param cacheKey the hash of the current inputs
+	 * @return the cached model or null if there is no valid model for the current inputs
+	 */
+	private BuildModel loadCachedModel(ModelCache modelCache, String cacheKey) {
+		try {
+			BuildModel cached = modelCache.load(cacheKey).orElse(null);
+			if (cached != null) {
+				log.info("Inputs unchanged, using cached model from " + modelCacheFile);
+			}
+			return cached;
+		} catch (IOException e) {
+			log.warn("Ignoring unreadable model cache " + modelCacheFile + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Adds the modules whose inputs differ from those the previous model has been built from to the
+	 * changed modules, e.g. modules outside of the git diff whose service was built with other
+	 * settings. Without a previous model all modules are changed.
+	 * 
+	 * @param changedModules the modules reported as changed
+	 * @param previousModel the model of the previous generation, null if there is none
+	 * @param moduleHashes the current hashes of the inputs of the modules
+	 * @return the modules whose services have to be built again
+	 */
+	private Set<String> withStaleModules(Set<String> changedModules, BuildModel previousModel, 
+			Map<String, String> moduleHashes) {
+		Map<String, String> previousHashes = previousModel == null ? Map.of() : previousModel.moduleHashes();
+		Set<String> staleModules = new TreeSet<>(changedModules);
+		moduleHashes.forEach((module, hash) -> {
+			if (!hash.equals(previousHashes.get(module))) {
+				staleModules.add(module);
+			}
+		});
+		if (staleModules.size() > changedModules.size()) {
+			log.info((staleModules.size() - changedModules.size()) 
+					 + " further module(s) built again, their inputs differ from the previous model");
+		}
+		return staleModules;
+	}
+
+	/**
+	 * Loads the model of the previous generation, whatever inputs it has been built from.
+	 * 
+	 * @param modelCache the cache to load from
+	 * @return the previous model or null if there is none
+	 */
+	private BuildModel loadPreviousModel(ModelCache modelCache) {
+		try {
+			return modelCache.loadLatest().orElse(null);
+		} catch (IOException e) {
+			log.warn("Ignoring unreadable model cache " + modelCacheFile + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the model in the cache. Failing to write the cache does not fail the build.
+	 * 
+	 * @param modelCache the cache to store the model in
+	 * @param cacheKey the hash of the inputs the model has been built from
+	 * @param buildModel the model to store
+	 */
+	private void storeCachedModel(ModelCache modelCache, String cacheKey, BuildModel buildModel) {
+		try {
+			modelCache.store(cacheKey, buildModel);
+		} catch (IOException e) {
+			log.warn("Could not write model cache " + modelCacheFile + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Processes modules in a multi-module Maven project.
+	 * Iterates through all modules, identifies runnable modules (those containing Spring Boot applications),
+	 * and generates Docker services for each. The modules are processed in parallel, the services keep
+	 * the module order.
+	 * 
+	 * @param modules list of module directories containing pom.xml files
+	 * @param previousProfile the profile of the previous generation, null if there is none
+	 * @param changedModules the modules which changed since the previous generation, null if all have to be built
+	 * @return the models of the services of all runnable modules
+	 * @throws IOException if an I/O error occurs during file operations
+	 * @throws IllegalArgumentException if runnable modules in different directories have the same name
+	 */
+	private List<ServiceModel> processModules(final List<File> modules, 
+			ProfileModel previousProfile, Set<String> changedModules) throws IOException {
+		log.info("Found " + modules.size() + " module(s).");
+		// modules are known by their name, so a service is only reused if no other module has that name
+		Set<String> names = new HashSet<>();
+		Set<String> sharedNames = modules.stream()
+										 .filter(moduleSelector::isSelected)
+										 .map(File::getName)
+										 .filter(name -> !names.add(name))
+										 .collect(Collectors.toSet());
+		List<ServiceModel> services = ParallelIo.map(executor, modules, 
+													 module -> processModule(module, 
+															 sharedNames.contains(module.getName()) ? null : previousProfile, 
+															 changedModules));
+		// the name of the module is the name of its service, which has to be unique
+		Map<String, File> runnableModules = new HashMap<>();
+		for (int i = 0; i < modules.size(); i++) {
+			File module = modules.get(i);
+			File known = services.get(i) == null ? null : runnableModules.putIfAbsent(module.getName(), module);
+			if (known != null) {
+				throw new IllegalArgumentException("Runnable modules " + relativePath(known) + " and " + relativePath(module) 
+						+ " share the name '" + module.getName() + "', which has to be unique as it names their service;"
+						+ " exclude one of them with excludeModules (e.g. " + relativePath(module) + ")");
+			}
+		}
+		return new ArrayList<>(services.stream().filter(Objects::nonNull).toList());
+	}
+
+	/**
+	 * Processes a single module of a multi-module project. The module passes through the per-module
+	 * stages of the pipeline on its own, independent of the other modules.
+	 * 
+	 * @param module the directory of the module
+	 * @param previousProfile the profile of the previous generation, null if there is none
+	 * @param changedModules the modules which changed since the previous generation, null if all have to be built
+	 * @return the model of the service of the module, null if it is skipped or not runnable
+	 * @throws IOException if an I/O error occurs during file operations
+	 */
+	private ServiceModel processModule(File module, ProfileModel previousProfile, 
+			Set<String> changedModules) throws IOException {
+		// is it in the <skip> list or not selected by the include/exclude patterns?
+		ServiceModel previousService = previousProfile == null || changedModules == null 
+									   || changedModules.contains(module.getName())
+									   ? null
+									   : previousProfile.moduleService(module.getName());
+		if (!moduleSelector.isSelected(module)) {
+			log.info("Skipping module " + module.getName());
+		} else if (previousService != null) {
+			log.info("Module " + module.getName() + " unchanged, reusing its service from the previous generation");
+			return previousService;
+			// is it runnable?
+		} else {
+			ModuleContext moduleContext = moduleContext(module);
+			if (pipeline.getRunnableDetector().isRunnable(moduleContext)) {
+				return generateService(moduleContext).toModel();
+			}
+			log.info("Skipping non-runnable module: " + module.getName());
+		}
+		return null;
+	}
+
+	/**
+	 * Generates a populated DockerService instance for the given module
+	 * in a multi-module project or for a single-module project.
+	 * Loads the property sources of the module and extracts environment variables,
+	 * port configurations and JDBC configurations with the stages of the pipeline,
+	 * and adds the volume mappings and environment variables of the .dockerator files.
+	 * 
+	 * @param moduleContext the module
+	 * @return the DockerService instance populated with data from the module's annotated properties
+	 * @throws IOException if an I/O error occurs during file processing
+	 */
+	private DockerService generateService(ModuleContext moduleContext) throws IOException {
+		File moduleDirectory = moduleContext.directory();
+
+		String serviceName = moduleDirectory.getName(); // Use the module's directory name as the service name
+		log.info("Processing runnable module: " + serviceName);
+
+		List<VolumeMapping> volumeMappings = new ArrayList<>();
+
+		// Process volume configurations - combine parent and module-specific volumes
+		List<Volume> moduleVolumes = new ArrayList<>(moduleContext.descriptor().volumes());
+		if (isProjectDirectory(moduleDirectory) || !Files.isRegularFile(moduleDirectory.toPath().resolve(DescriptorReader.FILE_NAME))) {
+			// modules without a .dockerator file may still configure their volumes in the pom.xml
+			moduleVolumes.addAll(moduleVolumes(moduleDirectory));
+		}
+		List<Volume> consolidatedVolumes = new ArrayList<>();
+		
+		// Always start with parent volumes (if any)
+		if (volumes != null && !volumes.isEmpty()) {
+			consolidatedVolumes.addAll(volumes);
+// TODO: Fix complex logging format - 			log.info("📦 Inherited {} volume(s) from parent configuration for module: {}", volumes.size(), serviceName);
+		} else {
+// TODO: Fix complex logging format - 			log.info("📦 No parent volume configuration found for module: {}", serviceName);
+		}
+		
+		// Add module-specific volumes (if any)
+		if (!moduleVolumes.isEmpty()) {
+			consolidatedVolumes.addAll(moduleVolumes);
+// TODO: Fix complex logging format - 			log.info("📦 Added {} module-specific volume(s) for module: {}", moduleVolumes.size(), serviceName);
+		} else {
+		// TODO: Fix complex logging format - No module-specific volume configuration found for module
+		}
+		
+		if (!consolidatedVolumes.isEmpty()) {
+			log.info("Processing " + consolidatedVolumes.size() + " total volume(s) for module: " + serviceName + 
+				" (parent: " + (volumes != null ? volumes.size() : 0) + ", module-specific: " + moduleVolumes.size() + ")");
+			
+			int validVolumes = 0;
+			int skippedVolumes = 0;
+			
+			for (int i = 0; i < consolidatedVolumes.size(); i++) {
+				Volume volume = consolidatedVolumes.get(i);
+				String source = i < (volumes != null ? volumes.size() : 0) ? "parent" : "module";
+// TODO: Fix complex logging format - 				log.info("  📁 Volume {} ({}): external='{}', internal='{}'", i, source, volume.getExternal(), volume.getInternal());
+				if (volume.getExternal() != null && volume.getInternal() != null) {
+					VolumeMapping mapping = VolumeMapping.builder()
+							.external(volume.getExternal())
+							.internal(volume.getInternal())
+							.build();
+					volumeMappings.add(mapping);
+				// TODO: Fix complex logging format - Added volume mapping external -> internal
+					validVolumes++;
+				} else {
+					// TODO: Fix complex logging format - Skipping incomplete volume configuration
+					skippedVolumes++;
+				}
+			}
+			
+			if (skippedVolumes > 0) {
+				log.warn("Volume processing summary for " + serviceName + ": " + validVolumes + 
+					" valid, " + skippedVolumes + " skipped due to incomplete configuration"); 
+				log.warn("💡 Tip: Ensure every volume sets both an external and an internal path:");
+				log.warn("   <volume><external>../ssl</external><internal>/opt/ssl</internal></volume>");
+				log.warn("   Module poms also accept <volume external=\"../ssl\" internal=\"/opt/ssl\"/>; the configuration");
+				log.warn("   of the parent is bound by Maven, which only maps nested elements.");
+			} else {
+				log.info("Volume processing completed for " + serviceName + ": " + validVolumes + " volume mapping(s) configured");
+			}
+		} else {
+			// TODO: Fix complex logging format - No volume configuration found for module - service will have no volume mappings
+		}
+
+		List<PropertySource> sources = new ArrayList<>();
+		for (PropertySourceLoader loader : pipeline.getPropertySourceLoaders()) {
+			sources.addAll(loader.load(moduleContext));
+		}
+		ModuleProperties properties = pipeline.getPropertyExtractor().extract(moduleContext, sources);
+		Map<String, String> dockerEnvVars = new HashMap<>(properties.environment());
+		moduleContext.descriptor()
+					 .environment()
+					 .forEach((key, value) -> dockerEnvVars.put(stringPool.intern(key), stringPool.intern(value)));
+		JvmModel moduleJvm = jvm.mergedWith(moduleContext.descriptor().jvm());
+		String configuredOptions = dockerEnvVars.get(JvmModel.TOOL_OPTIONS_VARIABLE);
+		if (appCds) {
+			// the archive has the same path in every container, so the options stay common to all services
+			configuredOptions = AppCds.toolOptions(configuredOptions);
+			volumeMappings.add(AppCds.volume(serviceName));
+		}
+		String toolOptions = moduleJvm.toolOptions(configuredOptions);
+		if (toolOptions != null) {
+			dockerEnvVars.put(JvmModel.TOOL_OPTIONS_VARIABLE, stringPool.intern(toolOptions));
+		}
+		List<String> ports = properties.ports();
+
+		// networks of the parent first, a module may refer to them by name
+		List<NetworkModel> networkModels = new ArrayList<>(networks);
+		for (Network network : moduleContext.descriptor().networks()) {
+			networkModels.add(NetworkModel.of(network));
+		}
+		List<NetworkModel> serviceNetworks = NetworkModel.merge(networkModels);
+
+		log.info("Service '" + serviceName + "' configured with " + dockerEnvVars.size() + " environment variable(s), " + 
+			ports.size() + " port(s), " + volumeMappings.size() + " volume(s), " + serviceNetworks.size() + " network(s)");
+
+		DockerService dockerService = DockerService.builder()
+												   .name(moduleDirectory.getName())
+												   .jdbcConfigs(properties.jdbcConfigs())
+												   .backingConfigs(properties.backingConfigs())
+												   .ports(ports)
+												   .dockerEnvVars(dockerEnvVars)
+												   .specificVolumes(volumeMappings)
+												   .networks(serviceNetworks)
+												   .limits(moduleJvm.limits())
+												   .appCds(appCds)
+												   .build(dockerfiles
+														  ? ImageBuild.of(moduleDirectory, outputDir, serviceName, version, baseImage)
+														  : null)
+												   .imagePrefix(imagePrefix)
+												   .version(version)
+												   .createEnvironmentFile(createEnv)
+												   .build();
+		return dockerService;
+	}
+
+	/**
+	 * Returns the volumes configured in the pom.xml of the given module, as supplied by the settings
+	 * or read from the pom.xml. Only used for modules without a <code>.dockerator</code> file.
+	 * 
+	 * @param moduleDirectory the directory of the module
+	 * @return list of volumes configured for this specific module, empty list if none found
+	 */
+	private List<Volume> moduleVolumes(File moduleDirectory) {
+		List<Volume> supplied = moduleVolumesStale || settings.getModuleVolumes() == null 
+								? null 
+								: settings.getModuleVolumes().apply(moduleDirectory);
+		return supplied != null ? supplied : PluginVolumeReader.fromModule(moduleDirectory);
+	}
+}
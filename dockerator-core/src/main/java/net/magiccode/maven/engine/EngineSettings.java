@@ -0,0 +1,149 @@
+/**
+ * Settings of a generation
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.engine;
+
+import java.io.File;
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.Builder;
+import lombok.Data;
+import net.magiccode.maven.Jvm;
+import net.magiccode.maven.Network;
+import net.magiccode.maven.Volume;
+import net.magiccode.maven.docker.DatabaseMode;
+import net.magiccode.maven.pipeline.Pipeline;
+
+/**
+ * Everything a {@link DockeratorEngine} needs to know about the project and how to generate the
+ * compose files. The settings correspond to the configuration options of the Maven plugin; build
+ * tools fill them from their own configuration.
+ */
+@Builder
+@Data
+public class EngineSettings {
+
+	/** the directory of the project */
+	private File basedir;
+
+	/** the directory the compose files are written to */
+	private String outputDir;
+
+	/** the name of the project, used as the name of the aggregate compose file */
+	private String projectName;
+
+	/** the version of the project, used as the image tag */
+	private String version;
+
+	/** prefix of the image names, e.g. the registry */
+	@Builder.Default
+	private String imagePrefix = "";
+
+	/** prefix of the properties holding the JDBC configuration */
+	@Builder.Default
+	private String jdbcPrefix = "spring.datasource.";
+
+	/** directories of the properties/yml files, relative to each module */
+	@Builder.Default
+	private List<String> propertiesDirs = List.of("src/main/resources");
+
+	/** names of the profiles whose properties/yml files are read */
+	@Builder.Default
+	private List<String> profiles = List.of();
+
+	/** ids of the active build profiles, a compose file is written for each; the default profile if empty */
+	@Builder.Default
+	private List<String> activeProfiles = List.of();
+
+	/** names of modules not to process */
+	private List<String> skipModules;
+
+	/** patterns of modules to process, see {@link net.magiccode.maven.util.ModuleSelector} */
+	private List<String> includeModules;
+
+	/** patterns of modules not to process */
+	private List<String> excludeModules;
+
+	/**
+	 * patterns of property keys becoming environment variables in addition to the marked ones, see
+	 * {@link net.magiccode.maven.util.PropertyKeyFilter}
+	 */
+	private List<String> includes;
+
+	/** patterns of property keys never becoming environment variables, even if marked */
+	private List<String> excludes;
+
+	/**
+	 * remove the DockerInclude comments from the processed resources in the target directory; by
+	 * default (null) only done unless include patterns are configured
+	 */
+	private Boolean cleanupTarget;
+
+	/** only write the compose files of modules changed since the last generation */
+	private boolean onlyChanged;
+
+	/** only write the compose files of modules changed since this git ref */
+	private String changedSince;
+
+	/** volumes added to every service */
+	private List<Volume> volumes;
+
+	/** networks joined by every service */
+	private List<Network> networks;
+
+	/** the mode the containers of the database compose file are run in */
+	@Builder.Default
+	private DatabaseMode databaseMode = DatabaseMode.DURABLE;
+
+	/**
+	 * maximum number of connections of each datasource, split among the connection pools of the
+	 * services using it; null for the defaults of database and pools
+	 */
+	private Integer connectionBudget;
+
+	/** JVM settings and resource limits of every service */
+	private Jvm jvm;
+
+	/** give every service a CDS archive in a volume of its own and a training run creating it */
+	private boolean appCds;
+
+	/** generate a layered Dockerfile per service and point the compose build sections at it */
+	private boolean dockerfiles;
+
+	/** base image of the generated Dockerfiles, null for eclipse-temurin:21-jre */
+	private String baseImage;
+
+	/** create a .env file instead of writing the values into the compose files */
+	@Builder.Default
+	private boolean createEnv = true;
+
+	/** reuse the model as long as its inputs do not change */
+	private boolean useModelCache;
+
+	/** the file the model is cached in */
+	private File modelCacheFile;
+
+	/** keep parsed files in memory for the lifetime of the JVM */
+	private boolean jvmCache;
+
+	/** maximum number of files held by each of the in-memory caches */
+	@Builder.Default
+	private int jvmCacheSize = 10000;
+
+	/**
+	 * Supplies the volumes configured in a module, e.g. from a model already held in memory. By
+	 * default (or if it returns null) the pom.xml of the module is read.
+	 */
+	private Function<File, List<Volume>> moduleVolumes;
+
+	/**
+	 * The stages of the generation. By default the stages registered in
+	 * <code>META-INF/services</code> on the class path of the engine are used, see
+	 * {@link Pipeline#load(ClassLoader)}.
+	 */
+	private Pipeline pipeline;
+}
@@ -0,0 +1,156 @@
+/**
+ * Detection of backing services
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import net.magiccode.maven.docker.InfraModel;
+
+/**
+ * Recognizes a backing service, e.g. Redis or Kafka, in the properties of a service and describes
+ * the local container standing in for it. The detectors of the {@link Pipeline} form a registry:
+ * the extraction stage captures the properties starting with their {@link #prefixes()}, and
+ * {@link BackingServiceResolver} starts one container per distinct server and rewrites the
+ * settings of the services to point at it. Implementations registered in
+ * <code>META-INF/services/net.magiccode.maven.pipeline.BackingServiceDetector</code> are added
+ * to {@link RedisDetector}, {@link KafkaDetector} and {@link RabbitMqDetector}.
+ * <p>
+ * All properties are handed over with keys in docker format, e.g.
+ * <code>SPRING_DATA_REDIS_HOST</code> for <code>spring.data.redis.host</code>.
+ * </p>
+ */
+public interface BackingServiceDetector {
+
+	/**
+	 * @return the name of the backing service, used as name of its container (e.g. redis)
+	 */
+	String name();
+
+	/**
+	 * @return the prefixes of the properties configuring the backing service, in Spring notation
+	 *         (e.g. <code>spring.data.redis.</code>)
+	 */
+	List<String> prefixes();
+
+	/**
+	 * returns the address of the server a service connects to. Services with the same address share
+	 * a container.
+	 *
+	 * @param properties the properties of the service starting with one of the prefixes
+	 * @return <code>host:port</code> or null if the service does not use the backing service
+	 */
+	String address(Map<String, String> properties);
+
+	/**
+	 * creates the container of a server.
+	 *
+	 * @param name the name of the container, also its host name
+	 * @param hostPort the port to publish on the host
+	 * @param properties the properties of the first service using the server, e.g. for credentials
+	 * @return the container, without services
+	 */
+	InfraModel container(String name, int hostPort, Map<String, String> properties);
+
+	/**
+	 * returns the environment variables pointing a service at the container, replacing those taken
+	 * from its properties.
+	 *
+	 * @param container the container of the server
+	 * @param properties the properties of the service starting with one of the prefixes
+	 * @return the environment variables of the service
+	 */
+	Map<String, String> serviceEnvironment(InfraModel container, Map<String, String> properties);
+
+	/**
+	 * converts a property key into docker format, e.g. <code>spring.data.redis.</code> into
+	 * <code>SPRING_DATA_REDIS_</code>.
+	 *
+	 * @param key the key in Spring notation
+	 * @return the key in docker format
+	 */
+	static String dockerFormat(String key) {
+		return key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_').replace('[', '_').replace(']', '_')
+				  .replaceAll("__", "_");
+	}
+
+	/**
+	 * returns the value of a property given below any of the prefixes.
+	 *
+	 * @param properties the properties, keys in docker format
+	 * @param prefixes the prefixes in Spring notation
+	 * @param property the name of the property below the prefix in docker format (e.g. HOST)
+	 * @return the first value found or null
+	 */
+	static String value(Map<String, String> properties, List<String> prefixes, String property) {
+		for (String prefix : prefixes) {
+			String value = properties.get(dockerFormat(prefix) + property);
+			if (StringUtils.isNotBlank(value)) {
+				return value.trim();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * returns the prefix the properties are given under, so a service is pointed at the container
+	 * using the same keys it configured.
+	 *
+	 * @param properties the properties, keys in docker format
+	 * @param prefixes the prefixes in Spring notation, the first is the default
+	 * @return the prefix in docker format
+	 */
+	static String prefixOf(Map<String, String> properties, List<String> prefixes) {
+		for (String prefix : prefixes) {
+			String dockerPrefix = dockerFormat(prefix);
+			if (properties.keySet().stream().anyMatch(key -> key.startsWith(dockerPrefix))) {
+				return dockerPrefix;
+			}
+		}
+		return dockerFormat(prefixes.get(0));
+	}
+
+	/**
+	 * parses <code>[scheme://][user[:password]@]host[:port][/path]</code>.
+	 *
+	 * @param address the address
+	 * @param defaultPort the port if the address has none
+	 * @return <code>host:port</code>, localhost if the address has no host
+	 */
+	static String hostAndPort(String address, int defaultPort) {
+		String authority = address.contains("://") ? StringUtils.substringAfter(address, "://") : address;
+		authority = StringUtils.substringBefore(authority, "/");
+		authority = authority.contains("@") ? StringUtils.substringAfterLast(authority, "@") : authority;
+		String host = authority;
+		String port = String.valueOf(defaultPort);
+		int colon = authority.lastIndexOf(':');
+		if (colon >= 0 && colon > authority.lastIndexOf(']')) {
+			host = authority.substring(0, colon);
+			port = authority.substring(colon + 1);
+		}
+		return StringUtils.defaultIfBlank(host, "localhost").toLowerCase(Locale.ROOT) + ":" + port;
+	}
+
+	/**
+	 * replaces host and port of an address, keeping scheme, user information and path.
+	 *
+	 * @param address the address, <code>[scheme://][user[:password]@]host[:port][/path]</code>
+	 * @param hostAndPort the new host and port
+	 * @return the address pointing at the given host and port
+	 */
+	static String withHostAndPort(String address, String hostAndPort) {
+		String scheme = address.contains("://") ? StringUtils.substringBefore(address, "://") + "://" : "";
+		String rest = address.contains("://") ? StringUtils.substringAfter(address, "://") : address;
+		String path = rest.contains("/") ? "/" + StringUtils.substringAfter(rest, "/") : "";
+		String authority = StringUtils.substringBefore(rest, "/");
+		String userInfo = authority.contains("@") ? StringUtils.substringBeforeLast(authority, "@") + "@" : "";
+		return scheme + userInfo + hostAndPort + path;
+	}
+}
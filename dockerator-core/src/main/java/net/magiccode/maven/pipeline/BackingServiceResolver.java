@@ -0,0 +1,129 @@
+/**
+ * Resolution of backing services
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.extern.log4j.Log4j2;
+import net.magiccode.maven.docker.InfraModel;
+import net.magiccode.maven.docker.NetworkModel;
+import net.magiccode.maven.docker.ServiceModel;
+
+/**
+ * Starts one infrastructure container per distinct server of each backing service and points the
+ * services at it. Servers are distinct by host and port, so services of different modules connecting
+ * to the same server share a container. The container publishes the port of the server on the host,
+ * unless already taken by another container.
+ */
+@Log4j2
+public final class BackingServiceResolver {
+
+	/** a value consisting of a placeholder with default, e.g. <code>${REDIS_HOST:localhost}</code> */
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{[^:}]+:([^}]*)}");
+
+	private BackingServiceResolver() {
+	}
+
+	/**
+	 * The services pointed at the infrastructure containers, and the containers.
+	 *
+	 * @param services the services, in the given order
+	 * @param containers the infrastructure containers, in order of detection
+	 */
+	public record Resolution(List<ServiceModel> services, List<InfraModel> containers) {
+	}
+
+	/**
+	 * detects the backing services of the given services.
+	 *
+	 * @param services the services
+	 * @param detectors the detectors of the backing services, see {@link Pipeline#getBackingServiceDetectors()}
+	 * @return the services with rewritten environment and the containers to start
+	 */
+	public static Resolution resolve(List<ServiceModel> services, List<BackingServiceDetector> detectors) {
+		List<ServiceModel> resolved = new ArrayList<>(services);
+		List<InfraModel> containers = new ArrayList<>();
+		Set<String> names = new HashSet<>();
+		Set<Integer> ports = new HashSet<>();
+		for (BackingServiceDetector detector : detectors) {
+			// services by the address of the server they use, in order of discovery
+			Map<String, List<Integer>> servers = new LinkedHashMap<>();
+			List<Map<String, String>> properties = new ArrayList<>();
+			for (ServiceModel service : resolved) {
+				Map<String, String> serviceProperties = properties(service, detector);
+				properties.add(serviceProperties);
+				String address = serviceProperties.isEmpty() ? null : detector.address(serviceProperties);
+				if (address != null) {
+					servers.computeIfAbsent(address, key -> new ArrayList<>()).add(properties.size() - 1);
+				}
+			}
+			for (Map.Entry<String, List<Integer>> server : servers.entrySet()) {
+				int port;
+				try {
+					port = Integer.parseInt(server.getKey().substring(server.getKey().lastIndexOf(':') + 1).trim());
+				} catch (NumberFormatException e) {
+					log.warn("Port of " + detector.name() + " server " + server.getKey() + " is not a number, skipping");
+					continue;
+				}
+				String name = detector.name();
+				for (int i = 2; !names.add(name); i++) {
+					name = detector.name() + "-" + i;
+				}
+				int hostPort = port;
+				while (!ports.add(hostPort)) {
+					hostPort++;
+				}
+				if (hostPort != port) {
+					log.warn("Port " + port + " of container '" + name + "' is already published, using " + hostPort);
+				}
+				List<Integer> users = server.getValue();
+				InfraModel container = detector.container(name, hostPort, properties.get(users.get(0)));
+				List<NetworkModel> networks = new ArrayList<>();
+				users.forEach(index -> networks.addAll(resolved.get(index).networks()));
+				containers.add(container.usedBy(users.stream().map(index -> resolved.get(index).name()).toList(), networks));
+				for (int index : users) {
+					resolved.set(index, resolved.get(index)
+												.withEnvironment(detector.serviceEnvironment(container, properties.get(index))));
+				}
+			}
+		}
+		return new Resolution(List.copyOf(resolved), List.copyOf(containers));
+	}
+
+	/**
+	 * returns the properties of a service read by the given detector, with placeholders replaced by
+	 * their defaults.
+	 */
+	private static Map<String, String> properties(ServiceModel service, BackingServiceDetector detector) {
+		List<String> prefixes = detector.prefixes().stream().map(BackingServiceDetector::dockerFormat).toList();
+		Map<String, String> properties = new LinkedHashMap<>();
+		service.backingConfigs().forEach((key, value) -> {
+			if (prefixes.stream().anyMatch(key::startsWith)) {
+				properties.put(key, withDefault(value));
+			}
+		});
+		return properties;
+	}
+
+	/**
+	 * replaces a value consisting of a placeholder by the default of the placeholder.
+	 */
+	private static String withDefault(String value) {
+		if (value == null) {
+			return null;
+		}
+		Matcher matcher = PLACEHOLDER.matcher(value.trim());
+		return matcher.matches() ? matcher.group(1) : value;
+	}
+}
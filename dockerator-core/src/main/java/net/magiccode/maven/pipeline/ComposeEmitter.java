@@ -0,0 +1,30 @@
+/**
+ * Stage emitting the files of a profile
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.io.IOException;
+
+import net.magiccode.maven.docker.ProfileModel;
+
+/**
+ * Last stage of the {@link Pipeline}: writes the files of a profile. Implementations registered in
+ * <code>META-INF/services/net.magiccode.maven.pipeline.ComposeEmitter</code> run after
+ * {@link DefaultComposeEmitter}. They have to open their files through
+ * {@link EmitContext#output()}, so verification and incremental regeneration cover them.
+ */
+public interface ComposeEmitter {
+
+	/**
+	 * writes the files of a profile.
+	 *
+	 * @param context where and how to write
+	 * @param profile the name of the profile, empty for the default profile
+	 * @param profileModel the resolved model of the profile
+	 * @throws IOException if a file cannot be written
+	 */
+	void emit(EmitContext context, String profile, ProfileModel profileModel) throws IOException;
+}
@@ -0,0 +1,31 @@
+/**
+ * Stage optimizing the services of all modules
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.util.List;
+
+import net.magiccode.maven.docker.ComposeModel;
+import net.magiccode.maven.docker.ServiceModel;
+import net.magiccode.maven.util.StringPool;
+
+/**
+ * Fifth stage of the {@link Pipeline}: combines the services of all runnable modules into the
+ * model of the aggregate compose file. An implementation registered in
+ * <code>META-INF/services/net.magiccode.maven.pipeline.ComposeOptimizer</code> replaces
+ * {@link DefaultComposeOptimizer}.
+ */
+public interface ComposeOptimizer {
+
+	/**
+	 * builds the model of the aggregate compose file.
+	 *
+	 * @param moduleServices the services of the runnable modules, in module order
+	 * @param stringPool pool sharing key and value instances between all services of the build
+	 * @return the model of the aggregate compose file
+	 */
+	ComposeModel optimize(List<ServiceModel> moduleServices, StringPool stringPool);
+}
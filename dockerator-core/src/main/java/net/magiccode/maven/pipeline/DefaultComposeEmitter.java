@@ -0,0 +1,216 @@
+/**
+ * Default emission of the compose files
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.extern.log4j.Log4j2;
+import net.magiccode.maven.docker.ComposeFileGenerator;
+import net.magiccode.maven.docker.ComposeModel;
+import net.magiccode.maven.docker.DatabaseMode;
+import net.magiccode.maven.docker.DatabaseModel;
+import net.magiccode.maven.docker.ImageBuild;
+import net.magiccode.maven.docker.InfraModel;
+import net.magiccode.maven.docker.NetworkModel;
+import net.magiccode.maven.docker.OutdatedFileException;
+import net.magiccode.maven.docker.ProfileModel;
+import net.magiccode.maven.docker.ServiceModel;
+import net.magiccode.maven.util.EnvironmentHelper;
+
+/**
+ * Writes the files of a profile: the module specific compose files, the Dockerfiles of the services
+ * built by compose, the aggregate docker-compose file, the database compose file, the
+ * infrastructure compose file and the .env file.
+ */
+@Log4j2
+public class DefaultComposeEmitter implements ComposeEmitter {
+
+	@Override
+	public void emit(EmitContext context, String profile, ProfileModel profileModel) throws IOException {
+		ComposeModel composeModel = profileModel.composeModel();
+
+		// Create module-specific compose files with ONLY the module's service
+		for (ServiceModel moduleService : profileModel.moduleServices()) {
+			if (context.changedModules() != null && !context.changedModules().contains(moduleService.name())) {
+				log.debug("Module " + moduleService.name() + " unchanged, keeping its compose file");
+				continue;
+			}
+			ComposeFileGenerator composeFileGenerator = ComposeFileGenerator.builder().outputDir(context.outputDir())
+					.moduleName(moduleService.name()).model(new ComposeModel(List.of(moduleService), null, null))
+					.activeProfile(profile).createEnvironmentFile(context.createEnv()).output(context.output()).build();
+			composeFileGenerator.generateModuleDockerCompose();
+			if (moduleService.build() != null) {
+				generateDockerfile(context, moduleService);
+			}
+		}
+		if (composeModel.containsCommonVolumes()) {
+			log.info("Found " + composeModel.commonVolumes().size() + " common volume(s) across modules");
+		}
+		// Generate docker-compose.yml for all services
+		if (!composeModel.services().isEmpty()) {
+			log.info("Generating docker-compose.yml for " + composeModel.services().size() + " service(s)");
+			if (composeModel.containsCommonEnvironment()) {
+				log.info("Found " + composeModel.commonEnvironment().size() + " common environment variable(s)");
+			}
+			ComposeFileGenerator composeFileGenerator = ComposeFileGenerator.builder().model(composeModel)
+					.outputDir(context.outputDir()).moduleName(context.projectName()).activeProfile(profile)
+					.createEnvironmentFile(context.createEnv()).output(context.output()).build();
+			composeFileGenerator.generateDockerCompose();
+			log.info("Successfully generated docker-compose.yml");
+		} else {
+			log.warn("No runnable modules found; docker-compose.yml will not be generated.");
+		}
+
+		// Generate docker-compose-db.yml for database containers
+		if (!profileModel.databases().isEmpty()) {
+			log.info("Generating database docker-compose file with " + profileModel.databases().size() + " datasource(s)");
+			generateDatabaseCompose(context, profile, profileModel.databases());
+		}
+		// Generate docker-compose-infra.yml for the backing services
+		if (!profileModel.infrastructure().isEmpty()) {
+			log.info("Generating infrastructure docker-compose file with " + profileModel.infrastructure().size() + " container(s)");
+			generateInfraCompose(context, profile, profileModel.infrastructure());
+		}
+		// create .env file if required
+		if (context.createEnv()) {
+			log.info("Generating .env file with environment variables");
+			createEnvironmentFile(context, composeModel);
+		}
+	}
+
+	/**
+	 * Generates the Dockerfile of a service, which builds its image from the layers of the executable
+	 * jar of the module. It does not depend on the profile, so every profile writes the same content.
+	 * 
+	 * @param context where and how to write
+	 * @param service the service, whose image is built by compose
+	 * @throws IOException if an I/O error occurs during file writing
+	 */
+	private void generateDockerfile(EmitContext context, ServiceModel service) throws IOException {
+		Path dockerfile = Paths.get(context.outputDir(), ImageBuild.fileName(service.name()));
+		try (Writer writer = context.output().open(dockerfile)) {
+			writer.write(service.build().generateDockerfile(service.ports()));
+		}
+		log.info("Generated Dockerfile: " + dockerfile.toString());
+	}
+
+	/**
+	 * Generates a docker-compose file for the databases used by the services, with one container
+	 * per distinct datasource, configured by the native environment variables of its vendor and run
+	 * in the {@link DatabaseMode} of the context.
+	 * 
+	 * @param context where and how to write
+	 * @param profile the name of the profile, empty for the default profile
+	 * @param databases the distinct datasources of the services
+	 * @throws IOException if an I/O error occurs during file writing
+	 */
+	private void generateDatabaseCompose(EmitContext context, String profile, List<DatabaseModel> databases) throws IOException {
+		if (databases.isEmpty()) {
+			return;
+		}
+
+		Path databaseComposeFile = StringUtils.isBlank(profile)
+								   ? Paths.get(context.outputDir(), "docker-compose-db.yml")
+								   : Paths.get(context.outputDir(), "docker-compose-db-" + profile + ".yml");
+		try (Writer writer = context.output().open(databaseComposeFile)) {
+			writer.write("version: '3.8'\n");
+			writer.write("services:\n");
+			for (DatabaseModel database : databases) {
+				log.debug("Database '" + database.name() + "' used by " + String.join(", ", database.services()));
+				if (context.databaseMode() == DatabaseMode.EPHEMERAL && !database.url().vendor().supportsEphemeral()) {
+					log.warn("Database '" + database.name() + "' cannot run ephemeral, using the default settings of the image");
+				}
+				if (database.maxConnections() > 0 && !database.url().vendor().supportsMaxConnections()) {
+					log.warn("Database '" + database.name() + "' cannot be limited to " + database.maxConnections() + " connections");
+				}
+				writer.write(database.generateServiceEntry(context.databaseMode()));
+			}
+		}
+		log.info("Generated Database Docker Compose file: " + databaseComposeFile.toString());
+	}
+
+	/**
+	 * Generates a docker-compose file for the backing services used by the services, with one
+	 * container per distinct server, joining the networks of the services using it.
+	 * 
+	 * @param context where and how to write
+	 * @param profile the name of the profile, empty for the default profile
+	 * @param containers the containers of the backing services
+	 * @throws IOException if an I/O error occurs during file writing
+	 */
+	private void generateInfraCompose(EmitContext context, String profile, List<InfraModel> containers) throws IOException {
+		Path infraComposeFile = StringUtils.isBlank(profile)
+								? Paths.get(context.outputDir(), "docker-compose-infra.yml")
+								: Paths.get(context.outputDir(), "docker-compose-infra-" + profile + ".yml");
+		List<NetworkModel> networks = new ArrayList<>();
+		try (Writer writer = context.output().open(infraComposeFile)) {
+			writer.write("version: '3.8'\n");
+			writer.write("services:\n");
+			for (InfraModel container : containers) {
+				log.debug("Container '" + container.name() + "' used by " + String.join(", ", container.services()));
+				writer.write(container.generateServiceEntry());
+				networks.addAll(container.networks());
+			}
+			if (!networks.isEmpty()) {
+				writer.write("networks:\n");
+				for (NetworkModel network : NetworkModel.merge(networks)) {
+					writer.write(network.generateNetworkEntry());
+				}
+			}
+		}
+		log.info("Generated Infrastructure Docker Compose file: " + infraComposeFile.toString());
+	}
+
+	/**
+	 * Creates a .env file in the output directory containing all environment
+	 * variables used in the docker-compose file. The file includes both common
+	 * environment variables and service-specific variables with proper naming prefixes.
+	 * 
+	 * @param context where and how to write
+	 * @param composeModel the model of the docker-compose file providing common and service-specific variables
+	 * @return true if the file was created successfully, false otherwise
+	 * @throws OutdatedFileException if the file is verified and differs
+	 */
+	private boolean createEnvironmentFile(EmitContext context, final ComposeModel composeModel) throws OutdatedFileException {
+		Path environmentFile = Paths.get(context.outputDir(), ".env");
+
+		try (Writer writer = context.output().open(environmentFile)) {
+			StringBuilder commonBuffer = new StringBuilder();
+			composeModel.commonEnvironment()
+					.forEach((key, value) -> commonBuffer.append(key)
+							.append("=")
+							.append(EnvironmentHelper.generateValueEntry(false, key, value))
+							.append("\n"));
+
+			writer.write(commonBuffer.toString());
+
+			for (ServiceModel service : composeModel.services()) {
+				StringBuilder serviceBuffer = new StringBuilder();
+				service.environment()
+						.forEach((key, value) -> serviceBuffer.append(EnvironmentHelper.generateNameEntry(true, key, service.name()))
+								.append("=")
+								.append(EnvironmentHelper.generateValueEntry(false, key, value))
+								.append("\n"));
+				writer.write(serviceBuffer.toString());
+			}
+		} catch (OutdatedFileException e) {
+			throw e;
+		} catch (IOException e) {
+			log.error("Error writing .env file: " + e.getMessage());
+			return false;
+		}
+		log.info("Successfully generated environment file: " + environmentFile.toString());
+		return true;
+	}
+}
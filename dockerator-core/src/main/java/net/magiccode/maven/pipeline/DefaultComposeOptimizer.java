@@ -0,0 +1,26 @@
+/**
+ * Default optimization of the services
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.util.List;
+
+import net.magiccode.maven.docker.CommonsOptimizer;
+import net.magiccode.maven.docker.ComposeModel;
+import net.magiccode.maven.docker.ServiceModel;
+import net.magiccode.maven.util.StringPool;
+
+/**
+ * Moves the environment variables and volumes shared by all services into the common anchor, see
+ * {@link CommonsOptimizer}.
+ */
+public class DefaultComposeOptimizer implements ComposeOptimizer {
+
+	@Override
+	public ComposeModel optimize(List<ServiceModel> moduleServices, StringPool stringPool) {
+		return CommonsOptimizer.optimize(moduleServices);
+	}
+}
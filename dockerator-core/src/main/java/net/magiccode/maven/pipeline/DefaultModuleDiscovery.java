@@ -0,0 +1,31 @@
+/**
+ * Default module discovery
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import net.magiccode.maven.util.ModuleHelper;
+
+/**
+ * Discovers the modules declared in the pom.xml of the project, including nested aggregators and
+ * active profiles, or the projects included in the Gradle settings script, see
+ * {@link ModuleHelper#getModules()}.
+ */
+public class DefaultModuleDiscovery implements ModuleDiscovery {
+
+	@Override
+	public List<File> discoverModules(ProjectContext project) throws IOException {
+		return ModuleHelper.builder()
+						   .basedir(project.basedir())
+						   .activeProfiles(project.activeProfiles())
+						   .executor(project.executor())
+						   .build()
+						   .getModules();
+	}
+}
@@ -0,0 +1,164 @@
+/**
+ * Default extraction of environment, ports, JDBC and backing service configuration
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.magiccode.maven.util.PropertyEntry;
+import net.magiccode.maven.util.StringPool;
+
+/**
+ * Extracts the settings of a service from its property sources. Entries marked with a
+ * DockerInclude comment or selected by the key patterns of the module become environment variables,
+ * <code>server.port</code> among them also a port. Entries starting with the JDBC prefix are collected as JDBC configuration, whether marked
+ * or not, and so are those starting with a prefix of a {@link BackingServiceDetector}, keyed in
+ * docker format. Later sources override earlier ones.
+ * <p>
+ * If the sources do not set them, <code>spring.profiles.active</code> is set to the configured
+ * profiles and the service listens on port 8080.
+ * </p>
+ */
+public class DefaultPropertyExtractor implements PropertyExtractor {
+
+	private static final String SERVER_PORT_PROPERTY = "server.port";
+
+	private static final String DEFAULT_PORT = "8080";
+
+	@Override
+	public ModuleProperties extract(ModuleContext module, List<PropertySource> sources) {
+		StringPool stringPool = module.stringPool();
+		Map<String, String> dockerEnvVars = new HashMap<>();
+		Map<String, String> jdbcConfigs = new HashMap<>();
+		Map<String, String> backingConfigs = new HashMap<>();
+		List<String> ports = new ArrayList<>();
+
+		for (PropertySource source : sources) {
+			if (source.format() == PropertySource.Format.YAML) {
+				extractYaml(source.entries(), module.jdbcPrefix(), stringPool, dockerEnvVars, jdbcConfigs, ports);
+			} else {
+				extractProperties(source.entries(), module, dockerEnvVars, jdbcConfigs, ports);
+			}
+			extractBackingConfigs(source.entries(), module, backingConfigs);
+		}
+
+		// add profiles setting
+		if (!dockerEnvVars.containsKey("spring.profiles.active")) {
+			dockerEnvVars.put("spring.profiles.active", String.join(",", module.profiles()));
+		}
+		// set default server.port if missing
+		if (!dockerEnvVars.containsKey(SERVER_PORT_PROPERTY) && !dockerEnvVars.containsKey("SERVER_PORT")) {
+			dockerEnvVars.put(SERVER_PORT_PROPERTY, DEFAULT_PORT);
+			ports.add(DEFAULT_PORT);
+		}
+		return new ModuleProperties(formatEnvironmentVariables(dockerEnvVars, stringPool), jdbcConfigs, backingConfigs,
+				ports);
+	}
+
+	/**
+	 * takes the entries of a source starting with the prefix of a backing service, keyed in docker
+	 * format so properties and yaml sources look alike.
+	 */
+	private void extractBackingConfigs(List<PropertyEntry> entries, ModuleContext module,
+			Map<String, String> backingConfigs) {
+		List<String> prefixes = module.backingPrefixes()
+									  .stream()
+									  .map(BackingServiceDetector::dockerFormat)
+									  .toList();
+		if (prefixes.isEmpty()) {
+			return;
+		}
+		StringPool stringPool = module.stringPool();
+		for (PropertyEntry entry : entries) {
+			String key = BackingServiceDetector.dockerFormat(entry.key());
+			if (prefixes.stream().anyMatch(key::startsWith)) {
+				backingConfigs.put(stringPool.intern(key), stringPool.intern(entry.value()));
+			}
+		}
+	}
+
+	/**
+	 * takes the selected entries of a properties source and its JDBC configuration.
+	 */
+	private void extractProperties(List<PropertyEntry> entries, ModuleContext module,
+			Map<String, String> dockerEnvVars, Map<String, String> jdbcConfigs, List<String> ports) {
+		StringPool stringPool = module.stringPool();
+		String jdbcPrefix = module.jdbcPrefix();
+		for (PropertyEntry entry : entries) {
+			if (module.keyFilter().isSelected(entry.key(), entry.included())) {
+				dockerEnvVars.put(entry.key(), entry.value());
+
+				// Include server.port in ports only when marked with #DockerInclude or selected by a pattern
+				if (entry.key().equals(SERVER_PORT_PROPERTY)) {
+					ports.add(entry.value());
+				}
+			}
+
+			// Capture JDBC configurations based on configurable prefix
+			if (entry.key().startsWith(jdbcPrefix)) {
+				jdbcConfigs.put(stringPool.intern(entry.key()), stringPool.intern(entry.value()));
+			}
+		}
+	}
+
+	/**
+	 * takes the entries of a yaml source, whose keys are already formatted for docker.
+	 */
+	private void extractYaml(List<PropertyEntry> entries, String jdbcPrefix, StringPool stringPool,
+			Map<String, String> dockerEnvVars, Map<String, String> jdbcConfigs, List<String> ports) {
+		String formattedJdbcPrefix = jdbcPrefix.toUpperCase().replace(".", "_").replace("-", "_");
+		String formattedServerPort = SERVER_PORT_PROPERTY.toUpperCase().replace(".", "_").replace("-", "_");
+
+		for (PropertyEntry entry : entries) {
+			// Check for JDBC configurations
+			if (entry.key().startsWith(formattedJdbcPrefix)) {
+				jdbcConfigs.put(stringPool.intern(entry.key()), stringPool.intern(entry.value()));
+			}
+
+			// Check for server.port (for ports mapping)
+			if (entry.key().equals(formattedServerPort)) {
+				ports.add(entry.value());
+			}
+
+			// Add DockerInclude properties to the environment variables
+			dockerEnvVars.put(entry.key(), entry.value());
+		}
+	}
+
+	/**
+	 * Formats environment variable names into Docker-compliant format.
+	 * Converts keys to uppercase and replaces '.', '-', '[', ']' with '_'.
+	 * The values in the given map remain unchanged.
+	 * 
+	 * @param envVars map of environment variables to format
+	 * @param stringPool pool sharing the key and value instances
+	 * @return the formatted map with Docker-compliant variable names
+	 */
+	private Map<String, String> formatEnvironmentVariables(Map<String, String> envVars, StringPool stringPool) {
+		Map<String, String> formatted = new HashMap<>();
+		for (Map.Entry<String, String> entry : envVars.entrySet()) {
+			String key = formatPropertyKey(entry.getKey());
+			formatted.put(stringPool.intern(key), stringPool.intern(entry.getValue()));
+		}
+		return formatted;
+	}
+
+	/**
+	 * Formats a single environment variable name into Docker-compliant format.
+	 * Converts the key to uppercase and replaces '.', '-', '[', ']' with '_'.
+	 * Also removes consecutive underscores.
+	 * 
+	 * @param propertyKey the property key to format
+	 * @return the formatted key in Docker-compliant format
+	 */
+	private String formatPropertyKey(String propertyKey) {
+		return propertyKey.toUpperCase().replace('.', '_').replace('-', '_').replace('[', '_').replace(']', '_')
+				.replaceAll("__", "_");
+	}
+}
@@ -0,0 +1,61 @@
+/**
+ * Default loading of the property sources
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.magiccode.maven.pipeline.PropertySource.Format;
+import net.magiccode.maven.util.PropertyFileParser;
+
+/**
+ * Loads the Spring Boot configuration files of a module: for each properties directory the base
+ * <code>application.properties</code> and <code>application.yml</code>, followed by the files of
+ * each profile. Missing files are skipped.
+ * <p>
+ * Yaml files are read with docker formatted keys, of which only the marked ones are returned. If
+ * key patterns are configured, all their leaves are read with Spring property keys instead, so the
+ * patterns can select them.
+ * </p>
+ */
+public class DefaultPropertySourceLoader implements PropertySourceLoader {
+
+	@Override
+	public List<PropertySource> load(ModuleContext module) throws IOException {
+		PropertyFileParser parser = PropertyFileParser.builder().useJvmCache(module.jvmCache()).build();
+		List<PropertySource> sources = new ArrayList<>();
+		for (Path file : inputFiles(module)) {
+			if (module.index().exists(file)) {
+				if (!file.getFileName().toString().endsWith(".yml")) {
+					sources.add(new PropertySource(file, Format.PROPERTIES, parser.parseProperties(file)));
+				} else if (module.keyFilter().isEmpty()) {
+					sources.add(new PropertySource(file, Format.YAML, parser.parseYaml(file)));
+				} else {
+					sources.add(new PropertySource(file, Format.PROPERTIES, parser.parseYamlProperties(file)));
+				}
+			}
+		}
+		return sources;
+	}
+
+	@Override
+	public List<Path> inputFiles(ModuleContext module) {
+		List<Path> files = new ArrayList<>();
+		for (String propertiesDirPath : module.propertiesDirs()) {
+			Path modulePropertiesDir = module.directory().toPath().resolve(propertiesDirPath);
+			files.add(modulePropertiesDir.resolve("application.properties"));
+			files.add(modulePropertiesDir.resolve("application.yml"));
+			for (String profile : module.profiles()) {
+				files.add(modulePropertiesDir.resolve("application-" + profile + ".properties"));
+				files.add(modulePropertiesDir.resolve("application-" + profile + ".yml"));
+			}
+		}
+		return files;
+	}
+}
@@ -0,0 +1,25 @@
+/**
+ * Default runnable detection
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import net.magiccode.maven.util.ModuleHelper;
+
+/**
+ * Treats a module as runnable if one of its java sources is annotated with
+ * <i>@SpringBootApplication</i> or declares a <i>main</i> method, see
+ * {@link ModuleHelper#isRunnableModule(net.magiccode.maven.util.ModuleIndex)}.
+ */
+public class DefaultRunnableDetector implements RunnableDetector {
+
+	@Override
+	public boolean isRunnable(ModuleContext module) {
+		return ModuleHelper.builder()
+						   .useJvmCache(module.jvmCache())
+						   .build()
+						   .isRunnableModule(module.index());
+	}
+}
@@ -0,0 +1,27 @@
+/**
+ * Input of the emit stage
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.util.Set;
+
+import net.magiccode.maven.docker.ComposeOutput;
+import net.magiccode.maven.docker.DatabaseMode;
+
+/**
+ * Where and how a {@link ComposeEmitter} writes the files of a profile.
+ *
+ * @param outputDir the directory the files are written to
+ * @param projectName the name of the project, used as the name of the aggregate compose file
+ * @param jdbcPrefix prefix of the properties holding the JDBC configuration
+ * @param createEnv whether a .env file is created instead of writing the values into the compose files
+ * @param databaseMode the mode the containers of the database compose file are run in
+ * @param output the output receiving the generated content
+ * @param changedModules the modules whose files are to be written, null for all
+ */
+public record EmitContext(String outputDir, String projectName, String jdbcPrefix, boolean createEnv,
+		DatabaseMode databaseMode, ComposeOutput output, Set<String> changedModules) {
+}
@@ -0,0 +1,92 @@
+/**
+ * Detection of Kafka
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import static net.magiccode.maven.pipeline.BackingServiceDetector.hostAndPort;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import net.magiccode.maven.docker.InfraModel;
+
+/**
+ * Detects Kafka from <code>spring.kafka.bootstrap-servers</code>, including the client specific
+ * settings such as <code>spring.kafka.consumer.bootstrap-servers</code>. Of a list of servers the
+ * first is taken. The container runs a single broker in KRaft mode, reachable by the services on
+ * port {@value #PORT} and from the host on the published port.
+ */
+public class KafkaDetector implements BackingServiceDetector {
+
+	static final List<String> PREFIXES = List.of("spring.kafka.");
+
+	private static final String IMAGE = "apache/kafka:3.8.0";
+
+	private static final String BOOTSTRAP_SERVERS = "BOOTSTRAP_SERVERS";
+
+	/** port of the listener for the services in the compose network */
+	private static final int PORT = 9092;
+
+	/** port of the listener for clients on the host */
+	private static final int EXTERNAL_PORT = 9094;
+
+	@Override
+	public String name() {
+		return "kafka";
+	}
+
+	@Override
+	public List<String> prefixes() {
+		return PREFIXES;
+	}
+
+	@Override
+	public String address(Map<String, String> properties) {
+		// sorted, so the general setting comes before the client specific ones and list items in order
+		String servers = new TreeMap<>(properties).entrySet()
+												  .stream()
+												  .filter(entry -> entry.getKey().contains(BOOTSTRAP_SERVERS))
+												  .map(Map.Entry::getValue)
+												  .filter(StringUtils::isNotBlank)
+												  .findFirst()
+												  .orElse(null);
+		if (servers == null) {
+			return null;
+		}
+		return hostAndPort(StringUtils.substringBefore(servers, ",").trim(), PORT);
+	}
+
+	@Override
+	public InfraModel container(String name, int hostPort, Map<String, String> properties) {
+		Map<String, String> environment = new LinkedHashMap<>();
+		environment.put("KAFKA_NODE_ID", "1");
+		environment.put("KAFKA_PROCESS_ROLES", "broker,controller");
+		environment.put("KAFKA_LISTENERS", "PLAINTEXT://:" + PORT + ",CONTROLLER://:9093,EXTERNAL://:" + EXTERNAL_PORT);
+		environment.put("KAFKA_ADVERTISED_LISTENERS", "PLAINTEXT://" + name + ":" + PORT + ",EXTERNAL://localhost:" + hostPort);
+		environment.put("KAFKA_LISTENER_SECURITY_PROTOCOL_MAP", "CONTROLLER:PLAINTEXT,PLAINTEXT:PLAINTEXT,EXTERNAL:PLAINTEXT");
+		environment.put("KAFKA_CONTROLLER_LISTENER_NAMES", "CONTROLLER");
+		environment.put("KAFKA_CONTROLLER_QUORUM_VOTERS", "1@localhost:9093");
+		environment.put("KAFKA_INTER_BROKER_LISTENER_NAME", "PLAINTEXT");
+		environment.put("KAFKA_OFFSETS_TOPIC_REPLICATION_FACTOR", "1");
+		environment.put("KAFKA_TRANSACTION_STATE_LOG_REPLICATION_FACTOR", "1");
+		environment.put("KAFKA_TRANSACTION_STATE_LOG_MIN_ISR", "1");
+		return InfraModel.of(name, IMAGE, List.of(), environment, hostPort, EXTERNAL_PORT);
+	}
+
+	@Override
+	public Map<String, String> serviceEnvironment(InfraModel container, Map<String, String> properties) {
+		Map<String, String> environment = new LinkedHashMap<>();
+		properties.keySet()
+				  .stream()
+				  .filter(key -> key.contains(BOOTSTRAP_SERVERS))
+				  .forEach(key -> environment.put(key, container.name() + ":" + PORT));
+		return environment;
+	}
+}
@@ -0,0 +1,43 @@
+/**
+ * Input of the per-module stages
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.io.File;
+import java.util.List;
+
+import net.magiccode.maven.descriptor.DockeratorDescriptor;
+import net.magiccode.maven.util.ModuleIndex;
+import net.magiccode.maven.util.PropertyKeyFilter;
+import net.magiccode.maven.util.StringPool;
+
+/**
+ * A single module flowing through the per-module stages of the {@link Pipeline}: runnable
+ * detection, loading of the property sources and extraction. In single module projects the
+ * project itself is the module.
+ *
+ * @param directory the directory of the module
+ * @param index the files of the module, walked once per generation
+ * @param propertiesDirs directories of the properties/yml files, relative to the module
+ * @param profiles names of the profiles whose properties/yml files are read
+ * @param jdbcPrefix prefix of the properties holding the JDBC configuration
+ * @param backingPrefixes prefixes of the properties configuring backing services, see {@link BackingServiceDetector}
+ * @param jvmCache whether parsed files may be kept for the lifetime of the JVM
+ * @param stringPool pool sharing key and value instances between all services of the build
+ * @param keyFilter selects the properties becoming environment variables, see {@link PropertyKeyFilter}
+ * @param descriptor the <code>.dockerator</code> settings of the module merged into those of the project
+ */
+public record ModuleContext(File directory, ModuleIndex index, List<String> propertiesDirs, List<String> profiles,
+		String jdbcPrefix, List<String> backingPrefixes, boolean jvmCache, StringPool stringPool, PropertyKeyFilter keyFilter,
+		DockeratorDescriptor descriptor) {
+
+	/**
+	 * @return the name of the module, which is the name of its directory
+	 */
+	public String name() {
+		return directory.getName();
+	}
+}
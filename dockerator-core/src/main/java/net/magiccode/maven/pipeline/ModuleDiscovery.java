@@ -0,0 +1,28 @@
+/**
+ * Stage discovering the modules of a project
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * First stage of the {@link Pipeline}: finds the modules of a project. An implementation
+ * registered in <code>META-INF/services/net.magiccode.maven.pipeline.ModuleDiscovery</code>
+ * replaces {@link DefaultModuleDiscovery}.
+ */
+public interface ModuleDiscovery {
+
+	/**
+	 * returns the directories of all modules of the project.
+	 *
+	 * @param project the project
+	 * @return the module directories in a stable order, empty for single module projects
+	 * @throws IOException if the build files cannot be read
+	 */
+	List<File> discoverModules(ProjectContext project) throws IOException;
+}
@@ -0,0 +1,23 @@
+/**
+ * Output of the extraction stage
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the extraction stage found in the property sources of a module.
+ *
+ * @param environment the environment variables of the service, with docker compliant names
+ * @param jdbcConfigs the JDBC configuration properties
+ * @param backingConfigs the properties of the backing services, see {@link BackingServiceDetector},
+ *        with keys in docker format
+ * @param ports the ports the service listens on
+ */
+public record ModuleProperties(Map<String, String> environment, Map<String, String> jdbcConfigs,
+		Map<String, String> backingConfigs, List<String> ports) {
+}
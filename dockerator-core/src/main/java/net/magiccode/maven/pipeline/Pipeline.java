@@ -0,0 +1,157 @@
+/**
+ * The stages of a generation
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * The stages a generation runs through:
+ * <ol>
+ * <li>{@link ModuleDiscovery} finds the modules of the project,</li>
+ * <li>{@link RunnableDetector} decides which of them get a service,</li>
+ * <li>{@link PropertySourceLoader}s load the properties of each runnable module,</li>
+ * <li>{@link PropertyExtractor} extracts environment, ports, JDBC and backing service configuration,</li>
+ * <li>{@link BackingServiceDetector}s recognize the backing services of all modules, each started
+ * once as infrastructure container,</li>
+ * <li>{@link ComposeOptimizer} combines the services of all modules,</li>
+ * <li>{@link ComposeEmitter}s write the files.</li>
+ * </ol>
+ * Stages 2 to 4 run per module: each module passes through them on its own as soon as it is
+ * picked up, independent of the other modules.
+ * <p>
+ * {@link #load(ClassLoader)} looks the stages up with {@link ServiceLoader}. A provider of a single
+ * stage (discovery, detection, extraction, optimization) replaces the default implementation;
+ * property source loaders, backing service detectors and emitters are added after the defaults.
+ * </p>
+ */
+@Log4j2
+@Builder(toBuilder = true)
+@Data
+public class Pipeline {
+
+	@Builder.Default
+	private ModuleDiscovery moduleDiscovery = new DefaultModuleDiscovery();
+
+	@Builder.Default
+	private RunnableDetector runnableDetector = new DefaultRunnableDetector();
+
+	@Builder.Default
+	private List<PropertySourceLoader> propertySourceLoaders = List.of(new DefaultPropertySourceLoader());
+
+	@Builder.Default
+	private PropertyExtractor propertyExtractor = new DefaultPropertyExtractor();
+
+	@Builder.Default
+	private List<BackingServiceDetector> backingServiceDetectors = List.of(new RedisDetector(), new KafkaDetector(),
+			new RabbitMqDetector());
+
+	@Builder.Default
+	private ComposeOptimizer composeOptimizer = new DefaultComposeOptimizer();
+
+	@Builder.Default
+	private List<ComposeEmitter> composeEmitters = List.of(new DefaultComposeEmitter());
+
+	/**
+	 * returns the pipeline of the default stages.
+	 *
+	 * @return the pipeline
+	 */
+	public static Pipeline defaults() {
+		return builder().build();
+	}
+
+	/**
+	 * returns the default stages, replaced or extended by the providers registered in
+	 * <code>META-INF/services</code>.
+	 *
+	 * @param classLoader the class loader to look the providers up with, e.g. the plugin class loader
+	 * @return the pipeline
+	 */
+	public static Pipeline load(ClassLoader classLoader) {
+		Pipeline pipeline = defaults();
+		single(ModuleDiscovery.class, classLoader, pipeline.getModuleDiscovery(), pipeline::setModuleDiscovery);
+		single(RunnableDetector.class, classLoader, pipeline.getRunnableDetector(), pipeline::setRunnableDetector);
+		single(PropertyExtractor.class, classLoader, pipeline.getPropertyExtractor(), pipeline::setPropertyExtractor);
+		single(ComposeOptimizer.class, classLoader, pipeline.getComposeOptimizer(), pipeline::setComposeOptimizer);
+		pipeline.setPropertySourceLoaders(additional(PropertySourceLoader.class, classLoader, pipeline.getPropertySourceLoaders()));
+		pipeline.setBackingServiceDetectors(additional(BackingServiceDetector.class, classLoader,
+				pipeline.getBackingServiceDetectors()));
+		pipeline.setComposeEmitters(additional(ComposeEmitter.class, classLoader, pipeline.getComposeEmitters()));
+		return pipeline;
+	}
+
+	/**
+	 * returns the class names of all stages, e.g. to invalidate caches built by other stages.
+	 *
+	 * @return the class names in stage order
+	 */
+	public List<String> stageNames() {
+		return Stream.of(List.of(moduleDiscovery, runnableDetector), propertySourceLoaders, 
+						 List.of(propertyExtractor), backingServiceDetectors, List.of(composeOptimizer), composeEmitters)
+					 .flatMap(List::stream)
+					 .map(stage -> stage.getClass().getName())
+					 .toList();
+	}
+
+	/**
+	 * returns the prefixes of the properties read by the backing service detectors.
+	 *
+	 * @return the prefixes in Spring notation
+	 */
+	public List<String> backingPrefixes() {
+		return backingServiceDetectors.stream()
+									  .flatMap(detector -> detector.prefixes().stream())
+									  .distinct()
+									  .toList();
+	}
+
+	/**
+	 * replaces a stage by the first provider found, if any.
+	 */
+	private static <S> void single(Class<S> type, ClassLoader classLoader, S defaultStage,
+			Consumer<S> setter) {
+		List<S> providers = providers(type, classLoader);
+		if (providers.isEmpty()) {
+			return;
+		}
+		if (providers.size() > 1) {
+			log.warn("Found " + providers.size() + " providers of " + type.getSimpleName() + ", using "
+					+ providers.get(0).getClass().getName());
+		}
+		log.info("Using " + providers.get(0).getClass().getName() + " instead of " + defaultStage.getClass().getName());
+		setter.accept(providers.get(0));
+	}
+
+	/**
+	 * appends the providers found to the given stages.
+	 */
+	private static <S> List<S> additional(Class<S> type, ClassLoader classLoader, List<S> defaultStages) {
+		List<S> stages = new ArrayList<>(defaultStages);
+		for (S provider : providers(type, classLoader)) {
+			log.info("Adding " + type.getSimpleName() + " " + provider.getClass().getName());
+			stages.add(provider);
+		}
+		return List.copyOf(stages);
+	}
+
+	/**
+	 * instantiates the providers of a stage.
+	 */
+	private static <S> List<S> providers(Class<S> type, ClassLoader classLoader) {
+		List<S> providers = new ArrayList<>();
+		ServiceLoader.load(type, classLoader).forEach(providers::add);
+		return providers;
+	}
+}
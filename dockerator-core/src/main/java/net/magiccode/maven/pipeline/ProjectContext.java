@@ -0,0 +1,21 @@
+/**
+ * Input of the module discovery stage
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The project whose modules are discovered by a {@link ModuleDiscovery}.
+ *
+ * @param basedir the root directory of the project
+ * @param activeProfiles the ids of the active build profiles, never null
+ * @param executor executor for blocking file work, see {@link net.magiccode.maven.util.IoExecutors}
+ */
+public record ProjectContext(File basedir, List<String> activeProfiles, ExecutorService executor) {
+}
@@ -0,0 +1,27 @@
+/**
+ * Stage extracting environment, ports and JDBC configuration
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.util.List;
+
+/**
+ * Fourth stage of the {@link Pipeline}: extracts the environment variables, ports and JDBC
+ * configuration of a module from its property sources. An implementation registered in
+ * <code>META-INF/services/net.magiccode.maven.pipeline.PropertyExtractor</code> replaces
+ * {@link DefaultPropertyExtractor}. Implementations are called for several modules at once.
+ */
+public interface PropertyExtractor {
+
+	/**
+	 * extracts the settings of the service of a module.
+	 *
+	 * @param module the module
+	 * @param sources the property sources of the module in ascending precedence
+	 * @return the settings of the service
+	 */
+	ModuleProperties extract(ModuleContext module, List<PropertySource> sources);
+}
@@ -0,0 +1,32 @@
+/**
+ * Output of the property source stage
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import net.magiccode.maven.util.PropertyEntry;
+
+/**
+ * The entries of one source of properties of a module, e.g. an application.properties file.
+ *
+ * @param origin the file the entries were read from
+ * @param format how the keys of the entries are to be read
+ * @param entries the entries in the order of the source
+ */
+public record PropertySource(Path origin, Format format, List<PropertyEntry> entries) {
+
+	/**
+	 * The format of the keys of a {@link PropertySource}.
+	 */
+	public enum Format {
+		/** Spring property keys, only entries marked as included become environment variables */
+		PROPERTIES,
+		/** keys already formatted as environment variable names, all entries are included */
+		YAML
+	}
+}
@@ -0,0 +1,40 @@
+/**
+ * Stage loading the property sources of a module
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Third stage of the {@link Pipeline}: loads the properties of a runnable module. Implementations
+ * registered in <code>META-INF/services/net.magiccode.maven.pipeline.PropertySourceLoader</code>
+ * run after {@link DefaultPropertySourceLoader}, so their entries take precedence, e.g. for files
+ * standing in for a secret store. Implementations are called for several modules at once.
+ */
+public interface PropertySourceLoader {
+
+	/**
+	 * loads the property sources of the module.
+	 *
+	 * @param module the module
+	 * @return the sources in ascending precedence
+	 * @throws IOException if a source cannot be read
+	 */
+	List<PropertySource> load(ModuleContext module) throws IOException;
+
+	/**
+	 * returns the files the sources of the module are read from, whether they exist or not. Their
+	 * content is part of the key of the model cache, so a changed file invalidates the cached model.
+	 *
+	 * @param module the module
+	 * @return the files, empty if the sources do not come from files
+	 */
+	default List<Path> inputFiles(ModuleContext module) {
+		return List.of();
+	}
+}
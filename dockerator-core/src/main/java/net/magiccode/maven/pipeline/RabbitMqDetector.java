@@ -0,0 +1,89 @@
+/**
+ * Detection of RabbitMQ
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import static net.magiccode.maven.pipeline.BackingServiceDetector.hostAndPort;
+import static net.magiccode.maven.pipeline.BackingServiceDetector.value;
+import static net.magiccode.maven.pipeline.BackingServiceDetector.withHostAndPort;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+
+import net.magiccode.maven.docker.InfraModel;
+
+/**
+ * Detects RabbitMQ from <code>spring.rabbitmq.addresses</code> or
+ * <code>spring.rabbitmq.host/port</code>. The container is created with the configured user,
+ * password and virtual host, so the services can log in.
+ */
+public class RabbitMqDetector implements BackingServiceDetector {
+
+	static final List<String> PREFIXES = List.of("spring.rabbitmq.");
+
+	private static final String IMAGE = "rabbitmq:3-management";
+
+	private static final String PREFIX = "SPRING_RABBITMQ_";
+
+	private static final int PORT = 5672;
+
+	@Override
+	public String name() {
+		return "rabbitmq";
+	}
+
+	@Override
+	public List<String> prefixes() {
+		return PREFIXES;
+	}
+
+	@Override
+	public String address(Map<String, String> properties) {
+		String addresses = value(properties, PREFIXES, "ADDRESSES");
+		if (addresses != null) {
+			return hostAndPort(StringUtils.substringBefore(addresses, ",").trim(), PORT);
+		}
+		String host = value(properties, PREFIXES, "HOST");
+		String port = value(properties, PREFIXES, "PORT");
+		if (host == null && port == null) {
+			return null;
+		}
+		return hostAndPort(StringUtils.defaultString(host) + ":" + Objects.toString(port, String.valueOf(PORT)), PORT);
+	}
+
+	@Override
+	public InfraModel container(String name, int hostPort, Map<String, String> properties) {
+		Map<String, String> environment = new LinkedHashMap<>();
+		putIfSet(environment, "RABBITMQ_DEFAULT_USER", value(properties, PREFIXES, "USERNAME"));
+		putIfSet(environment, "RABBITMQ_DEFAULT_PASS", value(properties, PREFIXES, "PASSWORD"));
+		putIfSet(environment, "RABBITMQ_DEFAULT_VHOST", value(properties, PREFIXES, "VIRTUAL_HOST"));
+		return InfraModel.of(name, IMAGE, List.of(), environment, hostPort, PORT);
+	}
+
+	@Override
+	public Map<String, String> serviceEnvironment(InfraModel container, Map<String, String> properties) {
+		Map<String, String> environment = new LinkedHashMap<>();
+		environment.put(PREFIX + "HOST", container.name());
+		environment.put(PREFIX + "PORT", String.valueOf(PORT));
+		String addresses = value(properties, PREFIXES, "ADDRESSES");
+		if (addresses != null) {
+			// all addresses led to the same cluster, which the container stands in for
+			String first = StringUtils.substringBefore(addresses, ",").trim();
+			environment.put(PREFIX + "ADDRESSES", withHostAndPort(first, container.name() + ":" + PORT));
+		}
+		return environment;
+	}
+
+	private static void putIfSet(Map<String, String> environment, String key, String value) {
+		if (value != null) {
+			environment.put(key, value);
+		}
+	}
+}
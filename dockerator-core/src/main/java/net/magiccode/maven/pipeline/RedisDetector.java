@@ -0,0 +1,79 @@
+/**
+ * Detection of Redis
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import static net.magiccode.maven.pipeline.BackingServiceDetector.hostAndPort;
+import static net.magiccode.maven.pipeline.BackingServiceDetector.prefixOf;
+import static net.magiccode.maven.pipeline.BackingServiceDetector.value;
+import static net.magiccode.maven.pipeline.BackingServiceDetector.withHostAndPort;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+
+import net.magiccode.maven.docker.InfraModel;
+
+/**
+ * Detects Redis from <code>spring.data.redis.url</code> or <code>spring.data.redis.host/port</code>
+ * (<code>spring.redis.*</code> before Spring Boot 3). A configured password is required by the
+ * container as well.
+ */
+public class RedisDetector implements BackingServiceDetector {
+
+	static final List<String> PREFIXES = List.of("spring.data.redis.", "spring.redis.");
+
+	private static final String IMAGE = "redis:7";
+
+	private static final int PORT = 6379;
+
+	@Override
+	public String name() {
+		return "redis";
+	}
+
+	@Override
+	public List<String> prefixes() {
+		return PREFIXES;
+	}
+
+	@Override
+	public String address(Map<String, String> properties) {
+		String url = value(properties, PREFIXES, "URL");
+		if (url != null) {
+			return hostAndPort(url, PORT);
+		}
+		String host = value(properties, PREFIXES, "HOST");
+		String port = value(properties, PREFIXES, "PORT");
+		if (host == null && port == null) {
+			return null;
+		}
+		return hostAndPort(StringUtils.defaultString(host) + ":" + Objects.toString(port, String.valueOf(PORT)), PORT);
+	}
+
+	@Override
+	public InfraModel container(String name, int hostPort, Map<String, String> properties) {
+		String password = value(properties, PREFIXES, "PASSWORD");
+		List<String> command = password == null ? List.of() : List.of("redis-server", "--requirepass", password);
+		return InfraModel.of(name, IMAGE, command, Map.of(), hostPort, PORT);
+	}
+
+	@Override
+	public Map<String, String> serviceEnvironment(InfraModel container, Map<String, String> properties) {
+		String prefix = prefixOf(properties, PREFIXES);
+		Map<String, String> environment = new LinkedHashMap<>();
+		environment.put(prefix + "HOST", container.name());
+		environment.put(prefix + "PORT", String.valueOf(PORT));
+		String url = value(properties, PREFIXES, "URL");
+		if (url != null) {
+			environment.put(prefix + "URL", withHostAndPort(url, container.name() + ":" + PORT));
+		}
+		return environment;
+	}
+}
@@ -0,0 +1,27 @@
+/**
+ * Stage detecting runnable modules
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.pipeline;
+
+import java.io.IOException;
+
+/**
+ * Second stage of the {@link Pipeline}: decides whether a module is an application which gets a
+ * service in the compose files. An implementation registered in
+ * <code>META-INF/services/net.magiccode.maven.pipeline.RunnableDetector</code> replaces
+ * {@link DefaultRunnableDetector}. Implementations are called for several modules at once.
+ */
+public interface RunnableDetector {
+
+	/**
+	 * returns whether the module is runnable.
+	 *
+	 * @param module the module
+	 * @return true if a service is to be generated for the module
+	 * @throws IOException if the sources of the module cannot be read
+	 */
+	boolean isRunnable(ModuleContext module) throws IOException;
+}
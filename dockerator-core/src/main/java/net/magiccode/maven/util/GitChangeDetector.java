@@ -0,0 +1,146 @@
+/**
+ * Helper class for detecting changed modules
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+import net.magiccode.maven.descriptor.DescriptorReader;
+
+/**
+ * Works out which modules changed compared to a git ref, e.g. <code>origin/main</code>. Committed,
+ * staged and unstaged changes as well as untracked (not ignored) files are taken into account.
+ * Only the local repository is read, nothing is fetched.
+ * <p>
+ * Every changed file is assigned to the innermost module containing it. A changed build file
+ * (pom.xml or Gradle script) outside of any module (i.e. of the project itself or of an aggregator)
+ * marks all modules below it as changed, since modules inherit from it, as does the .dockerator
+ * file of the project, which applies to all modules. Other files outside of modules are ignored.
+ * </p>
+ */
+@Log4j2
+@Builder
+@Data
+public class GitChangeDetector {
+
+	/** the build files modules inherit from if they are found in a directory above them */
+	private static final Set<String> BUILD_FILES = Set.of("pom.xml", "build.gradle", "build.gradle.kts", 
+														  "settings.gradle", "settings.gradle.kts");
+
+	/** the directory of the project, relative paths are resolved against it */
+	private File basedir;
+
+	/** the git executable, found via PATH by default */
+	@Builder.Default
+	private String gitExecutable = "git";
+
+	/**
+	 * returns the names of the modules which changed compared to the given ref.
+	 *
+	 * @param ref the git ref to compare the working tree with
+	 * @param modules the directories of all modules
+	 * @return the names of the changed modules
+	 * @throws IOException if git cannot be run or fails, e.g. because the ref is unknown
+	 */
+	public Set<String> changedModules(String ref, Collection<File> modules) throws IOException {
+		List<String> changedFiles = new ArrayList<>(run("diff", "--name-only", "--relative", ref, "--"));
+		changedFiles.addAll(run("ls-files", "--others", "--exclude-standard"));
+		log.debug(changedFiles.size() + " file(s) changed since " + ref);
+		return changedModules(basedir.toPath(), changedFiles, modules);
+	}
+
+	/**
+	 * maps changed files to the modules containing them.
+	 *
+	 * @param basedir the directory the file paths are relative to
+	 * @param changedFiles the changed files, relative to basedir
+	 * @param modules the directories of all modules
+	 * @return the names of the changed modules
+	 */
+	static Set<String> changedModules(Path basedir, Collection<String> changedFiles, Collection<File> modules) {
+		Path root = basedir.toAbsolutePath().normalize();
+		// innermost modules first, so a file is assigned to the most specific module
+		List<Path> modulePaths = modules.stream()
+										.map(module -> module.toPath().toAbsolutePath().normalize())
+										.sorted(Comparator.comparingInt(Path::getNameCount).reversed())
+										.toList();
+		Set<String> changed = new TreeSet<>();
+		for (String changedFile : changedFiles) {
+			Path file = root.resolve(changedFile).normalize();
+			Path owner = modulePaths.stream().filter(file::startsWith).findFirst().orElse(null);
+			if (file.equals(root.resolve(DescriptorReader.FILE_NAME))) {
+				// the .dockerator file of the project applies to all modules
+				modulePaths.forEach(module -> changed.add(module.getFileName().toString()));
+			} else if (owner != null && !(isBuildFile(file) && file.getParent().equals(owner) && isAggregator(owner, modulePaths))) {
+				changed.add(owner.getFileName().toString());
+			} else if (isBuildFile(file)) {
+				// parent or aggregator build file: everything below inherits from it
+				Path aggregator = file.getParent();
+				modulePaths.stream()
+						   .filter(module -> module.startsWith(aggregator))
+						   .forEach(module -> changed.add(module.getFileName().toString()));
+			}
+		}
+		return changed;
+	}
+
+	private static boolean isBuildFile(Path file) {
+		return file.getFileName() != null && BUILD_FILES.contains(file.getFileName().toString());
+	}
+
+	private static boolean isAggregator(Path module, List<Path> modulePaths) {
+		return modulePaths.stream().anyMatch(other -> !other.equals(module) && other.startsWith(module));
+	}
+
+	/**
+	 * runs git in the base directory and returns the lines written to stdout.
+	 */
+	private List<String> run(String... arguments) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(gitExecutable);
+		// print non-ASCII paths as they are instead of quoting them
+		command.addAll(List.of("-c", "core.quotepath=off"));
+		command.addAll(List.of(arguments));
+		Process process = new ProcessBuilder(command).directory(basedir).start();
+		// read stderr concurrently, so a full pipe never blocks git
+		CompletableFuture<String> errors = CompletableFuture.supplyAsync(() -> readAll(process.getErrorStream()));
+		String output = readAll(process.getInputStream());
+		try {
+			int exitCode = process.waitFor();
+			if (exitCode != 0) {
+				throw new IOException("'" + String.join(" ", command) + "' failed with exit code " + exitCode
+						+ ": " + errors.join().trim());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			process.destroy();
+			throw new IOException("Interrupted while running git", e);
+		}
+		return output.lines().filter(line -> !line.isBlank()).toList();
+	}
+
+	private static String readAll(InputStream stream) {
+		try (stream) {
+			return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return "";
+		}
+	}
+}
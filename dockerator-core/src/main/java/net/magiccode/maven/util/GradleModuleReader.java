@@ -0,0 +1,91 @@
+/**
+ * Helper class for reading the projects included in a Gradle build
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the projects of a Gradle build from its <code>settings.gradle</code> or
+ * <code>settings.gradle.kts</code>, so Gradle builds can be processed like Maven multi-module
+ * projects. Only literal <code>include</code> statements are understood, in Groovy or Kotlin
+ * syntax; a project path like <code>:services:payments</code> is mapped to the directory
+ * <code>services/payments</code>. The settings script is not executed, so projects added
+ * programmatically or moved via <code>projectDir</code> are not found.
+ */
+public class GradleModuleReader {
+
+	/** names of the settings scripts, in the order Gradle looks for them */
+	public static final List<String> SETTINGS_FILES = List.of("settings.gradle", "settings.gradle.kts");
+
+	private static final Pattern COMMENTS = Pattern.compile("//[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+	private static final Pattern INCLUDE = Pattern.compile("\\binclude\\b\\s*\\(?((?:\\s*[\"'][^\"'\\n]+[\"']\\s*,?)+)");
+	private static final Pattern QUOTED = Pattern.compile("[\"']([^\"'\\n]+)[\"']");
+	private static final Pattern ROOT_PROJECT_NAME = Pattern.compile("\\brootProject\\.name\\s*=\\s*[\"']([^\"'\\n]+)[\"']");
+
+	private GradleModuleReader() {
+	}
+
+	/**
+	 * returns the settings script of the build in the given directory.
+	 *
+	 * @param basedir the root directory of the build
+	 * @return the settings script or null if there is none
+	 */
+	public static Path settingsFile(Path basedir) {
+		return SETTINGS_FILES.stream()
+							 .map(basedir::resolve)
+							 .filter(Files::isRegularFile)
+							 .findFirst()
+							 .orElse(null);
+	}
+
+	/**
+	 * returns the directories of the included projects, relative to the root directory, in
+	 * declaration order and without duplicates.
+	 *
+	 * @param settingsFile the settings script
+	 * @return the relative project directories, e.g. <code>services/payments</code>
+	 * @throws IOException if the file cannot be read
+	 */
+	public static List<String> includedProjects(Path settingsFile) throws IOException {
+		String settings = COMMENTS.matcher(Files.readString(settingsFile)).replaceAll("");
+		Set<String> projects = new LinkedHashSet<>();
+		Matcher include = INCLUDE.matcher(settings);
+		while (include.find()) {
+			Matcher quoted = QUOTED.matcher(include.group(1));
+			while (quoted.find()) {
+				String projectPath = quoted.group(1).trim();
+				String directory = (projectPath.startsWith(":") ? projectPath.substring(1) : projectPath).replace(':', '/');
+				if (!directory.isEmpty()) {
+					projects.add(directory);
+				}
+			}
+		}
+		return new ArrayList<>(projects);
+	}
+
+	/**
+	 * returns the name of the root project set in the settings script.
+	 *
+	 * @param settingsFile the settings script
+	 * @return the name or null if it is not set
+	 * @throws IOException if the file cannot be read
+	 */
+	public static String rootProjectName(Path settingsFile) throws IOException {
+		String settings = COMMENTS.matcher(Files.readString(settingsFile)).replaceAll("");
+		Matcher name = ROOT_PROJECT_NAME.matcher(settings);
+		return name.find() ? name.group(1).trim() : null;
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ * Factory of the executor for blocking file work
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executor which reads the poms, walks the module directories and parses the
+ * properties files of the modules in parallel. This work is almost entirely blocking I/O.
+ * <p>
+ * This is the Java 17 variant: a bounded pool of daemon platform threads, which time out when
+ * idle so an engine which is no longer used does not keep threads alive. The jar is a
+ * multi-release jar; on Java 21 and later the variant in <code>META-INF/versions/21</code>
+ * is loaded instead, which uses virtual threads.
+ * </p>
+ */
+public class IoExecutors {
+
+	/** upper bound of platform threads, file systems rarely profit from more parallel readers */
+	private static final int MAX_THREADS = 16;
+
+	private static final long KEEP_ALIVE_SECONDS = 30;
+
+	private IoExecutors() {
+	}
+
+	/**
+	 * creates a new executor for blocking file work.
+	 *
+	 * @param threadNamePrefix prefix of the names of the threads
+	 * @return the executor, to be shut down by the caller
+	 */
+	public static ExecutorService newExecutor(String threadNamePrefix) {
+		int threads = Math.min(MAX_THREADS, Math.max(2, Runtime.getRuntime().availableProcessors() * 2));
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+															 new LinkedBlockingQueue<>(), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * @return whether the executors run their tasks on virtual threads
+	 */
+	public static boolean virtualThreads() {
+		return false;
+	}
+}
@@ -0,0 +1,272 @@
+/**
+ * Helper class for module handling
+ * 
+ * @author Volker Karlmeier
+ * 
+ */
+package net.magiccode.maven.util;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import net.magiccode.maven.cache.StampedFileCache;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Helper class for module handling
+ */
+@Builder
+@Data
+public class ModuleHelper {
+
+	private static final StampedFileCache<SourceScan> CACHE = new StampedFileCache<>(PropertyFileParser.DEFAULT_CACHE_SIZE);
+
+	private File basedir;
+
+	/** ids of the active Maven profiles, used to include modules declared in profiles */
+	private List<String> activeProfiles;
+
+	/** keep scan results of unchanged sources in a JVM wide cache (e.g. when running in mvnd) */
+	private boolean useJvmCache;
+
+	/** executor for reading the poms in parallel, see {@link IoExecutors}; null to read them one by one */
+	private ExecutorService executor;
+	
+	/**
+	 * find modules for the given project in case it is a multi-module project. Nested aggregators
+	 * are followed recursively and modules declared in active profiles are included. The poms of
+	 * each nesting level are read in parallel on the {@link #executor}, the result keeps the
+	 * declaration order (depth first).
+	 * <p>
+	 * Without a pom.xml, the projects included in the Gradle settings script are returned, see
+	 * {@link GradleModuleReader}.
+	 * </p>
+	 * 
+	 * @return the directories of all modules (at any depth) of the given project
+	 * @throws IOException if something goes wrong, like a missing parent pom.
+	 */
+	public List<File> getModules() throws IOException {
+		Path parentPom = basedir.toPath().resolve("pom.xml");
+
+		if (!Files.exists(parentPom)) {
+			Path gradleSettings = GradleModuleReader.settingsFile(basedir.toPath());
+			if (gradleSettings != null) {
+				return getGradleModules(gradleSettings);
+			}
+			throw new FileNotFoundException("Parent pom.xml not found at: " + parentPom);
+		}
+
+		Map<Path, List<Path>> modulePoms;
+		try {
+			modulePoms = discoverModules(parentPom);
+		} catch (IOException e) {
+			throw new IOException("Error reading pom.xml", e);
+		}
+		List<File> modules = new ArrayList<>();
+		addModules(parentPom, modulePoms, modules);
+		return modules;
+	}
+
+	/**
+	 * returns the directories of the projects included in the given Gradle settings script.
+	 * 
+	 * @param settingsFile the settings.gradle(.kts) of the build
+	 * @return the directories of the included projects which exist
+	 * @throws IOException if the settings script cannot be read
+	 */
+	private List<File> getGradleModules(Path settingsFile) throws IOException {
+		List<File> modules = new ArrayList<>();
+		for (String project : GradleModuleReader.includedProjects(settingsFile)) {
+			Path projectDir = settingsFile.getParent().resolve(project);
+			if (Files.isDirectory(projectDir)) {
+				modules.add(projectDir.toFile());
+			}
+		}
+		return modules;
+	}
+
+	/**
+	 * reads the module declarations of the given aggregator and of all nested aggregators, one
+	 * nesting level at a time. A pom reachable in several ways is only taken the first time.
+	 * 
+	 * @param parentPom the pom.xml of the project
+	 * @return the module poms declared by each aggregator pom, in declaration order
+	 * @throws IOException if a pom.xml cannot be read
+	 */
+	private Map<Path, List<Path>> discoverModules(Path parentPom) throws IOException {
+		Map<Path, List<Path>> modulePoms = new HashMap<>();
+		Set<Path> visited = new HashSet<>();
+		visited.add(parentPom.toAbsolutePath().normalize());
+		List<Path> level = List.of(parentPom);
+		while (!level.isEmpty()) {
+			// the poms of one level are independent of each other
+			List<List<Path>> declared = ParallelIo.map(executor, level, this::declaredModulePoms);
+			List<Path> nextLevel = new ArrayList<>();
+			for (int i = 0; i < level.size(); i++) {
+				List<Path> newModulePoms = declared.get(i)
+												   .stream()
+												   .filter(modulePom -> visited.add(modulePom.toAbsolutePath().normalize()))
+												   .toList();
+				modulePoms.put(level.get(i), newModulePoms);
+				nextLevel.addAll(newModulePoms);
+			}
+			level = nextLevel;
+		}
+		return modulePoms;
+	}
+
+	/**
+	 * returns the existing pom files of the modules declared in the given pom.xml.
+	 * 
+	 * @param pomFile the pom.xml of the aggregator
+	 * @return the module poms in declaration order
+	 * @throws IOException if the pom.xml cannot be read
+	 */
+	private List<Path> declaredModulePoms(Path pomFile) throws IOException {
+		Path aggregatorDir = pomFile.getParent();
+		List<Path> modulePoms = new ArrayList<>();
+		for (String module : PomModuleReader.declaredModules(pomFile, activeProfileIds())) {
+			Path modulePath = aggregatorDir.resolve(module);
+			// a module may point to the pom file itself instead of its directory
+			Path modulePom = Files.isRegularFile(modulePath) ? modulePath : modulePath.resolve("pom.xml");
+			if (Files.exists(modulePom)) {
+				modulePoms.add(modulePom);
+			}
+		}
+		return modulePoms;
+	}
+
+	/**
+	 * adds the module directories below the given aggregator in depth first order.
+	 * 
+	 * @param pomFile the pom.xml of the aggregator
+	 * @param modulePoms the module poms declared by each aggregator
+	 * @param modules the list to add the module directories to
+	 */
+	private void addModules(Path pomFile, Map<Path, List<Path>> modulePoms, List<File> modules) {
+		for (Path modulePom : modulePoms.getOrDefault(pomFile, List.of())) {
+			modules.add(modulePom.getParent().toFile());
+			addModules(modulePom, modulePoms, modules);
+		}
+	}
+
+	/**
+	 * @return the ids of the active Maven profiles, never null
+	 */
+	private List<String> activeProfileIds() {
+		return activeProfiles == null ? List.of() : activeProfiles;
+	}
+
+	/**
+	 * returns whether or not a module is 'runnable'. This method returns true if
+	 * any java file in src/main/java (or a subdirectory of this) either contains a
+	 * <i>main</i> method or a <i>@SpringBootApplication</i> annotation.
+	 * 
+	 * @param moduleDir - the directory of the module for the project
+	 * @return true|false
+	 * @throws IOException if the sources of the module cannot be scanned.
+	 */
+	public boolean isRunnableModule(File moduleDir) throws IOException {
+		try {
+			return isRunnableModule(ModuleIndex.build(moduleDir.toPath(), List.of()));
+		} catch (IOException e) {
+			throw new IOException("Error scanning sources for module: " + moduleDir.getName(), e);
+		}
+	}
+
+	/**
+	 * returns whether or not a module is 'runnable', taking the java sources from the given index.
+	 * 
+	 * @param moduleIndex - the index of the module
+	 * @return true|false
+	 */
+	public boolean isRunnableModule(ModuleIndex moduleIndex) {
+		// each file is read once, looking for both the annotation and a main() method
+		return moduleIndex.javaSources()
+						  .entrySet()
+						  .stream()
+						  .map(source -> scanSource(source.getKey(), source.getValue()))
+						  .anyMatch(SourceScan::runnable);
+	}
+
+	/**
+	 * returns the JVM wide cache of source scans, used if {@link #useJvmCache} is set.
+	 * 
+	 * @return the cache
+	 */
+	public static StampedFileCache<SourceScan> cache() {
+		return CACHE;
+	}
+
+	/**
+	 * scans the given java source file, taking the result from the JVM wide cache if enabled.
+	 * Unreadable files are treated as not runnable.
+	 * 
+	 * @param filePath - the java source file
+	 * @param attributes - the attributes of the file, read while indexing the module
+	 * @return the result of the scan
+	 */
+	private SourceScan scanSource(Path filePath, BasicFileAttributes attributes) {
+		try {
+			return useJvmCache ? CACHE.get(filePath, attributes, ModuleHelper::readSource) : readSource(filePath);
+		} catch (IOException e) {
+			return SourceScan.NONE;
+		}
+	}
+
+	/**
+	 * reads the given java source file and checks it for a <i>@SpringBootApplication</i>
+	 * annotation and a <i>main</i> method.
+	 * 
+	 * @param filePath - the java source file
+	 * @return the result of the scan
+	 * @throws IOException if the file cannot be read
+	 */
+	private static SourceScan readSource(Path filePath) throws IOException {
+		boolean springBootApplication = false;
+		boolean mainMethod = false;
+		try (Stream<String> lines = Files.lines(filePath)) {
+			for (String line : (Iterable<String>) lines::iterator) {
+				springBootApplication |= line.contains("@SpringBootApplication");
+				mainMethod |= line.contains("public static void main");
+				if (springBootApplication && mainMethod) {
+					break;
+				}
+			}
+		}
+		return new SourceScan(springBootApplication, mainMethod);
+	}
+
+	/**
+	 * Result of scanning a java source file.
+	 * 
+	 * @param springBootApplication whether the file contains a <i>@SpringBootApplication</i> annotation
+	 * @param mainMethod whether the file contains a <i>main</i> method
+	 */
+	public record SourceScan(boolean springBootApplication, boolean mainMethod) {
+
+		static final SourceScan NONE = new SourceScan(false, false);
+
+		/**
+		 * @return true if the file makes the module runnable
+		 */
+		public boolean runnable() {
+			return springBootApplication || mainMethod;
+		}
+	}
+	
+}
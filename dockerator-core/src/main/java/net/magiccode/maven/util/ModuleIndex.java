@@ -0,0 +1,207 @@
+/**
+ * Index of the files of a module
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot of the files of one module, taken in a single walk of the module directory. Runnable
+ * detection, the lookup of properties/yml files, the cache key and the cleanup of the output
+ * directory query the index instead of probing the file system file by file.
+ * <p>
+ * The directories <code>target</code>, <code>node_modules</code> and <code>.git</code> are not
+ * descended into, neither are the directories of nested modules, which get an index of their own.
+ * Of the output directory <code>target/classes</code> only the files directly inside are listed.
+ * Files outside the module directory are not indexed and looked up on the file system.
+ * </p>
+ * The index is immutable and safe to share across threads.
+ */
+public class ModuleIndex {
+
+	/** names of directories which are never walked */
+	public static final Set<String> SKIPPED_DIRECTORIES = Set.of("target", "node_modules", ".git");
+
+	/** directory of the java sources, relative to the module */
+	public static final String MAIN_JAVA_DIR = "src/main/java";
+
+	/** output directory holding the processed resources, relative to the module */
+	public static final String OUTPUT_DIR = "target/classes";
+
+	private final Path root;
+	private final Set<Path> excluded;
+	private final SortedMap<Path, BasicFileAttributes> javaSources;
+	private final Map<String, List<Path>> filesByName;
+	private final Set<Path> files;
+	private final Set<Path> outputFiles;
+
+	private ModuleIndex(Path root, Set<Path> excluded, SortedMap<Path, BasicFileAttributes> javaSources,
+						Set<Path> files, Set<Path> outputFiles) {
+		this.root = root;
+		this.excluded = Collections.unmodifiableSet(excluded);
+		this.javaSources = Collections.unmodifiableSortedMap(javaSources);
+		this.files = Collections.unmodifiableSet(files);
+		this.outputFiles = Collections.unmodifiableSet(outputFiles);
+		Map<String, List<Path>> byName = new HashMap<>();
+		files.forEach(file -> byName.computeIfAbsent(file.getFileName().toString(), name -> new ArrayList<>()).add(file));
+		byName.replaceAll((name, paths) -> List.copyOf(paths));
+		this.filesByName = Collections.unmodifiableMap(byName);
+	}
+
+	/**
+	 * walks the given module directory once and creates its index.
+	 *
+	 * @param moduleDir the directory of the module
+	 * @param excludedDirectories directories not to descend into, e.g. those of nested modules
+	 * @return the index of the module
+	 * @throws IOException if the directory cannot be walked
+	 */
+	public static ModuleIndex build(Path moduleDir, Collection<Path> excludedDirectories) throws IOException {
+		Path root = moduleDir.toAbsolutePath().normalize();
+		Set<Path> excluded = new HashSet<>();
+		excludedDirectories.forEach(directory -> excluded.add(directory.toAbsolutePath().normalize()));
+		excluded.remove(root);
+
+		Path mainJavaDir = root.resolve(MAIN_JAVA_DIR);
+		SortedMap<Path, BasicFileAttributes> javaSources = new TreeMap<>();
+		Set<Path> files = new HashSet<>();
+		Set<Path> outputFiles = new HashSet<>();
+
+		if (Files.isDirectory(root)) {
+			Files.walkFileTree(root, new SimpleFileVisitor<>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+					if (dir.equals(root)) {
+						return FileVisitResult.CONTINUE;
+					}
+					if (excluded.contains(dir) || SKIPPED_DIRECTORIES.contains(dir.getFileName().toString())) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+					if (attributes.isRegularFile()) {
+						files.add(file);
+						if (file.startsWith(mainJavaDir) && file.getFileName().toString().endsWith(".java")) {
+							javaSources.put(file, attributes);
+						}
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					// unreadable entries are treated as missing
+					return FileVisitResult.CONTINUE;
+				}
+			});
+
+			Path outputDir = root.resolve(OUTPUT_DIR);
+			if (Files.isDirectory(outputDir)) {
+				try (Stream<Path> entries = Files.list(outputDir)) {
+					entries.forEach(outputFiles::add);
+				}
+			}
+		}
+		return new ModuleIndex(root, excluded, javaSources, files, outputFiles);
+	}
+
+	/**
+	 * @return the absolute, normalized directory of the module
+	 */
+	public Path root() {
+		return root;
+	}
+
+	/**
+	 * @return the java sources below src/main/java in path order, with the attributes read during the walk
+	 */
+	public SortedMap<Path, BasicFileAttributes> javaSources() {
+		return javaSources;
+	}
+
+	/**
+	 * returns all indexed files with the given name.
+	 *
+	 * @param fileName the name of the file, e.g. application.yml
+	 * @return the files with this name, empty if there are none
+	 */
+	public List<Path> filesNamed(String fileName) {
+		return filesByName.getOrDefault(fileName, List.of());
+	}
+
+	/**
+	 * returns whether the given file exists. Files inside the module (including the top level of the
+	 * output directory) are answered from the index, all others from the file system.
+	 *
+	 * @param file the file to check
+	 * @return true if the file exists
+	 */
+	public boolean exists(Path file) {
+		Path normalized = file.toAbsolutePath().normalize();
+		if (normalized.getParent() != null && normalized.getParent().equals(root.resolve(OUTPUT_DIR))) {
+			return outputFiles.contains(normalized);
+		}
+		if (isIndexed(normalized)) {
+			return files.contains(normalized);
+		}
+		return Files.isRegularFile(normalized);
+	}
+
+	/**
+	 * returns whether the given directory contains at least one indexed file.
+	 *
+	 * @param directory the directory to check
+	 * @return true if there are files in or below the directory
+	 */
+	public boolean containsFilesIn(Path directory) {
+		Path normalized = directory.toAbsolutePath().normalize();
+		if (!isIndexed(normalized)) {
+			return Files.isDirectory(normalized);
+		}
+		return files.stream().anyMatch(file -> file.startsWith(normalized));
+	}
+
+	/**
+	 * @return the files directly inside the output directory, empty if it does not exist
+	 */
+	public Set<Path> outputFiles() {
+		return outputFiles;
+	}
+
+	/**
+	 * returns whether the given path lies in the part of the module covered by the walk.
+	 */
+	private boolean isIndexed(Path path) {
+		if (!path.startsWith(root) || excluded.stream().anyMatch(path::startsWith)) {
+			return false;
+		}
+		for (Path element : root.relativize(path)) {
+			if (SKIPPED_DIRECTORIES.contains(element.toString())) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
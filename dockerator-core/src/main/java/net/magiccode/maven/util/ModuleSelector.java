@@ -0,0 +1,124 @@
+/**
+ * Helper class for selecting the modules to process
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Decides which modules of a multi-module project are processed. The include and exclude patterns
+ * are compiled once and then applied to the path of each module relative to the project base
+ * directory, using '/' as separator (e.g. <code>services/payments-api</code>).
+ * <p>
+ * Patterns are globs by default (<code>services/payments-*</code>, <code>**&#47;*-service</code>);
+ * a pattern prefixed with <code>regex:</code> is a regular expression, <code>glob:</code> may be used
+ * to be explicit. A pattern without any '/' is also tried against the module name alone, so
+ * <code>payments-*</code> selects payment modules at any depth.
+ * </p>
+ * A module is selected if it is not listed in skipModules, matches at least one include pattern
+ * (or there are none) and matches no exclude pattern.
+ */
+public class ModuleSelector {
+
+	private static final String GLOB = "glob:";
+	private static final String REGEX = "regex:";
+
+	/** a compiled pattern and whether it is also applied to the module name */
+	private record Matcher(PathMatcher matcher, boolean matchName) {
+
+		boolean matches(Path relativePath) {
+			return matcher.matches(relativePath)
+					|| matchName && relativePath.getFileName() != null && matcher.matches(relativePath.getFileName());
+		}
+	}
+
+	private final Path basedir;
+	private final List<Matcher> includes;
+	private final List<Matcher> excludes;
+	private final Set<String> skipModules;
+
+	private ModuleSelector(Path basedir, List<Matcher> includes, List<Matcher> excludes, Set<String> skipModules) {
+		this.basedir = basedir;
+		this.includes = includes;
+		this.excludes = excludes;
+		this.skipModules = skipModules;
+	}
+
+	/**
+	 * compiles the given patterns into a selector.
+	 *
+	 * @param basedir the base directory of the project, module paths are taken relative to it
+	 * @param includes patterns of modules to process, all modules if null or empty
+	 * @param excludes patterns of modules not to process, may be null
+	 * @param skipModules names of modules not to process, may be null
+	 * @return the selector
+	 * @throws IllegalArgumentException if a pattern is invalid
+	 */
+	public static ModuleSelector of(File basedir, Collection<String> includes, Collection<String> excludes,
+			Collection<String> skipModules) {
+		return new ModuleSelector(basedir.toPath().toAbsolutePath().normalize(),
+								  compile(includes),
+								  compile(excludes),
+								  skipModules == null ? Set.of() : Set.copyOf(skipModules));
+	}
+
+	/**
+	 * returns whether the given module is to be processed.
+	 *
+	 * @param moduleDirectory the directory of the module
+	 * @return true if the module is selected
+	 */
+	public boolean isSelected(File moduleDirectory) {
+		if (skipModules.contains(moduleDirectory.getName())) {
+			return false;
+		}
+		Path relativePath = relativePath(moduleDirectory);
+		if (!includes.isEmpty() && includes.stream().noneMatch(include -> include.matches(relativePath))) {
+			return false;
+		}
+		return excludes.stream().noneMatch(exclude -> exclude.matches(relativePath));
+	}
+
+	/**
+	 * returns the path of the module relative to the base directory, or just its name if it lies elsewhere.
+	 *
+	 * @param moduleDirectory the directory of the module
+	 * @return the relative path of the module
+	 */
+	public Path relativePath(File moduleDirectory) {
+		Path modulePath = moduleDirectory.toPath().toAbsolutePath().normalize();
+		return modulePath.startsWith(basedir) ? basedir.relativize(modulePath) : modulePath.getFileName();
+	}
+
+	/**
+	 * compiles the given patterns.
+	 */
+	private static List<Matcher> compile(Collection<String> patterns) {
+		List<Matcher> matchers = new ArrayList<>();
+		if (patterns != null) {
+			for (String pattern : patterns) {
+				if (StringUtils.isBlank(pattern)) {
+					continue;
+				}
+				String trimmed = pattern.trim();
+				String syntaxAndPattern = trimmed.startsWith(GLOB) || trimmed.startsWith(REGEX) ? trimmed : GLOB + trimmed;
+				// patterns without a directory part are also applied to the module name
+				boolean matchName = !syntaxAndPattern.substring(syntaxAndPattern.indexOf(':') + 1).contains("/");
+				matchers.add(new Matcher(FileSystems.getDefault().getPathMatcher(syntaxAndPattern), matchName));
+			}
+		}
+		return List.copyOf(matchers);
+	}
+}
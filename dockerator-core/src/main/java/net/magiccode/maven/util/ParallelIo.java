@@ -0,0 +1,109 @@
+/**
+ * Helper class for running blocking file work in parallel
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Applies a function which may throw an IOException to each element of a collection, on the
+ * executor created by {@link IoExecutors}. The results keep the order of the elements, so the
+ * generated files do not depend on the scheduling. The tasks must not wait for other tasks of the
+ * same executor, the platform pool is bounded.
+ */
+public class ParallelIo {
+
+	/**
+	 * a function which may fail with an IOException.
+	 *
+	 * @param <T> the type of the input
+	 * @param <R> the type of the result
+	 */
+	@FunctionalInterface
+	public interface IoFunction<T, R> {
+
+		/**
+		 * applies the function.
+		 *
+		 * @param input the input
+		 * @return the result
+		 * @throws IOException if an I/O error occurs
+		 */
+		R apply(T input) throws IOException;
+	}
+
+	private ParallelIo() {
+	}
+
+	/**
+	 * applies the function to all elements in parallel and waits for the results. The first failure
+	 * cancels the remaining tasks and is rethrown.
+	 *
+	 * @param <T> the type of the elements
+	 * @param <R> the type of the results
+	 * @param executor the executor to run the tasks on, null to run them one after another in the
+	 *        calling thread
+	 * @param elements the elements
+	 * @param function the function to apply
+	 * @return the results in the order of the elements
+	 * @throws IOException if the function failed for any element or the calling thread was interrupted
+	 */
+	public static <T, R> List<R> map(ExecutorService executor, Collection<T> elements, IoFunction<T, R> function)
+			throws IOException {
+		List<R> results = new ArrayList<>(elements.size());
+		if (executor == null || elements.size() < 2) {
+			for (T element : elements) {
+				results.add(function.apply(element));
+			}
+			return results;
+		}
+
+		List<Future<R>> futures = new ArrayList<>(elements.size());
+		for (T element : elements) {
+			futures.add(executor.submit(() -> function.apply(element)));
+		}
+		try {
+			for (Future<R> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while processing files");
+		} catch (ExecutionException e) {
+			throw unwrap(e.getCause());
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+
+	/**
+	 * rethrows unchecked exceptions and errors of a task as they are and returns I/O errors to be thrown.
+	 */
+	private static IOException unwrap(Throwable cause) {
+		if (cause instanceof IOException ioException) {
+			return ioException;
+		}
+		if (cause instanceof UncheckedIOException uncheckedIOException) {
+			return uncheckedIOException.getCause();
+		}
+		if (cause instanceof RuntimeException runtimeException) {
+			throw runtimeException;
+		}
+		if (cause instanceof Error error) {
+			throw error;
+		}
+		return new IOException(cause);
+	}
+}
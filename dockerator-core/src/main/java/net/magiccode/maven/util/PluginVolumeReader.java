@@ -0,0 +1,177 @@
+/**
+ * Helper class for reading the volume configuration of a module
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.extern.log4j.Log4j2;
+import net.magiccode.maven.Volume;
+
+/**
+ * Reads the <code>&lt;volumes&gt;</code> configured for this plugin in a module's own pom.xml.
+ * Only the plugin declared directly in <code>project/build/plugins</code> is considered, so
+ * <code>artifactId</code> or <code>configuration</code> elements of other plugins, dependencies or
+ * profiles are never picked up. Configuration inherited from the parent is not part of the result.
+ * <p>
+ * The pom.xml is streamed and parsing stops as soon as the plugin element has been read. Build
+ * tools having the model in memory already (e.g. the Maven reactor) read it from there instead.
+ * </p>
+ */
+@Log4j2
+public class PluginVolumeReader {
+
+	/** artifactId of this plugin */
+	public static final String PLUGIN_ARTIFACT_ID = "spring-dockerator-plugin";
+
+	/** element path of the plugin declarations taken into account */
+	private static final String PLUGIN_PATH = "project/build/plugins/plugin";
+
+	private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+	private PluginVolumeReader() {
+	}
+
+	/**
+	 * reads the volumes from the pom.xml in the given module directory. A missing or unreadable
+	 * pom.xml yields no volumes.
+	 *
+	 * @param moduleDirectory the directory of the module
+	 * @return the volumes configured in the module, empty if none
+	 */
+	public static List<Volume> fromModule(File moduleDirectory) {
+		Path pomFile = moduleDirectory.toPath().resolve("pom.xml");
+		if (!Files.isRegularFile(pomFile)) {
+			log.debug("No pom.xml found in module directory: " + moduleDirectory.getAbsolutePath());
+			return new ArrayList<>();
+		}
+		try {
+			return fromPom(pomFile, moduleDirectory.getName());
+		} catch (IOException e) {
+			log.warn("Failed to parse pom.xml for module " + moduleDirectory.getName() + ": " + e.getMessage());
+			return new ArrayList<>();
+		}
+	}
+
+	/**
+	 * reads the volumes from the given pom.xml with a streaming parser.
+	 *
+	 * @param pomFile the pom.xml of the module
+	 * @param moduleName the name of the module for logging purposes
+	 * @return the volumes configured in the module, empty if none
+	 * @throws IOException if the file cannot be read or is not well-formed
+	 */
+	public static List<Volume> fromPom(Path pomFile, String moduleName) throws IOException {
+		try (InputStream in = Files.newInputStream(pomFile)) {
+			XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+			try {
+				return readPlugins(reader, moduleName);
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException("Failed to parse " + pomFile + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * walks the document until the declaration of this plugin has been read.
+	 */
+	private static List<Volume> readPlugins(XMLStreamReader reader, String moduleName) throws XMLStreamException {
+		Deque<String> path = new ArrayDeque<>();
+		// state of the plugin element currently read
+		boolean ours = false;
+		List<String[]> declared = new ArrayList<>();
+		String external = null;
+		String internal = null;
+
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				path.addLast(name);
+				String current = String.join("/", path);
+				if (current.equals(PLUGIN_PATH)) {
+					ours = false;
+					declared.clear();
+				} else if (current.equals(PLUGIN_PATH + "/artifactId")) {
+					ours = PLUGIN_ARTIFACT_ID.equals(reader.getElementText().trim());
+					path.removeLast();
+				} else if (current.equals(PLUGIN_PATH + "/configuration/volumes/volume")) {
+					external = reader.getAttributeValue(null, "external");
+					internal = reader.getAttributeValue(null, "internal");
+				} else if (current.equals(PLUGIN_PATH + "/configuration/volumes/volume/external")) {
+					external = reader.getElementText().trim();
+					path.removeLast();
+				} else if (current.equals(PLUGIN_PATH + "/configuration/volumes/volume/internal")) {
+					internal = reader.getElementText().trim();
+					path.removeLast();
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				String current = String.join("/", path);
+				path.removeLast();
+				if (current.equals(PLUGIN_PATH + "/configuration/volumes/volume")) {
+					// the artifactId may follow the configuration, so collect first and decide at the end
+					declared.add(new String[] { external, internal });
+					external = null;
+					internal = null;
+				} else if (current.equals(PLUGIN_PATH) && ours) {
+					List<Volume> volumes = new ArrayList<>();
+					declared.forEach(volume -> addVolume(volumes, volume[0], volume[1], moduleName));
+					return volumes;
+				}
+			}
+		}
+		return new ArrayList<>();
+	}
+
+	/**
+	 * adds a volume if both paths are given, otherwise logs a warning.
+	 *
+	 * @param volumes the list to add the volume to
+	 * @param external the external host path
+	 * @param internal the internal container path
+	 * @param moduleName the name of the module for logging purposes
+	 */
+	public static void addVolume(List<Volume> volumes, String external, String internal, String moduleName) {
+		if (StringUtils.isNotBlank(external) && StringUtils.isNotBlank(internal)) {
+			Volume volume = new Volume();
+			volume.setExternal(external.trim());
+			volume.setInternal(internal.trim());
+			volumes.add(volume);
+			log.debug("Parsed volume from module " + moduleName + ": " + external + " -> " + internal);
+		} else {
+			log.warn("Incomplete volume configuration in module " + moduleName
+					+ ": external='" + external + "', internal='" + internal + "'");
+		}
+	}
+
+	/**
+	 * creates a factory which neither resolves external entities nor reads a DTD.
+	 */
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		return factory;
+	}
+}
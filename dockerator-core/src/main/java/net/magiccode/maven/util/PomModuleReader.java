@@ -0,0 +1,137 @@
+/**
+ * Helper class for reading the module declarations of a pom.xml
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streams a pom.xml and returns the modules it declares: those in <code>project/modules</code> plus
+ * those of the active profiles in <code>project/profiles</code>. A profile is active if its id is
+ * among the given active profile ids. As in Maven, a profile marked <code>activeByDefault</code> is
+ * active unless another profile of the same pom is active.
+ * <p>
+ * Other activation conditions (properties, JDK, OS, files) are not evaluated; such profiles have to
+ * be activated explicitly to contribute modules.
+ * </p>
+ */
+public class PomModuleReader {
+
+	private static final String MODULE_PATH = "project/modules/module";
+	private static final String PROFILE_PATH = "project/profiles/profile";
+
+	private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+	private PomModuleReader() {
+	}
+
+	/**
+	 * returns the modules declared in the given pom.xml, in declaration order and without duplicates.
+	 *
+	 * @param pomFile the pom.xml to read
+	 * @param activeProfiles the ids of the active Maven profiles
+	 * @return the module entries as written in the pom (relative paths)
+	 * @throws IOException if the file cannot be read or is not well-formed
+	 */
+	public static List<String> declaredModules(Path pomFile, Collection<String> activeProfiles) throws IOException {
+		try (InputStream in = Files.newInputStream(pomFile)) {
+			XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+			try {
+				return readModules(reader, activeProfiles);
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException("Failed to parse " + pomFile + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * collects the modules of the project and of its profiles in one pass.
+	 */
+	private static List<String> readModules(XMLStreamReader reader, Collection<String> activeProfiles)
+			throws XMLStreamException {
+		Deque<String> path = new ArrayDeque<>();
+		Set<String> modules = new LinkedHashSet<>();
+		Set<String> explicitlyActive = new LinkedHashSet<>();
+		Set<String> activeByDefault = new LinkedHashSet<>();
+		boolean anyExplicitlyActive = false;
+
+		// state of the profile currently read
+		String profileId = null;
+		boolean profileActiveByDefault = false;
+		List<String> profileModules = new ArrayList<>();
+
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				path.addLast(reader.getLocalName());
+				String current = String.join("/", path);
+				if (current.equals(MODULE_PATH)) {
+					modules.add(reader.getElementText().trim());
+					path.removeLast();
+				} else if (current.equals(PROFILE_PATH)) {
+					profileId = null;
+					profileActiveByDefault = false;
+					profileModules = new ArrayList<>();
+				} else if (current.equals(PROFILE_PATH + "/id")) {
+					profileId = reader.getElementText().trim();
+					path.removeLast();
+				} else if (current.equals(PROFILE_PATH + "/activation/activeByDefault")) {
+					profileActiveByDefault = Boolean.parseBoolean(reader.getElementText().trim());
+					path.removeLast();
+				} else if (current.equals(PROFILE_PATH + "/modules/module")) {
+					profileModules.add(reader.getElementText().trim());
+					path.removeLast();
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				String current = String.join("/", path);
+				path.removeLast();
+				if (current.equals(PROFILE_PATH)) {
+					if (profileId != null && activeProfiles.contains(profileId)) {
+						anyExplicitlyActive = true;
+						explicitlyActive.addAll(profileModules);
+					} else if (profileActiveByDefault) {
+						activeByDefault.addAll(profileModules);
+					}
+				}
+			}
+		}
+
+		modules.addAll(explicitlyActive);
+		if (!anyExplicitlyActive) {
+			modules.addAll(activeByDefault);
+		}
+		modules.remove("");
+		return new ArrayList<>(modules);
+	}
+
+	/**
+	 * creates a factory which neither resolves external entities nor reads a DTD.
+	 */
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		return factory;
+	}
+}
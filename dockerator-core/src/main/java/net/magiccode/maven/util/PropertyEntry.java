@@ -0,0 +1,21 @@
+/**
+ * Entry of a parsed properties or yaml file
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.io.Serializable;
+
+/**
+ * A single key/value pair taken from a properties or yaml file.
+ *
+ * @param key the key as found in the file (properties) or already formatted for docker (yaml)
+ * @param value the trimmed value
+ * @param included true if the entry is marked with a DockerInclude comment
+ */
+public record PropertyEntry(String key, String value, boolean included) implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+}
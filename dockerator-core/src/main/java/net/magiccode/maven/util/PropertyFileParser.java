@@ -0,0 +1,271 @@
+/**
+ * Helper class for parsing properties and yaml files
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import lombok.Builder;
+import lombok.Data;
+import net.magiccode.maven.cache.StampedFileCache;
+
+/**
+ * Parses Spring Boot properties and yaml files into lists of {@link PropertyEntry}. The result
+ * does not depend on any plugin configuration, so it can be kept in a JVM wide cache: if
+ * <code>useJvmCache</code> is set, unchanged files are not read again as long as the plugin class
+ * loader lives (e.g. in the Maven daemon).
+ */
+@Builder
+@Data
+public class PropertyFileParser {
+
+	/** tag marking properties to be included in the docker compose file */
+	public static final String DOCKER_INCLUDE_COMMENT = "DockerInclude";
+
+	/** default maximum number of files kept in the JVM wide cache */
+	public static final int DEFAULT_CACHE_SIZE = 10_000;
+
+	private static final StampedFileCache<List<PropertyEntry>> CACHE = new StampedFileCache<>(DEFAULT_CACHE_SIZE);
+
+	/** all leaves of yaml files, kept apart as the same file is cached with the included entries only */
+	private static final StampedFileCache<List<PropertyEntry>> YAML_PROPERTIES_CACHE = new StampedFileCache<>(DEFAULT_CACHE_SIZE);
+
+	private boolean useJvmCache;
+
+	/**
+	 * @return the JVM wide cache of parsed files
+	 */
+	public static StampedFileCache<List<PropertyEntry>> cache() {
+		return CACHE;
+	}
+
+	/**
+	 * @return the JVM wide cache of yaml files parsed with {@link #parseYamlProperties(Path)}
+	 */
+	public static StampedFileCache<List<PropertyEntry>> yamlPropertiesCache() {
+		return YAML_PROPERTIES_CACHE;
+	}
+
+	/**
+	 * returns all key/value pairs of a properties file. Entries preceded by a comment containing
+	 * the DockerInclude tag are marked as included.
+	 *
+	 * @param propertiesFile the properties file to parse
+	 * @return the entries in the order of the file
+	 * @throws IOException if an I/O error occurs during file reading
+	 */
+	public List<PropertyEntry> parseProperties(Path propertiesFile) throws IOException {
+		return useJvmCache
+			   ? CACHE.get(propertiesFile, PropertyFileParser::readProperties)
+			   : readProperties(propertiesFile);
+	}
+
+	/**
+	 * returns the entries of a yaml file marked with a DockerInclude comment. Nested keys are joined
+	 * with '_' and formatted as docker environment variable names.
+	 *
+	 * @param yamlFile the yaml file to parse
+	 * @return the included entries
+	 * @throws IOException if an I/O error occurs during file reading
+	 */
+	public List<PropertyEntry> parseYaml(Path yamlFile) throws IOException {
+		return useJvmCache
+			   ? CACHE.get(yamlFile, PropertyFileParser::readYaml)
+			   : readYaml(yamlFile);
+	}
+
+	/**
+	 * returns all leaves of a yaml file with their Spring property keys (nested keys joined with
+	 * '.'), so they can be selected by key patterns like the entries of a properties file. Leaves
+	 * marked with a DockerInclude comment are marked as included.
+	 *
+	 * @param yamlFile the yaml file to parse
+	 * @return the entries in the order of the file
+	 * @throws IOException if an I/O error occurs during file reading
+	 */
+	public List<PropertyEntry> parseYamlProperties(Path yamlFile) throws IOException {
+		return useJvmCache
+			   ? YAML_PROPERTIES_CACHE.get(yamlFile, PropertyFileParser::readYamlProperties)
+			   : readYamlProperties(yamlFile);
+	}
+
+	/**
+	 * reads and parses a properties file.
+	 *
+	 * @param propertiesFile the properties file to parse
+	 * @return the entries in the order of the file
+	 * @throws IOException if an I/O error occurs during file reading
+	 */
+	private static List<PropertyEntry> readProperties(Path propertiesFile) throws IOException {
+		List<PropertyEntry> entries = new ArrayList<>();
+		boolean includeNext = false; // Flag to indicate the next property should be included
+		for (String line : Files.readAllLines(propertiesFile)) {
+			line = line.trim();
+
+			if (line.isEmpty() || line.startsWith("#")) {
+				// Check if it's a DockerInclude comment
+				if (line.startsWith("#") && line.contains(DOCKER_INCLUDE_COMMENT)) {
+					includeNext = true;
+				}
+				continue; // Skip comments and empty lines
+			}
+
+			String[] keyValue = line.split("=", 2);
+			if (keyValue.length == 2) {
+				entries.add(new PropertyEntry(keyValue[0].trim(), keyValue[1].trim(), includeNext));
+			}
+			includeNext = false; // Reset the flag after processing
+		}
+		return List.copyOf(entries);
+	}
+
+	/**
+	 * reads and parses a yaml file.
+	 *
+	 * @param yamlFile the yaml file to parse
+	 * @return the included entries
+	 * @throws IOException if an I/O error occurs during file reading
+	 */
+	private static List<PropertyEntry> readYaml(Path yamlFile) throws IOException {
+		String content = Files.readString(yamlFile);
+		Set<String> includeKeys = markedKeys(content);
+
+		// Parse the YAML content and process keys recursively
+		List<PropertyEntry> entries = new ArrayList<>();
+		Map<String, Object> yamlMap = loadYaml(yamlFile, content);
+		if (yamlMap != null) {
+			traverseYaml("", yamlMap, includeKeys, entries);
+		}
+		return List.copyOf(entries);
+	}
+
+	/**
+	 * parses the content of a yaml file, which is expected to be a mapping. A file being edited is
+	 * often invalid for a moment, so syntax errors are reported as {@link IOException} like any other
+	 * unreadable file.
+	 *
+	 * @param yamlFile the file the content was read from, used in error messages
+	 * @param content the content of the file
+	 * @return the top-level mapping, null if the file is empty
+	 * @throws IOException if the content is not valid YAML or not a mapping
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> loadYaml(Path yamlFile, String content) throws IOException {
+		Object document;
+		try {
+			document = new Yaml().load(content);
+		} catch (YAMLException e) {
+			throw new IOException("Failed to parse " + yamlFile + ": " + e.getMessage(), e);
+		}
+		if (document != null && !(document instanceof Map)) {
+			throw new IOException("Failed to parse " + yamlFile + ": the document is not a mapping of properties");
+		}
+		return (Map<String, Object>) document;
+	}
+
+	/**
+	 * reads a yaml file and returns all of its leaves.
+	 *
+	 * @param yamlFile the yaml file to parse
+	 * @return the entries with Spring property keys
+	 * @throws IOException if an I/O error occurs during file reading
+	 */
+	private static List<PropertyEntry> readYamlProperties(Path yamlFile) throws IOException {
+		String content = Files.readString(yamlFile);
+		Set<String> includeKeys = markedKeys(content);
+		List<PropertyEntry> entries = new ArrayList<>();
+		Map<String, Object> yamlMap = loadYaml(yamlFile, content);
+		if (yamlMap != null) {
+			collectLeaves("", yamlMap, includeKeys, entries);
+		}
+		return List.copyOf(entries);
+	}
+
+	/**
+	 * Recursively collects all leaves of a YAML structure with their keys joined by '.'.
+	 *
+	 * @param parentKey the parent key path for nested properties
+	 * @param yamlMap the YAML map structure to traverse
+	 * @param includeKeys set of keys marked with DockerInclude
+	 * @param entries list collecting the leaves
+	 */
+	@SuppressWarnings("unchecked")
+	private static void collectLeaves(String parentKey, Map<String, Object> yamlMap, Set<String> includeKeys,
+			List<PropertyEntry> entries) {
+		for (Map.Entry<String, Object> entry : yamlMap.entrySet()) {
+			String currentKey = parentKey.isEmpty() ? String.valueOf(entry.getKey()) : parentKey + "." + entry.getKey();
+			Object value = entry.getValue();
+
+			if (value instanceof Map) {
+				collectLeaves(currentKey, (Map<String, Object>) value, includeKeys, entries);
+			} else if (value != null) {
+				entries.add(new PropertyEntry(currentKey, value.toString().trim(), includeKeys.contains(entry.getKey())));
+			}
+		}
+	}
+
+	/**
+	 * identifies the keys associated with a # DockerInclude comment.
+	 *
+	 * @param content the content of the yaml file
+	 * @return the marked keys, without their parents
+	 */
+	private static Set<String> markedKeys(String content) {
+		Set<String> includeKeys = new HashSet<>();
+		String lastIncludeKey = null;
+		for (String line : content.lines().toList()) {
+			line = line.trim();
+
+			if (line.startsWith("#") && line.contains(DOCKER_INCLUDE_COMMENT)) {
+				lastIncludeKey = null; // Reset for new include marker
+			} else if (lastIncludeKey == null && !line.isEmpty() && !line.startsWith("#")) {
+				int colonIndex = line.indexOf(':');
+				if (colonIndex > 0) {
+					lastIncludeKey = line.substring(0, colonIndex).trim();
+					includeKeys.add(lastIncludeKey);
+				}
+			}
+		}
+		return includeKeys;
+	}
+
+	/**
+	 * Recursively traverses a YAML structure, converting the keys of all leaves marked with
+	 * DockerInclude comments to docker environment variable format.
+	 *
+	 * @param parentKey the parent key path for nested properties
+	 * @param yamlMap the YAML map structure to traverse
+	 * @param includeKeys set of keys that should be included (marked with DockerInclude)
+	 * @param entries list collecting the included entries
+	 */
+	@SuppressWarnings("unchecked")
+	private static void traverseYaml(String parentKey, Map<String, Object> yamlMap, Set<String> includeKeys,
+			List<PropertyEntry> entries) {
+		for (Map.Entry<String, Object> entry : yamlMap.entrySet()) {
+			String currentKey = parentKey.isEmpty() ? entry.getKey() : parentKey + "_" + entry.getKey();
+			Object value = entry.getValue();
+
+			if (value instanceof Map) {
+				// Recursively process nested maps
+				traverseYaml(currentKey, (Map<String, Object>) value, includeKeys, entries);
+			} else if (value != null && includeKeys.contains(entry.getKey())) {
+				// Format the key for Docker environment variables
+				String formattedKey = currentKey.toUpperCase().replace(".", "_").replace("-", "_");
+				entries.add(new PropertyEntry(formattedKey, value.toString().trim(), true));
+			}
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/**
+ * Helper class for selecting properties by key patterns
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Decides which properties become environment variables of a service, as an alternative to
+ * marking each of them with a DockerInclude comment. The include and exclude patterns are
+ * compiled once into a trie over the segments of the keys, so each key is matched in a single
+ * walk, however many patterns there are.
+ * <p>
+ * A pattern is a property key whose segments may be wildcards: <code>*</code> matches exactly one
+ * segment (<code>spring.datasource.*</code> matches <code>spring.datasource.url</code>, but not
+ * <code>spring.datasource.hikari.pool-size</code>), <code>**</code> as the last segment matches any
+ * number of segments, including none (<code>app.feature.**</code>). Keys and patterns are compared
+ * case-insensitively; an index like <code>[0]</code> counts as a segment of its own.
+ * </p>
+ * A property is selected if it matches no exclude pattern and is marked with a DockerInclude
+ * comment or matches an include pattern.
+ */
+public class PropertyKeyFilter {
+
+	/** a filter without patterns, selecting exactly the marked properties */
+	public static final PropertyKeyFilter NONE = new PropertyKeyFilter(null, null);
+
+	private static final String ANY_SEGMENT = "*";
+	private static final String ANY_SEGMENTS = "**";
+
+	/** a node of the trie, reached by the segments of a pattern prefix */
+	private static final class Node {
+		private final Map<String, Node> children = new HashMap<>();
+		private Node anySegment;
+		private boolean terminal;
+		private boolean anySegments;
+	}
+
+	private final Node includes;
+	private final Node excludes;
+
+	private PropertyKeyFilter(Node includes, Node excludes) {
+		this.includes = includes;
+		this.excludes = excludes;
+	}
+
+	/**
+	 * compiles the given patterns into a filter.
+	 *
+	 * @param includes patterns of the properties to select, may be null
+	 * @param excludes patterns of the properties never to select, may be null
+	 * @return the filter, {@link #NONE} if there are no patterns
+	 * @throws IllegalArgumentException if a pattern is invalid
+	 */
+	public static PropertyKeyFilter of(Collection<String> includes, Collection<String> excludes) {
+		Node includeTrie = compile(includes);
+		Node excludeTrie = compile(excludes);
+		return includeTrie == null && excludeTrie == null ? NONE : new PropertyKeyFilter(includeTrie, excludeTrie);
+	}
+
+	/**
+	 * @return true if there are neither include nor exclude patterns
+	 */
+	public boolean isEmpty() {
+		return includes == null && excludes == null;
+	}
+
+	/**
+	 * @return true if there are include patterns, so properties may be selected without marker
+	 */
+	public boolean hasIncludes() {
+		return includes != null;
+	}
+
+	/**
+	 * returns whether the property with the given key is selected.
+	 *
+	 * @param key the property key, e.g. <code>spring.datasource.url</code>
+	 * @param marked true if the property is marked with a DockerInclude comment
+	 * @return true if the property becomes an environment variable
+	 */
+	public boolean isSelected(String key, boolean marked) {
+		if (isEmpty()) {
+			return marked;
+		}
+		List<String> segments = segments(key);
+		if (matches(excludes, segments)) {
+			return false;
+		}
+		return marked || matches(includes, segments);
+	}
+
+	/**
+	 * builds the trie of the given patterns.
+	 *
+	 * @return the root of the trie, null if there are no patterns
+	 */
+	private static Node compile(Collection<String> patterns) {
+		if (patterns == null || patterns.stream().allMatch(StringUtils::isBlank)) {
+			return null;
+		}
+		Node root = new Node();
+		for (String pattern : patterns) {
+			if (StringUtils.isBlank(pattern)) {
+				continue;
+			}
+			List<String> segments = segments(pattern.trim());
+			Node node = root;
+			for (int i = 0; i < segments.size(); i++) {
+				String segment = segments.get(i);
+				if (segment.isEmpty()) {
+					throw new IllegalArgumentException("Empty segment in key pattern: " + pattern);
+				}
+				if (segment.equals(ANY_SEGMENTS)) {
+					if (i != segments.size() - 1) {
+						throw new IllegalArgumentException("'**' must be the last segment of key pattern: " + pattern);
+					}
+					node.anySegments = true;
+				} else if (segment.equals(ANY_SEGMENT)) {
+					if (node.anySegment == null) {
+						node.anySegment = new Node();
+					}
+					node = node.anySegment;
+				} else if (segment.contains(ANY_SEGMENT)) {
+					throw new IllegalArgumentException("Wildcards must span a whole segment in key pattern: " + pattern);
+				} else {
+					node = node.children.computeIfAbsent(segment, s -> new Node());
+				}
+			}
+			if (!segments.get(segments.size() - 1).equals(ANY_SEGMENTS)) {
+				node.terminal = true;
+			}
+		}
+		return root;
+	}
+
+	/**
+	 * walks the trie along the segments of a key. As literal and wildcard children may both match
+	 * a segment, the walk follows all candidates at once.
+	 */
+	private static boolean matches(Node root, List<String> segments) {
+		if (root == null) {
+			return false;
+		}
+		List<Node> current = List.of(root);
+		for (String segment : segments) {
+			List<Node> next = new ArrayList<>(2);
+			for (Node node : current) {
+				if (node.anySegments) {
+					return true;
+				}
+				Node child = node.children.get(segment);
+				if (child != null) {
+					next.add(child);
+				}
+				if (node.anySegment != null) {
+					next.add(node.anySegment);
+				}
+			}
+			if (next.isEmpty()) {
+				return false;
+			}
+			current = next;
+		}
+		return current.stream().anyMatch(node -> node.terminal || node.anySegments);
+	}
+
+	/**
+	 * splits a key or pattern into its lower case segments, an index in brackets being a segment.
+	 */
+	private static List<String> segments(String key) {
+		String normalized = key.toLowerCase(Locale.ROOT).replace("[", ".").replace("]", "");
+		List<String> segments = new ArrayList<>();
+		int start = 0;
+		int separator;
+		while ((separator = normalized.indexOf('.', start)) >= 0) {
+			segments.add(normalized.substring(start, separator));
+			start = separator + 1;
+		}
+		segments.add(normalized.substring(start));
+		return segments;
+	}
+}
@@ -0,0 +1,47 @@
+/**
+ * Helper class for sharing string instances
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Build-scoped pool of canonical string instances. In large reactors the same environment
+ * keys and values (e.g. SPRING_PROFILES_ACTIVE, SERVER_PORT, logging levels) occur in many
+ * services and again for every profile. Passing them through one pool keeps a single instance
+ * of each, and strings taken from the same pool can be compared by identity.
+ * <p>
+ * Unlike {@link String#intern()}, the pool is released together with the build.
+ * The pool is thread-safe.
+ * </p>
+ */
+public class StringPool {
+
+	private final Map<String, String> pool = new ConcurrentHashMap<>();
+
+	/**
+	 * returns the canonical instance for the given value. The first instance handed in
+	 * for a value becomes the canonical one.
+	 *
+	 * @param value the value to intern, may be null
+	 * @return the pooled instance equal to value, or null if value is null
+	 */
+	public String intern(String value) {
+		if (value == null) {
+			return null;
+		}
+		String existing = pool.putIfAbsent(value, value);
+		return existing == null ? value : existing;
+	}
+
+	/**
+	 * @return the number of distinct strings in the pool
+	 */
+	public int size() {
+		return pool.size();
+	}
+}
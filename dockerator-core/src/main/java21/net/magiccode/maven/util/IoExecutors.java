@@ -0,0 +1,42 @@
+/**
+ * Factory of the executor for blocking file work
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executor which reads the poms, walks the module directories and parses the
+ * properties files of the modules in parallel. This work is almost entirely blocking I/O.
+ * <p>
+ * This is the Java 21 variant, packaged in <code>META-INF/versions/21</code> of the multi-release
+ * jar: every task runs on its own virtual thread, so a blocked read does not hold a platform
+ * thread. It has to keep the public API of the Java 17 variant in <code>src/main/java</code>.
+ * </p>
+ */
+public class IoExecutors {
+
+	private IoExecutors() {
+	}
+
+	/**
+	 * creates a new executor for blocking file work.
+	 *
+	 * @param threadNamePrefix prefix of the names of the threads
+	 * @return the executor, to be shut down by the caller
+	 */
+	public static ExecutorService newExecutor(String threadNamePrefix) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix + "-", 1).factory());
+	}
+
+	/**
+	 * @return whether the executors run their tasks on virtual threads
+	 */
+	public static boolean virtualThreads() {
+		return true;
+	}
+}
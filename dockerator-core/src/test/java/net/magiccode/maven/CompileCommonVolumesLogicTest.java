@@ -1,33 +1,22 @@
 package net.magiccode.maven;
 
+import net.magiccode.maven.docker.CommonsOptimizer;
+import net.magiccode.maven.docker.ComposeModel;
 import net.magiccode.maven.docker.DockerService;
+import net.magiccode.maven.docker.ServiceModel;
 import net.magiccode.maven.docker.VolumeMapping;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Method;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * Tests for the compileCommonVolumes method logic to ensure correct behavior
+ * Tests for the common volume logic of {@link CommonsOptimizer} to ensure correct behavior
  * when multiple services share common volume configurations.
  */
 class CompileCommonVolumesLogicTest {
 
-    private DockerComposePlugin plugin;
-    private Method compileCommonVolumesMethod;
-
-    @BeforeEach
-    void setUp() throws Exception {
-        plugin = new DockerComposePlugin();
-        
-        // Make compileCommonVolumes accessible for testing
-        compileCommonVolumesMethod = DockerComposePlugin.class.getDeclaredMethod("compileCommonVolumes", List.class);
-        compileCommonVolumesMethod.setAccessible(true);
-    }
-
     @Test
     void testScenarioTwoSubmodulesWithSameVolume() throws Exception {
         System.out.println("=== Testing Scenario: Two Submodules with Same Volume ===");
@@ -36,20 +25,22 @@ class CompileCommonVolumesLogicTest {
         DockerService serviceA = createServiceWithVolume("service-a", "../ssl", "/opt/ssl");
         DockerService serviceB = createServiceWithVolume("service-b", "../ssl", "/opt/ssl");
         
-        List<DockerService> services = List.of(serviceA, serviceB);
+        List<ServiceModel> services = List.of(serviceA.toModel(), serviceB.toModel());
         
-        System.out.println("Before compileCommonVolumes:");
+        System.out.println("Before optimize:");
         System.out.println("ServiceA specificVolumes: " + serviceA.getSpecificVolumes());
         System.out.println("ServiceB specificVolumes: " + serviceB.getSpecificVolumes());
         
-        // Execute compileCommonVolumes
-        @SuppressWarnings("unchecked")
-        List<VolumeMapping> commonVolumes = (List<VolumeMapping>) compileCommonVolumesMethod.invoke(plugin, services);
+        // Execute the optimizer
+        ComposeModel model = CommonsOptimizer.optimize(services);
+        List<VolumeMapping> commonVolumes = model.commonVolumes();
+        ServiceModel optimizedA = model.services().get(0);
+        ServiceModel optimizedB = model.services().get(1);
         
-        System.out.println("After compileCommonVolumes:");
+        System.out.println("After optimize:");
         System.out.println("Common volumes returned: " + commonVolumes);
-        System.out.println("ServiceA specificVolumes: " + serviceA.getSpecificVolumes());
-        System.out.println("ServiceB specificVolumes: " + serviceB.getSpecificVolumes());
+        System.out.println("ServiceA volumes: " + optimizedA.volumes());
+        System.out.println("ServiceB volumes: " + optimizedB.volumes());
         
         // Verify the common volume is found and returned
         assertThat(commonVolumes).hasSize(1);
@@ -57,8 +48,8 @@ class CompileCommonVolumesLogicTest {
         assertThat(commonVolumes.get(0).getInternal()).isEqualTo("/opt/ssl");
         
         // Verify both services have cleared their specific volumes (they'll use x-common reference)
-        assertThat(serviceA.getSpecificVolumes()).isEmpty();
-        assertThat(serviceB.getSpecificVolumes()).isEmpty();
+        assertThat(optimizedA.volumes()).isEmpty();
+        assertThat(optimizedB.volumes()).isEmpty();
         
         System.out.println("✅ CORRECT BEHAVIOR: Common volumes properly identified and services cleared");
     }
@@ -78,31 +69,33 @@ class CompileCommonVolumesLogicTest {
             )
         );
         
-        List<DockerService> services = List.of(serviceA, serviceB);
+        List<ServiceModel> services = List.of(serviceA.toModel(), serviceB.toModel());
         
-        System.out.println("Before compileCommonVolumes:");
+        System.out.println("Before optimize:");
         System.out.println("ServiceA specificVolumes: " + serviceA.getSpecificVolumes());
         System.out.println("ServiceB specificVolumes: " + serviceB.getSpecificVolumes());
         
-        // Execute compileCommonVolumes
-        @SuppressWarnings("unchecked")
-        List<VolumeMapping> commonVolumes = (List<VolumeMapping>) compileCommonVolumesMethod.invoke(plugin, services);
+        // Execute the optimizer
+        ComposeModel model = CommonsOptimizer.optimize(services);
+        List<VolumeMapping> commonVolumes = model.commonVolumes();
+        ServiceModel optimizedA = model.services().get(0);
+        ServiceModel optimizedB = model.services().get(1);
         
-        System.out.println("After compileCommonVolumes:");
+        System.out.println("After optimize:");
         System.out.println("Common volumes returned: " + commonVolumes);
-        System.out.println("ServiceA specificVolumes: " + serviceA.getSpecificVolumes());
-        System.out.println("ServiceB specificVolumes: " + serviceB.getSpecificVolumes());
+        System.out.println("ServiceA volumes: " + optimizedA.volumes());
+        System.out.println("ServiceB volumes: " + optimizedB.volumes());
         
         // Verify common volume is identified
         assertThat(commonVolumes).hasSize(1);
         assertThat(commonVolumes.get(0).getExternal()).isEqualTo("../ssl");
         
         // ServiceA should be cleared (uses x-common reference)
-        assertThat(serviceA.getSpecificVolumes()).isEmpty();
+        assertThat(optimizedA.volumes()).isEmpty();
         
         // ServiceB should have ALL volumes (common + specific) listed directly
-        assertThat(serviceB.getSpecificVolumes()).hasSize(2);
-        assertThat(serviceB.getSpecificVolumes()).extracting("external").containsExactly("../ssl", "./service-b-data");
+        assertThat(optimizedB.volumes()).hasSize(2);
+        assertThat(optimizedB.volumes()).extracting("external").containsExactly("../ssl", "./service-b-data");
         
         System.out.println("✅ CORRECT BEHAVIOR: Mixed scenario handled properly");
     }
@@ -115,25 +108,31 @@ class CompileCommonVolumesLogicTest {
         DockerService serviceA = createServiceWithVolume("service-a", "./service-a-data", "/var/data");
         DockerService serviceB = createServiceWithVolume("service-b", "./service-b-cache", "/var/cache");
         
-        List<DockerService> services = List.of(serviceA, serviceB);
+        List<ServiceModel> services = List.of(serviceA.toModel(), serviceB.toModel());
         
-        System.out.println("Before compileCommonVolumes:");
+        System.out.println("Before optimize:");
         System.out.println("ServiceA specificVolumes: " + serviceA.getSpecificVolumes());
         System.out.println("ServiceB specificVolumes: " + serviceB.getSpecificVolumes());
         
-        // Execute compileCommonVolumes
-        @SuppressWarnings("unchecked")
-        List<VolumeMapping> commonVolumes = (List<VolumeMapping>) compileCommonVolumesMethod.invoke(plugin, services);
+        // Execute the optimizer
+        ComposeModel model = CommonsOptimizer.optimize(services);
+        List<VolumeMapping> commonVolumes = model.commonVolumes();
+        ServiceModel optimizedA = model.services().get(0);
+        ServiceModel optimizedB = model.services().get(1);
         
-        System.out.println("After compileCommonVolumes:");
+        System.out.println("After optimize:");
         System.out.println("Common volumes returned: " + commonVolumes);
-        System.out.println("ServiceA specificVolumes: " + serviceA.getSpecificVolumes());
-        System.out.println("ServiceB specificVolumes: " + serviceB.getSpecificVolumes());
+        System.out.println("ServiceA volumes: " + optimizedA.volumes());
+        System.out.println("ServiceB volumes: " + optimizedB.volumes());
         
         // No common volumes should be found
         assertThat(commonVolumes).isEmpty();
         
         // Services should keep their specific volumes
+        assertThat(optimizedA.volumes()).hasSize(1);
+        assertThat(optimizedB.volumes()).hasSize(1);
+        
+        // The original services are never modified by the optimizer
         assertThat(serviceA.getSpecificVolumes()).hasSize(1);
         assertThat(serviceB.getSpecificVolumes()).hasSize(1);
         
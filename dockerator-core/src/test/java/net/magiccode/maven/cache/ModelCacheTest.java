@@ -0,0 +1,84 @@
+package net.magiccode.maven.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import net.magiccode.maven.docker.BuildModel;
+import net.magiccode.maven.docker.CommonsOptimizer;
+import net.magiccode.maven.docker.DatabaseModel;
+import net.magiccode.maven.docker.DockerService;
+import net.magiccode.maven.docker.JdbcUrl;
+import net.magiccode.maven.docker.ProfileModel;
+import net.magiccode.maven.docker.ServiceModel;
+import net.magiccode.maven.docker.VolumeMapping;
+
+/**
+ * Unit tests for {@link ModelCache} and {@link InputHasher}
+ */
+public class ModelCacheTest {
+
+    private BuildModel sampleModel() {
+        List<ServiceModel> services = List.of(
+                DockerService.builder().name("svc-a").version("1.0.0").imagePrefix("demo/")
+                        .dockerEnvVars(new HashMap<>(Map.of("SHARED", "x", "A", "a")))
+                        .specificVolumes(List.of(new VolumeMapping("../ssl", "/opt/ssl")))
+                        .build().toModel(),
+                DockerService.builder().name("svc-b").version("1.0.0").imagePrefix("demo/")
+                        .dockerEnvVars(new HashMap<>(Map.of("SHARED", "x")))
+                        .specificVolumes(List.of(new VolumeMapping("../ssl", "/opt/ssl")))
+                        .build().toModel());
+        ProfileModel profile = new ProfileModel(services, CommonsOptimizer.optimize(services),
+                List.of(new DatabaseModel("postgres-shop", JdbcUrl.parse("jdbc:postgresql://localhost/shop"),
+                        "shop", "secret", 5432, 20, List.of("svc-a"), Map.of("svc-a", 17))));
+        return new BuildModel(Map.of("", profile));
+    }
+
+    @Test
+    @DisplayName("store and load: model written for a key is read back unchanged")
+    void roundTrip() throws IOException {
+        Path cacheFile = Files.createTempDirectory("model-cache").resolve("dockerator/model.bin");
+        ModelCache cache = ModelCache.builder().cacheFile(cacheFile).build();
+        BuildModel model = sampleModel();
+
+        cache.store("key-1", model);
+        BuildModel loaded = cache.load("key-1").orElseThrow();
+
+        assertThat(loaded).isEqualTo(model);
+        assertThat(loaded.profile("").composeModel().commonEnvironment()).containsEntry("SHARED", "x");
+        assertThat(loaded.profile("").composeModel().commonVolumes()).containsExactly(new VolumeMapping("../ssl", "/opt/ssl"));
+    }
+
+    @Test
+    @DisplayName("load: a different key or a missing file yields no model")
+    void keyMismatchOrMissingFile() throws IOException {
+        Path cacheFile = Files.createTempDirectory("model-cache").resolve("model.bin");
+        ModelCache cache = ModelCache.builder().cacheFile(cacheFile).build();
+        assertThat(cache.load("key-1")).isEmpty();
+
+        cache.store("key-1", sampleModel());
+        assertThat(cache.load("key-2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("InputHasher: changing a file's content changes the hash")
+    void hashFollowsFileContent() throws IOException {
+        Path file = Files.createTempFile("application", ".properties");
+        Files.writeString(file, "server.port=8080");
+        String first = new InputHasher().add("param").addContent(file).hash();
+        String same = new InputHasher().add("param").addContent(file).hash();
+        Files.writeString(file, "server.port=8081");
+        String changed = new InputHasher().add("param").addContent(file).hash();
+
+        assertThat(same).isEqualTo(first);
+        assertThat(changed).isNotEqualTo(first);
+    }
+}
@@ -0,0 +1,70 @@
+package net.magiccode.maven.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link StampedFileCache}
+ */
+public class StampedFileCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Unchanged files are loaded once, changed files are loaded again")
+    void reloadsOnlyChangedFiles() throws IOException {
+        Path file = tempDir.resolve("application.properties");
+        Files.writeString(file, "server.port=8080");
+        AtomicInteger loads = new AtomicInteger();
+        StampedFileCache<String> cache = new StampedFileCache<>(10);
+
+        StampedFileCache.FileLoader<String> loader = path -> {
+            loads.incrementAndGet();
+            return Files.readString(path);
+        };
+
+        assertThat(cache.get(file, loader)).isEqualTo("server.port=8080");
+        assertThat(cache.get(file, loader)).isEqualTo("server.port=8080");
+        assertThat(loads).hasValue(1);
+
+        Files.writeString(file, "server.port=9090");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        assertThat(cache.get(file, loader)).isEqualTo("server.port=9090");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("The least recently used entry is evicted when the cache is full")
+    void evictsLeastRecentlyUsed() throws IOException {
+        StampedFileCache<String> cache = new StampedFileCache<>(2);
+        Path first = Files.writeString(tempDir.resolve("a.yml"), "a");
+        Path second = Files.writeString(tempDir.resolve("b.yml"), "b");
+        Path third = Files.writeString(tempDir.resolve("c.yml"), "c");
+
+        cache.get(first, Files::readString);
+        cache.get(second, Files::readString);
+        cache.get(first, Files::readString);
+        cache.get(third, Files::readString);
+
+        assertThat(cache.size()).isEqualTo(2);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(first, path -> {
+            loads.incrementAndGet();
+            return Files.readString(path);
+        });
+        assertThat(loads).hasValue(0);
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,158 @@
+package net.magiccode.maven.descriptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.magiccode.maven.Network;
+import net.magiccode.maven.Volume;
+import net.magiccode.maven.docker.JvmModel;
+
+/**
+ * Tests for {@link DescriptorReader}
+ */
+public class DescriptorReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Volumes in both notations and the environment are read")
+    void readsDescriptor() throws IOException {
+        Files.writeString(tempDir.resolve(".dockerator"), """
+                volumes:
+                  - ../ssl:/opt/ssl
+                  - external: ./data
+                    internal: /var/data
+                environment:
+                  JAVA_TOOL_OPTIONS: -XX:MaxRAMPercentage=75
+                  DEBUG: true
+                """);
+
+        DockeratorDescriptor descriptor = DescriptorReader.read(tempDir);
+
+        assertThat(descriptor.volumes()).extracting(Volume::getExternal, Volume::getInternal)
+                .containsExactly(tuple("../ssl", "/opt/ssl"), tuple("./data", "/var/data"));
+        assertThat(descriptor.environment())
+                .containsEntry("JAVA_TOOL_OPTIONS", "-XX:MaxRAMPercentage=75")
+                .containsEntry("DEBUG", "true");
+    }
+
+    @Test
+    @DisplayName("Networks are read by name or as mapping with driver, MTU and options")
+    void readsNetworks() throws IOException {
+        Files.writeString(tempDir.resolve(".dockerator"), """
+                networks:
+                  - backend
+                  - name: data
+                    driver: bridge
+                    mtu: 1400
+                    driver_opts:
+                      com.docker.network.bridge.name: br-data
+                """);
+
+        DockeratorDescriptor descriptor = DescriptorReader.read(tempDir);
+
+        assertThat(descriptor.networks()).extracting(Network::getName, Network::getDriver, Network::getMtu)
+                .containsExactly(tuple("backend", null, null), tuple("data", "bridge", 1400));
+        assertThat(descriptor.networks().get(1).getDriverOpts()).containsEntry("com.docker.network.bridge.name", "br-data");
+    }
+
+    @Test
+    @DisplayName("A missing file yields null, an empty file no settings")
+    void missingAndEmptyFile() throws IOException {
+        assertThat(DescriptorReader.read(tempDir)).isNull();
+
+        Files.writeString(tempDir.resolve(".dockerator"), "");
+
+        assertThat(DescriptorReader.read(tempDir).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("All schema violations are reported together")
+    void reportsViolations() throws IOException {
+        Files.writeString(tempDir.resolve(".dockerator"), """
+                volume: ../ssl:/opt/ssl
+                volumes:
+                  - /opt/ssl
+                environment:
+                  1BAD: x
+                  NESTED:
+                    key: value
+                networks:
+                  - name: data
+                    mtu: large
+                    subnet: 10.0.0.0/24
+                """);
+
+        assertThatThrownBy(() -> DescriptorReader.read(tempDir))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("unknown key 'volume'")
+                .hasMessageContaining("volumes[0]")
+                .hasMessageContaining("invalid variable name '1BAD'")
+                .hasMessageContaining("environment.NESTED")
+                .hasMessageContaining("networks[0].mtu")
+                .hasMessageContaining("unknown key 'subnet'");
+    }
+
+    @Test
+    @DisplayName("Files with the same content share the parsed descriptor")
+    void cachesByContent() throws IOException {
+        Path first = Files.createDirectories(tempDir.resolve("first"));
+        Path second = Files.createDirectories(tempDir.resolve("second"));
+        Files.writeString(first.resolve(".dockerator"), "environment:\n  SHARED: cached\n");
+        Files.writeString(second.resolve(".dockerator"), "environment:\n  SHARED: cached\n");
+
+        assertThat(DescriptorReader.read(second)).isSameAs(DescriptorReader.read(first));
+    }
+
+    @Test
+    @DisplayName("Merging appends the volumes of the module, its environment overrides the parent")
+    void mergesWithModule() throws IOException {
+        Path module = Files.createDirectories(tempDir.resolve("module"));
+        Files.writeString(tempDir.resolve(".dockerator"), "volumes:\n  - ../ssl:/opt/ssl\nenvironment:\n  A: parent\n  B: parent\n");
+        Files.writeString(module.resolve(".dockerator"), "volumes:\n  - ./data:/var/data\nenvironment:\n  B: module\n");
+
+        DockeratorDescriptor merged = DescriptorReader.read(tempDir).mergedWith(DescriptorReader.read(module));
+
+        assertThat(merged.volumes()).extracting(Volume::getInternal).containsExactly("/opt/ssl", "/var/data");
+        assertThat(merged.environment()).containsEntry("A", "parent").containsEntry("B", "module");
+    }
+
+    @Test
+    @DisplayName("JVM settings are read and those of the module override the parent")
+    void readsJvm() throws IOException {
+        Path module = Files.createDirectories(tempDir.resolve("module"));
+        Files.writeString(tempDir.resolve(".dockerator"), """
+                jvm:
+                  max_ram_percentage: 75
+                  gc: G1
+                  cpus: 1.5
+                  memory: 768m
+                """);
+        Files.writeString(module.resolve(".dockerator"), "jvm:\n  memory: 1g\n  active_processor_count: 2\n");
+
+        DockeratorDescriptor merged = DescriptorReader.read(tempDir).mergedWith(DescriptorReader.read(module));
+
+        assertThat(merged.jvm()).isEqualTo(new JvmModel(75, "G1", 2, "1.5", "1g"));
+    }
+
+    @Test
+    @DisplayName("Invalid JVM settings are reported")
+    void reportsInvalidJvm() throws IOException {
+        Files.writeString(tempDir.resolve(".dockerator"), "jvm:\n  max_ram_percentage: most\n  heap: 1g\n");
+
+        assertThatThrownBy(() -> DescriptorReader.read(tempDir))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("jvm.max_ram_percentage")
+                .hasMessageContaining("unknown key 'heap'");
+    }
+}
@@ -0,0 +1,62 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AppCds}
+ */
+public class AppCdsTest {
+
+    private ServiceModel service(Map<String, String> environment) {
+        return new ServiceModel("orders", "1.0", "acme/", false, new TreeMap<>(environment), null, null, List.of("8080"),
+                List.of(AppCds.volume("orders")), null, null, true, null);
+    }
+
+    @Test
+    @DisplayName("toolOptions: archive options first, followed by the configured options")
+    void toolOptions() {
+        assertThat(AppCds.toolOptions(null))
+                .isEqualTo("-XX:SharedArchiveFile=/cds/app.jsa -XX:+AutoCreateSharedArchive");
+        assertThat(AppCds.toolOptions(" -Dfile.encoding=UTF-8 "))
+                .isEqualTo("-XX:SharedArchiveFile=/cds/app.jsa -XX:+AutoCreateSharedArchive -Dfile.encoding=UTF-8");
+        assertThat(AppCds.volume("orders").getExternal()).isEqualTo("orders-cds");
+        assertThat(AppCds.volume("orders").getInternal()).isEqualTo("/cds");
+    }
+
+    @Test
+    @DisplayName("training entry: same image and volume under the training profile, exiting on refresh, without ports")
+    void trainingEntry() {
+        ServiceModel service = service(Map.of("JAVA_TOOL_OPTIONS", AppCds.toolOptions(null), "TZ", "UTC"));
+
+        String entry = service.generateTrainingEntry(null, null, service.environment().get("JAVA_TOOL_OPTIONS"));
+
+        assertThat(entry).startsWith("  orders-cds-training:\n")
+                         .contains("image: acme/orders:1.0",
+                                   "profiles:\n      - cds-training",
+                                   "- TZ=UTC",
+                                   "- JAVA_TOOL_OPTIONS='-XX:SharedArchiveFile=/cds/app.jsa -XX:+AutoCreateSharedArchive -Dspring.context.exit=onRefresh'",
+                                   "- orders-cds:/cds")
+                         .doesNotContain("ports:");
+        assertThat(entry.split("JAVA_TOOL_OPTIONS", -1)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("training entry: overrides the tool options of the common environment anchor")
+    void trainingEntryWithCommonEnvironment() {
+        ServiceModel service = service(Map.of());
+
+        String entry = service.generateTrainingEntry("shop-common", "shop-env", AppCds.toolOptions(null));
+
+        assertThat(entry).contains("<<: *shop-common",
+                                   "<<: *shop-env",
+                                   "JAVA_TOOL_OPTIONS: '-XX:SharedArchiveFile=/cds/app.jsa -XX:+AutoCreateSharedArchive -Dspring.context.exit=onRefresh'");
+        assertThat(service.generateServiceEntry("shop-common", "shop-env")).doesNotContain("profiles:");
+    }
+}
@@ -0,0 +1,119 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CommonsOptimizer} and the immutable {@link ServiceModel} / {@link ComposeModel}.
+ */
+public class CommonsOptimizerTest {
+
+    private ServiceModel service(String name, Map<String, String> env) {
+        return DockerService.builder()
+                .name(name)
+                .version("1.0.0")
+                .imagePrefix("demo/")
+                .dockerEnvVars(new HashMap<>(env))
+                .build()
+                .toModel();
+    }
+
+    @Test
+    @DisplayName("Service model is sorted and cannot be modified")
+    void serviceModelIsSortedAndImmutable() {
+        DockerService source = DockerService.builder()
+                .name("app")
+                .version("1.0.0")
+                .imagePrefix("demo/")
+                .dockerEnvVars(new HashMap<>(Map.of("B_KEY", "b", "A_KEY", "a")))
+                .ports(List.of("9090", "8080"))
+                .build();
+        ServiceModel model = source.toModel();
+
+        assertThat(model.environment().keySet()).containsExactly("A_KEY", "B_KEY");
+        assertThat(model.ports()).containsExactly("8080", "9090");
+        assertThatThrownBy(() -> model.environment().put("C_KEY", "c"))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        // later changes to the source do not leak into the model
+        source.getDockerEnvVars().put("C_KEY", "c");
+        assertThat(model.environment()).doesNotContainKey("C_KEY");
+    }
+
+    @Test
+    @DisplayName("Equal key/value pairs in several services are moved to the common environment")
+    void commonEnvironmentIsExtracted() {
+        ServiceModel svcA = service("svc-a", Map.of("SHARED", "x", "ONLY_A", "a"));
+        ServiceModel svcB = service("svc-b", Map.of("SHARED", "x", "ONLY_B", "b"));
+
+        ComposeModel model = CommonsOptimizer.optimize(List.of(svcA, svcB));
+
+        assertThat(model.commonEnvironment()).containsExactly(Map.entry("SHARED", "x"));
+        assertThat(model.service("svc-a").environment()).containsOnlyKeys("ONLY_A");
+        assertThat(model.service("svc-b").environment()).containsOnlyKeys("ONLY_B");
+        // the input models are left untouched
+        assertThat(svcA.environment()).containsKey("SHARED");
+    }
+
+    @Test
+    @DisplayName("Keys with differing values in any service are not common")
+    void differingValuesAreNotCommon() {
+        ServiceModel svcA = service("svc-a", Map.of("KEY", "1"));
+        ServiceModel svcB = service("svc-b", Map.of("KEY", "2"));
+        ServiceModel svcC = service("svc-c", Map.of("KEY", "2"));
+
+        ComposeModel model = CommonsOptimizer.optimize(List.of(svcA, svcB, svcC));
+
+        assertThat(model.commonEnvironment()).isEmpty();
+        assertThat(model.service("svc-a").environment()).containsEntry("KEY", "1");
+        assertThat(model.service("svc-b").environment()).containsEntry("KEY", "2");
+    }
+
+    @Test
+    @DisplayName("A single service never produces common settings")
+    void singleServiceHasNoCommons() {
+        ComposeModel model = CommonsOptimizer.optimize(List.of(service("app", Map.of("KEY", "1"))));
+
+        assertThat(model.containsCommonEnvironment()).isFalse();
+        assertThat(model.containsCommonVolumes()).isFalse();
+        assertThat(model.service("app").environment()).containsEntry("KEY", "1");
+    }
+
+    @Test
+    @DisplayName("Limits shared by most services go into the common anchor, others stay with their service")
+    void commonLimits() {
+        ResourceLimits small = new ResourceLimits("1", "512m");
+        ResourceLimits large = new ResourceLimits("2", "1g");
+        ServiceModel svcA = service("svc-a", Map.of()).withLimits(small);
+        ServiceModel svcB = service("svc-b", Map.of()).withLimits(small);
+        ServiceModel svcC = service("svc-c", Map.of()).withLimits(large);
+
+        ComposeModel model = CommonsOptimizer.optimize(List.of(svcA, svcB, svcC));
+
+        assertThat(model.commonLimits()).isEqualTo(small);
+        assertThat(model.service("svc-a").limits()).isNull();
+        assertThat(model.service("svc-c").limits()).isEqualTo(large);
+        assertThat(model.service("svc-c").generateServiceEntry("demo-common", null)).contains("deploy:", "cpus: \"2\"");
+    }
+
+    @Test
+    @DisplayName("Limits are not shared if a service has none")
+    void noCommonLimitsWithUnlimitedService() {
+        ResourceLimits small = new ResourceLimits("1", "512m");
+        ServiceModel svcA = service("svc-a", Map.of()).withLimits(small);
+        ServiceModel svcB = service("svc-b", Map.of()).withLimits(small);
+        ServiceModel svcC = service("svc-c", Map.of());
+
+        ComposeModel model = CommonsOptimizer.optimize(List.of(svcA, svcB, svcC));
+
+        assertThat(model.containsCommonLimits()).isFalse();
+        assertThat(model.service("svc-a").limits()).isEqualTo(small);
+    }
+}
@@ -0,0 +1,77 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ComparingOutput}
+ */
+public class ComparingOutputTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static void emit(ComposeOutput output, Path file, String... chunks) throws IOException {
+        try (Writer writer = output.open(file)) {
+            for (String chunk : chunks) {
+                writer.write(chunk);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Identical content is accepted regardless of the timestamp and of how it is chunked")
+    void upToDate() throws IOException {
+        Path file = tempDir.resolve("docker-compose.yml");
+        Files.writeString(file, "# generated on yesterday\nname: demo\nservices:\n");
+
+        ComparingOutput output = new ComparingOutput();
+        emit(output, file, "# generated on today\nna", "me: demo\nserv", "ices:\n");
+
+        assertThat(output.checkedFiles()).containsExactly(file);
+        assertThat(file).content().contains("yesterday");
+    }
+
+    @Test
+    @DisplayName("The first differing line is reported with its line number")
+    void firstDifference() throws IOException {
+        Path file = tempDir.resolve("docker-compose.yml");
+        Files.writeString(file, "# generated on yesterday\nname: demo\nservices:\n  a:\n");
+
+        ComparingOutput output = new ComparingOutput();
+        assertThatThrownBy(() -> emit(output, file, "# generated on today\nname: demo\nservices:\n  b:\n"))
+                .isInstanceOfSatisfying(OutdatedFileException.class, e -> {
+                    assertThat(e.getLineNumber()).isEqualTo(4);
+                    assertThat(e.getGeneratedLine()).isEqualTo("  b:");
+                    assertThat(e.getExistingLine()).isEqualTo("  a:");
+                });
+        assertThat(output.checkedFiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Missing files and additional lines on disk are differences")
+    void missingAndAdditionalLines() throws IOException {
+        Path longer = tempDir.resolve(".env");
+        Files.writeString(longer, "A=1\nB=2\n");
+
+        ComparingOutput output = new ComparingOutput();
+        assertThatThrownBy(() -> emit(output, tempDir.resolve("missing.yml"), "services:\n"))
+                .isInstanceOf(OutdatedFileException.class)
+                .hasMessageContaining("missing");
+        assertThatThrownBy(() -> emit(output, longer, "A=1\n"))
+                .isInstanceOfSatisfying(OutdatedFileException.class, e -> {
+                    assertThat(e.getLineNumber()).isEqualTo(2);
+                    assertThat(e.getGeneratedLine()).isNull();
+                });
+        assertThat(tempDir.resolve("missing.yml")).doesNotExist();
+    }
+}
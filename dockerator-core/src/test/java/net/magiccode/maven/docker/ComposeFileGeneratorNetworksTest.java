@@ -0,0 +1,91 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the networks of the generated compose files and their optimisation through the common anchor.
+ */
+public class ComposeFileGeneratorNetworksTest {
+
+    private static final NetworkModel BACKEND = new NetworkModel("backend", null, null);
+    private static final NetworkModel DATA = new NetworkModel("data", "bridge", new TreeMap<>());
+    private static final NetworkModel FRONTEND = new NetworkModel("frontend", null, null);
+
+    private ServiceModel service(String name, NetworkModel... networks) {
+        return DockerService.builder()
+                .name(name)
+                .version("1.0.0")
+                .imagePrefix("demo/")
+                .networks(new ArrayList<>(List.of(networks)))
+                .build()
+                .toModel();
+    }
+
+    private String generate(ComposeModel model) throws IOException {
+        Path outDir = Files.createTempDirectory("compose-networks");
+        ComposeFileGenerator.builder()
+                .model(model)
+                .moduleName("demo")
+                .outputDir(outDir.toString())
+                .build()
+                .generateDockerCompose();
+        return Files.readString(outDir.resolve("docker-compose.yml"));
+    }
+
+    @Test
+    @DisplayName("Networks joined by all services go into the common anchor")
+    void commonNetworks() {
+        ServiceModel api = service("api", BACKEND, FRONTEND);
+        ServiceModel worker = service("worker", BACKEND, DATA);
+        ServiceModel batch = service("batch", BACKEND);
+
+        ComposeModel model = CommonsOptimizer.optimize(List.of(api, worker, batch));
+
+        assertThat(model.commonNetworks()).containsExactly("backend");
+        assertThat(model.networks()).extracting(NetworkModel::name).containsExactly("backend", "data", "frontend");
+        // lists are not merged with the anchor, so services with further networks list all of them
+        assertThat(model.service("api").networkNames()).containsExactly("backend", "frontend");
+        assertThat(model.service("worker").networkNames()).containsExactly("backend", "data");
+        assertThat(model.service("batch").networks()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Networks joined by some services only are not common")
+    void noCommonNetworks() {
+        ComposeModel model = CommonsOptimizer.optimize(List.of(service("api", FRONTEND), service("worker", DATA), service("batch")));
+
+        assertThat(model.commonNetworks()).isEmpty();
+        assertThat(model.service("api").networkNames()).containsExactly("frontend");
+    }
+
+    @Test
+    @DisplayName("The compose file gets the anchor, per-service membership and the top-level networks section")
+    void writesNetworks() throws IOException {
+        ComposeModel model = CommonsOptimizer.optimize(List.of(service("api", BACKEND, FRONTEND), service("batch", BACKEND)));
+
+        String content = generate(model);
+
+        assertThat(content).contains("x-demo-common:\n    &demo-common\n    networks:\n      &demo-networks\n      - backend\n")
+                           .contains("    networks:\n      - backend\n      - frontend\n")
+                           .endsWith("networks:\n  backend: {}\n  frontend: {}\n")
+                           .doesNotContain("*demo-env");
+    }
+
+    @Test
+    @DisplayName("Without networks nothing network related is written")
+    void withoutNetworks() throws IOException {
+        String content = generate(CommonsOptimizer.optimize(List.of(service("api"), service("batch"))));
+
+        assertThat(content).doesNotContain("networks:");
+    }
+}
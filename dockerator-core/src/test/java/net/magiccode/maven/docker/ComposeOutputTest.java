@@ -0,0 +1,57 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.magiccode.maven.docker.ComposeOutput.ChangedFilesOutput;
+
+/**
+ * Unit tests for {@link ComposeOutput}
+ */
+public class ComposeOutputTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static void write(ComposeOutput output, Path file, String content) throws IOException {
+        try (Writer writer = output.open(file)) {
+            writer.write(content);
+        }
+    }
+
+    @Test
+    @DisplayName("Content differing only in the generation timestamp is considered the same")
+    void sameContentIgnoresTimestamp() {
+        assertThat(ComposeOutput.sameContent("# generated on 2026-01-01\nservices:\n",
+                "# generated on 2026-02-02\nservices:\n")).isTrue();
+        assertThat(ComposeOutput.sameContent("services:\n  a:\n", "services:\n  b:\n")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Only new or changed files are written and recorded")
+    void writesOnlyChangedFiles() throws IOException {
+        Path unchanged = tempDir.resolve("docker-compose.yml");
+        Path changed = tempDir.resolve(".env");
+        Path created = tempDir.resolve("docker-compose-db.yml");
+        Files.writeString(unchanged, "# generated on yesterday\nservices:\n");
+        Files.writeString(changed, "PORT=8080\n");
+
+        ChangedFilesOutput output = ComposeOutput.writeIfChanged();
+        write(output, unchanged, "# generated on today\nservices:\n");
+        write(output, changed, "PORT=8081\n");
+        write(output, created, "services:\n");
+
+        assertThat(output.writtenFiles()).containsExactly(changed, created);
+        assertThat(unchanged).content().contains("yesterday");
+        assertThat(changed).hasContent("PORT=8081\n");
+        assertThat(created).exists();
+    }
+}
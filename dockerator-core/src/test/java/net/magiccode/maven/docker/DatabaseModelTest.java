@@ -0,0 +1,161 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DatabaseModel}
+ */
+public class DatabaseModelTest {
+
+    private ServiceModel service(String name, Map<String, String> jdbcConfigs) {
+        return DockerService.builder()
+                .name(name)
+                .version("1.0.0")
+                .jdbcConfigs(new HashMap<>(jdbcConfigs))
+                .build()
+                .toModel();
+    }
+
+    @Test
+    @DisplayName("collect: services sharing host and database share one container")
+    void deduplicate() {
+        List<ServiceModel> services = List.of(
+                service("orders", Map.of("spring.datasource.url", "jdbc:postgresql://localhost:5432/shop",
+                        "spring.datasource.username", "shop", "spring.datasource.password", "secret")),
+                service("billing", Map.of("SPRING_DATASOURCE_URL", "jdbc:postgresql://LOCALHOST/shop",
+                        "SPRING_DATASOURCE_USERNAME", "shop", "SPRING_DATASOURCE_PASSWORD", "secret")),
+                service("stock", Map.of("spring.datasource.url", "jdbc:mysql://localhost/stock")),
+                service("cache", Map.of("spring.datasource.url", "jdbc:h2:mem:cache")),
+                service("web", Map.of()));
+
+        List<DatabaseModel> databases = DatabaseModel.collect(services, "spring.datasource.", null);
+
+        assertThat(databases).extracting(DatabaseModel::name).containsExactly("postgres-shop", "mysql-stock");
+        assertThat(databases.get(0).services()).containsExactly("orders", "billing");
+        assertThat(databases.get(1).services()).containsExactly("stock");
+    }
+
+    @Test
+    @DisplayName("collect: equal database names and ports of different servers are made distinct")
+    void distinctNamesAndPorts() {
+        List<ServiceModel> services = List.of(
+                service("a", Map.of("spring.datasource.url", "jdbc:postgresql://one/shop")),
+                service("b", Map.of("spring.datasource.url", "jdbc:postgresql://two/shop")));
+
+        List<DatabaseModel> databases = DatabaseModel.collect(services, "spring.datasource.", null);
+
+        assertThat(databases).extracting(DatabaseModel::name).containsExactly("postgres-shop", "postgres-shop-2");
+        assertThat(databases).extracting(DatabaseModel::hostPort).containsExactly(5432, 5433);
+    }
+
+    @Test
+    @DisplayName("generateServiceEntry: the native environment variables of the vendor are written")
+    void serviceEntry() {
+        DatabaseModel postgres = new DatabaseModel("postgres-shop",
+                new JdbcUrl(DatabaseVendor.POSTGRES, "localhost", 5433, "shop"), "shop", "secret", 5433, 0, List.of("orders"), null);
+
+        assertThat(postgres.generateServiceEntry(DatabaseMode.DURABLE)).isEqualTo("""
+                  postgres-shop:
+                    image: postgres:16
+                    environment:
+                      - POSTGRES_DB=shop
+                      - POSTGRES_USER=shop
+                      - POSTGRES_PASSWORD=secret
+                    ports:
+                      - "5433:5432"
+                """);
+    }
+
+    @Test
+    @DisplayName("generateServiceEntry: ephemeral databases keep their data in tmpfs and turn off durable writes")
+    void ephemeralEntry() {
+        DatabaseModel postgres = new DatabaseModel("postgres-shop",
+                new JdbcUrl(DatabaseVendor.POSTGRES, "localhost", 5432, "shop"), "shop", "secret", 5432, 0, List.of("orders"), null);
+        DatabaseModel mysql = new DatabaseModel("mysql-stock",
+                new JdbcUrl(DatabaseVendor.MYSQL, "localhost", 3306, "stock"), null, null, 3306, 0, List.of("stock"), null);
+        DatabaseModel mssql = new DatabaseModel("mssql-billing",
+                new JdbcUrl(DatabaseVendor.MSSQL, "localhost", 1433, "billing"), "sa", "Str0ng!Pass", 1433, 0, List.of("billing"), null);
+
+        assertThat(postgres.generateServiceEntry(DatabaseMode.EPHEMERAL)).isEqualTo("""
+                  postgres-shop:
+                    image: postgres:16
+                    command:
+                      - "postgres"
+                      - "-c"
+                      - "fsync=off"
+                      - "-c"
+                      - "synchronous_commit=off"
+                      - "-c"
+                      - "full_page_writes=off"
+                    environment:
+                      - POSTGRES_DB=shop
+                      - POSTGRES_USER=shop
+                      - POSTGRES_PASSWORD=secret
+                    tmpfs:
+                      - /var/lib/postgresql/data
+                    ports:
+                      - "5432:5432"
+                """);
+        assertThat(mysql.generateServiceEntry(DatabaseMode.EPHEMERAL))
+                .contains("- \"--innodb-flush-log-at-trx-commit=0\"", "tmpfs:\n      - /var/lib/mysql\n");
+        assertThat(mssql.generateServiceEntry(DatabaseMode.EPHEMERAL))
+                .isEqualTo(mssql.generateServiceEntry(DatabaseMode.DURABLE));
+        assertThat(DatabaseVendor.MSSQL.supportsEphemeral()).isFalse();
+    }
+
+    @Test
+    @DisplayName("collect: the connection budget is split among the pools not configured by the services")
+    void connectionBudget() {
+        List<ServiceModel> services = List.of(
+                service("orders", Map.of("spring.datasource.url", "jdbc:postgresql://localhost/shop")),
+                service("billing", Map.of("spring.datasource.url", "jdbc:postgresql://localhost/shop")),
+                service("reports", Map.of("spring.datasource.url", "jdbc:postgresql://localhost/shop",
+                        "spring.datasource.hikari.maximum-pool-size", "5")),
+                service("web", Map.of()));
+
+        List<DatabaseModel> databases = DatabaseModel.collect(services, "spring.datasource.", 50);
+        List<ServiceModel> sized = DatabaseModel.withPoolSizes(services, databases, "spring.datasource.");
+
+        DatabaseModel shop = databases.get(0);
+        assertThat(shop.maxConnections()).isEqualTo(50);
+        // 50 less 3 reserved less 5 configured by reports, split among orders and billing
+        assertThat(shop.poolSizes()).containsOnly(Map.entry("orders", 21), Map.entry("billing", 21));
+        assertThat(sized).extracting(service -> service.environment().get("SPRING_DATASOURCE_HIKARI_MAXIMUM_POOL_SIZE"))
+                .containsExactly("21", "21", null, null);
+        assertThat(shop.generateServiceEntry(DatabaseMode.DURABLE))
+                .contains("command:\n      - \"postgres\"\n      - \"-c\"\n      - \"max_connections=50\"\n");
+    }
+
+    @Test
+    @DisplayName("command: options of the mode and the connection limit are passed to the server")
+    void command() {
+        assertThat(DatabaseVendor.POSTGRES.command(DatabaseMode.DURABLE, 0)).isEmpty();
+        assertThat(DatabaseVendor.MARIADB.command(DatabaseMode.EPHEMERAL, 20))
+                .containsExactly("--innodb-flush-log-at-trx-commit=0", "--sync-binlog=0", "--max-connections=20");
+        assertThat(DatabaseVendor.MSSQL.command(DatabaseMode.EPHEMERAL, 20)).isEmpty();
+        assertThat(DatabaseModel.poolSizeVariable("app.datasource")).isEqualTo("APP_DATASOURCE_HIKARI_MAXIMUM_POOL_SIZE");
+    }
+
+    @Test
+    @DisplayName("environment: root and missing credentials are mapped to the variables the images expect")
+    void vendorEnvironment() {
+        assertThat(DatabaseVendor.MYSQL.environment("stock", "app", "pw"))
+                .containsExactly(Map.entry("MYSQL_DATABASE", "stock"), Map.entry("MYSQL_USER", "app"),
+                        Map.entry("MYSQL_PASSWORD", "pw"), Map.entry("MYSQL_ROOT_PASSWORD", "pw"));
+        assertThat(DatabaseVendor.MYSQL.environment("stock", null, null))
+                .containsExactly(Map.entry("MYSQL_DATABASE", "stock"), Map.entry("MYSQL_ALLOW_EMPTY_PASSWORD", "yes"));
+        assertThat(DatabaseVendor.MARIADB.environment("stock", "root", "pw"))
+                .containsExactly(Map.entry("MARIADB_DATABASE", "stock"), Map.entry("MARIADB_ROOT_PASSWORD", "pw"));
+        assertThat(DatabaseVendor.POSTGRES.environment("shop", null, null))
+                .containsExactly(Map.entry("POSTGRES_DB", "shop"), Map.entry("POSTGRES_HOST_AUTH_METHOD", "trust"));
+        assertThat(DatabaseVendor.MSSQL.environment("billing", "sa", "Str0ng!Pass"))
+                .containsExactly(Map.entry("ACCEPT_EULA", "Y"), Map.entry("MSSQL_SA_PASSWORD", "Str0ng!Pass"));
+    }
+}
@@ -0,0 +1,64 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ImageBuild}
+ */
+public class ImageBuildTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("of: context and Dockerfile relative to the output directory, jar of the build system")
+    void of() throws IOException {
+        Path orders = Files.createDirectories(tempDir.resolve("orders"));
+        Files.writeString(orders.resolve("pom.xml"), "<project/>");
+        Path billing = Files.createDirectories(tempDir.resolve("billing"));
+        Files.writeString(billing.resolve("build.gradle"), "");
+        String outputDir = tempDir.resolve("docker").toString();
+
+        assertThat(ImageBuild.of(orders.toFile(), outputDir, "orders", "1.0", null))
+                .isEqualTo(new ImageBuild("../orders", "../docker/orders.Dockerfile", "target/*.jar", "eclipse-temurin:21-jre"));
+        assertThat(ImageBuild.of(billing.toFile(), outputDir, "billing", "1.0", "eclipse-temurin:17-jre"))
+                .isEqualTo(new ImageBuild("../billing", "../docker/billing.Dockerfile", "build/libs/billing-1.0.jar",
+                        "eclipse-temurin:17-jre"));
+    }
+
+    @Test
+    @DisplayName("build entry: context and Dockerfile below the build key")
+    void buildEntry() {
+        ImageBuild build = new ImageBuild("../orders", "../docker/orders.Dockerfile", "target/*.jar", "eclipse-temurin:21-jre");
+
+        assertThat(build.generateBuildEntry(4))
+                .isEqualTo("    build:\n      context: ../orders\n      dockerfile: ../docker/orders.Dockerfile\n");
+    }
+
+    @Test
+    @DisplayName("Dockerfile: extracts the layers in the first stage and copies them one by one, dependencies first")
+    void dockerfile() {
+        ImageBuild build = new ImageBuild("../orders", "../docker/orders.Dockerfile", "target/*.jar", "eclipse-temurin:21-jre");
+
+        String dockerfile = build.generateDockerfile(List.of("8080", "8081"));
+
+        assertThat(dockerfile).contains("FROM eclipse-temurin:21-jre AS builder\n",
+                                        "ARG JAR_FILE=target/*.jar\n",
+                                        "RUN java -Djarmode=tools -jar application.jar extract --layers --destination extracted\n",
+                                        "EXPOSE 8080 8081\n",
+                                        "ENTRYPOINT [\"java\", \"-jar\", \"application.jar\"]\n");
+        assertThat(ImageBuild.LAYERS.stream().map(layer -> dockerfile.indexOf("/extracted/" + layer + "/")).toList())
+                .doesNotContain(-1)
+                .isSorted();
+        assertThat(build.generateDockerfile(List.of())).doesNotContain("EXPOSE");
+    }
+}
@@ -0,0 +1,49 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link JdbcUrl}
+ */
+public class JdbcUrlTest {
+
+    @Test
+    @DisplayName("parse: the vendor, host, port and database are taken from the URL")
+    void vendors() {
+        assertThat(JdbcUrl.parse("jdbc:postgresql://DB.example.com:5433/orders?ssl=true"))
+                .isEqualTo(new JdbcUrl(DatabaseVendor.POSTGRES, "db.example.com", 5433, "orders"));
+        assertThat(JdbcUrl.parse("jdbc:mysql://localhost/shop?useSSL=false"))
+                .isEqualTo(new JdbcUrl(DatabaseVendor.MYSQL, "localhost", 3306, "shop"));
+        assertThat(JdbcUrl.parse("jdbc:mariadb://maria:3307/stock"))
+                .isEqualTo(new JdbcUrl(DatabaseVendor.MARIADB, "maria", 3307, "stock"));
+        assertThat(JdbcUrl.parse("jdbc:sqlserver://sql\\instance:1434;encrypt=false;databaseName=billing"))
+                .isEqualTo(new JdbcUrl(DatabaseVendor.MSSQL, "sql", 1434, "billing"));
+        assertThat(JdbcUrl.parse("jdbc:h2:tcp://localhost/~/test;MODE=PostgreSQL"))
+                .isEqualTo(new JdbcUrl(DatabaseVendor.H2, "localhost", 9092, "~/test"));
+    }
+
+    @Test
+    @DisplayName("parse: host lists, connection modes and URLs without host are handled")
+    void variants() {
+        assertThat(JdbcUrl.parse("jdbc:mysql:replication://primary:3306,replica:3306/shop"))
+                .isEqualTo(new JdbcUrl(DatabaseVendor.MYSQL, "primary", 3306, "shop"));
+        assertThat(JdbcUrl.parse("jdbc:postgresql:orders"))
+                .isEqualTo(new JdbcUrl(DatabaseVendor.POSTGRES, "localhost", 5432, "orders"));
+        assertThat(JdbcUrl.parse("jdbc:postgresql://[::1]:5432/orders").host()).isEqualTo("[::1]");
+    }
+
+    @Test
+    @DisplayName("parse: embedded databases, other vendors and malformed URLs are not recognized")
+    void unsupported() {
+        assertThat(JdbcUrl.parse("jdbc:h2:mem:test")).isNull();
+        assertThat(JdbcUrl.parse("jdbc:h2:file:./data/test")).isNull();
+        assertThat(JdbcUrl.parse("jdbc:oracle:thin:@localhost:1521:xe")).isNull();
+        assertThat(JdbcUrl.parse("jdbc:postgresql://localhost:port/orders")).isNull();
+        assertThat(JdbcUrl.parse("jdbc:mysql://localhost:3306/")).isNull();
+        assertThat(JdbcUrl.parse("${DB_URL}")).isNull();
+        assertThat(JdbcUrl.parse(null)).isNull();
+    }
+}
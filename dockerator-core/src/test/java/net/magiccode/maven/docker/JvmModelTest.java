@@ -0,0 +1,70 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import net.magiccode.maven.Jvm;
+
+/**
+ * Tests for {@link JvmModel}
+ */
+public class JvmModelTest {
+
+    @Test
+    @DisplayName("toolOptions: heap, garbage collector and processors, followed by the configured options")
+    void toolOptions() {
+        JvmModel jvm = new JvmModel(75, "g1gc", 2, null, null);
+
+        assertThat(jvm.gc()).isEqualTo("G1");
+        assertThat(jvm.toolOptions(null))
+                .isEqualTo("-XX:MaxRAMPercentage=75 -XX:+UseG1GC -XX:ActiveProcessorCount=2");
+        assertThat(jvm.toolOptions(" -Dfile.encoding=UTF-8 "))
+                .isEqualTo("-XX:MaxRAMPercentage=75 -XX:+UseG1GC -XX:ActiveProcessorCount=2 -Dfile.encoding=UTF-8");
+        assertThat(JvmModel.EMPTY.toolOptions(null)).isNull();
+        assertThat(jvm.limits()).isNull();
+    }
+
+    @Test
+    @DisplayName("mergedWith: settings of the module replace those of the parent, others are kept")
+    void mergedWith() {
+        Jvm parent = new Jvm();
+        parent.setMaxRamPercentage(75);
+        parent.setGc("G1");
+        parent.setCpus("1.5");
+        parent.setMemory("768M");
+
+        JvmModel merged = JvmModel.of(parent).mergedWith(new JvmModel(null, "ZGC", null, null, "1g"));
+
+        assertThat(merged).isEqualTo(new JvmModel(75, "Z", null, "1.5", "1g"));
+        assertThat(merged.limits()).isEqualTo(new ResourceLimits("1.5", "1g"));
+        assertThat(JvmModel.of(null).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("generateDeployEntry: the limits are written below deploy.resources.limits")
+    void deployEntry() {
+        assertThat(new ResourceLimits("1.5", "768m").generateDeployEntry(4)).isEqualTo("""
+                    deploy:
+                      resources:
+                        limits:
+                          cpus: "1.5"
+                          memory: 768m
+                """);
+    }
+
+    @Test
+    @DisplayName("Invalid settings are rejected")
+    void invalidSettings() {
+        assertThatThrownBy(() -> new JvmModel(0, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("maxRamPercentage");
+        assertThatThrownBy(() -> new JvmModel(null, "CMS", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Serial, Parallel, G1, Z, Shenandoah");
+        assertThatThrownBy(() -> new JvmModel(null, null, null, "two", null))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("cpus");
+        assertThatThrownBy(() -> new JvmModel(null, null, null, null, "1 GB"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("memory");
+    }
+}
@@ -0,0 +1,72 @@
+package net.magiccode.maven.docker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import net.magiccode.maven.Network;
+
+/**
+ * Tests for {@link NetworkModel}
+ */
+public class NetworkModelTest {
+
+    private Network network(String name, String driver, Integer mtu) {
+        Network network = new Network();
+        network.setName(name);
+        network.setDriver(driver);
+        network.setMtu(mtu);
+        return network;
+    }
+
+    @Test
+    @DisplayName("The MTU becomes a driver option, the entry quotes option values")
+    void mtuAsDriverOption() {
+        Network configured = network("data", "bridge", 1400);
+        configured.setDriverOpts(Map.of("com.docker.network.bridge.name", "br-data"));
+
+        NetworkModel model = NetworkModel.of(configured);
+
+        assertThat(model.driverOpts()).containsEntry(NetworkModel.MTU_OPTION, "1400");
+        assertThat(model.generateNetworkEntry()).isEqualTo("""
+                  data:
+                    driver: bridge
+                    driver_opts:
+                      com.docker.network.bridge.name: "br-data"
+                      com.docker.network.driver.mtu: "1400"
+                """);
+    }
+
+    @Test
+    @DisplayName("A network given by name only is written as empty mapping")
+    void referenceByName() {
+        NetworkModel model = NetworkModel.of(network("backend", null, null));
+
+        assertThat(model.isDefined()).isFalse();
+        assertThat(model.generateNetworkEntry()).isEqualTo("  backend: {}\n");
+    }
+
+    @Test
+    @DisplayName("Merging prefers definitions over references and sorts by name")
+    void mergeByName() {
+        NetworkModel reference = new NetworkModel("data", null, null);
+        NetworkModel definition = new NetworkModel("data", "bridge", new TreeMap<>());
+        NetworkModel other = new NetworkModel("backend", null, null);
+
+        assertThat(NetworkModel.merge(List.of(reference, other, definition))).containsExactly(other, definition);
+        assertThat(NetworkModel.merge(List.of(definition, reference))).containsExactly(definition);
+    }
+
+    @Test
+    @DisplayName("Networks need a name")
+    void nameRequired() {
+        assertThatThrownBy(() -> NetworkModel.of(network(" ", "bridge", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
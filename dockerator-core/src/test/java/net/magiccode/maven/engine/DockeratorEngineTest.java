@@ -0,0 +1,380 @@
+package net.magiccode.maven.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.magiccode.maven.Jvm;
+import net.magiccode.maven.Network;
+import net.magiccode.maven.docker.BuildModel;
+import net.magiccode.maven.docker.ComparingOutput;
+import net.magiccode.maven.docker.DatabaseModel;
+import net.magiccode.maven.docker.ImageBuild;
+import net.magiccode.maven.docker.InfraModel;
+import net.magiccode.maven.docker.NetworkModel;
+import net.magiccode.maven.docker.ResourceLimits;
+import net.magiccode.maven.docker.ServiceModel;
+import net.magiccode.maven.docker.VolumeMapping;
+import net.magiccode.maven.pipeline.ComposeEmitter;
+import net.magiccode.maven.pipeline.DefaultComposeEmitter;
+import net.magiccode.maven.pipeline.DefaultPropertySourceLoader;
+import net.magiccode.maven.pipeline.Pipeline;
+import net.magiccode.maven.pipeline.PropertySource;
+import net.magiccode.maven.pipeline.PropertySourceLoader;
+import net.magiccode.maven.util.PropertyEntry;
+
+/**
+ * Tests for {@link DockeratorEngine}, running without any build tool
+ */
+public class DockeratorEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private void createProject() throws IOException {
+        Files.writeString(tempDir.resolve("pom.xml"), """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modules>
+                        <module>app</module>
+                        <module>lib</module>
+                    </modules>
+                </project>
+                """);
+        Path app = Files.createDirectories(tempDir.resolve("app/src/main/java/demo"));
+        Files.writeString(tempDir.resolve("app/pom.xml"), "<project/>");
+        Files.writeString(app.resolve("App.java"), """
+                package demo;
+
+                @SpringBootApplication
+                public class App {
+                    public static void main(String[] args) {
+                    }
+                }
+                """);
+        Path resources = Files.createDirectories(tempDir.resolve("app/src/main/resources"));
+        Files.writeString(resources.resolve("application.properties"), """
+                # DockerInclude
+                server.port=8081
+                app.internal=hidden
+                """);
+        Files.createDirectories(tempDir.resolve("lib"));
+        Files.writeString(tempDir.resolve("lib/pom.xml"), "<project/>");
+    }
+
+    private EngineSettings settings() {
+        return EngineSettings.builder()
+                .basedir(tempDir.toFile())
+                .outputDir(tempDir.resolve("docker").toString())
+                .projectName("demo")
+                .version("1.0.0")
+                .imagePrefix("registry/")
+                .build();
+    }
+
+    @Test
+    @DisplayName("buildModel: only runnable modules become services, nothing is written")
+    void buildModel() throws IOException {
+        createProject();
+
+        BuildModel model = new DockeratorEngine(settings()).buildModel();
+
+        List<ServiceModel> services = model.profile("").moduleServices();
+        assertThat(services).extracting(ServiceModel::name).containsExactly("app");
+        assertThat(services.get(0).ports()).containsExactly("8081");
+        assertThat(tempDir.resolve("docker")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("generate writes the compose files, verify accepts them afterwards")
+    void generateAndVerify() throws IOException {
+        createProject();
+
+        new DockeratorEngine(settings()).generate();
+
+        Path compose = tempDir.resolve("docker/docker-compose.yml");
+        assertThat(compose).exists();
+        assertThat(Files.readString(compose)).contains("image: registry/app:1.0.0").doesNotContain("lib:");
+        assertThat(tempDir.resolve("docker/docker-compose-app.yml")).exists();
+
+        ComparingOutput output = new ComparingOutput();
+        new DockeratorEngine(settings()).verify(output);
+        assertThat(output.checkedFiles()).contains(compose);
+    }
+
+    @Test
+    @DisplayName("generate writes one database container per distinct datasource")
+    void databases() throws IOException {
+        createProject();
+        Files.writeString(tempDir.resolve("app/src/main/resources/application.properties"), """
+                # DockerInclude
+                server.port=8081
+                spring.datasource.url=jdbc:postgresql://localhost:5432/shop
+                spring.datasource.username=shop
+                spring.datasource.password=secret
+                """);
+
+        BuildModel model = new DockeratorEngine(settings()).generate();
+
+        assertThat(model.profile("").databases()).extracting(DatabaseModel::name).containsExactly("postgres-shop");
+        assertThat(Files.readString(tempDir.resolve("docker/docker-compose-db.yml")))
+                .contains("image: postgres:16", "- POSTGRES_DB=shop", "- POSTGRES_USER=shop", "- \"5432:5432\"")
+                .doesNotContain("mysql");
+    }
+
+    @Test
+    @DisplayName("generate writes one infrastructure container per backing service and points the services at it")
+    void backingServices() throws IOException {
+        createProject();
+        Files.writeString(tempDir.resolve("app/src/main/resources/application.properties"), """
+                # DockerInclude
+                server.port=8081
+                spring.data.redis.host=localhost
+                spring.kafka.bootstrap-servers=localhost:9092
+                """);
+
+        BuildModel model = new DockeratorEngine(settings()).generate();
+
+        assertThat(model.profile("").infrastructure()).extracting(InfraModel::name).containsExactly("redis", "kafka");
+        assertThat(model.profile("").moduleService("app").environment())
+                .containsEntry("SPRING_DATA_REDIS_HOST", "redis")
+                .containsEntry("SPRING_KAFKA_BOOTSTRAP_SERVERS", "kafka:9092");
+        assertThat(Files.readString(tempDir.resolve("docker/docker-compose-infra.yml")))
+                .contains("image: redis:7", "- \"6379:6379\"", "image: apache/kafka:3.8.0", "- \"9092:9094\"");
+    }
+
+    @Test
+    @DisplayName("JVM settings of the parent and the .dockerator file of the module tune the service")
+    void jvmTuning() throws IOException {
+        createProject();
+        Files.writeString(tempDir.resolve("app/.dockerator"), "jvm:\n  gc: Z\n  memory: 1g\n");
+        Jvm jvm = new Jvm();
+        jvm.setMaxRamPercentage(75);
+        jvm.setGc("G1");
+        jvm.setCpus("1.5");
+        EngineSettings settings = settings();
+        settings.setJvm(jvm);
+
+        BuildModel model = new DockeratorEngine(settings).generate();
+
+        ServiceModel app = model.profile("").moduleService("app");
+        assertThat(app.environment()).containsEntry("JAVA_TOOL_OPTIONS", "-XX:MaxRAMPercentage=75 -XX:+UseZGC");
+        assertThat(app.limits()).isEqualTo(new ResourceLimits("1.5", "1g"));
+        assertThat(Files.readString(tempDir.resolve("docker/docker-compose-app.yml")))
+                .contains("deploy:", "cpus: \"1.5\"", "memory: 1g");
+    }
+
+    @Test
+    @DisplayName("appCds adds the archive options, a volume per service and the training runs")
+    void appCds() throws IOException {
+        createProject();
+        Jvm jvm = new Jvm();
+        jvm.setMaxRamPercentage(75);
+        EngineSettings settings = settings();
+        settings.setJvm(jvm);
+        settings.setAppCds(true);
+
+        BuildModel model = new DockeratorEngine(settings).generate();
+
+        ServiceModel app = model.profile("").moduleService("app");
+        assertThat(app.appCds()).isTrue();
+        assertThat(app.environment()).containsEntry("JAVA_TOOL_OPTIONS",
+                "-XX:MaxRAMPercentage=75 -XX:SharedArchiveFile=/cds/app.jsa -XX:+AutoCreateSharedArchive");
+        assertThat(app.volumes()).extracting(VolumeMapping::getExternal).contains("app-cds");
+        assertThat(Files.readString(tempDir.resolve("docker/docker-compose-app.yml")))
+                .contains("  app-cds-training:\n", "- cds-training", "-Dspring.context.exit=onRefresh", "volumes:\n  app-cds:\n");
+    }
+
+    @Test
+    @DisplayName("dockerfiles writes a layered Dockerfile per service and points the build sections at it")
+    void dockerfiles() throws IOException {
+        createProject();
+        EngineSettings settings = settings();
+        settings.setDockerfiles(true);
+        settings.setBaseImage("eclipse-temurin:17-jre");
+
+        BuildModel model = new DockeratorEngine(settings).generate();
+
+        ServiceModel app = model.profile("").moduleService("app");
+        assertThat(app.build()).isEqualTo(new ImageBuild("../app", "../docker/app.Dockerfile", "target/*.jar",
+                "eclipse-temurin:17-jre"));
+        assertThat(Files.readString(tempDir.resolve("docker/docker-compose.yml")))
+                .contains("    build:\n      context: ../app\n      dockerfile: ../docker/app.Dockerfile\n");
+        assertThat(Files.readString(tempDir.resolve("docker/app.Dockerfile")))
+                .contains("FROM eclipse-temurin:17-jre AS builder", "extract --layers", "EXPOSE 8081");
+    }
+
+    @Test
+    @DisplayName("libraries of nested aggregators may share a name, runnable modules are rejected unless one is excluded")
+    void duplicateModuleNames() throws IOException {
+        Files.writeString(tempDir.resolve("pom.xml"), """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modules>
+                        <module>a</module>
+                        <module>b</module>
+                    </modules>
+                </project>
+                """);
+        for (String aggregator : List.of("a", "b")) {
+            Files.createDirectories(tempDir.resolve(aggregator + "/api"));
+            Files.writeString(tempDir.resolve(aggregator + "/pom.xml"), """
+                    <project xmlns="http://maven.apache.org/POM/4.0.0">
+                        <modules>
+                            <module>api</module>
+                        </modules>
+                    </project>
+                    """);
+            Files.writeString(tempDir.resolve(aggregator + "/api/pom.xml"), "<project/>");
+        }
+
+        assertThat(new DockeratorEngine(settings()).generate().profile("").moduleServices()).isEmpty();
+
+        for (String aggregator : List.of("a", "b")) {
+            Path sources = Files.createDirectories(tempDir.resolve(aggregator + "/api/src/main/java/demo"));
+            Files.writeString(sources.resolve("App.java"), """
+                    package demo;
+
+                    @SpringBootApplication
+                    public class App {
+                        public static void main(String[] args) {
+                        }
+                    }
+                    """);
+        }
+
+        assertThatThrownBy(() -> new DockeratorEngine(settings()).generate())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("a/api")
+                .hasMessageContaining("b/api");
+
+        EngineSettings settings = settings();
+        settings.setExcludeModules(List.of("b/api"));
+        assertThat(new DockeratorEngine(settings).generate().profile("").moduleServices())
+                .extracting(ServiceModel::name)
+                .containsExactly("api");
+    }
+
+    @Test
+    @DisplayName("changedSince rebuilds unchanged modules whose settings or project .dockerator file changed")
+    void changedSinceRebuildsStaleServices() throws IOException, InterruptedException {
+        createProject();
+        git("init", "-q");
+        git("add", ".");
+        git("-c", "user.name=test", "-c", "user.email=test@example.com", "commit", "-q", "-m", "initial");
+        EngineSettings settings = settings();
+        settings.setChangedSince("HEAD");
+        settings.setModelCacheFile(tempDir.resolve("cache/model.bin").toFile());
+        new DockeratorEngine(settings).generate();
+
+        settings.setImagePrefix("other/");
+        ServiceModel app = new DockeratorEngine(settings).generate().profile("").moduleServices().get(0);
+        assertThat(app.imagePrefix()).isEqualTo("other/");
+
+        Files.writeString(tempDir.resolve(".dockerator"), """
+                environment:
+                  TZ: UTC
+                """);
+        app = new DockeratorEngine(settings).generate().profile("").moduleServices().get(0);
+        assertThat(app.environment()).containsEntry("TZ", "UTC");
+    }
+
+    private void git(String... arguments) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(arguments));
+        Process process = new ProcessBuilder(command).directory(tempDir.toFile()).inheritIO().start();
+        assertThat(process.waitFor()).isZero();
+    }
+
+    @Test
+    @DisplayName("include patterns select properties without DockerInclude comments, the target is left untouched")
+    void includePatterns() throws IOException {
+        createProject();
+        Path resources = tempDir.resolve("app/src/main/resources");
+        Files.writeString(resources.resolve("application.yml"), """
+                app:
+                  feature:
+                    search: true
+                  internal: hidden
+                """);
+        Path processed = Files.createDirectories(tempDir.resolve("target/classes")).resolve("application.properties");
+        Files.writeString(processed, "# DockerInclude\nserver.port=8081\n");
+        EngineSettings settings = settings();
+        settings.setIncludes(List.of("app.feature.**", "server.*"));
+        settings.setExcludes(List.of("app.internal"));
+
+        BuildModel model = new DockeratorEngine(settings).generate();
+
+        ServiceModel app = model.profile("").moduleServices().get(0);
+        assertThat(app.environment()).containsKeys("APP_FEATURE_SEARCH", "SERVER_PORT").doesNotContainKey("APP_INTERNAL");
+        assertThat(app.ports()).containsExactly("8081");
+        assertThat(Files.readString(processed)).contains("# DockerInclude");
+    }
+
+    @Test
+    @DisplayName(".dockerator files of project and module add volumes, environment variables and networks")
+    void descriptors() throws IOException {
+        createProject();
+        Files.writeString(tempDir.resolve(".dockerator"), """
+                volumes:
+                  - ../ssl:/opt/ssl
+                environment:
+                  TZ: UTC
+                  LOG_LEVEL: info
+                """);
+        Files.writeString(tempDir.resolve("app/.dockerator"), """
+                volumes:
+                  - ./data:/var/data
+                environment:
+                  LOG_LEVEL: debug
+                networks:
+                  - backend
+                """);
+        EngineSettings settings = settings();
+        Network backend = new Network();
+        backend.setName("backend");
+        backend.setMtu(1400);
+        settings.setNetworks(List.of(backend));
+
+        BuildModel model = new DockeratorEngine(settings).buildModel();
+
+        ServiceModel app = model.profile("").moduleServices().get(0);
+        assertThat(app.environment()).containsEntry("TZ", "UTC").containsEntry("LOG_LEVEL", "debug");
+        assertThat(app.volumes()).extracting(VolumeMapping::getInternal).containsExactly("/opt/ssl", "/var/data");
+        // the module refers to the network defined on parent level
+        assertThat(app.networks()).singleElement()
+                .satisfies(network -> assertThat(network.driverOpts()).containsEntry(NetworkModel.MTU_OPTION, "1400"));
+    }
+
+    @Test
+    @DisplayName("custom stages: an additional property source and emitter take part in the generation")
+    void customStages() throws IOException {
+        createProject();
+        PropertySourceLoader secrets = module -> List.of(new PropertySource(module.directory().toPath().resolve("secrets"),
+                PropertySource.Format.PROPERTIES, List.of(new PropertyEntry("app.secret", "s3cr3t", true))));
+        ComposeEmitter summary = (context, profile, profileModel) -> {
+            try (Writer writer = context.output().open(Path.of(context.outputDir(), "services.txt"))) {
+                writer.write(String.join(",", profileModel.moduleServices().stream().map(ServiceModel::name).toList()));
+            }
+        };
+        Pipeline pipeline = Pipeline.defaults().toBuilder()
+                .propertySourceLoaders(List.of(new DefaultPropertySourceLoader(), secrets))
+                .composeEmitters(List.of(new DefaultComposeEmitter(), summary))
+                .build();
+        EngineSettings settings = settings();
+        settings.setPipeline(pipeline);
+
+        new DockeratorEngine(settings).generate();
+
+        assertThat(tempDir.resolve("docker/services.txt")).hasContent("app");
+        assertThat(Files.readString(tempDir.resolve("docker/.env"))).contains("s3cr3t");
+    }
+}
@@ -0,0 +1,68 @@
+package net.magiccode.maven.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.magiccode.maven.docker.ProfileModel;
+
+/**
+ * Unit tests for {@link Pipeline}
+ */
+public class PipelineTest {
+
+    /** replaces the default discovery */
+    public static class FixedDiscovery implements ModuleDiscovery {
+        @Override
+        public List<File> discoverModules(ProjectContext project) {
+            return List.of(new File(project.basedir(), "app"));
+        }
+    }
+
+    /** runs after the default emitter */
+    public static class NoopEmitter implements ComposeEmitter {
+        @Override
+        public void emit(EmitContext context, String profile, ProfileModel profileModel) {
+        }
+    }
+
+    @Test
+    @DisplayName("load: the default stages without providers")
+    void defaults() {
+        Pipeline pipeline = Pipeline.load(PipelineTest.class.getClassLoader());
+
+        assertThat(pipeline.stageNames()).containsExactly(DefaultModuleDiscovery.class.getName(),
+                DefaultRunnableDetector.class.getName(), DefaultPropertySourceLoader.class.getName(),
+                DefaultPropertyExtractor.class.getName(), RedisDetector.class.getName(), KafkaDetector.class.getName(),
+                RabbitMqDetector.class.getName(), DefaultComposeOptimizer.class.getName(),
+                DefaultComposeEmitter.class.getName());
+    }
+
+    @Test
+    @DisplayName("load: providers replace single stages and are added to emitters")
+    void providers(@TempDir Path tempDir) throws Exception {
+        Path services = Files.createDirectories(tempDir.resolve("META-INF/services"));
+        Files.writeString(services.resolve(ModuleDiscovery.class.getName()), FixedDiscovery.class.getName() + "\n");
+        Files.writeString(services.resolve(ComposeEmitter.class.getName()), "# extra emitter\n" + NoopEmitter.class.getName() + "\n");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { tempDir.toUri().toURL() },
+                PipelineTest.class.getClassLoader())) {
+            Pipeline pipeline = Pipeline.load(classLoader);
+
+            assertThat(pipeline.getModuleDiscovery()).isInstanceOf(FixedDiscovery.class);
+            assertThat(pipeline.getRunnableDetector()).isInstanceOf(DefaultRunnableDetector.class);
+            assertThat(pipeline.getComposeEmitters()).hasSize(2)
+                    .first().isInstanceOf(DefaultComposeEmitter.class);
+            assertThat(pipeline.getComposeEmitters().get(1)).isInstanceOf(NoopEmitter.class);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package net.magiccode.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link GitChangeDetector}
+ */
+public class GitChangeDetectorTest {
+
+    private final Path basedir = Path.of("/work/project");
+    private final List<File> modules = List.of(
+            basedir.resolve("services").toFile(),
+            basedir.resolve("services/api").toFile(),
+            basedir.resolve("services/gateway").toFile(),
+            basedir.resolve("tools").toFile());
+
+    @Test
+    @DisplayName("Changed files are assigned to the innermost module containing them")
+    void filesMapToInnermostModule() {
+        assertThat(GitChangeDetector.changedModules(basedir,
+                List.of("services/api/src/main/resources/application.yml", "tools/pom.xml", "README.md"), modules))
+                .containsExactly("api", "tools");
+    }
+
+    @Test
+    @DisplayName("A changed parent or aggregator pom marks all modules below it as changed")
+    void parentPomChangesAllModulesBelow() {
+        assertThat(GitChangeDetector.changedModules(basedir, List.of("services/pom.xml"), modules))
+                .containsExactly("api", "gateway", "services");
+        assertThat(GitChangeDetector.changedModules(basedir, List.of("pom.xml"), modules))
+                .containsExactly("api", "gateway", "services", "tools");
+    }
+
+    @Test
+    @DisplayName("The .dockerator file and the Gradle scripts of the project mark all modules as changed")
+    void projectInputsChangeAllModules() {
+        assertThat(GitChangeDetector.changedModules(basedir, List.of(".dockerator"), modules))
+                .containsExactly("api", "gateway", "services", "tools");
+        assertThat(GitChangeDetector.changedModules(basedir, List.of("settings.gradle.kts"), modules))
+                .containsExactly("api", "gateway", "services", "tools");
+        assertThat(GitChangeDetector.changedModules(basedir, List.of("services/api/.dockerator"), modules))
+                .containsExactly("api");
+    }
+}
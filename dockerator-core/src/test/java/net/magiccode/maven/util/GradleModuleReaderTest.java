@@ -0,0 +1,55 @@
+package net.magiccode.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link GradleModuleReader}
+ */
+public class GradleModuleReaderTest {
+
+    @Test
+    @DisplayName("settingsFile: finds settings.gradle.kts, null without settings script")
+    void settingsFile(@TempDir Path tempDir) throws Exception {
+        assertThat(GradleModuleReader.settingsFile(tempDir)).isNull();
+
+        Files.writeString(tempDir.resolve("settings.gradle.kts"), "");
+
+        assertThat(GradleModuleReader.settingsFile(tempDir)).isEqualTo(tempDir.resolve("settings.gradle.kts"));
+    }
+
+    @Test
+    @DisplayName("includedProjects: reads Groovy and Kotlin include statements, ignores comments")
+    void includedProjects(@TempDir Path tempDir) throws Exception {
+        Path settings = tempDir.resolve("settings.gradle");
+        Files.writeString(settings, """
+                rootProject.name = 'shop'
+                include 'app', ':services:payments'
+                include(":services:orders",
+                        ":lib")
+                // include 'commented'
+                /* include 'block'
+                 */
+                include 'app'
+                """);
+
+        assertThat(GradleModuleReader.includedProjects(settings))
+                .containsExactly("app", "services/payments", "services/orders", "lib");
+        assertThat(GradleModuleReader.rootProjectName(settings)).isEqualTo("shop");
+    }
+
+    @Test
+    @DisplayName("rootProjectName: null if not set")
+    void rootProjectNameNotSet(@TempDir Path tempDir) throws Exception {
+        Path settings = tempDir.resolve("settings.gradle.kts");
+        Files.writeString(settings, "include(\"app\")\n");
+
+        assertThat(GradleModuleReader.rootProjectName(settings)).isNull();
+    }
+}
@@ -4,11 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
-import org.apache.maven.plugin.MojoExecutionException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -26,7 +26,7 @@ public class ModuleHelperTest {
                 .build();
 
         assertThatThrownBy(() -> helper.getModules())
-                .isInstanceOf(MojoExecutionException.class)
+                .isInstanceOf(FileNotFoundException.class)
                 .hasMessageContaining("Parent pom.xml not found");
     }
 
@@ -234,4 +234,65 @@ public class ModuleHelperTest {
         boolean isRunnable = helper.isRunnableModule(tempDir.toFile());
         assertThat(isRunnable).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getModules: follows nested aggregators and modules of active profiles")
+    void getModulesNestedAndProfiles(@TempDir Path tempDir) throws Exception {
+        Files.writeString(tempDir.resolve("pom.xml"), """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modules><module>services</module></modules>
+                    <profiles>
+                        <profile>
+                            <id>tools</id>
+                            <modules><module>tool</module></modules>
+                        </profile>
+                        <profile>
+                            <id>default</id>
+                            <activation><activeByDefault>true</activeByDefault></activation>
+                            <modules><module>demo</module></modules>
+                        </profile>
+                    </profiles>
+                </project>
+                """);
+        Files.createDirectories(tempDir.resolve("services/api"));
+        Files.writeString(tempDir.resolve("services/pom.xml"),
+                "<project><modules>\n<module>api</module><module>gateway</module>\n</modules></project>");
+        Files.writeString(tempDir.resolve("services/api/pom.xml"), "<project/>");
+        Files.createDirectories(tempDir.resolve("services/gateway"));
+        Files.writeString(tempDir.resolve("services/gateway/pom.xml"), "<project/>");
+        Files.createDirectories(tempDir.resolve("tool"));
+        Files.writeString(tempDir.resolve("tool/pom.xml"), "<project/>");
+        Files.createDirectories(tempDir.resolve("demo"));
+        Files.writeString(tempDir.resolve("demo/pom.xml"), "<project/>");
+
+        List<File> withDefaults = ModuleHelper.builder().basedir(tempDir.toFile()).build().getModules();
+        assertThat(withDefaults.stream().map(File::getName))
+                .containsExactly("services", "api", "gateway", "demo");
+
+        List<File> withTools = ModuleHelper.builder()
+                .basedir(tempDir.toFile())
+                .activeProfiles(List.of("tools"))
+                .build()
+                .getModules();
+        assertThat(withTools.stream().map(File::getName))
+                .containsExactly("services", "api", "gateway", "tool");
+    }
+
+    @Test
+    @DisplayName("getModules: falls back to the projects of settings.gradle without pom.xml")
+    void getModulesGradleSettings(@TempDir Path tempDir) throws Exception {
+        Files.writeString(tempDir.resolve("settings.gradle.kts"), """
+                rootProject.name = "shop"
+                include(":app", ":services:payments", ":missing")
+                """);
+        Files.createDirectories(tempDir.resolve("app"));
+        Files.createDirectories(tempDir.resolve("services/payments"));
+
+        ModuleHelper helper = ModuleHelper.builder()
+                .basedir(tempDir.toFile())
+                .build();
+
+        assertThat(helper.getModules()).extracting(File::toPath)
+                .containsExactly(tempDir.resolve("app"), tempDir.resolve("services/payments"));
+    }
+}
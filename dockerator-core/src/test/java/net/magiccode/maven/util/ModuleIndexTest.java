@@ -0,0 +1,64 @@
+package net.magiccode.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ModuleIndex}
+ */
+public class ModuleIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String relativePath) throws IOException {
+        Path file = tempDir.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, "content");
+    }
+
+    @Test
+    @DisplayName("build: indexes sources and resources, skips target, node_modules, .git and nested modules")
+    void indexesModule() throws IOException {
+        Path app = write("src/main/java/com/example/App.java");
+        Path properties = write("src/main/resources/application.properties");
+        write("target/generated-sources/Generated.java");
+        write("node_modules/lib/application.properties");
+        write(".git/config");
+        Path nested = write("nested/src/main/resources/application.properties");
+        Path output = write("target/classes/application.properties");
+
+        ModuleIndex index = ModuleIndex.build(tempDir, List.of(tempDir.resolve("nested")));
+
+        assertThat(index.javaSources().keySet()).containsExactly(app);
+        assertThat(index.filesNamed("application.properties")).containsExactly(properties);
+        assertThat(index.exists(properties)).isTrue();
+        assertThat(index.exists(tempDir.resolve("src/main/resources/application.yml"))).isFalse();
+        assertThat(index.containsFilesIn(tempDir.resolve("src/main/resources"))).isTrue();
+        assertThat(index.containsFilesIn(tempDir.resolve("config"))).isFalse();
+        // the top level of the output directory and excluded directories are still answered correctly
+        assertThat(index.outputFiles()).containsExactly(output);
+        assertThat(index.exists(output)).isTrue();
+        assertThat(index.exists(nested)).isTrue();
+    }
+
+    @Test
+    @DisplayName("isRunnableModule: uses the java sources of the index")
+    void runnableFromIndex() throws IOException {
+        Path app = tempDir.resolve("src/main/java/App.java");
+        Files.createDirectories(app.getParent());
+        Files.writeString(app, "public class App { public static void main(String[] args) {} }");
+
+        ModuleHelper helper = ModuleHelper.builder().basedir(tempDir.toFile()).build();
+
+        assertThat(helper.isRunnableModule(ModuleIndex.build(tempDir, List.of()))).isTrue();
+    }
+}
@@ -0,0 +1,60 @@
+package net.magiccode.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ModuleSelector}
+ */
+public class ModuleSelectorTest {
+
+    private final File basedir = new File("/work/project");
+
+    private File module(String relativePath) {
+        return new File(basedir, relativePath);
+    }
+
+    @Test
+    @DisplayName("Without patterns all modules but the skipped ones are selected")
+    void noPatterns() {
+        ModuleSelector selector = ModuleSelector.of(basedir, null, null, List.of("demo-core"));
+
+        assertThat(selector.isSelected(module("services/api"))).isTrue();
+        assertThat(selector.isSelected(module("demo-core"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Glob includes match the relative path, excludes win over includes")
+    void globIncludesAndExcludes() {
+        ModuleSelector selector = ModuleSelector.of(basedir, List.of("services/payments-*"),
+                List.of("payments-legacy"), null);
+
+        assertThat(selector.isSelected(module("services/payments-api"))).isTrue();
+        assertThat(selector.isSelected(module("services/payments-legacy"))).isFalse();
+        assertThat(selector.isSelected(module("services/orders"))).isFalse();
+        assertThat(selector.isSelected(module("tools/payments-cli"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Patterns without '/' also match the module name, regex patterns are supported")
+    void namePatternsAndRegex() {
+        ModuleSelector selector = ModuleSelector.of(basedir, List.of("*-service"), List.of("regex:.*-(test|it)-service"), null);
+
+        assertThat(selector.isSelected(module("a/b/orders-service"))).isTrue();
+        assertThat(selector.isSelected(module("a/orders-it-service"))).isFalse();
+        assertThat(selector.isSelected(module("a/orders"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Invalid patterns are rejected when compiled")
+    void invalidPattern() {
+        assertThatThrownBy(() -> ModuleSelector.of(basedir, List.of("regex:(unclosed"), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package net.magiccode.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ParallelIo} and {@link IoExecutors}
+ */
+public class ParallelIoTest {
+
+    private final ExecutorService executor = IoExecutors.newExecutor("test-io");
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("map: results keep the order of the elements, tasks run on the executor")
+    void keepsOrder() throws IOException {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> results = ParallelIo.map(executor, List.of(5, 1, 4, 2, 3), value -> {
+            threads.add(Thread.currentThread().getName());
+            try {
+                Thread.sleep(value * 10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value * 2;
+        });
+
+        assertThat(results).containsExactly(10, 2, 8, 4, 6);
+        assertThat(threads).allMatch(name -> name.startsWith("test-io-"));
+    }
+
+    @Test
+    @DisplayName("map: without executor the function runs in the calling thread")
+    void sequentialWithoutExecutor() throws IOException {
+        String caller = Thread.currentThread().getName();
+
+        List<String> results = ParallelIo.map(null, List.of("a", "b"), value -> value + Thread.currentThread().getName());
+
+        assertThat(results).containsExactly("a" + caller, "b" + caller);
+    }
+
+    @Test
+    @DisplayName("map: an IOException of a task is rethrown as it is")
+    void rethrowsIOException() {
+        assertThatThrownBy(() -> ParallelIo.map(executor, List.of("ok", "broken", "ok"), value -> {
+            if (value.equals("broken")) {
+                throw new IOException("cannot read " + value);
+            }
+            return value;
+        })).isInstanceOf(IOException.class)
+           .hasMessage("cannot read broken");
+    }
+}
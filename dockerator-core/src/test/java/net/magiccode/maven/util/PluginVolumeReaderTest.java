@@ -0,0 +1,79 @@
+package net.magiccode.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.magiccode.maven.Volume;
+
+/**
+ * Tests for {@link PluginVolumeReader}
+ */
+public class PluginVolumeReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("pom.xml: volumes of other plugins, profiles and dependencies are ignored")
+    void onlyOwnPluginIsRead() throws IOException {
+        Path pom = Files.writeString(tempDir.resolve("pom.xml"), """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <dependencies>
+                        <dependency>
+                            <artifactId>spring-dockerator-plugin</artifactId>
+                        </dependency>
+                    </dependencies>
+                    <build>
+                        <plugins>
+                            <plugin>
+                                <artifactId>other-plugin</artifactId>
+                                <configuration>
+                                    <volumes>
+                                        <volume><external>./other</external><internal>/other</internal></volume>
+                                    </volumes>
+                                </configuration>
+                            </plugin>
+                            <plugin>
+                                <configuration>
+                                    <volumes>
+                                        <volume><external>./data</external><internal>/var/data</internal></volume>
+                                        <volume external="../ssl" internal="/opt/ssl"/>
+                                    </volumes>
+                                </configuration>
+                                <artifactId>spring-dockerator-plugin</artifactId>
+                            </plugin>
+                        </plugins>
+                    </build>
+                    <profiles>
+                        <profile>
+                            <build>
+                                <plugins>
+                                    <plugin>
+                                        <artifactId>spring-dockerator-plugin</artifactId>
+                                        <configuration>
+                                            <volumes>
+                                                <volume><external>./profile</external><internal>/profile</internal></volume>
+                                            </volumes>
+                                        </configuration>
+                                    </plugin>
+                                </plugins>
+                            </build>
+                        </profile>
+                    </profiles>
+                </project>
+                """);
+
+        List<Volume> volumes = PluginVolumeReader.fromPom(pom, "module");
+
+        assertThat(volumes).extracting(Volume::getExternal).containsExactly("./data", "../ssl");
+        assertThat(volumes).extracting(Volume::getInternal).containsExactly("/var/data", "/opt/ssl");
+    }
+}
@@ -0,0 +1,105 @@
+package net.magiccode.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link PropertyFileParser}
+ */
+public class PropertyFileParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Properties: all entries are returned, marked entries are flagged as included")
+    void parsesProperties() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("application.properties"), """
+                # DockerInclude
+                server.port=8081
+                spring.datasource.url=jdbc:mysql://db/app
+                # a plain comment
+                logging.level.root=INFO
+                """);
+
+        List<PropertyEntry> entries = PropertyFileParser.builder().build().parseProperties(file);
+
+        assertThat(entries).containsExactly(
+                new PropertyEntry("server.port", "8081", true),
+                new PropertyEntry("spring.datasource.url", "jdbc:mysql://db/app", false),
+                new PropertyEntry("logging.level.root", "INFO", false));
+    }
+
+    @Test
+    @DisplayName("YAML: only marked leaves are returned, with docker formatted keys")
+    void parsesYaml() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("application.yml"), """
+                server:
+                  # DockerInclude
+                  port: 8082
+                spring:
+                  application:
+                    name: demo
+                """);
+
+        List<PropertyEntry> entries = PropertyFileParser.builder().build().parseYaml(file);
+
+        assertThat(entries).containsExactly(new PropertyEntry("SERVER_PORT", "8082", true));
+    }
+
+    @Test
+    @DisplayName("YAML as properties: all leaves are returned with Spring keys, marked leaves are flagged")
+    void parsesYamlProperties() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("application.yml"), """
+                server:
+                  # DockerInclude
+                  port: 8082
+                spring:
+                  datasource:
+                    url: jdbc:postgresql://db/app
+                """);
+
+        List<PropertyEntry> entries = PropertyFileParser.builder().build().parseYamlProperties(file);
+
+        assertThat(entries).containsExactly(
+                new PropertyEntry("server.port", "8082", true),
+                new PropertyEntry("spring.datasource.url", "jdbc:postgresql://db/app", false));
+    }
+
+    @Test
+    @DisplayName("With the JVM cache enabled, unchanged files return the cached result")
+    void usesJvmCache() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("cached.properties"), "# DockerInclude\nkey=value\n");
+        PropertyFileParser parser = PropertyFileParser.builder().useJvmCache(true).build();
+
+        List<PropertyEntry> first = parser.parseProperties(file);
+        List<PropertyEntry> second = parser.parseProperties(file);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Yaml: syntax errors of a half-saved file are reported as IOException")
+    void reportsInvalidYaml() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("application.yml"), """
+                server:
+                  port: 8081
+                 spring: [unclosed
+                """);
+        PropertyFileParser parser = PropertyFileParser.builder().build();
+
+        assertThatThrownBy(() -> parser.parseYaml(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("application.yml");
+        assertThatThrownBy(() -> parser.parseYamlProperties(file)).isInstanceOf(IOException.class);
+    }
+}
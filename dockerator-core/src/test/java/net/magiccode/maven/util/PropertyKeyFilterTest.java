@@ -0,0 +1,72 @@
+package net.magiccode.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PropertyKeyFilter}
+ */
+public class PropertyKeyFilterTest {
+
+    @Test
+    @DisplayName("Without patterns exactly the marked properties are selected")
+    void noPatterns() {
+        PropertyKeyFilter filter = PropertyKeyFilter.of(null, List.of());
+
+        assertThat(filter.isEmpty()).isTrue();
+        assertThat(filter.hasIncludes()).isFalse();
+        assertThat(filter.isSelected("server.port", true)).isTrue();
+        assertThat(filter.isSelected("server.port", false)).isFalse();
+    }
+
+    @Test
+    @DisplayName("'*' matches exactly one segment, '**' any number of trailing segments")
+    void wildcards() {
+        PropertyKeyFilter filter = PropertyKeyFilter.of(List.of("spring.datasource.*", "app.feature.**", "server.port"), null);
+
+        assertThat(filter.isSelected("spring.datasource.url", false)).isTrue();
+        assertThat(filter.isSelected("spring.datasource.hikari.maximum-pool-size", false)).isFalse();
+        assertThat(filter.isSelected("spring.datasource", false)).isFalse();
+        assertThat(filter.isSelected("app.feature", false)).isTrue();
+        assertThat(filter.isSelected("app.feature.search.enabled", false)).isTrue();
+        assertThat(filter.isSelected("app.features", false)).isFalse();
+        assertThat(filter.isSelected("server.port", false)).isTrue();
+        assertThat(filter.isSelected("server.address", false)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Keys are matched case-insensitively, indexes count as segments")
+    void caseAndIndexes() {
+        PropertyKeyFilter filter = PropertyKeyFilter.of(List.of("app.hosts.*"), null);
+
+        assertThat(filter.isSelected("APP.Hosts.primary", false)).isTrue();
+        assertThat(filter.isSelected("app.hosts[0]", false)).isTrue();
+        assertThat(filter.isSelected("app.hosts[0].name", false)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Excludes win over includes and DockerInclude comments")
+    void excludesWin() {
+        PropertyKeyFilter filter = PropertyKeyFilter.of(List.of("spring.datasource.**"), List.of("spring.datasource.password"));
+
+        assertThat(filter.isSelected("spring.datasource.username", false)).isTrue();
+        assertThat(filter.isSelected("spring.datasource.password", false)).isFalse();
+        assertThat(filter.isSelected("spring.datasource.password", true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Invalid patterns are rejected")
+    void invalidPatterns() {
+        assertThatThrownBy(() -> PropertyKeyFilter.of(List.of("app..feature"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PropertyKeyFilter.of(List.of("app.**.enabled"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PropertyKeyFilter.of(null, List.of("app.feat*")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
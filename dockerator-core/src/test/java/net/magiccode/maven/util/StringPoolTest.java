@@ -0,0 +1,41 @@
+package net.magiccode.maven.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link StringPool}
+ */
+public class StringPoolTest {
+
+    @Test
+    @DisplayName("intern: equal strings resolve to the first instance handed in")
+    void internReturnsCanonicalInstance() {
+        StringPool pool = new StringPool();
+        String first = new String("SPRING_PROFILES_ACTIVE");
+        String second = new String("SPRING_PROFILES_ACTIVE");
+
+        assertThat(pool.intern(first)).isSameAs(first);
+        assertThat(pool.intern(second)).isSameAs(first);
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("intern: null is passed through and not pooled")
+    void internNull() {
+        StringPool pool = new StringPool();
+        assertThat(pool.intern(null)).isNull();
+        assertThat(pool.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("intern: separate pools do not share instances")
+    void poolsAreIndependent() {
+        String value = new String("8080");
+        new StringPool().intern(value);
+        String other = new String("8080");
+        assertThat(new StringPool().intern(other)).isSameAs(other);
+    }
+}
@@ -0,0 +1,46 @@
+package net.magiccode.maven;
+
+import java.io.IOException;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import net.magiccode.maven.docker.ComparingOutput;
+import net.magiccode.maven.engine.DockeratorEngine;
+
+/**
+ * Mojo verifying that the docker compose files on disk (e.g. those committed to the repository)
+ * are up to date, without writing anything. The generated content is compared line by line with
+ * the files while it is emitted, and the build fails at the first difference, reporting the file
+ * and line. The generation timestamp is ignored.
+ * <p>
+ * A valid model cache is reused, so unchanged projects are checked without parsing any properties
+ * or yml files.
+ * </p>
+ *
+ * @author CodeWeazle
+ */
+@Mojo(name = "check", defaultPhase = LifecyclePhase.VERIFY)
+public class CheckMojo extends DockerComposePlugin {
+
+	private final ComparingOutput output = new ComparingOutput();
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		try {
+			super.execute();
+		} catch (MojoFailureException e) {
+			getLog().error(e.getMessage());
+			getLog().error("Run spring-dockerator:generate-docker-compose to update the docker compose files");
+			throw e;
+		}
+		getLog().info(output.checkedFiles().size() + " docker compose file(s) are up to date");
+	}
+
+	@Override
+	protected void run(DockeratorEngine engine) throws IOException {
+		engine.verify(output);
+	}
+}
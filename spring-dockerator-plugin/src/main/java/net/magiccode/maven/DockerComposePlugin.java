@@ -0,0 +1,273 @@
+package net.magiccode.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.Profile;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import net.magiccode.maven.docker.DatabaseMode;
+import net.magiccode.maven.docker.OutdatedFileException;
+import net.magiccode.maven.engine.DockeratorEngine;
+import net.magiccode.maven.engine.EngineSettings;
+import net.magiccode.maven.util.PluginVolumeReader;
+
+/**
+ * Mojo implementation for generating docker compose files during build.
+ * This plugin processes Spring Boot applications and generates docker-compose.yml files
+ * with environment variables, volume mappings, and port configurations.
+ * <p>
+ * The mojo only maps its configuration and the Maven project onto the {@link EngineSettings};
+ * the generation itself is done by the {@link DockeratorEngine} of dockerator-core.
+ * </p>
+ * 
+ * @author CodeWeazle
+ * @since 0.0.6
+ */
+@Mojo(name = "generate-docker-compose", defaultPhase = LifecyclePhase.PREPARE_PACKAGE)
+public class DockerComposePlugin extends AbstractMojo {
+
+	@Parameter(defaultValue = "${project}", readonly = true)
+	private MavenProject project;
+
+	@Parameter(defaultValue = "${reactorProjects}", readonly = true)
+	private List<MavenProject> reactorProjects;
+
+	@Parameter(defaultValue = "nexus.riskcontrollimited.com:8891/rcl/", property = "imagePrefix")
+	private String imagePrefix;
+
+	@Parameter(defaultValue = "spring.datasource.", property = "jdbcPrefix")
+	private String jdbcPrefix;
+
+	@Parameter(defaultValue = "${project.basedir}/src/main/resources", property = "propertiesDirs")
+	private List<String> propertiesDirs;
+
+	@Parameter(property = "profiles")
+	private List<String> profiles;
+
+	@Parameter(property = "skipModules")
+	private List<String> skipModules;
+
+	@Parameter(property = "includeModules")
+	private List<String> includeModules;
+
+	@Parameter(property = "excludeModules")
+	private List<String> excludeModules;
+
+	@Parameter(property = "includes")
+	private List<String> includes;
+
+	@Parameter(property = "excludes")
+	private List<String> excludes;
+
+	@Parameter(property = "cleanupTarget")
+	private Boolean cleanupTarget;
+
+	@Parameter(defaultValue = "false", property = "onlyChanged")
+	private Boolean onlyChanged;
+
+	@Parameter(property = "changedSince")
+	private String changedSince;
+
+	@Parameter(property = "volumes")
+	private List<Volume> volumes;
+
+	@Parameter(property = "networks")
+	private List<Network> networks;
+
+	@Parameter(defaultValue = "true", property = "createEnv")
+	private Boolean createEnv;
+
+	@Parameter(defaultValue = "DURABLE", property = "databaseMode")
+	private DatabaseMode databaseMode;
+
+	@Parameter(property = "connectionBudget")
+	private Integer connectionBudget;
+
+	@Parameter(property = "jvm")
+	private Jvm jvm;
+
+	@Parameter(defaultValue = "false", property = "appCds")
+	private Boolean appCds;
+
+	@Parameter(defaultValue = "false", property = "dockerfiles")
+	private Boolean dockerfiles;
+
+	@Parameter(property = "baseImage")
+	private String baseImage;
+
+	@Parameter(defaultValue = "${project.basedir}/docker", property = "outputDir")
+	private String outputDir;
+
+	@Parameter(defaultValue = "${project.basedir}", property = "basedir")
+	private File basedir;
+
+	@Parameter(defaultValue = "true", property = "useModelCache")
+	private Boolean useModelCache;
+
+	@Parameter(defaultValue = "${project.build.directory}/dockerator/model.bin", property = "modelCacheFile")
+	private File modelCacheFile;
+
+	@Parameter(defaultValue = "false", property = "jvmCache")
+	private Boolean jvmCache;
+
+	@Parameter(defaultValue = "10000", property = "jvmCacheSize")
+	private Integer jvmCacheSize;
+
+	/** the engine of the last execution */
+	private DockeratorEngine engine;
+
+	/**
+	 * Executes the Docker Compose plugin to generate docker-compose.yml files.
+	 * Processes both single-module and multi-module Maven projects, extracting
+	 * configuration from Spring Boot properties files and generating appropriate
+	 * Docker Compose configurations.
+	 * 
+	 * @throws MojoExecutionException if an error occurs during plugin execution
+	 * @throws MojoFailureException if the plugin fails to complete successfully
+	 */
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		getLog().info("========================================");
+		getLog().info("Starting Spring Dockerator Plugin v" + project.getVersion());
+		getLog().info("========================================");
+		getLog().info("Project: " + project.getName() + " (" + project.getVersion() + ")");
+		getLog().info("Base directory: " + basedir.getAbsolutePath());
+		getLog().info("Output directory: " + outputDir);
+		getLog().info("Image prefix: " + imagePrefix);
+		getLog().info("Create .env file: " + createEnv);
+
+		MavenProject mvnProject = (MavenProject) this.getPluginContext().get("project");
+		List<?> activeProfiles = mvnProject.getActiveProfiles();
+
+		List<String> profiles = new ArrayList<>();
+		activeProfiles.stream().filter(profile -> (!((Profile) profile).getId().equals("maven-central")))
+				.forEach(profile -> profiles.add(((Profile) profile).getId()));
+		// In case no profile is specified, the engine uses the default configuration
+		if (profiles.isEmpty()) {
+			getLog().info("No active profiles found, using default configuration");
+		} else {
+			getLog().info("Active profiles: " + String.join(", ", profiles));
+		}
+
+		try {
+			engine = new DockeratorEngine(settings(profiles));
+			run(engine);
+		} catch (IllegalArgumentException e) {
+			throw new MojoExecutionException(e.getMessage(), e);
+		} catch (OutdatedFileException e) {
+			throw new MojoFailureException(e.getMessage(), e);
+		} catch (IOException e) {
+			getLog().error("Error during plugin execution: " + e.getMessage());
+			throw new MojoExecutionException("Error processing property files", e);
+		}
+
+		getLog().info("========================================");
+		getLog().info("Spring Dockerator Plugin execution completed successfully");
+		getLog().info("========================================");
+	}
+
+	/**
+	 * Runs the engine, generating all files. Goals doing something else with the engine override this.
+	 * 
+	 * @param engine the engine configured from this mojo
+	 * @throws IOException if the generation fails
+	 */
+	protected void run(DockeratorEngine engine) throws IOException {
+		engine.generate();
+	}
+
+	/**
+	 * @return the engine of the last execution, null before the first one
+	 */
+	protected DockeratorEngine engine() {
+		return engine;
+	}
+
+	/**
+	 * Maps the configuration of this mojo onto the settings of the engine.
+	 * 
+	 * @param activeProfiles the ids of the active Maven profiles
+	 * @return the settings
+	 */
+	private EngineSettings settings(List<String> activeProfiles) {
+		return EngineSettings.builder()
+							 .basedir(basedir)
+							 .outputDir(outputDir)
+							 .projectName(project.getName())
+							 .version(project.getVersion())
+							 .imagePrefix(imagePrefix)
+							 .jdbcPrefix(jdbcPrefix)
+							 .propertiesDirs(propertiesDirs)
+							 .profiles(profiles)
+							 .activeProfiles(activeProfiles)
+							 .skipModules(skipModules)
+							 .includeModules(includeModules)
+							 .excludeModules(excludeModules)
+							 .includes(includes)
+							 .excludes(excludes)
+							 .cleanupTarget(cleanupTarget)
+							 .onlyChanged(Boolean.TRUE.equals(onlyChanged))
+							 .changedSince(changedSince)
+							 .volumes(volumes)
+							 .networks(networks)
+							 .createEnv(Boolean.TRUE.equals(createEnv))
+							 .databaseMode(databaseMode)
+							 .connectionBudget(connectionBudget)
+							 .jvm(jvm)
+							 .appCds(Boolean.TRUE.equals(appCds))
+							 .dockerfiles(Boolean.TRUE.equals(dockerfiles))
+							 .baseImage(baseImage)
+							 .useModelCache(Boolean.TRUE.equals(useModelCache))
+							 .modelCacheFile(modelCacheFile)
+							 .jvmCache(Boolean.TRUE.equals(jvmCache))
+							 .jvmCacheSize(jvmCacheSize)
+							 .moduleVolumes(this::extractModuleVolumeConfiguration)
+							 .build();
+	}
+
+	/**
+	 * Extracts volume configuration from a module's pom.xml file.
+	 * This enables per-module volume configuration instead of relying only on parent configuration.
+	 * The engine only asks for modules without a .dockerator file, which takes precedence.
+	 * If the module is part of the current reactor, its already loaded model is used, otherwise
+	 * the pom.xml is read up to the declaration of this plugin.
+	 * 
+	 * @param moduleDirectory the directory of the module to extract volume configuration from
+	 * @return list of volumes configured for this specific module, empty list if none found
+	 */
+	private List<Volume> extractModuleVolumeConfiguration(File moduleDirectory) {
+		MavenProject reactorProject = findReactorProject(moduleDirectory);
+		if (reactorProject != null) {
+			return ReactorVolumeReader.fromProject(reactorProject);
+		}
+		return PluginVolumeReader.fromModule(moduleDirectory);
+	}
+
+	/**
+	 * returns the reactor project located in the given directory.
+	 * 
+	 * @param moduleDirectory the directory of the module
+	 * @return the reactor project or null if the module is not part of the reactor
+	 */
+	private MavenProject findReactorProject(File moduleDirectory) {
+		if (reactorProjects == null) {
+			return null;
+		}
+		Path modulePath = moduleDirectory.toPath().toAbsolutePath().normalize();
+		return reactorProjects.stream()
+							  .filter(candidate -> candidate.getBasedir() != null)
+							  .filter(candidate -> candidate.getBasedir().toPath().toAbsolutePath().normalize().equals(modulePath))
+							  .findFirst()
+							  .orElse(null);
+	}
+}
@@ -0,0 +1,70 @@
+/**
+ * Helper class for reading the volume configuration of a reactor project
+ *
+ * @author Volker Karlmeier
+ *
+ */
+package net.magiccode.maven;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import net.magiccode.maven.util.PluginVolumeReader;
+
+/**
+ * Reads the <code>&lt;volumes&gt;</code> configured for this plugin from the model of a module
+ * which is part of the current reactor, so its pom.xml does not have to be parsed again. The same
+ * rules as in {@link PluginVolumeReader} apply.
+ */
+public class ReactorVolumeReader {
+
+	private ReactorVolumeReader() {
+	}
+
+	/**
+	 * reads the volumes from the model of a reactor project. The original (not inherited,
+	 * not interpolated) model is used, matching what is read from the pom.xml file.
+	 *
+	 * @param project the reactor project of the module
+	 * @return the volumes configured in the module, empty if none
+	 */
+	public static List<Volume> fromProject(MavenProject project) {
+		List<Volume> volumes = new ArrayList<>();
+		Model model = project.getOriginalModel();
+		Build build = model == null ? null : model.getBuild();
+		if (build == null) {
+			return volumes;
+		}
+		for (Plugin plugin : build.getPlugins()) {
+			if (PluginVolumeReader.PLUGIN_ARTIFACT_ID.equals(plugin.getArtifactId())) {
+				if (plugin.getConfiguration() instanceof Xpp3Dom configuration) {
+					Xpp3Dom volumesElement = configuration.getChild("volumes");
+					if (volumesElement != null) {
+						for (Xpp3Dom volumeElement : volumesElement.getChildren("volume")) {
+							PluginVolumeReader.addVolume(volumes,
+														 childValue(volumeElement, "external"),
+														 childValue(volumeElement, "internal"),
+														 project.getArtifactId());
+						}
+					}
+				}
+				break;
+			}
+		}
+		return volumes;
+	}
+
+	/**
+	 * returns the text of the given child element, falling back to the attribute with the same name.
+	 */
+	private static String childValue(Xpp3Dom element, String name) {
+		Xpp3Dom child = element.getChild(name);
+		return child != null ? child.getValue() : element.getAttribute(name);
+	}
+}
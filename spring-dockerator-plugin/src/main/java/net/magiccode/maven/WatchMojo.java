@@ -0,0 +1,118 @@
+package net.magiccode.maven;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import net.magiccode.maven.descriptor.DescriptorReader;
+
+/**
+ * Mojo generating the docker compose files once and then regenerating them whenever a pom.xml, a
+ * .dockerator file or an application properties/yml file of a module changes, until the build is
+ * stopped (Ctrl+C). Only the modules containing changed files are processed again and only files
+ * whose content changed are rewritten, so <code>docker compose watch</code> or similar tools are
+ * not triggered needlessly.
+ * <p>
+ * Changes arriving in quick succession (e.g. an IDE saving several files) are collected until no
+ * further change arrives for <code>watchDebounce</code> milliseconds and handled together.
+ * </p>
+ * <p>
+ * The goal never ends, so it is meant to be invoked directly from the command line and must not be
+ * bound to a lifecycle phase.
+ * </p>
+ *
+ * @author CodeWeazle
+ */
+@Mojo(name = "watch")
+public class WatchMojo extends DockerComposePlugin {
+
+	@Parameter(defaultValue = "300", property = "watchDebounce")
+	private Long watchDebounce;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		super.execute();
+
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+			for (Path directory : engine().watchedDirectories()) {
+				watchedDirectories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), directory);
+			}
+			getLog().info("Watching " + watchedDirectories.size() + " director(y/ies) for changes, press Ctrl+C to stop");
+
+			while (true) {
+				WatchKey key = watchService.take();
+				Set<Path> changedFiles = new LinkedHashSet<>();
+				// collect until things calm down
+				while (key != null) {
+					collectChanges(key, watchedDirectories.get(key), changedFiles);
+					key = watchService.poll(watchDebounce, TimeUnit.MILLISECONDS);
+				}
+				if (changedFiles.isEmpty()) {
+					continue;
+				}
+				try {
+					List<Path> writtenFiles = engine().regenerate(changedFiles);
+					if (writtenFiles.isEmpty()) {
+						getLog().info("Docker compose files are up to date");
+					} else {
+						writtenFiles.forEach(file -> getLog().info("Updated " + file));
+					}
+				} catch (IOException e) {
+					// keep watching, the next change may fix the problem
+					getLog().error("Error regenerating docker compose files: " + e.getMessage(), e);
+				}
+			}
+		} catch (IOException e) {
+			throw new MojoExecutionException("Error watching for changes", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			getLog().info("Stopped watching for changes");
+		}
+	}
+
+	/**
+	 * Adds the relevant files reported by the given key to the changed files. If events were lost,
+	 * the watched directory itself is added, which marks its module as changed.
+	 */
+	private void collectChanges(WatchKey key, Path directory, Set<Path> changedFiles) {
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW) {
+				changedFiles.add(directory);
+			} else if (event.context() instanceof Path name && isRelevant(name)) {
+				changedFiles.add(directory.resolve(name));
+			}
+		}
+		key.reset();
+	}
+
+	/**
+	 * Returns whether a change of a file with the given name affects the generated files.
+	 */
+	private static boolean isRelevant(Path name) {
+		String fileName = name.toString();
+		return "pom.xml".equals(fileName)
+				|| DescriptorReader.FILE_NAME.equals(fileName)
+				|| fileName.startsWith("application")
+						&& (fileName.endsWith(".properties") || fileName.endsWith(".yml") || fileName.endsWith(".yaml"));
+	}
+}
@@ -0,0 +1,54 @@
+package net.magiccode.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import net.magiccode.maven.util.PluginVolumeReader;
+
+/**
+ * Tests for {@link ReactorVolumeReader}
+ */
+public class ReactorVolumeReaderTest {
+
+    @Test
+    @DisplayName("Reactor model: volumes are taken from the plugin configuration of the original model")
+    void readsReactorModel() {
+        Xpp3Dom external = new Xpp3Dom("external");
+        external.setValue("./data");
+        Xpp3Dom internal = new Xpp3Dom("internal");
+        internal.setValue("/var/data");
+        Xpp3Dom volume = new Xpp3Dom("volume");
+        volume.addChild(external);
+        volume.addChild(internal);
+        Xpp3Dom volumesElement = new Xpp3Dom("volumes");
+        volumesElement.addChild(volume);
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(volumesElement);
+
+        Plugin plugin = new Plugin();
+        plugin.setArtifactId(PluginVolumeReader.PLUGIN_ARTIFACT_ID);
+        plugin.setConfiguration(configuration);
+        Build build = new Build();
+        build.addPlugin(plugin);
+        Model model = new Model();
+        model.setArtifactId("module");
+        model.setBuild(build);
+        MavenProject project = new MavenProject(model);
+        project.setOriginalModel(model);
+
+        List<Volume> volumes = ReactorVolumeReader.fromProject(project);
+
+        assertThat(volumes).hasSize(1);
+        assertThat(volumes.get(0).getExternal()).isEqualTo("./data");
+        assertThat(volumes.get(0).getInternal()).isEqualTo("/var/data");
+    }
+}